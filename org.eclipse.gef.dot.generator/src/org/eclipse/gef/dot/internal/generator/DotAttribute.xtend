@@ -8,6 +8,7 @@
  *
  * Contributors:
  *     Alexander Nyßen (itemis AG)  - initial API and implementation
+ *     agent - memoize parsed attribute values
  *
  *******************************************************************************/
 package org.eclipse.gef.dot.internal.generator
@@ -181,7 +182,7 @@ class DotAttributeProcessor extends AbstractFieldProcessor {
 					returnType = attributeParsedType
 					body = [
 						'''
-							return «parsed(field.getterName + "(" + c.paramName + ")", attributeParsedType)»;
+							return «parsed(c.paramName, field.simpleName, attributeParsedType)»;
 						''']
 					primarySourceElement = field
 				]
@@ -224,12 +225,10 @@ class DotAttributeProcessor extends AbstractFieldProcessor {
 		return "serializeAttributeValue(" + attributeParsedType.serializer + ", " + attributeValue + ")"
 	}
 	
-	def String parsed(String attributeValue, TypeReference attributeParsedType) {
-		if(String.name == attributeParsedType.name) {
-			// no further parsing needed or string
-			return attributeValue
-		}
-		return "parseAttributeValue(" + attributeParsedType.parser + ", " + attributeValue + ")"
+	def String parsed(String attributeStore, String attributeName, TypeReference attributeParsedType) {
+		// XXX: parsed values are memoized per attribute store (and are thus
+		// retrieved via the raw value rather than the (String) getter)
+		return "parseAttributeValue(" + attributeParsedType.parser + ", " + attributeStore + ", " + attributeName + ")"
 	}
 	
 	// TODO: handle String and enum values distinctively
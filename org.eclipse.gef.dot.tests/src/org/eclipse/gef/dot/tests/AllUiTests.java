@@ -25,7 +25,10 @@ import org.junit.runners.Suite.SuiteClasses;
 		DotQuickfixTests.class, DotEscStringTests.class,
 		DotHighlightingTests.class, DotHighlightingCalculatorTests.class,
 		DotValidatorTests.class, DotContentAssistTests.class,
-		DotBSplineInterpolatorTests.class, DotHtmlLabelTests.class })
+		DotBSplineInterpolatorTests.class, DotHtmlLabelTests.class,
+		DotStreamingImportTests.class, DotExecutableServiceTests.class,
+		DotLayoutCacheTests.class, DotGraphViewTests.class,
+		Dot2ZestAttributesConverterTests.class })
 public class AllUiTests {
 
 }
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.gef.dot.internal.DotImport;
+import org.eclipse.gef.dot.internal.ui.Dot2ZestAttributesConverter;
+import org.eclipse.gef.dot.internal.ui.Dot2ZestAttributesConverter.VisualTemplate;
+import org.eclipse.gef.dot.internal.ui.Dot2ZestGraphCopier;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.junit.Test;
+
+/**
+ * Tests the caching of the {@link Dot2ZestAttributesConverter}.
+ *
+ * @author agent
+ *
+ */
+public class Dot2ZestAttributesConverterTests {
+
+	private static final String DOT = "digraph { node[shape=box, style=filled, fillcolor=red] a -> b [color=red, arrowhead=odot]; c -> d [color=red, arrowhead=odot] }";
+
+	private static VisualTemplate getShapeTemplate(Node node) {
+		return VisualTemplate.get(ZestProperties.getShape(node));
+	}
+
+	private static VisualTemplate getTargetDecorationTemplate(Edge edge) {
+		return VisualTemplate.get(ZestProperties.getTargetDecoration(edge));
+	}
+
+	private Dot2ZestGraphCopier copier = new Dot2ZestGraphCopier();
+
+	private Graph convert(String dot) {
+		return copier.copy(new DotImport().importDot(dot).get(0));
+	}
+
+	@Test
+	public void cacheHit() {
+		Graph graph = convert(DOT);
+		Edge ab = graph.getEdges().get(0);
+		Edge cd = graph.getEdges().get(1);
+
+		// elements with identical values share their styles and templates
+		assertNotNull(ZestProperties.getCurveCssStyle(ab));
+		assertSame(ZestProperties.getCurveCssStyle(ab),
+				ZestProperties.getCurveCssStyle(cd));
+		assertNotNull(getTargetDecorationTemplate(ab));
+		assertSame(getTargetDecorationTemplate(ab),
+				getTargetDecorationTemplate(cd));
+		assertSame(VisualTemplate.get(ZestProperties.getCurve(ab)),
+				VisualTemplate.get(ZestProperties.getCurve(cd)));
+		Node a = graph.getNodes().get(0);
+		assertNotNull(getShapeTemplate(a));
+		for (Node node : graph.getNodes()) {
+			assertSame(getShapeTemplate(a), getShapeTemplate(node));
+		}
+
+		// but not their visuals
+		assertNotSame(ZestProperties.getTargetDecoration(ab),
+				ZestProperties.getTargetDecoration(cd));
+		assertNotSame(ZestProperties.getShape(a),
+				ZestProperties.getShape(graph.getNodes().get(1)));
+
+		// the caches are retained between conversions
+		Graph graph2 = convert(DOT);
+		assertSame(ZestProperties.getCurveCssStyle(ab),
+				ZestProperties.getCurveCssStyle(graph2.getEdges().get(0)));
+		assertSame(getTargetDecorationTemplate(ab),
+				getTargetDecorationTemplate(graph2.getEdges().get(0)));
+		assertSame(getShapeTemplate(a),
+				getShapeTemplate(graph2.getNodes().get(0)));
+	}
+
+	@Test
+	public void cacheInvalidation() {
+		Graph graph = convert(DOT);
+		Edge ab = graph.getEdges().get(0);
+		Node a = graph.getNodes().get(0);
+
+		// changed values are not served from the cache
+		Graph changedGraph = convert(DOT
+				.replace("b [color=red, arrowhead=odot]",
+						"b [color=blue, arrowhead=box]")
+				.replace("shape=box", "shape=diamond"));
+		Edge changedAb = changedGraph.getEdges().get(0);
+		assertNotEquals(ZestProperties.getCurveCssStyle(ab),
+				ZestProperties.getCurveCssStyle(changedAb));
+		assertNotEquals(getTargetDecorationTemplate(ab),
+				getTargetDecorationTemplate(changedAb));
+		assertNotEquals(getShapeTemplate(a),
+				getShapeTemplate(changedGraph.getNodes().get(0)));
+		// the unchanged edge still uses the cached values
+		Edge cd = graph.getEdges().get(1);
+		Edge changedCd = changedGraph.getEdges().get(1);
+		assertSame(ZestProperties.getCurveCssStyle(cd),
+				ZestProperties.getCurveCssStyle(changedCd));
+		assertSame(getTargetDecorationTemplate(cd),
+				getTargetDecorationTemplate(changedCd));
+
+		// after clearing the caches, all values are computed anew
+		copier.getAttributeCopier().clearCaches();
+		Graph recomputedGraph = convert(DOT);
+		Edge recomputedAb = recomputedGraph.getEdges().get(0);
+		assertEquals(ZestProperties.getCurveCssStyle(ab),
+				ZestProperties.getCurveCssStyle(recomputedAb));
+		assertNotSame(ZestProperties.getCurveCssStyle(ab),
+				ZestProperties.getCurveCssStyle(recomputedAb));
+		assertEquals(getTargetDecorationTemplate(ab),
+				getTargetDecorationTemplate(recomputedAb));
+		assertNotSame(getTargetDecorationTemplate(ab),
+				getTargetDecorationTemplate(recomputedAb));
+		assertEquals(getShapeTemplate(a),
+				getShapeTemplate(recomputedGraph.getNodes().get(0)));
+		assertNotSame(getShapeTemplate(a),
+				getShapeTemplate(recomputedGraph.getNodes().get(0)));
+	}
+
+}
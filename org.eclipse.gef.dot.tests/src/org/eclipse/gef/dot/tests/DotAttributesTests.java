@@ -9,13 +9,16 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
  *     Tamas Miklossy  (itemis AG) - implement additional test cases (bug #461506)
+ *     agent - memoize parsed attribute values
  *
  *******************************************************************************/
 package org.eclipse.gef.dot.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -2840,6 +2843,34 @@ public class DotAttributesTests {
 		}
 	}
 
+	@Test
+	public void node_pos_memoized() {
+		Node node = new Node.Builder().buildNode();
+		DotAttributes.setPos(node, "47, 11");
+
+		// parsed value is memoized as long as the raw value is not changed
+		Point pos = DotAttributes.getPosParsed(node);
+		assertEquals(47, pos.getX(), 0);
+		assertSame(pos, DotAttributes.getPosParsed(node));
+
+		// changing the raw value invalidates the memoized value
+		DotAttributes.setPosRaw(node, ID.fromValue("34.5, 45.3!", Type.QUOTED_STRING));
+		Point changedPos = DotAttributes.getPosParsed(node);
+		assertNotSame(pos, changedPos);
+		assertEquals(34.5, changedPos.getX(), 0);
+		assertTrue(changedPos.isInputOnly());
+		assertSame(changedPos, DotAttributes.getPosParsed(node));
+
+		// setting an equal raw value leads to a re-parse
+		DotAttributes.setPos(node, "34.5, 45.3!");
+		assertNotSame(changedPos, DotAttributes.getPosParsed(node));
+		assertTrue(EcoreUtil.equals(changedPos, DotAttributes.getPosParsed(node)));
+
+		// removing the raw value invalidates the memoized value as well
+		node.getAttributes().remove(DotAttributes.POS__NE);
+		assertNull(DotAttributes.getPosParsed(node));
+	}
+
 	@Test
 	public void node_shape() {
 		Node node = new Node.Builder().buildNode();
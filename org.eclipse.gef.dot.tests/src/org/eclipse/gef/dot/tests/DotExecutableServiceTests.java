@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.gef.dot.internal.DotExecutableService;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link DotExecutableService} class. Instead of the Graphviz
+ * 'dot' executable, (POSIX) shell scripts are used as stubs.
+ *
+ * @author agent
+ */
+public class DotExecutableServiceTests {
+
+	@Rule
+	public TemporaryFolder stubFolder = new TemporaryFolder();
+
+	private File createStub(String script) throws IOException {
+		Assume.assumeTrue(new File("/bin/sh").exists());
+		File stub = stubFolder.newFile();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(stub), StandardCharsets.UTF_8);
+		try {
+			writer.write("#!/bin/sh\n" + script + "\n");
+		} finally {
+			writer.close();
+		}
+		assertTrue(stub.setExecutable(true));
+		return stub;
+	}
+
+	@Test(timeout = 10000)
+	public void cancellation() throws Exception {
+		DotExecutableService service = new DotExecutableService(createStub("sleep 30"), 1);
+		try {
+			CompletableFuture<String> result = service.executeDot("graph {}", false, null, 30, TimeUnit.SECONDS);
+			// queued behind the first execution
+			CompletableFuture<String> queued = service.executeDot("graph {}", false, null, 30, TimeUnit.SECONDS);
+			Thread.sleep(200);
+			assertTrue(result.cancel(true));
+			assertTrue(queued.cancel(true));
+			try {
+				result.get();
+				fail("Expected CancellationException");
+			} catch (CancellationException e) {
+				// expected
+			}
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void concurrentExecution() throws Exception {
+		DotExecutableService service = new DotExecutableService(createStub("cat"), 2);
+		try {
+			List<CompletableFuture<String>> results = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				results.add(service.executeDot("graph { " + i + " }", true, "xdot", 10, TimeUnit.SECONDS));
+			}
+			for (int i = 0; i < 20; i++) {
+				assertEquals("graph { " + i + " }", results.get(i).get());
+			}
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void exitStatus() throws Exception {
+		DotExecutableService service = new DotExecutableService(createStub("echo \"syntax error\" >&2; exit 1"), 1);
+		try {
+			service.renderImage("graph {", "png", 10, TimeUnit.SECONDS).get();
+			fail("Expected ExecutionException");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+			assertTrue(e.getCause().getMessage(), e.getCause().getMessage().endsWith("exit status 1: syntax error"));
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void largeOutput() throws Exception {
+		// both, stdout and stderr, exceed the pipe capacity
+		DotExecutableService service = new DotExecutableService(createStub("cat; yes error | head -c 1048576 >&2"),
+				1);
+		try {
+			byte[] input = new byte[4 * 1024 * 1024];
+			for (int i = 0; i < input.length; i++) {
+				input[i] = (byte) ('a' + i % 26);
+			}
+			byte[] output = service.execute(Collections.<String> emptyList(), input, 10, TimeUnit.SECONDS).get();
+			assertArrayEquals(input, output);
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void timeout() throws Exception {
+		DotExecutableService service = new DotExecutableService(createStub("sleep 30"), 1);
+		try {
+			service.executeDot("graph {}", false, null, 200, TimeUnit.MILLISECONDS).get();
+			fail("Expected ExecutionException");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof TimeoutException);
+		} finally {
+			service.shutdown();
+		}
+	}
+
+}
@@ -10,20 +10,31 @@
  *     Fabian Steeg    - initial API and implementation (bug #277380)
  *     Tamas Miklossy  - usage of platform specific line separators (bug #490118)
  *                     - minor refactorings 
+ *     agent - stream DOT export into a Writer
  *     
  *******************************************************************************/
 package org.eclipse.gef.dot.tests;
 
 import static org.eclipse.gef.dot.tests.DotTestUtils.RESOURCES_TESTS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Collections;
 import java.util.Scanner;
+import java.util.zip.GZIPInputStream;
 
+import org.eclipse.gef.dot.internal.DotAttributes;
 import org.eclipse.gef.dot.internal.DotExport;
 import org.eclipse.gef.dot.internal.DotFileUtils;
+import org.eclipse.gef.dot.internal.language.dot.GraphType;
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -66,6 +77,70 @@ public class DotExportTests {
 		testDotExport(DotTestUtils.getClusteredGraph(), "clustered_graph.dot");
 	}
 
+	@Test
+	public void compressedFileExport() throws IOException {
+		Graph graph = DotTestUtils.getClusteredGraph();
+		File outputFile = outputFolder.newFile("clustered_graph.dot.gz");
+		dotExport.exportDot(Collections.singletonList(graph),
+				outputFile.getPath(), true);
+		InputStream inputStream = new GZIPInputStream(
+				new FileInputStream(outputFile));
+		try {
+			Scanner scanner = new Scanner(inputStream, "UTF-8")
+					.useDelimiter("\\A");
+			assertEquals(dotExport.exportDot(graph), scanner.next());
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	@Test
+	public void failedFileExport() throws IOException {
+		// a node without a name can not be exported
+		Graph graph = new Graph.Builder().nodes(new Node()).build();
+		File outputFile = new File(outputFolder.getRoot(), "invalid.dot.gz");
+		try {
+			dotExport.exportDot(Collections.singletonList(graph),
+					outputFile.getPath(), true);
+			Assert.fail("IllegalArgumentException expected.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		// the partially written file is removed
+		assertFalse(outputFile.exists());
+	}
+
+	@Test
+	public void quotedNames() {
+		Node n1 = new Node.Builder()
+				.attr(DotAttributes::_setName, "node 1").buildNode();
+		Node n2 = new Node.Builder()
+				.attr(DotAttributes::_setName, "say \"hi\"").buildNode();
+		Node n3 = new Node.Builder().attr(DotAttributes::_setName, "graph")
+				.buildNode();
+		Graph graph = new Graph.Builder()
+				.attr(DotAttributes::_setName, "quoted graph")
+				.attr(DotAttributes::_setType, GraphType.GRAPH)
+				.nodes(n1, n2, n3).edges(new Edge.Builder(n1, n3).buildEdge())
+				.build();
+		String nl = System.lineSeparator();
+		assertEquals("graph \"quoted graph\" {" + nl
+				+ "\t\"node 1\"; \"say \\\"hi\\\"\"; \"graph\"" + nl
+				+ "\t\"node 1\"--\"graph\"" + nl + "}" + nl,
+				dotExport.exportDot(graph));
+	}
+
+	@Test
+	public void writerExport() throws IOException {
+		Graph graph = DotTestUtils.getStyledGraph();
+		StringWriter writer = new StringWriter();
+		dotExport.exportDot(Collections.singletonList(graph), writer);
+		assertEquals(
+				DotFileUtils.read(
+						new File(RESOURCES_TESTS + "styled_graph.dot")),
+				writer.toString());
+	}
+
 	private void testDotExport(final Graph graph, String fileName) {
 		String expected = DotFileUtils
 				.read(new File(RESOURCES_TESTS + fileName));
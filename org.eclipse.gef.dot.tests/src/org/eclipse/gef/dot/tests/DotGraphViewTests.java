@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.gef.common.attributes.IAttributeStore;
+import org.eclipse.gef.dot.internal.DotImport;
+import org.eclipse.gef.dot.internal.ui.DotGraphView;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the incremental update of the graph that is displayed by the
+ * {@link DotGraphView}.
+ *
+ * @author agent
+ *
+ */
+public class DotGraphViewTests {
+
+	private static final String DOT_GRAPH_VIEW_ID = "org.eclipse.gef.dot.view";
+
+	private static final String DOT = "digraph { a -> b; subgraph cluster_1 { c -> d } }";
+
+	// the attributes whose values are newly created by every conversion (in
+	// contrast to the ones that are changed by the layout)
+	private static final List<String> CONVERTED_ATTRIBUTES = Arrays.asList(
+			ZestProperties.LAYOUT_ALGORITHM__G, ZestProperties.SHAPE__N,
+			ZestProperties.CURVE__E, ZestProperties.SOURCE_DECORATION__E,
+			ZestProperties.TARGET_DECORATION__E, ZestProperties.ROUTER__E,
+			ZestProperties.INTERPOLATOR__E);
+
+	private static void collectAttributes(IAttributeStore store,
+			List<Object> contents) {
+		for (String key : CONVERTED_ATTRIBUTES) {
+			contents.add(store.getAttributes().get(key));
+		}
+	}
+
+	/**
+	 * Collects the nodes and edges of the given graph (including its nested
+	 * graphs), together with the values of their converted attributes.
+	 */
+	private static void collectContents(Graph graph, List<Object> contents) {
+		collectAttributes(graph, contents);
+		for (Node node : graph.getNodes()) {
+			contents.add(node);
+			collectAttributes(node, contents);
+			if (node.getNestedGraph() != null) {
+				contents.add(node.getNestedGraph());
+				collectContents(node.getNestedGraph(), contents);
+			}
+		}
+		for (Edge edge : graph.getEdges()) {
+			contents.add(edge);
+			collectAttributes(edge, contents);
+		}
+	}
+
+	private static Edge findEdge(Graph graph, String source, String target) {
+		for (Edge edge : graph.getEdges()) {
+			if (source.equals(ZestProperties.getLabel(edge.getSource()))
+					&& target.equals(
+							ZestProperties.getLabel(edge.getTarget()))) {
+				return edge;
+			}
+		}
+		for (Node node : graph.getNodes()) {
+			if (node.getNestedGraph() != null) {
+				Edge edge = findEdge(node.getNestedGraph(), source, target);
+				if (edge != null) {
+					return edge;
+				}
+			}
+		}
+		return null;
+	}
+
+	private IWorkbenchPage page;
+	private DotGraphView shownView;
+	private DotGraphView view;
+
+	private List<Object> getContents() {
+		List<Object> contents = new ArrayList<>();
+		collectContents(getDisplayedGraph(), contents);
+		return contents;
+	}
+
+	private Graph getDisplayedGraph() {
+		assertEquals(1, view.getContentViewer().getContents().size());
+		return (Graph) view.getContentViewer().getContents().get(0);
+	}
+
+	private void setGraph(String dot) {
+		view.setGraph(new DotImport().importDot(dot).get(0));
+	}
+
+	@Before
+	public void setUp() throws PartInitException {
+		page = PlatformUI.getWorkbench().getActiveWorkbenchWindow()
+				.getActivePage();
+		shownView = (DotGraphView) page.showView(DOT_GRAPH_VIEW_ID);
+		view = shownView;
+	}
+
+	@After
+	public void tearDown() {
+		page.hideView(shownView);
+	}
+
+	@Test
+	public void changedEdge() {
+		setGraph(DOT);
+		Graph graph = getDisplayedGraph();
+		Edge cd = findEdge(graph, "c", "d");
+		assertNotNull(cd);
+
+		setGraph(DOT.replace("c -> d", "c -> d [label=x]"));
+		assertSame(graph, getDisplayedGraph());
+		assertSame(cd, findEdge(graph, "c", "d"));
+		assertEquals("x", ZestProperties.getLabel(cd));
+	}
+
+	private void testUnchangedGraph() {
+		setGraph(DOT);
+		Graph graph = getDisplayedGraph();
+		List<Object> contents = getContents();
+
+		// neither the nodes and edges (including the nested ones), nor their
+		// attribute values (e.g. shapes and decorations) are replaced
+		for (int i = 0; i < 2; i++) {
+			setGraph(DOT);
+			assertSame(graph, getDisplayedGraph());
+			List<Object> updatedContents = getContents();
+			assertEquals(contents.size(), updatedContents.size());
+			for (int j = 0; j < contents.size(); j++) {
+				assertSame(contents.get(j), updatedContents.get(j));
+			}
+		}
+	}
+
+	@Test
+	public void unchangedClusteredGraph() {
+		// clusters are only converted into nested graphs in native mode (the
+		// view is not shown, so that its graph is not layouted)
+		view = new DotGraphView() {
+			@Override
+			protected boolean isNativeMode() {
+				return true;
+			}
+		};
+		setGraph(DOT);
+		int nestedGraphs = 0;
+		for (Object content : getContents()) {
+			if (content instanceof Graph) {
+				nestedGraphs++;
+			}
+		}
+		assertEquals(1, nestedGraphs);
+		testUnchangedGraph();
+	}
+
+	@Test
+	public void unchangedGraph() {
+		testUnchangedGraph();
+	}
+
+}
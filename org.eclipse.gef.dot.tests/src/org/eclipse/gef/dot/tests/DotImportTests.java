@@ -19,7 +19,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.gef.dot.internal.DotAttributes;
 import org.eclipse.gef.dot.internal.DotImport;
@@ -295,6 +300,41 @@ public final class DotImportTests {
 		Assert.assertEquals(3, graph.getEdges().size());
 	}
 
+	@Test
+	public void parallelImport() throws Exception {
+		StringBuilder dot = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			dot.append(i % 2 == 0 ? DotTestGraphs.NODES_AFTER_EDGES : DotTestGraphs.CLUSTERS);
+			dot.append("\n");
+		}
+		final String dotString = dot.toString();
+		final String expected = dotImport.importDot(dotString).toString();
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			// transform the graphs of a single input in parallel
+			List<Graph> graphs = dotImport.importDot(dotString, executor);
+			Assert.assertEquals(20, graphs.size());
+			Assert.assertEquals(expected, graphs.toString());
+
+			// import concurrently using a shared importer
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(new Callable<String>() {
+					@Override
+					public String call() {
+						return dotImport.importDot(dotString).toString();
+					}
+				}));
+			}
+			for (Future<String> result : results) {
+				Assert.assertEquals(expected, result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	public void idsWithQuotes() {
 		Graph graph = importString(DotTestGraphs.IDS_WITH_QUOTES);
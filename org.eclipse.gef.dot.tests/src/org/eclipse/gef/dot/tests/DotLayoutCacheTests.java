@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.gef.dot.internal.DotLayoutCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link DotLayoutCache} class.
+ *
+ * @author agent
+ */
+public class DotLayoutCacheTests {
+
+	private static final String A = DotLayoutCache.computeKey("a");
+	private static final String B = DotLayoutCache.computeKey("b");
+	private static final String C = DotLayoutCache.computeKey("c");
+
+	@Rule
+	public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+	@Test
+	public void diskTier() throws IOException {
+		File directory = cacheFolder.newFolder();
+		DotLayoutCache cache = new DotLayoutCache(1, directory);
+		String key1 = DotLayoutCache.computeKey("graph { 1 }");
+		String key2 = DotLayoutCache.computeKey("graph { 2 }");
+		cache.put(key1, "layouted 1");
+		cache.put(key2, "layouted 2");
+
+		// evicted from memory, but restored from disk
+		assertEquals("layouted 1", cache.get(key1));
+
+		// available to other sessions
+		DotLayoutCache otherCache = new DotLayoutCache(1, directory);
+		assertEquals("layouted 2", otherCache.get(key2));
+
+		otherCache.clear();
+		assertNull(new DotLayoutCache(1, directory).get(key1));
+	}
+
+	@Test
+	public void diskTierCapacity() throws IOException {
+		File directory = cacheFolder.newFolder();
+		// retain at most two entries of 10 bytes each
+		DotLayoutCache cache = new DotLayoutCache(1, directory, 25);
+		cache.put(A, "layouted a");
+		new File(directory, A).setLastModified(1000);
+		cache.put(B, "layouted b");
+		new File(directory, B).setLastModified(2000);
+		assertEquals(2, directory.list().length);
+
+		// reading 'a' marks it as recently used, so 'b' is evicted on put
+		assertEquals("layouted a",
+				new DotLayoutCache(1, directory, 25).get(A));
+		cache.put(C, "layouted c");
+		assertTrue(new File(directory, A).exists());
+		assertFalse(new File(directory, B).exists());
+		assertTrue(new File(directory, C).exists());
+
+		// entries exceeding a (reduced) capacity are evicted on creation
+		new File(directory, A).setLastModified(1000);
+		new DotLayoutCache(1, directory, 15);
+		assertArrayEquals(new String[] { C }, directory.list());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void diskTierCapacityNegative() {
+		new DotLayoutCache(1, cacheFolder.getRoot(), -1);
+	}
+
+	@Test
+	public void diskTierForeignFiles() throws IOException {
+		File directory = cacheFolder.newFolder();
+		File foreignFile = new File(directory, "foreign.txt");
+		Files.write(foreignFile.toPath(),
+				"foreign".getBytes(StandardCharsets.UTF_8));
+		foreignFile.setLastModified(1000);
+
+		// only entries are evicted
+		DotLayoutCache cache = new DotLayoutCache(1, directory, 5);
+		cache.put(A, "layouted a");
+		assertArrayEquals(new String[] { "foreign.txt" }, directory.list());
+
+		// and cleared
+		cache = new DotLayoutCache(1, directory);
+		cache.put(A, "layouted a");
+		cache.clear();
+		assertArrayEquals(new String[] { "foreign.txt" }, directory.list());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidKey() {
+		new DotLayoutCache(1).put("../a", "layouted a");
+	}
+
+	@Test
+	public void keyNormalization() {
+		assertEquals(DotLayoutCache.computeKey("graph {\n\t1\n}\n", "-y"),
+				DotLayoutCache.computeKey("graph {\r\n\t1\r\n}", "-y"));
+		assertNotEquals(DotLayoutCache.computeKey("graph { 1 }", "-y"),
+				DotLayoutCache.computeKey("graph { 1 }"));
+		assertNotEquals(DotLayoutCache.computeKey("graph { 1 }", "-y"),
+				DotLayoutCache.computeKey("graph { 2 }", "-y"));
+		// options are separated
+		assertNotEquals(DotLayoutCache.computeKey("graph {}", "ab", "c"),
+				DotLayoutCache.computeKey("graph {}", "a", "bc"));
+	}
+
+	@Test
+	public void memoryTier() {
+		DotLayoutCache cache = new DotLayoutCache(2);
+		cache.put(A, "A");
+		cache.put(B, "B");
+		// access 'a', so 'b' is least recently used
+		assertEquals("A", cache.get(A));
+		cache.put(C, "C");
+		assertNull(cache.get(B));
+		assertEquals("A", cache.get(A));
+		assertEquals("C", cache.get(C));
+	}
+
+}
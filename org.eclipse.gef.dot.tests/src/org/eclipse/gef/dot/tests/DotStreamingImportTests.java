@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.tests;
+
+import static org.eclipse.gef.dot.tests.DotTestUtils.RESOURCES_TESTS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.gef.dot.internal.DotAttributes;
+import org.eclipse.gef.dot.internal.DotImport;
+import org.eclipse.gef.dot.internal.DotStreamingImport;
+import org.eclipse.gef.dot.internal.language.DotUiInjectorProvider;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.xtext.junit4.InjectWith;
+import org.eclipse.xtext.junit4.XtextRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for the {@link DotStreamingImport} class.
+ *
+ * @author agent
+ */
+@RunWith(XtextRunner.class)
+@InjectWith(DotUiInjectorProvider.class)
+public final class DotStreamingImportTests {
+
+	private final DotImport dotImport = new DotImport();
+	private final DotStreamingImport dotStreamingImport = new DotStreamingImport();
+
+	private static void appendGraph(StringBuilder sb, Graph graph) {
+		sb.append(graph.toString());
+		for (Node node : graph.getNodes()) {
+			if (node.getNestedGraph() != null) {
+				sb.append(" nested {");
+				appendGraph(sb, node.getNestedGraph());
+				sb.append("}");
+			}
+		}
+	}
+
+	private static String toString(List<Graph> graphs) {
+		StringBuilder sb = new StringBuilder();
+		for (Graph graph : graphs) {
+			appendGraph(sb, graph);
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void equivalentToDotImport() throws IllegalAccessException {
+		for (Field field : DotTestGraphs.class.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers()) || !String.class.equals(field.getType())) {
+				continue;
+			}
+			String dot = (String) field.get(null);
+			String expected;
+			try {
+				expected = toString(dotImport.importDot(dot));
+			} catch (IllegalArgumentException e) {
+				// invalid input has to be rejected as well
+				try {
+					dotStreamingImport.importDot(dot);
+					fail("Expected IllegalArgumentException for " + field.getName());
+				} catch (IllegalArgumentException expectedException) {
+					// expected
+				}
+				continue;
+			}
+			assertEquals(field.getName(), expected, toString(dotStreamingImport.importDot(dot)));
+		}
+	}
+
+	@Test
+	public void fileImport() {
+		File file = new File(RESOURCES_TESTS + "styled_graph.dot"); //$NON-NLS-1$
+		assertEquals(toString(dotImport.importDot(file)), toString(dotStreamingImport.importDot(file)));
+	}
+
+	@Test
+	public void largeInput() throws IOException {
+		// a reader that generates a chain of edges, so the input is never
+		// held in memory as a whole
+		final int edgeCount = 100000;
+		Reader reader = new Reader() {
+			private int edge = -1;
+			private String chunk = "digraph { node [shape=box]\n";
+			private int position = 0;
+
+			@Override
+			public void close() {
+			}
+
+			@Override
+			public int read(char[] cbuf, int off, int len) {
+				if (position == chunk.length()) {
+					edge++;
+					if (edge < edgeCount) {
+						chunk = "n" + edge + " -> n" + (edge + 1) + " [label=\"e" + edge + "\"];\n";
+					} else if (edge == edgeCount) {
+						chunk = "}";
+					} else {
+						return -1;
+					}
+					position = 0;
+				}
+				int count = Math.min(len, chunk.length() - position);
+				chunk.getChars(position, position + count, cbuf, off);
+				position += count;
+				return count;
+			}
+		};
+		List<Graph> graphs = dotStreamingImport.importDot(reader);
+		assertEquals(1, graphs.size());
+		Graph graph = graphs.get(0);
+		assertEquals(edgeCount + 1, graph.getNodes().size());
+		assertEquals(edgeCount, graph.getEdges().size());
+		Edge edge = graph.getEdges().get(42);
+		assertEquals("n42", DotAttributes._getName(edge.getSource()));
+		assertEquals("n43", DotAttributes._getName(edge.getTarget()));
+		assertEquals("e42", DotAttributes.getLabel(edge));
+		assertEquals("box", DotAttributes.getShape(edge.getTarget()));
+	}
+
+	@Test
+	public void skippedStatementsReported() {
+		final List<String> problems = new ArrayList<>();
+		DotStreamingImport reportingImport = new DotStreamingImport(new Consumer<String>() {
+			@Override
+			public void accept(String problem) {
+				problems.add(problem);
+			}
+		});
+		List<Graph> graphs = reportingImport.importDot("digraph {\n  a -> { b c }\n  { d } -> e\n  f -> g\n}");
+		assertEquals(2, problems.size());
+		assertTrue(problems.get(0), problems.get(0).contains("line 2, column 8"));
+		assertTrue(problems.get(1), problems.get(1).contains("line 3, column 9"));
+		// the remaining statements are transformed
+		assertEquals(1, graphs.size());
+		assertEquals(1, graphs.get(0).getEdges().size());
+	}
+
+	@Test
+	public void syntaxErrorLocation() {
+		try {
+			dotStreamingImport.importDot("graph {\n  a -> ;\n}");
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("line 2, column 8"));
+		}
+	}
+
+}
@@ -12,12 +12,16 @@
  *     Tamas Miklossy   (itemis AG) - Add support for arrowType edge decorations (bug #477980)
  *                                  - Add support for polygon-based node shapes (bug #441352)
  *                                  - Add support for all dot attributes (bug #461506)
+ *     agent - create visuals from comparable templates
  *
  *******************************************************************************/
 package org.eclipse.gef.dot.internal.ui;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.gef.common.attributes.IAttributeCopier;
 import org.eclipse.gef.common.attributes.IAttributeStore;
@@ -102,6 +106,82 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		public boolean invertYAxis = false;
 	}
 
+	/**
+	 * A template for the visuals (i.e. node shapes, edge curves, and edge
+	 * decorations) that are created by the converter. As JavaFX nodes may
+	 * only have a single parent, a visual cannot be shared between elements.
+	 * Instead, each visual is created from a template, which is identified by
+	 * the DOT attribute values the visual depends on. Visuals that are created
+	 * from equal templates are equivalent, even if they are changed (e.g.
+	 * resized or styled) after their creation, which is why the template of a
+	 * visual can be retrieved using {@link #get(javafx.scene.Node)}.
+	 */
+	public static abstract class VisualTemplate {
+
+		/**
+		 * Returns the {@link VisualTemplate} from which the given visual was
+		 * created.
+		 *
+		 * @param visual
+		 *            The visual for which to return the template.
+		 * @return The {@link VisualTemplate} from which the given visual was
+		 *         created, or <code>null</code> if it was not created from a
+		 *         template.
+		 */
+		public static VisualTemplate get(javafx.scene.Node visual) {
+			Object template = visual.getProperties()
+					.get(VisualTemplate.class);
+			return template instanceof VisualTemplate
+					? (VisualTemplate) template : null;
+		}
+
+		private final List<Object> key;
+
+		/**
+		 * Creates a new {@link VisualTemplate} that is identified by the given
+		 * values.
+		 *
+		 * @param key
+		 *            The (immutable) values that identify the template.
+		 */
+		protected VisualTemplate(Object... key) {
+			this.key = Arrays.asList(key);
+		}
+
+		/**
+		 * Creates a new visual from this template.
+		 *
+		 * @return The new visual, or <code>null</code> if no visual can be
+		 *         created.
+		 */
+		public javafx.scene.Node create() {
+			javafx.scene.Node visual = doCreate();
+			if (visual != null) {
+				visual.getProperties().put(VisualTemplate.class, this);
+			}
+			return visual;
+		}
+
+		/**
+		 * Creates a new visual from this template.
+		 *
+		 * @return The new visual, or <code>null</code> if no visual can be
+		 *         created.
+		 */
+		protected abstract javafx.scene.Node doCreate();
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof VisualTemplate
+					&& key.equals(((VisualTemplate) obj).key);
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode();
+		}
+	}
+
 	@Override
 	public void copy(IAttributeStore source, IAttributeStore target) {
 		if (source instanceof Node && target instanceof Node) {
@@ -156,21 +236,10 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 
 		// convert edge style
 		String dotStyle = DotAttributes.getStyle(dot);
-		String connectionCssStyle = null;
-		if (EdgeStyle.DASHED.toString().equals(dotStyle)) {
-			connectionCssStyle = "-fx-stroke-dash-array: 7 7;"; //$NON-NLS-1$
-		} else if (EdgeStyle.DOTTED.toString().equals(dotStyle)) {
-			connectionCssStyle = "-fx-stroke-dash-array: 1 7;"; //$NON-NLS-1$
-		} else if (EdgeStyle.BOLD.toString().equals(dotStyle)) {
-			connectionCssStyle = "-fx-stroke-width: 2;"; //$NON-NLS-1$
-		} else if (EdgeStyle.INVIS.toString().equals(dotStyle)) {
+		if (EdgeStyle.INVIS.toString().equals(dotStyle)) {
 			// mark as invisible
 			ZestProperties.setInvisible(zest, true);
 		}
-		// TODO: handle tapered edges
-		if (connectionCssStyle == null) {
-			connectionCssStyle = "-fx-stroke-line-cap: butt;"; //$NON-NLS-1$
-		}
 		// direction
 		DirType dotDir = DotAttributes.getDirParsed(dot);
 		if (dotDir == null) {
@@ -181,43 +250,23 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 							? DirType.FORWARD : DirType.NONE;
 		}
 
-		// color
-		Color dotColor = DotAttributes.getColorParsed(dot);
-		String javaFxColor = computeZestColor(dotColor);
-		if (javaFxColor != null) {
-			String zestStroke = "-fx-stroke: " + javaFxColor + ";"; //$NON-NLS-1$ //$NON-NLS-2$
-			connectionCssStyle += zestStroke;
-			if (DirType.BACK.equals(dotDir) || DirType.BOTH.equals(dotDir)) {
-				String zestFill = "-fx-fill: " + javaFxColor + ";"; //$NON-NLS-1$ //$NON-NLS-2$
-				String zestSourceDecorationCssStyle = zestStroke + zestFill;
-				ZestProperties.setSourceDecorationCssStyle(zest,
-						zestSourceDecorationCssStyle);
-			}
-			if (DirType.FORWARD.equals(dotDir) || DirType.BOTH.equals(dotDir)) {
-				String zestFill = "-fx-fill: " + javaFxColor + ";"; //$NON-NLS-1$ //$NON-NLS-2$
-				String zestTargetDecorationCssStyle = zestStroke + zestFill;
-				ZestProperties.setTargetDecorationCssStyle(zest,
-						zestTargetDecorationCssStyle);
-			}
+		// style, color, and fillcolor
+		List<Object> zestEdgeStylesKey = Arrays.<Object> asList(dotStyle,
+				dotDir, DotAttributes.getColor(dot),
+				DotAttributes.getFillcolor(dot));
+		String[] zestEdgeStyles = zestEdgeStyleCache.get(zestEdgeStylesKey);
+		if (zestEdgeStyles == null) {
+			zestEdgeStyles = computeZestEdgeStyles(dot, dotStyle, dotDir);
+			zestEdgeStyleCache.put(zestEdgeStylesKey, zestEdgeStyles);
 		}
-
-		ZestProperties.setCurveCssStyle(zest, connectionCssStyle);
-
-		// fillcolor
-		Color dotFillColor = DotAttributes.getFillcolorParsed(dot);
-		String javaFxFillColor = computeZestColor(dotFillColor);
-		if (javaFxFillColor != null) {
-			String zestSourceDecorationCssStyle = ZestProperties
-					.getSourceDecorationCssStyle(zest);
+		ZestProperties.setCurveCssStyle(zest, zestEdgeStyles[0]);
+		if (zestEdgeStyles[1] != null) {
 			ZestProperties.setSourceDecorationCssStyle(zest,
-					zestSourceDecorationCssStyle + "-fx-fill: " //$NON-NLS-1$
-							+ javaFxFillColor + ";"); //$NON-NLS-1$
-
-			String zestTargetDecorationCssStyle = ZestProperties
-					.getTargetDecorationCssStyle(zest);
+					zestEdgeStyles[1]);
+		}
+		if (zestEdgeStyles[2] != null) {
 			ZestProperties.setTargetDecorationCssStyle(zest,
-					zestTargetDecorationCssStyle + "-fx-fill: " //$NON-NLS-1$
-							+ javaFxFillColor + ";"); //$NON-NLS-1$
+					zestEdgeStyles[2]);
 		}
 
 		// arrow size
@@ -232,12 +281,12 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 			// directed
 			if (GraphType.DIGRAPH.equals(DotAttributes
 					._getType(dot.getGraph().getRootGraph().getRootGraph()))) {
-				zestEdgeTargetDecoration = DotArrowShapeDecorations
-						.getDefault(arrowSize, true);
+				zestEdgeTargetDecoration = getDecorationTemplate(null, null,
+						arrowSize).create();
 			}
 		} else {
-			zestEdgeTargetDecoration = computeZestDecoration(
-					DotAttributes.getArrowheadParsed(dot), arrowSize);
+			zestEdgeTargetDecoration = getDecorationTemplate(dotArrowHead,
+					DotAttributes.getArrowheadParsed(dot), arrowSize).create();
 		}
 
 		// The zest edge target decoration should only appear if the edge
@@ -254,12 +303,12 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 			// directed
 			if (GraphType.DIGRAPH.equals(DotAttributes
 					._getType(dot.getGraph().getRootGraph().getRootGraph()))) {
-				zestEdgeSourceDecoration = DotArrowShapeDecorations
-						.getDefault(arrowSize, true);
+				zestEdgeSourceDecoration = getDecorationTemplate(null, null,
+						arrowSize).create();
 			}
 		} else {
-			zestEdgeSourceDecoration = computeZestDecoration(
-					DotAttributes.getArrowtailParsed(dot), arrowSize);
+			zestEdgeSourceDecoration = getDecorationTemplate(dotArrowTail,
+					DotAttributes.getArrowtailParsed(dot), arrowSize).create();
 		}
 
 		// The zest edge source decoration should only appear if the edge
@@ -269,8 +318,7 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		}
 
 		// create edge curve
-		GeometryNode<ICurve> curve = new GeometryNode<>();
-		ZestProperties.setCurve(zest, curve);
+		ZestProperties.setCurve(zest, CURVE_TEMPLATE.create());
 
 		// only convert layout information in native mode, as the results
 		// will otherwise not match
@@ -419,6 +467,86 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		return DotArrowShapeDecorations.get(arrowType, arrowSize);
 	}
 
+	/**
+	 * Returns the (shared) template for the decorations of the given arrow
+	 * type and size.
+	 *
+	 * @param dotArrowType
+	 *            The (raw) 'arrowhead' or 'arrowtail' value, or
+	 *            <code>null</code> for the default decoration.
+	 * @param dotArrowTypeParsed
+	 *            The parsed 'arrowhead' or 'arrowtail' value.
+	 * @param arrowSize
+	 *            The 'arrowsize' value.
+	 */
+	private VisualTemplate getDecorationTemplate(String dotArrowType,
+			final ArrowType dotArrowTypeParsed, final double arrowSize) {
+		VisualTemplate template = new VisualTemplate("decoration", //$NON-NLS-1$
+				dotArrowType, arrowSize) {
+			@Override
+			protected javafx.scene.Node doCreate() {
+				return dotArrowTypeParsed == null
+						? DotArrowShapeDecorations.getDefault(arrowSize, true)
+						: computeZestDecoration(dotArrowTypeParsed, arrowSize);
+			}
+		};
+		return getSharedTemplate(template);
+	}
+
+	/**
+	 * Computes the CSS styles of the curve, the source decoration, and the
+	 * target decoration of the given edge. As these only depend on the values
+	 * of the 'style', 'dir', 'color', and 'fillcolor' attributes, they are
+	 * shared by all edges with identical values.
+	 */
+	private String[] computeZestEdgeStyles(Edge dot, String dotStyle,
+			DirType dotDir) {
+		String connectionCssStyle = null;
+		if (EdgeStyle.DASHED.toString().equals(dotStyle)) {
+			connectionCssStyle = "-fx-stroke-dash-array: 7 7;"; //$NON-NLS-1$
+		} else if (EdgeStyle.DOTTED.toString().equals(dotStyle)) {
+			connectionCssStyle = "-fx-stroke-dash-array: 1 7;"; //$NON-NLS-1$
+		} else if (EdgeStyle.BOLD.toString().equals(dotStyle)) {
+			connectionCssStyle = "-fx-stroke-width: 2;"; //$NON-NLS-1$
+		}
+		// TODO: handle tapered edges
+		if (connectionCssStyle == null) {
+			connectionCssStyle = "-fx-stroke-line-cap: butt;"; //$NON-NLS-1$
+		}
+
+		// color
+		String zestSourceDecorationCssStyle = null;
+		String zestTargetDecorationCssStyle = null;
+		Color dotColor = DotAttributes.getColorParsed(dot);
+		String javaFxColor = computeZestColor(dotColor);
+		if (javaFxColor != null) {
+			String zestStroke = "-fx-stroke: " + javaFxColor + ";"; //$NON-NLS-1$ //$NON-NLS-2$
+			connectionCssStyle += zestStroke;
+			if (DirType.BACK.equals(dotDir) || DirType.BOTH.equals(dotDir)) {
+				String zestFill = "-fx-fill: " + javaFxColor + ";"; //$NON-NLS-1$ //$NON-NLS-2$
+				zestSourceDecorationCssStyle = zestStroke + zestFill;
+			}
+			if (DirType.FORWARD.equals(dotDir) || DirType.BOTH.equals(dotDir)) {
+				String zestFill = "-fx-fill: " + javaFxColor + ";"; //$NON-NLS-1$ //$NON-NLS-2$
+				zestTargetDecorationCssStyle = zestStroke + zestFill;
+			}
+		}
+
+		// fillcolor
+		Color dotFillColor = DotAttributes.getFillcolorParsed(dot);
+		String javaFxFillColor = computeZestColor(dotFillColor);
+		if (javaFxFillColor != null) {
+			zestSourceDecorationCssStyle = zestSourceDecorationCssStyle
+					+ "-fx-fill: " //$NON-NLS-1$
+					+ javaFxFillColor + ";"; //$NON-NLS-1$
+			zestTargetDecorationCssStyle = zestTargetDecorationCssStyle
+					+ "-fx-fill: " //$NON-NLS-1$
+					+ javaFxFillColor + ";"; //$NON-NLS-1$
+		}
+		return new String[] { connectionCssStyle, zestSourceDecorationCssStyle,
+				zestTargetDecorationCssStyle };
+	}
+
 	private List<Point> computeZestBSplineControlPoints(Edge dot) {
 		SplineType splineType = DotAttributes.getPosParsed(dot);
 		List<Point> controlPoints = new ArrayList<>();
@@ -464,46 +592,20 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		}
 
 		// style and color
-		String zestShapeStyle = computeZestStyle(dot);
-		org.eclipse.gef.dot.internal.language.shape.Shape dotShape = DotAttributes
-				.getShapeParsed(dot);
-		javafx.scene.Node zestShape = null;
-		if (dotShape == null) {
-			// ellipse is default shape
-			zestShape = new GeometryNode<>(new Ellipse(new Rectangle()));
-		} else if (dotShape.getShape() instanceof PolygonBasedShape) {
-			PolygonBasedNodeShape polygonShape = ((PolygonBasedShape) dotShape
-					.getShape()).getShape();
-			// handle different polygon shapes
-			if (PolygonBasedNodeShape.CIRCLE.equals(polygonShape)
-					|| PolygonBasedNodeShape.ELLIPSE.equals(polygonShape)
-					|| PolygonBasedNodeShape.OVAL.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(new Ellipse(new Rectangle()));
-			} else if (PolygonBasedNodeShape.BOX.equals(polygonShape)
-					|| PolygonBasedNodeShape.RECT.equals(polygonShape)
-					|| PolygonBasedNodeShape.RECTANGLE.equals(polygonShape)
-					|| PolygonBasedNodeShape.SQUARE.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(new Rectangle());
-			} else if (PolygonBasedNodeShape.DIAMOND.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(
-						new Polygon(0, 50, 50, 0, 100, 50, 50, 100, 0, 50));
-			} else if (PolygonBasedNodeShape.INVTRIANGLE.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(
-						new Polygon(0, 10, 100, 10, 50, 100, 0, 10));
-			} else if (PolygonBasedNodeShape.TRIANGLE.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(
-						new Polygon(0, 50, 50, 0, 100, 50, 0, 50));
-			} else {
-				// TODO: handle other polygon shapes
-			}
+		List<String> zestShapeStyleKey = Arrays.asList(
+				DotAttributes.getStyle(dot), DotAttributes.getColor(dot),
+				DotAttributes.getFillcolor(dot));
+		String zestShapeStyle;
+		if (zestShapeStyleCache.containsKey(zestShapeStyleKey)) {
+			zestShapeStyle = zestShapeStyleCache.get(zestShapeStyleKey);
 		} else {
-			// handle record and custom shapes
+			zestShapeStyle = computeZestStyle(dot);
+			zestShapeStyleCache.put(zestShapeStyleKey, zestShapeStyle);
 		}
-
+		javafx.scene.Node zestShape = getShapeTemplate(
+				DotAttributes.getShape(dot), DotAttributes.getShapeParsed(dot),
+				zestShapeStyle).create();
 		if (zestShape != null) {
-			if (zestShapeStyle != null) {
-				zestShape.setStyle(zestShapeStyle);
-			}
 			ZestProperties.setShape(zest, zestShape);
 		}
 
@@ -540,7 +642,7 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 			// if we are to emulate dot and fixedsize=true is not given, we have
 			// to compute the size to enclose image, label, and margin.
 			// TODO: also enclose image and margin
-			Dimension labelSize = computeZestLabelSize(dotLabel);
+			Dimension labelSize = getZestLabelSize(dotLabel);
 			ZestProperties.setSize(zest, Dimension
 					.max(new Dimension(zestWidth, zestHeight), labelSize));
 		} else {
@@ -571,6 +673,85 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		}
 	}
 
+	private javafx.scene.Node computeZestShape(
+			org.eclipse.gef.dot.internal.language.shape.Shape dotShape) {
+		javafx.scene.Node zestShape = null;
+		if (dotShape == null) {
+			// ellipse is default shape
+			zestShape = new GeometryNode<>(new Ellipse(new Rectangle()));
+		} else if (dotShape.getShape() instanceof PolygonBasedShape) {
+			PolygonBasedNodeShape polygonShape = ((PolygonBasedShape) dotShape
+					.getShape()).getShape();
+			// handle different polygon shapes
+			if (PolygonBasedNodeShape.CIRCLE.equals(polygonShape)
+					|| PolygonBasedNodeShape.ELLIPSE.equals(polygonShape)
+					|| PolygonBasedNodeShape.OVAL.equals(polygonShape)) {
+				zestShape = new GeometryNode<>(new Ellipse(new Rectangle()));
+			} else if (PolygonBasedNodeShape.BOX.equals(polygonShape)
+					|| PolygonBasedNodeShape.RECT.equals(polygonShape)
+					|| PolygonBasedNodeShape.RECTANGLE.equals(polygonShape)
+					|| PolygonBasedNodeShape.SQUARE.equals(polygonShape)) {
+				zestShape = new GeometryNode<>(new Rectangle());
+			} else if (PolygonBasedNodeShape.DIAMOND.equals(polygonShape)) {
+				zestShape = new GeometryNode<>(
+						new Polygon(0, 50, 50, 0, 100, 50, 50, 100, 0, 50));
+			} else if (PolygonBasedNodeShape.INVTRIANGLE.equals(polygonShape)) {
+				zestShape = new GeometryNode<>(
+						new Polygon(0, 10, 100, 10, 50, 100, 0, 10));
+			} else if (PolygonBasedNodeShape.TRIANGLE.equals(polygonShape)) {
+				zestShape = new GeometryNode<>(
+						new Polygon(0, 50, 50, 0, 100, 50, 0, 50));
+			} else {
+				// TODO: handle other polygon shapes
+			}
+		} else {
+			// handle record and custom shapes
+		}
+		return zestShape;
+	}
+
+	/**
+	 * Returns the (shared) template for the node shapes of the given shape and
+	 * style.
+	 *
+	 * @param dotShape
+	 *            The (raw) 'shape' value.
+	 * @param dotShapeParsed
+	 *            The parsed 'shape' value.
+	 * @param zestShapeStyle
+	 *            The CSS style of the shape.
+	 */
+	private VisualTemplate getShapeTemplate(String dotShape,
+			final org.eclipse.gef.dot.internal.language.shape.Shape dotShapeParsed,
+			final String zestShapeStyle) {
+		VisualTemplate template = new VisualTemplate("shape", dotShape, //$NON-NLS-1$
+				zestShapeStyle) {
+			@Override
+			protected javafx.scene.Node doCreate() {
+				javafx.scene.Node zestShape = computeZestShape(dotShapeParsed);
+				if (zestShape != null && zestShapeStyle != null) {
+					zestShape.setStyle(zestShapeStyle);
+				}
+				return zestShape;
+			}
+		};
+		return getSharedTemplate(template);
+	}
+
+	/**
+	 * Returns the cached template that is equal to the given one, so that all
+	 * elements with identical values share a single template. The given
+	 * template is cached in case no equal template is cached yet.
+	 */
+	private VisualTemplate getSharedTemplate(VisualTemplate template) {
+		VisualTemplate sharedTemplate = visualTemplateCache.get(template);
+		if (sharedTemplate == null) {
+			visualTemplateCache.put(template, template);
+			sharedTemplate = template;
+		}
+		return sharedTemplate;
+	}
+
 	private String computeZestStyle(Node dot) {
 		String zestStyle = null;
 		// color
@@ -620,7 +801,7 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 	private Point computeZestLabelPosition(
 			org.eclipse.gef.dot.internal.language.point.Point dotLabelPosition,
 			String labelText) {
-		Dimension labelSize = computeZestLabelSize(labelText);
+		Dimension labelSize = getZestLabelSize(labelText);
 		return computeZestPosition(dotLabelPosition, labelSize.getWidth(),
 				labelSize.getHeight());
 	}
@@ -695,6 +876,69 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		}
 	}
 
+	/**
+	 * Clears the caches of the converter (i.e. the shared styles, templates,
+	 * and label sizes), so that all values are computed anew by subsequent
+	 * conversions. As the cached values only depend on the attribute values
+	 * they are computed from, and as the caches are bounded, this is only
+	 * needed to release the memory they occupy.
+	 */
+	public void clearCaches() {
+		zestShapeStyleCache.clear();
+		zestEdgeStyleCache.clear();
+		visualTemplateCache.clear();
+		zestLabelSizeCache.clear();
+	}
+
+	/**
+	 * Returns the size of the given label text, which is computed only once
+	 * per (recently used) label text.
+	 */
+	private Dimension getZestLabelSize(String labelText) {
+		Dimension labelSize = zestLabelSizeCache.get(labelText);
+		if (labelSize == null) {
+			labelSize = computeZestLabelSize(labelText);
+			zestLabelSizeCache.put(labelText, labelSize);
+		}
+		// Dimension is mutable, so the cached instance may not be passed out
+		return labelSize.getCopy();
+	}
+
+	private static final int CACHE_CAPACITY = 1024;
+
+	private static final VisualTemplate CURVE_TEMPLATE = new VisualTemplate(
+			"curve") { //$NON-NLS-1$
+		@Override
+		protected javafx.scene.Node doCreate() {
+			return new GeometryNode<ICurve>();
+		}
+	};
+
+	/**
+	 * Creates a cache that retains the (at most {@link #CACHE_CAPACITY}) most
+	 * recently used entries.
+	 */
+	private static <K, V> Map<K, V> createCache() {
+		return new LinkedHashMap<K, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > CACHE_CAPACITY;
+			}
+		};
+	}
+
+	// XXX: Styles and visual templates only depend on the raw values of a few
+	// attributes, so they are computed once per combination of values and
+	// shared by all elements. Visuals (e.g. shapes and decorations) cannot be
+	// shared, as each scene graph node may only have a single parent, but
+	// they are created from shared templates.
+	private final Map<List<String>, String> zestShapeStyleCache = createCache();
+	private final Map<List<Object>, String[]> zestEdgeStyleCache = createCache();
+	private final Map<VisualTemplate, VisualTemplate> visualTemplateCache = createCache();
+	private final Map<String, Dimension> zestLabelSizeCache = createCache();
+
 	private Options options;
 
 	public Options options() {
@@ -12,13 +12,19 @@
  *     Alexander Nyßen (itemis AG) - Refactorings and cleanups
  *     Tamas Miklossy (itemis AG) - Refactoring of preferences (bug #446639)
  *                                - Render embedded dot graphs in native mode (bug #493694)
+ *     agent - cache Graphviz layout results
+ *           - merge re-imported graphs incrementally
  *
  *******************************************************************************/
 package org.eclipse.gef.dot.internal.ui;
 
 import java.io.File;
 import java.net.MalformedURLException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -32,13 +38,23 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.gef.dot.internal.DotAttributes;
 import org.eclipse.gef.dot.internal.DotExecutableUtils;
 import org.eclipse.gef.dot.internal.DotExtractor;
 import org.eclipse.gef.dot.internal.DotFileUtils;
 import org.eclipse.gef.dot.internal.DotImport;
+import org.eclipse.gef.dot.internal.DotLayoutCache;
+import org.eclipse.gef.dot.internal.ui.Dot2ZestAttributesConverter.VisualTemplate;
 import org.eclipse.gef.dot.internal.ui.language.internal.DotActivator;
+import org.eclipse.gef.fx.nodes.IConnectionInterpolator;
+import org.eclipse.gef.fx.nodes.IConnectionRouter;
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.GraphMerger;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
 import org.eclipse.gef.mvc.fx.ui.actions.FitToViewportActionGroup;
 import org.eclipse.gef.mvc.fx.ui.actions.ScrollActionGroup;
 import org.eclipse.gef.mvc.fx.ui.actions.ZoomActionGroup;
@@ -96,12 +112,40 @@ public class DotGraphView extends ZestFxUiView {
 	private static final String SYNC_IMPORT_DOT = DotUiMessages.DotGraphView_1;
 	private static final String GRAPH_NONE = DotUiMessages.DotGraphView_2;
 	private static final String GRAPH_RESOURCE = DotUiMessages.DotGraphView_3;
+	private static final int LAYOUT_CACHE_CAPACITY = 32;
+	private static DotLayoutCache layoutCache;
 	private boolean listenToDotContent = false;
 	private String currentDot = "digraph{}"; //$NON-NLS-1$
 	private File currentFile = null;
+	private File displayedFile = null;
 	private Link resourceLabel = null;
 
 	private Dot2ZestGraphCopier dot2ZestGraphCopier = new Dot2ZestGraphCopier();
+	// the keys (derived from the DOT names) of the nodes and edges of the
+	// displayed Zest graph, by which they are matched when the graph changes
+	private Map<Object, Object> zestKeys = new IdentityHashMap<>();
+	private GraphMerger zestGraphMerger = new GraphMerger(
+			new GraphMerger.IKeyProvider() {
+
+				@Override
+				public Object getKey(Edge edge) {
+					return zestKeys.get(edge);
+				}
+
+				@Override
+				public Object getKey(Node node) {
+					return zestKeys.get(node);
+				}
+			}) {
+
+		@Override
+		protected boolean isEqual(String key, Object targetValue,
+				Object sourceValue) {
+			// shapes, decorations, routers, etc. are newly created by every
+			// conversion, so they cannot be compared by equality
+			return isEquivalentZestValue(targetValue, sourceValue);
+		}
+	};
 
 	private IPropertyChangeListener preferenceChangeListener = new IPropertyChangeListener() {
 		@Override
@@ -137,6 +181,116 @@ public class DotGraphView extends ZestFxUiView {
 				.addPropertyChangeListener(preferenceChangeListener);
 	}
 
+	private void computeZestKeys(Graph dotGraph, Map<Object, Object> keys,
+			Map<String, Integer> edgeOccurrences) {
+		Map<Node, Node> nodes = dot2ZestGraphCopier.getInputToOutputNodeMap();
+		for (Node dotNode : dotGraph.getNodes()) {
+			Graph nestedGraph = dotNode.getNestedGraph();
+			// cluster nodes are identified by the name of their subgraph
+			String name = nestedGraph == null ? DotAttributes._getName(dotNode)
+					: DotAttributes._getName(nestedGraph);
+			if (name != null && nodes.containsKey(dotNode)) {
+				keys.put(nodes.get(dotNode),
+						(nestedGraph == null ? "node:" : "subgraph:") + name); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			if (nestedGraph != null) {
+				computeZestKeys(nestedGraph, keys, edgeOccurrences);
+			}
+		}
+		// XXX: Edges are not named in DOT, so they are identified by the
+		// names of their source and target and an occurrence index (which
+		// is why the graph has to be traversed in statement order).
+		Map<Edge, Edge> edges = dot2ZestGraphCopier.getInputToOutputEdgeMap();
+		for (Edge dotEdge : dotGraph.getEdges()) {
+			String name = DotAttributes._getName(dotEdge);
+			Integer occurrence = edgeOccurrences.get(name);
+			occurrence = occurrence == null ? 0 : occurrence + 1;
+			edgeOccurrences.put(name, occurrence);
+			if (edges.containsKey(dotEdge)) {
+				keys.put(edges.get(dotEdge), name + "#" + occurrence); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Determines whether the given values of a Zest attribute are equivalent.
+	 * Visuals (i.e. shapes, curves, and decorations) are compared by the
+	 * templates they were created from (as the displayed ones are changed by
+	 * their parts), while routers, interpolators, and layout algorithms (which
+	 * are created with their default configuration) are compared by type.
+	 */
+	private static boolean isEquivalentZestValue(Object value1,
+			Object value2) {
+		if (Objects.equals(value1, value2)) {
+			return true;
+		}
+		if (value1 == null || value2 == null) {
+			return false;
+		}
+		if (value1 instanceof javafx.scene.Node
+				&& value2 instanceof javafx.scene.Node) {
+			VisualTemplate template = VisualTemplate
+					.get((javafx.scene.Node) value1);
+			return template != null && template.equals(
+					VisualTemplate.get((javafx.scene.Node) value2));
+		}
+		if (value1 instanceof TreeLayoutAlgorithm
+				&& value2 instanceof TreeLayoutAlgorithm) {
+			return ((TreeLayoutAlgorithm) value1)
+					.getDirection() == ((TreeLayoutAlgorithm) value2)
+							.getDirection();
+		}
+		if (value1 instanceof IConnectionRouter
+				|| value1 instanceof IConnectionInterpolator
+				|| value1 instanceof ILayoutAlgorithm) {
+			return value1.getClass() == value2.getClass();
+		}
+		return false;
+	}
+
+	/**
+	 * Retains the keys of the nodes and edges of the given (displayed) graph
+	 * (including its nested graphs) within the given map.
+	 */
+	private void retainZestKeys(Graph graph, Map<Object, Object> keys) {
+		for (Node node : graph.getNodes()) {
+			keys.put(node, zestKeys.get(node));
+			if (node.getNestedGraph() != null) {
+				retainZestKeys(node.getNestedGraph(), keys);
+			}
+		}
+		for (Edge edge : graph.getEdges()) {
+			keys.put(edge, zestKeys.get(edge));
+		}
+	}
+
+	private Graph getDisplayedGraph() {
+		if (getContentViewer() == null
+				|| getContentViewer().getContents().size() != 1
+				|| !(getContentViewer().getContents()
+						.get(0) instanceof Graph)) {
+			return null;
+		}
+		return (Graph) getContentViewer().getContents().get(0);
+	}
+
+	/**
+	 * Returns the {@link DotLayoutCache} that holds the output of the Graphviz
+	 * 'dot' executable (in native mode). It is shared by all
+	 * {@link DotGraphView}s and persists its entries into the state location
+	 * of the DOT UI bundle.
+	 *
+	 * @return The {@link DotLayoutCache} to use.
+	 */
+	protected static synchronized DotLayoutCache getLayoutCache() {
+		if (layoutCache == null) {
+			layoutCache = new DotLayoutCache(LAYOUT_CACHE_CAPACITY,
+					DotActivator.getInstance().getStateLocation()
+							.append("layoutCache").toFile()); //$NON-NLS-1$
+		}
+		return layoutCache;
+	}
+
 	protected boolean isNativeMode() {
 		return GraphvizPreferencePage.isGraphvizConfigured();
 	}
@@ -147,6 +301,7 @@ public class DotGraphView extends ZestFxUiView {
 				.removePropertyChangeListener(preferenceChangeListener);
 		currentDot = null;
 		currentFile = null;
+		displayedFile = null;
 
 		if (fitToViewportActionGroup != null) {
 			fitToViewportActionGroup.dispose();
@@ -256,7 +411,9 @@ public class DotGraphView extends ZestFxUiView {
 				if (!dot.trim().isEmpty()) {
 					try {
 						List<Graph> importDot = new DotImport().importDot(dot);
-						setGraph(importDot.isEmpty() ? null : importDot.get(0));
+						setGraph(importDot.isEmpty() ? null : importDot.get(0),
+								file != null && file.equals(displayedFile));
+						displayedFile = file;
 					} catch (Exception e) {
 						e.printStackTrace();
 						String message = String.format(
@@ -282,13 +439,38 @@ public class DotGraphView extends ZestFxUiView {
 
 	@Override
 	public void setGraph(Graph graph) {
+		setGraph(graph, false);
+	}
+
+	private void setGraph(Graph graph, boolean merge) {
 		// do no convert layout algorithm and rankdir in emulated mode, invert
 		// y-axis mode (as by default y-axis is interpreted inverse in dot)
 		boolean isNativeMode = isNativeMode();
 		dot2ZestGraphCopier.getAttributeCopier()
 				.options().emulateLayout = !isNativeMode;
 		dot2ZestGraphCopier.getAttributeCopier().options().invertYAxis = false;
-		super.setGraph(dot2ZestGraphCopier.copy(graph));
+		Graph zestGraph = dot2ZestGraphCopier.copy(graph);
+		Map<Object, Object> keys = new IdentityHashMap<>();
+		if (graph != null) {
+			computeZestKeys(graph, keys, new HashMap<String, Integer>());
+		}
+
+		// update the displayed graph incrementally when the displayed file is
+		// re-imported, so that only the parts of changed nodes and edges are
+		// updated; the viewport is retained in this case, so that the user
+		// does not lose the scroll position upon each change of the file
+		Graph displayedGraph = getDisplayedGraph();
+		if (merge && displayedGraph != null && zestGraph != null) {
+			zestKeys.putAll(keys);
+			zestGraphMerger.merge(displayedGraph, zestGraph);
+			// only retain the keys of the displayed nodes and edges
+			Map<Object, Object> displayedKeys = new IdentityHashMap<>();
+			retainZestKeys(displayedGraph, displayedKeys);
+			zestKeys = displayedKeys;
+			return;
+		}
+		zestKeys = keys;
+		super.setGraph(zestGraph);
 
 		// adjust viewport to scroll to top-left
 		Platform.runLater(new Runnable() {
@@ -341,22 +523,35 @@ public class DotGraphView extends ZestFxUiView {
 		// algorithms.
 		if (isNativeMode()) {
 			// System.out.println("[DOT Input] [" + currentDot + "]");
-			String[] result;
-			if (isEmbeddedDotFile) {
-				File tempDotFile = dotExtractor.getDotTempFile();
-				if (tempDotFile == null) {
-					return false;
+			// the layout is only computed if the DOT input (or the 'dot'
+			// executable) changed
+			File dotExecutable = new File(
+					GraphvizPreferencePage.getDotExecutablePath());
+			String layoutKey = DotLayoutCache.computeKey(currentDot,
+					dotExecutable.getAbsolutePath(),
+					Long.toString(dotExecutable.lastModified()), "-y"); //$NON-NLS-1$
+			String layoutedDot = getLayoutCache().get(layoutKey);
+			if (layoutedDot == null) {
+				String[] result;
+				if (isEmbeddedDotFile) {
+					File tempDotFile = dotExtractor.getDotTempFile();
+					if (tempDotFile == null) {
+						return false;
+					}
+					result = DotExecutableUtils.executeDot(dotExecutable, true,
+							tempDotFile, null, null);
+					tempDotFile.delete();
+				} else {
+					result = DotExecutableUtils.executeDot(dotExecutable, true,
+							file, null, null);
+				}
+				layoutedDot = result[0];
+				// do not cache failed layouts
+				if (!layoutedDot.isEmpty()) {
+					getLayoutCache().put(layoutKey, layoutedDot);
 				}
-				result = DotExecutableUtils.executeDot(
-						new File(GraphvizPreferencePage.getDotExecutablePath()),
-						true, tempDotFile, null, null);
-				tempDotFile.delete();
-			} else {
-				result = DotExecutableUtils.executeDot(
-						new File(GraphvizPreferencePage.getDotExecutablePath()),
-						true, file, null, null);
 			}
-			currentDot = result[0];
+			currentDot = layoutedDot;
 			// System.out.println("[DOT Output] [" + currentDot + "]");
 		}
 		setGraphAsync(currentDot, currentFile);
@@ -9,6 +9,7 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
  *     Tamas Miklossy  (itemis AG) - Add support for all dot attributes (bug #461506)
+ *     agent - memoize parsed attribute values
  *
  *******************************************************************************/
 package org.eclipse.gef.dot.internal
@@ -19,10 +20,14 @@ import java.util.Collections
 import java.util.Iterator
 import java.util.List
 import java.util.Map
+import java.util.WeakHashMap
+import java.util.concurrent.ConcurrentHashMap
+import javafx.collections.MapChangeListener
 import org.eclipse.emf.common.util.BasicDiagnostic
 import org.eclipse.emf.common.util.Diagnostic
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.EStructuralFeature
+import org.eclipse.gef.common.attributes.IAttributeStore
 import org.eclipse.gef.common.reflect.ReflectionUtils
 import org.eclipse.gef.dot.internal.generator.DotAttribute
 import org.eclipse.gef.dot.internal.language.DotArrowTypeStandaloneSetup
@@ -315,6 +320,70 @@ class DotAttributes {
 		if (attributeValue === null) null else parser.parse(attributeValue).parsedValue
 	}
 
+	/**
+	 * The parsed attribute values per {@link IAttributeStore}, together with
+	 * the raw values they were parsed from.
+	 */
+	static val Map<IAttributeStore, Map<String, Pair<ID, Object>>> PARSED_ATTRIBUTE_VALUES = Collections.
+		synchronizedMap(new WeakHashMap)
+
+	/**
+	 * Parses the (raw) value of the given attribute of the given
+	 * {@link IAttributeStore}, using the given {@link IAttributeValueParser}.
+	 * The parsed value is memoized per {@link IAttributeStore} (until the raw
+	 * value is changed), so that subsequent calls return the identical
+	 * (parsed) value. As such, the returned value may not be modified by
+	 * clients.
+	 *
+	 * @param <T>
+	 *            The (primitive) object type of the parsed value.
+	 * @param parser
+	 *            The parser to be used for parsing.
+	 * @param attributeStore
+	 *            The {@link IAttributeStore} that provides the raw value.
+	 * @param attributeName
+	 *            The name of the attribute whose value is to be parsed.
+	 * @return The parsed value, or <code>null</code> if the value could not be
+	 *         parsed.
+	 */
+	private static def <T> T parseAttributeValue(IAttributeValueParser<T> parser, IAttributeStore attributeStore,
+		String attributeName) {
+		val attributeRawValue = attributeStore.attributesProperty.get(attributeName) as ID
+		if (attributeRawValue === null) {
+			return null
+		}
+		val parsedValues = getParsedAttributeValues(attributeStore)
+		val memoized = parsedValues.get(attributeName)
+		// XXX: The raw value is compared by identity, so a value that was
+		// replaced by an equal one is parsed again.
+		if (memoized !== null && memoized.key === attributeRawValue) {
+			return memoized.value as T
+		}
+		val parsedValue = parseAttributeValue(parser, attributeRawValue.toValue)
+		parsedValues.put(attributeName, new Pair<ID, Object>(attributeRawValue, parsedValue))
+		parsedValue
+	}
+
+	private static def Map<String, Pair<ID, Object>> getParsedAttributeValues(IAttributeStore attributeStore) {
+		synchronized (PARSED_ATTRIBUTE_VALUES) {
+			var parsedValues = PARSED_ATTRIBUTE_VALUES.get(attributeStore)
+			if (parsedValues === null) {
+				val newParsedValues = new ConcurrentHashMap<String, Pair<ID, Object>>
+				// evict the parsed value whenever the raw value changes; the
+				// listener may not refer to the attribute store, as it would
+				// otherwise never be garbage collected
+				attributeStore.attributesProperty.addListener(new MapChangeListener<String, Object>() {
+					override onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+						newParsedValues.remove(change.key)
+					}
+				})
+				PARSED_ATTRIBUTE_VALUES.put(attributeStore, newParsedValues)
+				parsedValues = newParsedValues
+			}
+			parsedValues
+		}
+	}
+
 	// TODO: separate validation from parsing
 	private static def <T> List<Diagnostic> validateAttributeRawValue(IAttributeValueParser<T> parser,
 		IAttributeValueValidator<T> validator, Context attributeContext, String attributeName, ID attributeValue) {
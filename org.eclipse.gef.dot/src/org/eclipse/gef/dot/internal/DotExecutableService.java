@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A service that asynchronously executes the Graphviz 'dot' executable. In
+ * contrast to {@link DotExecutableUtils}, the DOT input is passed to 'dot' via
+ * its standard input and the result is read from its standard output, so no
+ * temporary files are needed. The number of concurrently running 'dot'
+ * processes is bounded by the size of the worker pool; further executions are
+ * queued.
+ * <p>
+ * Each execution returns a {@link CompletableFuture}, which completes
+ * exceptionally with a {@link TimeoutException} if the execution did not
+ * finish within the given timeout (measured from the time of submission), or
+ * with an {@link IllegalStateException} if 'dot' terminated with a non-zero
+ * exit status. Cancelling the future (or a timeout) destroys the respective
+ * 'dot' process.
+ *
+ * @author agent
+ *
+ */
+public class DotExecutableService {
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private final String name;
+
+		public DaemonThreadFactory(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, name);
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	private static byte[] read(InputStream is) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int count;
+		try {
+			while ((count = is.read(buffer)) != -1) {
+				os.write(buffer, 0, count);
+			}
+		} finally {
+			is.close();
+		}
+		return os.toByteArray();
+	}
+
+	private final File dotExecutablePath;
+	private final ExecutorService workers;
+	private final ExecutorService pumps;
+	private final ScheduledExecutorService timer;
+	private final Set<CompletableFuture<byte[]>> pending = Collections
+			.newSetFromMap(
+					new ConcurrentHashMap<CompletableFuture<byte[]>, Boolean>());
+
+	/**
+	 * Creates a new {@link DotExecutableService} for the given 'dot'
+	 * executable, which runs at most the given number of 'dot' processes
+	 * concurrently.
+	 *
+	 * @param dotExecutablePath
+	 *            The path of the local Graphviz 'dot' executable, e.g.
+	 *            "C:\\Program Files (x86)\\Graphviz2.38\\bin\\dot.exe"
+	 * @param poolSize
+	 *            The maximum number of concurrently running 'dot' processes.
+	 */
+	public DotExecutableService(File dotExecutablePath, int poolSize) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException(
+					"The pool size has to be positive, but is " + poolSize
+							+ ".");
+		}
+		this.dotExecutablePath = dotExecutablePath;
+		workers = Executors.newFixedThreadPool(poolSize,
+				new DaemonThreadFactory("Graphviz Execution Thread"));
+		// stdin and stderr are pumped by separate threads, so that 'dot' may
+		// never block on a full pipe
+		pumps = Executors.newCachedThreadPool(
+				new DaemonThreadFactory("Graphviz Stream Pump Thread"));
+		timer = Executors.newSingleThreadScheduledExecutor(
+				new DaemonThreadFactory("Graphviz Timeout Thread"));
+	}
+
+	/**
+	 * Executes 'dot' with the given arguments, passing the given input via
+	 * its standard input.
+	 *
+	 * @param arguments
+	 *            The arguments to pass to 'dot'.
+	 * @param input
+	 *            The input to pass to 'dot' via its standard input.
+	 * @param timeout
+	 *            The time after which the execution is aborted.
+	 * @param unit
+	 *            The {@link TimeUnit} of the timeout.
+	 * @return A {@link CompletableFuture} providing the standard output of
+	 *         'dot'.
+	 */
+	public CompletableFuture<byte[]> execute(List<String> arguments,
+			final byte[] input, final long timeout, final TimeUnit unit) {
+		final List<String> command = new ArrayList<>();
+		command.add(dotExecutablePath.getAbsolutePath());
+		command.addAll(arguments);
+
+		final CompletableFuture<byte[]> result = new CompletableFuture<>();
+		final AtomicReference<Process> process = new AtomicReference<>();
+		pending.add(result);
+		final ScheduledFuture<?> timeoutFuture = timer
+				.schedule(new Runnable() {
+					@Override
+					public void run() {
+						result.completeExceptionally(new TimeoutException(
+								"Calling '" + command + "' timed out after "
+										+ timeout + " "
+										+ unit.toString().toLowerCase()
+										+ "."));
+					}
+				}, timeout, unit);
+		result.whenComplete(new BiConsumer<byte[], Throwable>() {
+			@Override
+			public void accept(byte[] output, Throwable failure) {
+				pending.remove(result);
+				timeoutFuture.cancel(false);
+				// destroy the process in case of cancellation or timeout
+				Process p = process.get();
+				if (failure != null && p != null) {
+					p.destroyForcibly();
+				}
+			}
+		});
+		workers.execute(new Runnable() {
+			@Override
+			public void run() {
+				executeProcess(command, input, result, process);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Executes 'dot' on the given DOT input. This is the asynchronous
+	 * counterpart of
+	 * {@link DotExecutableUtils#executeDot(File, boolean, File, File, String)}.
+	 *
+	 * @param dotInput
+	 *            The DOT input to pass to 'dot'.
+	 * @param invertYAxis
+	 *            Whether to invert the y-axis or not.
+	 * @param outputFormat
+	 *            The output format to pass to 'dot' via the -T option. May be
+	 *            <code>null</code>.
+	 * @param timeout
+	 *            The time after which the execution is aborted.
+	 * @param unit
+	 *            The {@link TimeUnit} of the timeout.
+	 * @return A {@link CompletableFuture} providing the (UTF-8 decoded)
+	 *         output of 'dot'.
+	 */
+	public CompletableFuture<String> executeDot(String dotInput,
+			boolean invertYAxis, String outputFormat, long timeout,
+			TimeUnit unit) {
+		List<String> arguments = new ArrayList<>();
+		if (invertYAxis) {
+			arguments.add("-y");
+		}
+		if (outputFormat != null) {
+			arguments.add("-T" + outputFormat);
+		}
+		final CompletableFuture<byte[]> execution = execute(arguments,
+				dotInput.getBytes(StandardCharsets.UTF_8), timeout, unit);
+		CompletableFuture<String> result = execution
+				.thenApply(new Function<byte[], String>() {
+					@Override
+					public String apply(byte[] output) {
+						return new String(output, StandardCharsets.UTF_8);
+					}
+				});
+		// propagate cancellation to the execution
+		result.whenComplete(new BiConsumer<String, Throwable>() {
+			@Override
+			public void accept(String output, Throwable failure) {
+				if (failure != null) {
+					execution.cancel(false);
+				}
+			}
+		});
+		return result;
+	}
+
+	private void executeProcess(List<String> command, final byte[] input,
+			CompletableFuture<byte[]> result,
+			AtomicReference<Process> process) {
+		// skip executions that were cancelled or timed out while queued
+		if (result.isDone()) {
+			return;
+		}
+		Process p = null;
+		try {
+			p = new ProcessBuilder(command).start();
+			process.set(p);
+			// XXX: The future may have been cancelled before the process was
+			// published, so it would not have been destroyed.
+			if (result.isDone()) {
+				return;
+			}
+			final OutputStream stdin = p.getOutputStream();
+			pumps.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws IOException {
+					try {
+						stdin.write(input);
+					} finally {
+						stdin.close();
+					}
+					return null;
+				}
+			});
+			final InputStream stderr = p.getErrorStream();
+			Future<byte[]> errors = pumps.submit(new Callable<byte[]>() {
+				@Override
+				public byte[] call() throws IOException {
+					return read(stderr);
+				}
+			});
+			byte[] output = read(p.getInputStream());
+			int exitValue = p.waitFor();
+			if (exitValue != 0) {
+				result.completeExceptionally(new IllegalStateException(
+						"Calling '" + command + "' resulted in exit status "
+								+ exitValue + ": " + new String(errors.get(),
+										StandardCharsets.UTF_8).trim()));
+			} else {
+				result.complete(output);
+			}
+		} catch (IOException | ExecutionException e) {
+			result.completeExceptionally(e);
+		} catch (InterruptedException e) {
+			result.completeExceptionally(e);
+			Thread.currentThread().interrupt();
+		} finally {
+			if (p != null) {
+				p.destroyForcibly();
+			}
+		}
+	}
+
+	/**
+	 * Renders the given DOT input into an image of the given format. This is
+	 * the asynchronous counterpart of
+	 * {@link DotExecutableUtils#renderImage(File, File, String, File, String[])}.
+	 *
+	 * @param dotInput
+	 *            The DOT input to render.
+	 * @param format
+	 *            The image format to export the graph to (e.g. 'pdf' or
+	 *            'png').
+	 * @param timeout
+	 *            The time after which the execution is aborted.
+	 * @param unit
+	 *            The {@link TimeUnit} of the timeout.
+	 * @return A {@link CompletableFuture} providing the image data.
+	 */
+	public CompletableFuture<byte[]> renderImage(String dotInput,
+			String format, long timeout, TimeUnit unit) {
+		List<String> arguments = new ArrayList<>();
+		arguments.add("-T" + format);
+		return execute(arguments, dotInput.getBytes(StandardCharsets.UTF_8),
+				timeout, unit);
+	}
+
+	/**
+	 * Shuts down this {@link DotExecutableService}. Queued executions are
+	 * cancelled, and running 'dot' processes are destroyed.
+	 */
+	public void shutdown() {
+		for (CompletableFuture<byte[]> result : new ArrayList<>(pending)) {
+			result.cancel(false);
+		}
+		workers.shutdownNow();
+		pumps.shutdownNow();
+		timer.shutdownNow();
+	}
+
+}
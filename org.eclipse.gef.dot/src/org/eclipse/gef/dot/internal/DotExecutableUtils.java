@@ -14,12 +14,12 @@
  *                                 - Naming of output file (bug #484198)
  *     Darius Jockel (itemis AG)   - Fixed problems when calling dot on windows with large 
  *                                   files (#492395)
+ *     agent - execute dot through a pooled service
  *
  *********************************************************************************************/
 package org.eclipse.gef.dot.internal;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -27,7 +27,9 @@ import java.util.Arrays;
 import java.util.List;
 
 /**
- * Class for drawing dot graphs by calling the dot executable.
+ * Class for drawing dot graphs by calling the dot executable. For rendering
+ * (many) graphs asynchronously, the {@link DotExecutableService} should be used
+ * instead.
  * 
  * @author Fabian Steeg (fsteeg)
  * @author Alexander Nyßen (anyssen)
@@ -109,8 +111,6 @@ final public class DotExecutableUtils {
 	public static String[] executeDot(final File dotExecutablePath,
 			final boolean invertYAxis, final File dotInputFile,
 			final File outputFile, final String outputFormat) {
-		File buffer = null;
-		boolean hasBuffer = false;
 		List<String> commands = new ArrayList<>();
 		commands.add(dotExecutablePath.getAbsolutePath());
 		if (invertYAxis) {
@@ -119,34 +119,12 @@ final public class DotExecutableUtils {
 		if (outputFormat != null) {
 			commands.add("-T" + outputFormat);
 		}
+		// if no output file is given, the output is read from stdout
 		if (outputFile != null) {
-			buffer = outputFile;
-		} else {
-			try {
-				buffer = File.createTempFile("tmpResult", ".dot");
-				hasBuffer = true;
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
+			commands.add("-o" + outputFile.toPath().toString());
 		}
-		commands.add("-o" + buffer.toPath().toString());
 		commands.add(dotInputFile.toPath().toString());
-		String[] call = call(commands.toArray(new String[] {}));
-		if (hasBuffer) {
-			FileInputStream input;
-			try {
-				input = new FileInputStream(buffer);
-				call[0] = read(input);
-				input.close();
-			} catch (Exception e) {
-				System.out.println("failed to read temp dot file");
-			} finally {
-				buffer.delete();
-			}
-			return call;
-		} else {
-			return call;
-		}
+		return call(commands.toArray(new String[] {}));
 	}
 
 	/***
@@ -179,11 +157,23 @@ final public class DotExecutableUtils {
 	 */
 	private static String[] call(final String[] commands) {
 		System.out.print("Calling '" + Arrays.asList(commands) + "'"); //$NON-NLS-1$ //$NON-NLS-2$
-		String[] outputs = { "", "" };
+		final String[] outputs = { "", "" };
 		Runtime runtime = Runtime.getRuntime();
 		Process p = null;
 		try {
 			p = runtime.exec(commands);
+			// XXX: The error stream is read concurrently, as the process may
+			// otherwise block on a full pipe.
+			final InputStream errorStream = p.getErrorStream();
+			Thread errorReader = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					outputs[1] = read(errorStream);
+				}
+			}, "Graphviz Error Stream Reader");
+			errorReader.start();
+			outputs[0] = read(p.getInputStream());
+			errorReader.join();
 			p.waitFor();
 			System.out.println(
 					" resulted in exit status: " + p.exitValue() + "."); //$NON-NLS-1$//$NON-NLS-2$
@@ -191,13 +181,6 @@ final public class DotExecutableUtils {
 			System.out
 					.println(" failed with exception " + e.getMessage() + "."); //$NON-NLS-1$ //$NON-NLS-2$
 		}
-		// handle input and error stream only if process succeeded.
-		if (p != null) {
-			String output = read(p.getInputStream());
-			outputs[0] = output;
-			String errors = read(p.getErrorStream());
-			outputs[1] = errors;
-		}
 		return outputs;
 	}
 
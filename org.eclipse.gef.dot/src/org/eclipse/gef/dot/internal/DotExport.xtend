@@ -8,13 +8,23 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
  *     Tamas Miklossy  (itemis AG) - minor refactorings
+ *     agent - stream DOT export into a Writer
  * 
  *******************************************************************************/
 package org.eclipse.gef.dot.internal
 
+import java.io.BufferedWriter
 import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.OutputStream
+import java.io.OutputStreamWriter
+import java.io.StringWriter
+import java.io.Writer
 import java.util.List
+import java.util.zip.GZIPOutputStream
 import org.eclipse.gef.common.attributes.IAttributeStore
+import org.eclipse.gef.dot.internal.language.dot.EdgeOp
 import org.eclipse.gef.dot.internal.language.dot.GraphType
 import org.eclipse.gef.dot.internal.language.terminals.ID
 import org.eclipse.gef.graph.Edge
@@ -25,18 +35,113 @@ import static extension org.eclipse.gef.dot.internal.DotAttributes.*
 
 /**
  * A serializer that creates a Graphviz DOT string or file from a {@link Graph} with {@link DotAttributes}.
+ * <p>
+ * The DOT output is written to a {@link Writer} statement by statement, so that (apart from the graph itself)
+ * no memory proportional to the size of the graph is needed when exporting into a {@link Writer},
+ * {@link OutputStream}, or file.
  * 
  * @author anyssen
  * 
  */
 class DotExport {
 
+	static val LINE_SEPARATOR = System.lineSeparator
+
 	def String exportDot(Graph graph) {
 		newArrayList(graph).exportDot
 	}
 
 	def String exportDot(List<Graph> graphs) {
-		val builder = new StringBuilder
+		val writer = new StringWriter
+		graphs.exportDot(writer)
+		writer.toString
+	}
+
+	def File exportDot(Graph graph, String pathname) {
+		newArrayList(graph).exportDot(pathname)
+	}
+
+	def File exportDot(List<Graph> graphs, String pathname) {
+		graphs.exportDot(pathname, false)
+	}
+
+	/**
+	 * Exports the given graphs into the file denoted by the given pathname,
+	 * optionally compressing the output using GZIP.
+	 * 
+	 * @param graphs
+	 *            The graphs to export.
+	 * @param pathname
+	 *            The pathname of the file to write to.
+	 * @param gzip
+	 *            <code>true</code> if the output is to be GZIP compressed,
+	 *            <code>false</code> otherwise.
+	 * @return The file the graphs were exported into, or <code>null</code>
+	 *         if the file could not be written (in which case a partially
+	 *         written file is deleted).
+	 */
+	def File exportDot(List<Graph> graphs, String pathname, boolean gzip) {
+		val file = new File(pathname)
+		var written = false
+		try {
+			// XXX: Xtend does not support try-with-resources, so the
+			// outermost stream (which closes the underlying ones) is closed
+			// explicitly.
+			val fileOutputStream = new FileOutputStream(file)
+			var OutputStream outputStream = fileOutputStream
+			try {
+				if (gzip) {
+					outputStream = new GZIPOutputStream(fileOutputStream)
+				}
+				graphs.exportDot(outputStream)
+			} finally {
+				outputStream.close
+			}
+			written = true
+			file
+		} catch (IOException e) {
+			e.printStackTrace
+			null
+		} finally {
+			if (!written) {
+				// do not leave a partially written file behind (also in case
+				// of an invalid graph)
+				file.delete
+			}
+		}
+	}
+
+	/**
+	 * Exports the given graphs into the given {@link OutputStream} (using
+	 * UTF-8 encoding). The stream is flushed but not closed.
+	 * 
+	 * @param graphs
+	 *            The graphs to export.
+	 * @param outputStream
+	 *            The {@link OutputStream} to write to.
+	 * @throws IOException
+	 *             In case the output could not be written.
+	 */
+	def void exportDot(List<Graph> graphs, OutputStream outputStream) throws IOException {
+		graphs.exportDot(new BufferedWriter(new OutputStreamWriter(outputStream, "UTF-8")))
+	}
+
+	/**
+	 * Exports the given graphs into the given {@link Writer}. The writer is
+	 * flushed but not closed.
+	 * 
+	 * @param graphs
+	 *            The graphs to export.
+	 * @param writer
+	 *            The {@link Writer} to write to.
+	 * @throws IOException
+	 *             In case the output could not be written.
+	 * @throws IllegalArgumentException
+	 *             In case the type of a graph or the name of a node is not
+	 *             set. As the output is streamed, the statements preceding
+	 *             the invalid one will already have been written.
+	 */
+	def void exportDot(List<Graph> graphs, Writer writer) throws IOException {
 		for (graph : graphs) {
 
 			// graph type is mandatory meta-attribute
@@ -45,57 +150,70 @@ class DotExport {
 					"The " + _TYPE__G + " attribute has to be set on the input graph " + graph + ".")
 			}
 
-			// node name is mandatory meta-attribute
-			if (graph.nodes.filter[nestedGraph === null].exists[!hasName]) {
-				throw new IllegalArgumentException(
-					"The " + _NAME__GNE + " attribute has to be set for all nodes of the input graph " + graph + ".")
+			writer.append(graph.type.literal).append(" ")
+			if (graph.hasName) {
+				writer.append(graph.name).append(" ")
 			}
-			builder.append(graph.print)
+			writer.append("{").append(LINE_SEPARATOR)
+			val edgeOp = if(GraphType.DIGRAPH == graph.type) EdgeOp.DIRECTED.literal else EdgeOp.UNDIRECTED.literal
+			graph.writeStatements(writer, edgeOp, "\t")
+			writer.append("}").append(LINE_SEPARATOR)
 		}
-		builder.toString
-	}
-
-	def File exportDot(Graph graph, String pathname) {
-		DotFileUtils.write(graph.exportDot, new File(pathname))
+		writer.flush
 	}
 
-	def File exportDot(List<Graph> graphs, String pathname) {
-		DotFileUtils.write(graphs.exportDot, new File(pathname))
-	}
-
-	private def String print(Graph it) '''
-		«type» «IF hasName»«name» «ENDIF»{
-			«IF hasNonMetaAttributes»
-				«printNonMetaAttributes(";")»
-			«ENDIF»
-			«nodes.map[print].join("; ")»
-			«FOR edge : edges»
-				«edge.name»«IF edge.hasNonMetaAttributes» [«edge.printNonMetaAttributes(",")»]«ENDIF»
-			«ENDFOR»
+	private def void writeStatements(Graph it, Writer writer, String edgeOp, String indent) throws IOException {
+		if (hasNonMetaAttributes) {
+			writer.append(indent).append(printNonMetaAttributes(";")).append(LINE_SEPARATOR)
+		}
+		if (!nodes.empty) {
+			writer.append(indent)
+			var first = true
+			for (node : nodes) {
+				if (!first) {
+					writer.append("; ")
+				}
+				first = false
+				node.write(writer, edgeOp, indent)
+			}
+			writer.append(LINE_SEPARATOR)
+		}
+		for (edge : edges) {
+			writer.append(indent).append(edge.source.name).append(edgeOp).append(edge.target.name)
+			if (edge.hasNonMetaAttributes) {
+				writer.append(" [").append(edge.printNonMetaAttributes(",")).append("]")
+			}
+			writer.append(LINE_SEPARATOR)
 		}
-	'''
-
-	private def isMetaAttribute(String it) {
-		startsWith("_")
 	}
 
-	private def String print(Node it) {
+	private def void write(Node it, Writer writer, String edgeOp, String indent) throws IOException {
 		if (nestedGraph !== null) {
-			'''
-			subgraph «IF nestedGraph.hasName»«nestedGraph.name» «ENDIF»{
-				«IF nestedGraph.hasNonMetaAttributes»
-					«nestedGraph.printNonMetaAttributes(";")»
-				«ENDIF»
-				«nestedGraph.nodes.map[print].join("; ")»
-				«FOR edge : nestedGraph.edges»
-					«edge.name»«IF edge.hasNonMetaAttributes» [«edge.printNonMetaAttributes(",")»]«ENDIF»
-				«ENDFOR»
-			}'''
+			writer.append("subgraph ")
+			if (nestedGraph.hasName) {
+				writer.append(nestedGraph.name).append(" ")
+			}
+			writer.append("{").append(LINE_SEPARATOR)
+			nestedGraph.writeStatements(writer, edgeOp, indent + "\t")
+			writer.append(indent).append("}")
 		} else {
-			name + if(hasNonMetaAttributes) " [" + printNonMetaAttributes(",") + "]" else ""
+			// node name is mandatory meta-attribute (checked while writing,
+			// so the nodes do not have to be traversed twice)
+			if (!hasName) {
+				throw new IllegalArgumentException(
+					"The " + _NAME__GNE + " attribute has to be set for all nodes of the input graph " + graph + ".")
+			}
+			writer.append(name)
+			if (hasNonMetaAttributes) {
+				writer.append(" [").append(printNonMetaAttributes(",")).append("]")
+			}
 		}
 	}
 
+	private def isMetaAttribute(String it) {
+		startsWith("_")
+	}
+
 	private def hasName(IAttributeStore it) {
 		attributes.get(_NAME__GNE) !== null
 	}
@@ -104,12 +222,14 @@ class DotExport {
 		_getType
 	}
 
-	private def dispatch String name(IAttributeStore it) {
-		(attributes.get(_NAME__GNE) as ID).toValue
-	}
-
-	private def dispatch String name(Edge it) {
-		_getName
+	/**
+	 * Returns the name of the given {@link Graph} or {@link Node} in its
+	 * encoded form (like attribute values), so that names which are no valid
+	 * unquoted DOT IDs (e.g. keywords or names containing whitespace) are
+	 * quoted and escaped.
+	 */
+	private def String name(IAttributeStore it) {
+		(attributes.get(_NAME__GNE) as ID).toString
 	}
 
 	private def hasNonMetaAttributes(IAttributeStore it) {
@@ -18,6 +18,9 @@ import java.io.File
 import java.io.StringReader
 import java.util.List
 import java.util.Map
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
 import org.eclipse.gef.dot.internal.language.DotStandaloneSetup
 import org.eclipse.gef.dot.internal.language.dot.AttrList
 import org.eclipse.gef.dot.internal.language.dot.AttrStmt
@@ -46,6 +49,12 @@ import static extension org.eclipse.gef.dot.internal.DotAttributes.*
  * Subgraphs (including clusters) are represented by a {@link Node} with a nested {@link Graph}, 
  * where the graph holds all attributes (like the name). If a node is used in multiple (sub-)graphs, 
  * it will be contained in the graph where it is defined (first occurrence).
+ * <p>
+ * As the DOT input is parsed into an AST first, the memory consumption may exceed the size of the 
+ * DOT input by far. For large DOT inputs, {@link DotStreamingImport} should thus be used instead.
+ * <p>
+ * A {@link DotImport} may be used concurrently by multiple threads. Independent (top-level) graphs
+ * of a single DOT input may be transformed in parallel via {@link #importDot(String, ExecutorService)}.
  * 
  * @author anyssen
  * 
@@ -55,7 +64,7 @@ class DotImport {
 	@Inject
 	var static IParser dotParser
 	
-	private static def IParser getDotParser() {
+	private static synchronized def IParser getDotParser() {
 		if (dotParser === null) {
 
 			// if we are not injected (standalone), create parser instance
@@ -69,6 +78,44 @@ class DotImport {
 	}
 
 	def List<Graph> importDot(String dotString) {
+		dotString.parse.graphs.map[transformDotGraphIsolated].filterNull.toList
+	}
+
+	/**
+	 * Imports the given DOT string, transforming its (top-level) graphs in
+	 * parallel using the given {@link ExecutorService}. The returned graphs
+	 * are in the order of their definition within the DOT input, i.e. the
+	 * result equals that of {@link #importDot(String)}.
+	 * 
+	 * @param dotString
+	 *            The DOT string to import.
+	 * @param executor
+	 *            The {@link ExecutorService} used to transform the graphs.
+	 * @return The imported graphs.
+	 */
+	def List<Graph> importDot(String dotString, ExecutorService executor) {
+		val futures = dotString.parse.graphs.map [ dotGraph |
+			executor.submit(new Callable<Graph>() {
+				override call() {
+					dotGraph.transformDotGraphIsolated
+				}
+			})
+		].toList
+		futures.map [
+			try {
+				get
+			} catch (ExecutionException e) {
+				if (e.cause instanceof RuntimeException) {
+					throw e.cause as RuntimeException
+				}
+				throw new IllegalStateException(e.cause)
+			}
+		].filterNull.toList
+	}
+
+	private def DotAst parse(String dotString) {
+		// XXX: The (shared) Xtext parser creates a new lexer and parser for
+		// each invocation, so it may be used concurrently.
 		var parseResult = getDotParser.parse(new StringReader(dotString))
 
 		if (parseResult.hasSyntaxErrors) {
@@ -78,7 +125,16 @@ class DotImport {
 		}
 
 		// TODO: use validator to semantically validate as well
-		(parseResult.rootASTElement as DotAst).graphs.map[transformDotGraph].filterNull.toList
+		parseResult.rootASTElement as DotAst
+	}
+
+	/**
+	 * Transforms the given {@link DotGraph} using a dedicated {@link DotImport}
+	 * instance, so the create caches (which hold the nodes, subgraphs, and
+	 * global attributes of a graph) are not shared between threads.
+	 */
+	private def Graph transformDotGraphIsolated(DotGraph dotGraph) {
+		new DotImport().transformDotGraph(dotGraph)
 	}
 
 	private def Map<String, ID> create newHashMap globalGraphAttributes(Graph.Builder context) {
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.internal;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A content-addressed cache for the (layouted) output of the Graphviz 'dot'
+ * executable. Entries are keyed by a hash of the (normalized) DOT input and
+ * the options 'dot' was executed with (see
+ * {@link #computeKey(String, String...)}). The cache consists of an in-memory
+ * tier, which retains the most recently used entries up to a given capacity,
+ * and an optional on-disk tier, which outlives the in-memory tier (and thus
+ * the application session). The on-disk tier is bounded as well: whenever the
+ * cache is created or an entry is put, the least recently used entries are
+ * removed from disk until the total size of the remaining entries does not
+ * exceed a given disk capacity. Only files whose names are keys are regarded as
+ * entries of the on-disk tier, so that other files within its directory are
+ * never removed.
+ *
+ * @author agent
+ *
+ */
+public class DotLayoutCache {
+
+	/**
+	 * The default capacity (in bytes) of the on-disk tier.
+	 */
+	public static final long DEFAULT_DISK_CAPACITY = 16 * 1024 * 1024;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef" //$NON-NLS-1$
+			.toCharArray();
+
+	private static final Pattern KEY_PATTERN = Pattern
+			.compile("[0-9a-f]{64}"); //$NON-NLS-1$
+
+	private static final FileFilter ENTRY_FILTER = new FileFilter() {
+		@Override
+		public boolean accept(File file) {
+			return file.isFile()
+					&& KEY_PATTERN.matcher(file.getName()).matches();
+		}
+	};
+
+	private static void checkKey(String key) {
+		if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+			throw new IllegalArgumentException(
+					"The key has to be computed by computeKey(), but is " //$NON-NLS-1$
+							+ key + "."); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Computes the key for the given DOT input and options. The DOT input is
+	 * normalized with respect to line delimiters and leading or trailing
+	 * whitespace, so that inputs that only differ in these are mapped to the
+	 * same key.
+	 *
+	 * @param dotInput
+	 *            The DOT input.
+	 * @param options
+	 *            The options (e.g. the path of the 'dot' executable and the
+	 *            command line arguments) the output depends on.
+	 * @return A (hexadecimal) key for the given DOT input and options.
+	 */
+	public static String computeKey(String dotInput, String... options) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+		for (String option : options) {
+			digest.update(option.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+		}
+		digest.update(dotInput.replaceAll("\\r\\n?", "\n").trim() //$NON-NLS-1$ //$NON-NLS-2$
+				.getBytes(StandardCharsets.UTF_8));
+		byte[] hash = digest.digest();
+		char[] key = new char[hash.length * 2];
+		for (int i = 0; i < hash.length; i++) {
+			key[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+			key[2 * i + 1] = HEX_DIGITS[hash[i] & 0xf];
+		}
+		return new String(key);
+	}
+
+	private final Map<String, String> memory;
+	private final File directory;
+	private final long diskCapacity;
+
+	/**
+	 * Creates a new {@link DotLayoutCache} with the given in-memory capacity
+	 * and without an on-disk tier.
+	 *
+	 * @param capacity
+	 *            The maximum number of entries retained in memory.
+	 */
+	public DotLayoutCache(int capacity) {
+		this(capacity, null);
+	}
+
+	/**
+	 * Creates a new {@link DotLayoutCache} with the given in-memory capacity,
+	 * which persists its entries into the given directory.
+	 *
+	 * @param capacity
+	 *            The maximum number of entries retained in memory.
+	 * @param directory
+	 *            The directory of the on-disk tier, or <code>null</code> if no
+	 *            on-disk tier is to be used. The directory is created if it
+	 *            does not exist.
+	 */
+	public DotLayoutCache(int capacity, File directory) {
+		this(capacity, directory, DEFAULT_DISK_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@link DotLayoutCache} with the given in-memory capacity,
+	 * which persists its entries into the given directory, retaining at most
+	 * the given number of bytes on disk. Entries that exceed the disk capacity
+	 * are evicted immediately.
+	 *
+	 * @param capacity
+	 *            The maximum number of entries retained in memory.
+	 * @param directory
+	 *            The directory of the on-disk tier, or <code>null</code> if no
+	 *            on-disk tier is to be used. The directory is created if it
+	 *            does not exist.
+	 * @param diskCapacity
+	 *            The maximum total size (in bytes) of the entries retained on
+	 *            disk.
+	 */
+	public DotLayoutCache(final int capacity, File directory,
+			long diskCapacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+					"The capacity has to be positive, but is " + capacity //$NON-NLS-1$
+							+ "."); //$NON-NLS-1$
+		}
+		if (diskCapacity < 0) {
+			throw new IllegalArgumentException(
+					"The disk capacity may not be negative, but is " //$NON-NLS-1$
+							+ diskCapacity + "."); //$NON-NLS-1$
+		}
+		memory = new LinkedHashMap<String, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<String, String> eldest) {
+				return size() > capacity;
+			}
+		};
+		this.directory = directory;
+		this.diskCapacity = diskCapacity;
+		if (directory != null) {
+			directory.mkdirs();
+			// entries of previous sessions may exceed the (current) capacity
+			evict();
+		}
+	}
+
+	/**
+	 * Removes all entries from both, the in-memory and the on-disk tier.
+	 */
+	public synchronized void clear() {
+		memory.clear();
+		if (directory != null) {
+			File[] files = directory.listFiles(ENTRY_FILTER);
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the least recently used entries (as indicated by the
+	 * modification time of their files) from the on-disk tier, until the total
+	 * size of the remaining entries does not exceed the disk capacity.
+	 */
+	private void evict() {
+		File[] files = directory.listFiles(ENTRY_FILTER);
+		if (files == null) {
+			return;
+		}
+		// XXX: Query the file attributes only once, as they may be changed
+		// concurrently (by another session) while sorting.
+		final Map<File, Long> lastModified = new HashMap<>();
+		long size = 0;
+		for (File file : files) {
+			lastModified.put(file, file.lastModified());
+			size += file.length();
+		}
+		if (size <= diskCapacity) {
+			return;
+		}
+		Arrays.sort(files, new Comparator<File>() {
+			@Override
+			public int compare(File f1, File f2) {
+				return Long.compare(lastModified.get(f1), lastModified.get(f2));
+			}
+		});
+		for (int i = 0; i < files.length && size > diskCapacity; i++) {
+			long length = files[i].length();
+			if (files[i].delete()) {
+				size -= length;
+			}
+		}
+	}
+
+	/**
+	 * Returns the cached value for the given key. In case the value is only
+	 * available in the on-disk tier, it is restored into the in-memory tier.
+	 *
+	 * @param key
+	 *            The key (see {@link #computeKey(String, String...)}).
+	 * @return The cached value, or <code>null</code> if no value is cached
+	 *         for the given key.
+	 * @throws IllegalArgumentException
+	 *             if the given key was not computed by
+	 *             {@link #computeKey(String, String...)}.
+	 */
+	public synchronized String get(String key) {
+		checkKey(key);
+		String value = memory.get(key);
+		if (value == null && directory != null) {
+			File file = new File(directory, key);
+			if (file.exists()) {
+				try {
+					value = new String(Files.readAllBytes(file.toPath()),
+							StandardCharsets.UTF_8);
+					memory.put(key, value);
+					// mark the entry as recently used
+					file.setLastModified(System.currentTimeMillis());
+				} catch (IOException e) {
+					// treat unreadable entries as missing
+					e.printStackTrace();
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Caches the given value for the given key.
+	 *
+	 * @param key
+	 *            The key (see {@link #computeKey(String, String...)}).
+	 * @param value
+	 *            The value to cache.
+	 * @throws IllegalArgumentException
+	 *             if the given key was not computed by
+	 *             {@link #computeKey(String, String...)}.
+	 */
+	public synchronized void put(String key, String value) {
+		checkKey(key);
+		memory.put(key, value);
+		if (directory != null) {
+			// XXX: Write to a temporary file first, so that a concurrent
+			// reader (e.g. of another session) never reads a partial entry.
+			File file = new File(directory, key);
+			File tempFile = null;
+			try {
+				tempFile = File.createTempFile("." + key + "-", //$NON-NLS-1$ //$NON-NLS-2$
+						".tmp", directory); //$NON-NLS-1$
+				Files.write(tempFile.toPath(),
+						value.getBytes(StandardCharsets.UTF_8));
+				Files.move(tempFile.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+				tempFile = null;
+			} catch (IOException e) {
+				e.printStackTrace();
+			} finally {
+				// do not leave a partial entry behind
+				if (tempFile != null) {
+					tempFile.delete();
+				}
+			}
+			evict();
+		}
+	}
+
+}
@@ -0,0 +1,1088 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.eclipse.gef.dot.internal.language.dot.GraphType;
+import org.eclipse.gef.dot.internal.language.terminals.ID;
+import org.eclipse.gef.dot.internal.language.terminals.ID.Type;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * A streaming alternative to {@link DotImport}, which creates a {@link Graph}
+ * with {@link DotAttributes} from a Graphviz DOT string, file, or
+ * {@link Reader}. In contrast to {@link DotImport}, the DOT input is not parsed
+ * into an (Xtext) AST, but is tokenized and parsed by a lightweight recursive
+ * descent parser, which directly emits into {@link Graph.Builder}s. The input
+ * is read in chunks and is not retained, so that the memory consumption only
+ * depends on the size of the created {@link Graph}s. This makes it suitable for
+ * (very) large DOT inputs, while {@link DotImport} is still to be used where an
+ * AST is required (e.g. within the editor or for validation).
+ * <p>
+ * The created {@link Graph}s are equivalent to those created by
+ * {@link DotImport}. Syntax errors are reported by means of an
+ * {@link IllegalArgumentException}, which states the line and column of the
+ * offending token. Statements that cannot be transformed (and are skipped, as
+ * by {@link DotImport}) are reported to the problem handler that may be
+ * passed in on construction (see {@link #DotStreamingImport(Consumer)}).
+ * <p>
+ * Instances of this class are stateless and may thus be shared (provided the
+ * problem handler is thread-safe).
+ *
+ * @author agent
+ *
+ */
+public class DotStreamingImport {
+
+	private enum TokenKind {
+		ID, STRICT, GRAPH, DIGRAPH, NODE, EDGE, SUBGRAPH, LEFT_CURLY, RIGHT_CURLY,
+		LEFT_SQUARE, RIGHT_SQUARE, EQUALS, SEMICOLON, COMMA, COLON,
+		DIRECTED_EDGE_OP, UNDIRECTED_EDGE_OP, EOF
+	}
+
+	/**
+	 * A lightweight tokenizer for the DOT language, which complies to the
+	 * terminal rules of the DOT grammar (see Dot.xtext and
+	 * CustomInternalDotLexer.g). Whitespace and comments are skipped.
+	 */
+	private static final class Tokenizer {
+
+		private final Reader reader;
+		private final char[] buffer = new char[8192];
+		private int position = 0;
+		private int limit = 0;
+		private boolean eof = false;
+
+		private int line = 1;
+		private int column = 1;
+
+		private final StringBuilder text = new StringBuilder();
+		private TokenKind kind;
+		private Type idType;
+		private int tokenLine;
+		private int tokenColumn;
+
+		Tokenizer(Reader reader) {
+			this.reader = reader;
+		}
+
+		private int consume() throws IOException {
+			int c = peek(0);
+			if (c == -1) {
+				return -1;
+			}
+			position++;
+			if (c == '\n') {
+				line++;
+				column = 1;
+			} else {
+				column++;
+			}
+			return c;
+		}
+
+		private boolean ensure(int count) throws IOException {
+			while (limit - position < count && !eof) {
+				// compact the buffer and fill it up
+				if (position > 0) {
+					System.arraycopy(buffer, position, buffer, 0,
+							limit - position);
+					limit -= position;
+					position = 0;
+				}
+				int read = reader.read(buffer, limit, buffer.length - limit);
+				if (read == -1) {
+					eof = true;
+				} else {
+					limit += read;
+				}
+			}
+			return limit - position >= count;
+		}
+
+		IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(
+					"Given DOT input is not valid: " + locate(message));
+		}
+
+		private boolean isIdChar(int c, boolean start) {
+			return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+					|| (c >= '\u0080' && c <= '\u00FF') || c == '_'
+					|| (!start && c >= '0' && c <= '9');
+		}
+
+		String locate(String message) {
+			return message + " (line " + tokenLine + ", column " + tokenColumn
+					+ ").";
+		}
+
+		private boolean isDigit(int c) {
+			return c >= '0' && c <= '9';
+		}
+
+		/**
+		 * Advances to the next token.
+		 *
+		 * @throws IOException
+		 *             In case the input cannot be read.
+		 */
+		void next() throws IOException {
+			skipWhitespaceAndComments();
+			text.setLength(0);
+			idType = null;
+			tokenLine = line;
+			tokenColumn = column;
+			int c = peek(0);
+			if (c == -1) {
+				kind = TokenKind.EOF;
+				return;
+			}
+			switch (c) {
+			case '{':
+				symbol(TokenKind.LEFT_CURLY, 1);
+				return;
+			case '}':
+				symbol(TokenKind.RIGHT_CURLY, 1);
+				return;
+			case '[':
+				symbol(TokenKind.LEFT_SQUARE, 1);
+				return;
+			case ']':
+				symbol(TokenKind.RIGHT_SQUARE, 1);
+				return;
+			case '=':
+				symbol(TokenKind.EQUALS, 1);
+				return;
+			case ';':
+				symbol(TokenKind.SEMICOLON, 1);
+				return;
+			case ',':
+				symbol(TokenKind.COMMA, 1);
+				return;
+			case ':':
+				symbol(TokenKind.COLON, 1);
+				return;
+			case '"':
+				readQuotedString();
+				return;
+			case '<':
+				readHtmlString();
+				return;
+			case '-':
+				if (peek(1) == '>') {
+					symbol(TokenKind.DIRECTED_EDGE_OP, 2);
+					return;
+				} else if (peek(1) == '-') {
+					symbol(TokenKind.UNDIRECTED_EDGE_OP, 2);
+					return;
+				}
+				readNumeral();
+				return;
+			default:
+				if (isDigit(c) || c == '.') {
+					readNumeral();
+				} else if (isIdChar(c, true)) {
+					readString();
+				} else {
+					throw error("unexpected character '" + (char) c + "'");
+				}
+			}
+		}
+
+		private int peek(int offset) throws IOException {
+			if (!ensure(offset + 1)) {
+				return -1;
+			}
+			return buffer[position + offset];
+		}
+
+		private void readHtmlString() throws IOException {
+			// '<' (HTML_TAG_OPEN | HTML_TAG_CLOSE | HTML_CHARS)* '>', where
+			// nested tags need to be balanced
+			text.append((char) consume());
+			int tags = 0;
+			while (true) {
+				int c = consume();
+				if (c == -1) {
+					throw error("unterminated HTML string");
+				}
+				text.append((char) c);
+				if (c == '<') {
+					tags++;
+				} else if (c == '>') {
+					if (tags == 0) {
+						break;
+					}
+					tags--;
+				}
+			}
+			kind = TokenKind.ID;
+			idType = Type.HTML_STRING;
+		}
+
+		private void readNumeral() throws IOException {
+			// '-'? ('.' ('0'..'9')+ | ('0'..'9')+ ('.' ('0'..'9')*)?)
+			if (peek(0) == '-') {
+				text.append((char) consume());
+			}
+			if (peek(0) == '.') {
+				text.append((char) consume());
+				if (!isDigit(peek(0))) {
+					throw error("invalid numeral '" + text + "'");
+				}
+				while (isDigit(peek(0))) {
+					text.append((char) consume());
+				}
+			} else {
+				if (!isDigit(peek(0))) {
+					throw error("invalid numeral '" + text + "'");
+				}
+				while (isDigit(peek(0))) {
+					text.append((char) consume());
+				}
+				if (peek(0) == '.') {
+					text.append((char) consume());
+					while (isDigit(peek(0))) {
+						text.append((char) consume());
+					}
+				}
+			}
+			kind = TokenKind.ID;
+			idType = Type.NUMERAL;
+		}
+
+		private void readQuotedString() throws IOException {
+			// '"' ('\\' '"' | ~('"'))* '"'
+			text.append((char) consume());
+			while (true) {
+				int c = consume();
+				if (c == -1) {
+					throw error("unterminated quoted string");
+				}
+				text.append((char) c);
+				if (c == '\\' && peek(0) == '"') {
+					text.append((char) consume());
+				} else if (c == '"') {
+					break;
+				}
+			}
+			kind = TokenKind.ID;
+			idType = Type.QUOTED_STRING;
+		}
+
+		private void readString() throws IOException {
+			while (isIdChar(peek(0), false)) {
+				text.append((char) consume());
+			}
+			// keywords are case insensitive; compass points are parsed as
+			// (string) IDs
+			String string = text.toString();
+			if ("strict".equalsIgnoreCase(string)) {
+				kind = TokenKind.STRICT;
+			} else if ("graph".equalsIgnoreCase(string)) {
+				kind = TokenKind.GRAPH;
+			} else if ("digraph".equalsIgnoreCase(string)) {
+				kind = TokenKind.DIGRAPH;
+			} else if ("node".equalsIgnoreCase(string)) {
+				kind = TokenKind.NODE;
+			} else if ("edge".equalsIgnoreCase(string)) {
+				kind = TokenKind.EDGE;
+			} else if ("subgraph".equalsIgnoreCase(string)) {
+				kind = TokenKind.SUBGRAPH;
+			} else {
+				kind = TokenKind.ID;
+				idType = Type.STRING;
+			}
+		}
+
+		private void skipWhitespaceAndComments() throws IOException {
+			while (true) {
+				int c = peek(0);
+				if (c == ' ' || c == '\t' || c == '\r' || c == '\n'
+						|| c == '\f') {
+					consume();
+				} else if (c == '#' || (c == '/' && peek(1) == '/')) {
+					// single line comment
+					while (peek(0) != -1 && peek(0) != '\n'
+							&& peek(0) != '\r') {
+						consume();
+					}
+				} else if (c == '/' && peek(1) == '*') {
+					// multi line comment
+					tokenLine = line;
+					tokenColumn = column;
+					consume();
+					consume();
+					while (!(peek(0) == '*' && peek(1) == '/')) {
+						if (consume() == -1) {
+							throw error("unterminated comment");
+						}
+					}
+					consume();
+					consume();
+				} else {
+					return;
+				}
+			}
+		}
+
+		String describe() {
+			return kind == TokenKind.EOF ? "end of input" : "'" + text + "'";
+		}
+
+		private void symbol(TokenKind symbolKind, int length)
+				throws IOException {
+			for (int i = 0; i < length; i++) {
+				text.append((char) consume());
+			}
+			kind = symbolKind;
+		}
+	}
+
+	/**
+	 * The state of a (sub-)graph that is currently parsed.
+	 */
+	private static final class GraphScope {
+
+		final Graph.Builder builder = new Graph.Builder();
+		// attribute statements ('a=b') within the (sub-)graph body, of which
+		// only the first occurrence is relevant
+		final Map<String, ID> attributes = new HashMap<>();
+		// global attributes of attribute statements ('graph|node|edge [...]')
+		final Map<String, ID> globalGraphAttributes = new HashMap<>();
+		final Map<String, ID> globalNodeAttributes = new HashMap<>();
+		final Map<String, ID> globalEdgeAttributes = new HashMap<>();
+
+		GraphScope(GraphScope parent) {
+			// global attributes from 'outer' scopes are inherited
+			if (parent != null) {
+				globalGraphAttributes.putAll(parent.globalGraphAttributes);
+				globalNodeAttributes.putAll(parent.globalNodeAttributes);
+				globalEdgeAttributes.putAll(parent.globalEdgeAttributes);
+			}
+		}
+	}
+
+	/**
+	 * The state of a single import, i.e. the tokenizer and the nodes and
+	 * (named) subgraphs of the currently parsed graph.
+	 */
+	private static final class Parser {
+
+		private final Tokenizer tokenizer;
+		private final Map<String, Node> nodes = new HashMap<>();
+		private final Map<String, Node> subgraphs = new HashMap<>();
+		// the names of the created nodes and subgraphs (in order of creation),
+		// so that their creation may be rolled back
+		private final List<String> createdNodes = new ArrayList<>();
+		private final List<String> createdSubgraphs = new ArrayList<>();
+
+		private final Consumer<String> problemHandler;
+
+		Parser(Reader reader, Consumer<String> problemHandler) {
+			this.tokenizer = new Tokenizer(reader);
+			this.problemHandler = problemHandler;
+		}
+
+		private void expect(TokenKind kind, String description)
+				throws IOException {
+			if (tokenizer.kind != kind) {
+				throw tokenizer.error("expected " + description
+						+ " but found " + tokenizer.describe());
+			}
+			tokenizer.next();
+		}
+
+		private ID expectId() throws IOException {
+			if (tokenizer.kind != TokenKind.ID) {
+				throw tokenizer.error(
+						"expected ID but found " + tokenizer.describe());
+			}
+			ID id = ID.fromString(tokenizer.text.toString(), tokenizer.idType);
+			tokenizer.next();
+			return id;
+		}
+
+		private boolean isEdgeOp() {
+			return tokenizer.kind == TokenKind.DIRECTED_EDGE_OP
+					|| tokenizer.kind == TokenKind.UNDIRECTED_EDGE_OP;
+		}
+
+		private boolean isSubgraphStart() {
+			return tokenizer.kind == TokenKind.SUBGRAPH
+					|| tokenizer.kind == TokenKind.LEFT_CURLY;
+		}
+
+		List<Graph> parse() throws IOException {
+			List<Graph> graphs = new ArrayList<>();
+			tokenizer.next();
+			while (tokenizer.kind != TokenKind.EOF) {
+				graphs.add(parseGraph());
+			}
+			return graphs;
+		}
+
+		private Map<String, ID> parseAttrLists() throws IOException {
+			// only the first occurrence of an attribute is relevant
+			Map<String, ID> attributes = new HashMap<>();
+			while (tokenizer.kind == TokenKind.LEFT_SQUARE) {
+				tokenizer.next();
+				while (tokenizer.kind != TokenKind.RIGHT_SQUARE) {
+					String name = expectId().toValue();
+					expect(TokenKind.EQUALS, "'='");
+					ID value = expectId();
+					if (!attributes.containsKey(name)) {
+						attributes.put(name, value);
+					}
+					if (tokenizer.kind == TokenKind.COMMA
+							|| tokenizer.kind == TokenKind.SEMICOLON) {
+						tokenizer.next();
+					}
+				}
+				tokenizer.next();
+			}
+			return attributes;
+		}
+
+		private void parseAttrStmt(GraphScope scope) throws IOException {
+			TokenKind type = tokenizer.kind;
+			tokenizer.next();
+			if (tokenizer.kind != TokenKind.LEFT_SQUARE) {
+				throw tokenizer.error(
+						"expected '[' but found " + tokenizer.describe());
+			}
+			// XXX: In contrast to attribute lists of node and edge
+			// statements, later global attributes override earlier ones.
+			Map<String, ID> globalAttributes = type == TokenKind.GRAPH
+					? scope.globalGraphAttributes
+					: type == TokenKind.NODE ? scope.globalNodeAttributes
+							: scope.globalEdgeAttributes;
+			while (tokenizer.kind == TokenKind.LEFT_SQUARE) {
+				tokenizer.next();
+				while (tokenizer.kind != TokenKind.RIGHT_SQUARE) {
+					String name = expectId().toValue();
+					expect(TokenKind.EQUALS, "'='");
+					globalAttributes.put(name, expectId());
+					if (tokenizer.kind == TokenKind.COMMA
+							|| tokenizer.kind == TokenKind.SEMICOLON) {
+						tokenizer.next();
+					}
+				}
+				tokenizer.next();
+			}
+		}
+
+		private void parseEdgeRhs(GraphScope scope, Node sourceNode)
+				throws IOException {
+			// collect the target nodes first, as the attribute lists follow
+			// the last edge operator
+			List<Node> targetNodes = new ArrayList<>();
+			while (isEdgeOp()) {
+				tokenizer.next();
+				if (isSubgraphStart()) {
+					// XXX: Subgraphs are not supported as edge targets (see
+					// DotImport#transformStmt(EdgeStmtNode, Graph.Builder)).
+					problem("Subgraphs are not supported as edge targets");
+					int nodesMark = createdNodes.size();
+					int subgraphsMark = createdSubgraphs.size();
+					parseSubgraph(scope);
+					rollback(nodesMark, subgraphsMark);
+					targetNodes.add(null);
+				} else {
+					targetNodes.add(parseNodeId(scope,
+							new HashMap<String, ID>()));
+				}
+			}
+			Map<String, ID> attributes = parseAttrLists();
+			for (Node targetNode : targetNodes) {
+				if (targetNode == null) {
+					continue;
+				}
+				Edge edge = new Edge.Builder(sourceNode, targetNode)
+						.buildEdge();
+				for (String name : EDGE_ATTRIBUTES) {
+					ID value = attributes.get(name);
+					if (value == null) {
+						value = scope.globalEdgeAttributes.get(name);
+					}
+					if (value != null) {
+						setEdgeAttribute(edge, name, value);
+					}
+				}
+				scope.builder.edges(edge);
+				// current target node may be source for next edge
+				sourceNode = targetNode;
+			}
+		}
+
+		private Graph parseGraph() throws IOException {
+			// clear the nodes and subgraphs, which only hold for each
+			// respective graph
+			nodes.clear();
+			subgraphs.clear();
+			createdNodes.clear();
+			createdSubgraphs.clear();
+
+			if (tokenizer.kind == TokenKind.STRICT) {
+				tokenizer.next();
+			}
+			GraphType type;
+			if (tokenizer.kind == TokenKind.GRAPH) {
+				type = GraphType.GRAPH;
+			} else if (tokenizer.kind == TokenKind.DIGRAPH) {
+				type = GraphType.DIGRAPH;
+			} else {
+				throw tokenizer.error("expected 'graph' or 'digraph' but found "
+						+ tokenizer.describe());
+			}
+			tokenizer.next();
+
+			GraphScope scope = new GraphScope(null);
+			// name (meta-attribute)
+			if (tokenizer.kind == TokenKind.ID) {
+				scope.builder.attr(DotAttributes._NAME__GNE, expectId());
+			}
+			// type (meta-attribute)
+			scope.builder.attr(DotAttributes._TYPE__G, type);
+
+			expect(TokenKind.LEFT_CURLY, "'{'");
+			parseStmts(scope);
+			expect(TokenKind.RIGHT_CURLY, "'}'");
+
+			// initialize attributes of the created graph object rather than
+			// using the builder, so that attribute values get validated
+			Graph graph = scope.builder.build();
+			for (String name : GRAPH_ATTRIBUTES) {
+				ID value = scope.attributes.get(name);
+				if (value == null) {
+					value = scope.globalGraphAttributes.get(name);
+				}
+				if (value != null) {
+					setGraphAttribute(graph, name, value);
+				}
+			}
+			return graph;
+		}
+
+		private Node parseNodeId(GraphScope scope, Map<String, ID> attributes)
+				throws IOException {
+			ID name = expectId();
+			// ports are not evaluated
+			if (tokenizer.kind == TokenKind.COLON) {
+				tokenizer.next();
+				expectId();
+				if (tokenizer.kind == TokenKind.COLON) {
+					tokenizer.next();
+					expectId();
+				}
+			}
+			return transformNodeId(scope, name, attributes);
+		}
+
+		private void parseStmts(GraphScope scope) throws IOException {
+			while (tokenizer.kind != TokenKind.RIGHT_CURLY) {
+				switch (tokenizer.kind) {
+				case GRAPH:
+				case NODE:
+				case EDGE:
+					parseAttrStmt(scope);
+					break;
+				case SUBGRAPH:
+				case LEFT_CURLY:
+					int nodesMark = createdNodes.size();
+					int subgraphsMark = createdSubgraphs.size();
+					Runnable commit = parseSubgraph(scope);
+					if (isEdgeOp()) {
+						// XXX: Subgraphs are not supported as edge sources (see
+						// DotImport#transformStmt(Stmt, Graph.Builder)), so the
+						// subgraph is discarded.
+						problem("Subgraphs are not supported as edge sources");
+						rollback(nodesMark, subgraphsMark);
+						while (isEdgeOp()) {
+							tokenizer.next();
+							if (isSubgraphStart()) {
+								parseSubgraph(scope);
+								rollback(nodesMark, subgraphsMark);
+							} else {
+								// only parse the node ID, without creating a
+								// node
+								expectId();
+								if (tokenizer.kind == TokenKind.COLON) {
+									tokenizer.next();
+									expectId();
+									if (tokenizer.kind == TokenKind.COLON) {
+										tokenizer.next();
+										expectId();
+									}
+								}
+							}
+						}
+						parseAttrLists();
+					} else {
+						commit.run();
+					}
+					break;
+				case ID:
+					ID id = expectId();
+					if (tokenizer.kind == TokenKind.EQUALS) {
+						// attribute statement ('a=b'), of which only the first
+						// occurrence is relevant
+						tokenizer.next();
+						ID value = expectId();
+						if (!scope.attributes.containsKey(id.toValue())) {
+							scope.attributes.put(id.toValue(), value);
+						}
+						break;
+					}
+					// ports are not evaluated
+					if (tokenizer.kind == TokenKind.COLON) {
+						tokenizer.next();
+						expectId();
+						if (tokenizer.kind == TokenKind.COLON) {
+							tokenizer.next();
+							expectId();
+						}
+					}
+					if (isEdgeOp()) {
+						// edge statement; the source node is created without
+						// local attributes
+						Node sourceNode = transformNodeId(scope, id,
+								new HashMap<String, ID>());
+						parseEdgeRhs(scope, sourceNode);
+					} else {
+						// node statement
+						transformNodeId(scope, id, parseAttrLists());
+					}
+					break;
+				default:
+					throw tokenizer.error("expected statement or '}' but found "
+							+ tokenizer.describe());
+				}
+				if (tokenizer.kind == TokenKind.SEMICOLON) {
+					tokenizer.next();
+				}
+			}
+		}
+
+		/**
+		 * Parses a subgraph, and returns a {@link Runnable} that adds the
+		 * subgraph to the given (parent) scope, or merges it into an existing
+		 * subgraph of the same name.
+		 */
+		private Runnable parseSubgraph(final GraphScope parentScope)
+				throws IOException {
+			ID name = null;
+			if (tokenizer.kind == TokenKind.SUBGRAPH) {
+				tokenizer.next();
+				if (tokenizer.kind == TokenKind.ID) {
+					name = expectId();
+				}
+			}
+			expect(TokenKind.LEFT_CURLY, "'{'");
+
+			// anonymous subgraphs cannot be 'merged', which is why we have to
+			// create a new subgraph for each
+			final boolean isExistingSubgraph = name != null
+					&& subgraphs.containsKey(name.toValue());
+			final Node subgraphNode;
+			if (name == null) {
+				subgraphNode = new Node.Builder().buildNode();
+			} else if (isExistingSubgraph) {
+				subgraphNode = subgraphs.get(name.toValue());
+			} else {
+				subgraphNode = new Node.Builder().buildNode();
+				subgraphs.put(name.toValue(), subgraphNode);
+				createdSubgraphs.add(name.toValue());
+			}
+
+			// global attributes from 'outer' scopes are evaluated by
+			// transferring them as initial global attributes of the nested
+			// scope
+			final GraphScope scope = new GraphScope(parentScope);
+			if (name != null) {
+				scope.builder.attr(DotAttributes._NAME__GNE, name);
+			}
+			parseStmts(scope);
+			expect(TokenKind.RIGHT_CURLY, "'}'");
+
+			return new Runnable() {
+				@Override
+				public void run() {
+					Graph subgraph = scope.builder.build();
+					if (!isExistingSubgraph) {
+						subgraphNode.setNestedGraph(subgraph);
+						subgraph.setNestingNode(subgraphNode);
+						parentScope.builder.nodes(subgraphNode);
+					} else {
+						// merge into existing subgraph
+						Graph existingSubgraph = subgraphNode.getNestedGraph();
+						existingSubgraph.getAttributes()
+								.putAll(subgraph.getAttributes());
+						for (Node node : subgraph.getNodes()) {
+							if (!existingSubgraph.getNodes().contains(node)) {
+								existingSubgraph.getNodes().add(node);
+							}
+						}
+						existingSubgraph.getEdges().addAll(subgraph.getEdges());
+					}
+
+					// apply all global cluster and subgraph attributes
+					for (String name : SUBGRAPH_ATTRIBUTES) {
+						ID value = scope.attributes.get(name);
+						if (value == null) {
+							value = scope.globalGraphAttributes.get(name);
+						}
+						if (value != null) {
+							setGraphAttribute(subgraph, name, value);
+						}
+					}
+				}
+			};
+		}
+
+		/**
+		 * Reports a statement that cannot be transformed (and is thus
+		 * skipped) to the problem handler, stating the location of the
+		 * current token.
+		 */
+		private void problem(String message) {
+			if (problemHandler != null) {
+				problemHandler.accept(tokenizer.locate(message));
+			}
+		}
+
+		private void rollback(int nodesMark, int subgraphsMark) {
+			while (createdNodes.size() > nodesMark) {
+				nodes.remove(createdNodes.remove(createdNodes.size() - 1));
+			}
+			while (createdSubgraphs.size() > subgraphsMark) {
+				subgraphs.remove(
+						createdSubgraphs.remove(createdSubgraphs.size() - 1));
+			}
+		}
+
+		private Node transformNodeId(GraphScope scope, ID name,
+				Map<String, ID> attributes) {
+			boolean isExistingNode = nodes.containsKey(name.toValue());
+			Node node;
+			if (isExistingNode) {
+				node = nodes.get(name.toValue());
+			} else {
+				node = new Node.Builder().buildNode();
+				nodes.put(name.toValue(), node);
+				createdNodes.add(name.toValue());
+				DotAttributes._setNameRaw(node, name);
+				scope.builder.nodes(node);
+			}
+			for (String attributeName : NODE_ATTRIBUTES) {
+				ID value = attributes.get(attributeName);
+				// consider the global node attributes only if the node has
+				// just been created
+				if (value == null && !isExistingNode) {
+					value = scope.globalNodeAttributes.get(attributeName);
+				}
+				if (value != null) {
+					setNodeAttribute(node, attributeName, value);
+				}
+			}
+			return node;
+		}
+	}
+
+	private final Consumer<String> problemHandler;
+
+	/**
+	 * Creates a new {@link DotStreamingImport}, which ignores statements that
+	 * cannot be transformed.
+	 */
+	public DotStreamingImport() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new {@link DotStreamingImport}, which reports statements that
+	 * cannot be transformed (and are thus skipped) to the given problem
+	 * handler. The reported messages state the line and column of the
+	 * offending statement.
+	 *
+	 * @param problemHandler
+	 *            The {@link Consumer} to report the skipped statements to, or
+	 *            <code>null</code> if they are to be ignored.
+	 */
+	public DotStreamingImport(Consumer<String> problemHandler) {
+		this.problemHandler = problemHandler;
+	}
+
+	private static final String[] GRAPH_ATTRIBUTES = { DotAttributes.BB__GC,
+			DotAttributes.BGCOLOR__GC, DotAttributes.CLUSTERRANK__G,
+			DotAttributes.FONTCOLOR__GCNE, DotAttributes.LABEL__GCNE,
+			DotAttributes.LAYOUT__G, DotAttributes.OUTPUTORDER__G,
+			DotAttributes.PAGEDIR__G, DotAttributes.RANKDIR__G,
+			DotAttributes.SPLINES__G };
+
+	private static final String[] SUBGRAPH_ATTRIBUTES = { DotAttributes.BB__GC,
+			DotAttributes.BGCOLOR__GC, DotAttributes.FONTCOLOR__GCNE,
+			DotAttributes.LABEL__GCNE, DotAttributes.RANK__S };
+
+	private static final String[] NODE_ATTRIBUTES = { DotAttributes.COLOR__CNE,
+			DotAttributes.COLORSCHEME__GCNE, DotAttributes.DISTORTION__N,
+			DotAttributes.FILLCOLOR__CNE, DotAttributes.FIXEDSIZE__N,
+			DotAttributes.FONTCOLOR__GCNE, DotAttributes.HEIGHT__N,
+			DotAttributes.ID__GCNE, DotAttributes.LABEL__GCNE,
+			DotAttributes.POS__NE, DotAttributes.SHAPE__N,
+			DotAttributes.SIDES__N, DotAttributes.SKEW__N,
+			DotAttributes.STYLE__GCNE, DotAttributes.WIDTH__N,
+			DotAttributes.XLABEL__NE, DotAttributes.XLP__NE };
+
+	private static final String[] EDGE_ATTRIBUTES = {
+			DotAttributes.ARROWHEAD__E, DotAttributes.ARROWSIZE__E,
+			DotAttributes.ARROWTAIL__E, DotAttributes.COLOR__CNE,
+			DotAttributes.COLORSCHEME__GCNE, DotAttributes.DIR__E,
+			DotAttributes.FILLCOLOR__CNE, DotAttributes.FONTCOLOR__GCNE,
+			DotAttributes.HEAD_LP__E, DotAttributes.HEADLABEL__E,
+			DotAttributes.ID__GCNE, DotAttributes.LABEL__GCNE,
+			DotAttributes.LABELFONTCOLOR__E, DotAttributes.LP__GCE,
+			DotAttributes.POS__NE, DotAttributes.STYLE__GCNE,
+			DotAttributes.TAILLABEL__E, DotAttributes.TAIL_LP__E,
+			DotAttributes.XLABEL__NE, DotAttributes.XLP__NE };
+
+	private static void setEdgeAttribute(Edge edge, String name, ID value) {
+		switch (name) {
+		case DotAttributes.ARROWHEAD__E:
+			DotAttributes.setArrowheadRaw(edge, value);
+			break;
+		case DotAttributes.ARROWSIZE__E:
+			DotAttributes.setArrowsizeRaw(edge, value);
+			break;
+		case DotAttributes.ARROWTAIL__E:
+			DotAttributes.setArrowtailRaw(edge, value);
+			break;
+		case DotAttributes.COLOR__CNE:
+			DotAttributes.setColorRaw(edge, value);
+			break;
+		case DotAttributes.COLORSCHEME__GCNE:
+			DotAttributes.setColorschemeRaw(edge, value);
+			break;
+		case DotAttributes.DIR__E:
+			DotAttributes.setDirRaw(edge, value);
+			break;
+		case DotAttributes.FILLCOLOR__CNE:
+			DotAttributes.setFillcolorRaw(edge, value);
+			break;
+		case DotAttributes.FONTCOLOR__GCNE:
+			DotAttributes.setFontcolorRaw(edge, value);
+			break;
+		case DotAttributes.HEAD_LP__E:
+			DotAttributes.setHeadLpRaw(edge, value);
+			break;
+		case DotAttributes.HEADLABEL__E:
+			DotAttributes.setHeadlabelRaw(edge, value);
+			break;
+		case DotAttributes.ID__GCNE:
+			DotAttributes.setIdRaw(edge, value);
+			break;
+		case DotAttributes.LABEL__GCNE:
+			DotAttributes.setLabelRaw(edge, value);
+			break;
+		case DotAttributes.LABELFONTCOLOR__E:
+			DotAttributes.setLabelfontcolorRaw(edge, value);
+			break;
+		case DotAttributes.LP__GCE:
+			DotAttributes.setLpRaw(edge, value);
+			break;
+		case DotAttributes.POS__NE:
+			DotAttributes.setPosRaw(edge, value);
+			break;
+		case DotAttributes.STYLE__GCNE:
+			DotAttributes.setStyleRaw(edge, value);
+			break;
+		case DotAttributes.TAILLABEL__E:
+			DotAttributes.setTaillabelRaw(edge, value);
+			break;
+		case DotAttributes.TAIL_LP__E:
+			DotAttributes.setTailLpRaw(edge, value);
+			break;
+		case DotAttributes.XLABEL__NE:
+			DotAttributes.setXlabelRaw(edge, value);
+			break;
+		case DotAttributes.XLP__NE:
+			DotAttributes.setXlpRaw(edge, value);
+			break;
+		default:
+			throw new IllegalArgumentException(
+					"Unsupported edge attribute " + name + ".");
+		}
+	}
+
+	private static void setGraphAttribute(Graph graph, String name, ID value) {
+		switch (name) {
+		case DotAttributes.BB__GC:
+			DotAttributes.setBbRaw(graph, value);
+			break;
+		case DotAttributes.BGCOLOR__GC:
+			DotAttributes.setBgcolorRaw(graph, value);
+			break;
+		case DotAttributes.CLUSTERRANK__G:
+			DotAttributes.setClusterrankRaw(graph, value);
+			break;
+		case DotAttributes.FONTCOLOR__GCNE:
+			DotAttributes.setFontcolorRaw(graph, value);
+			break;
+		case DotAttributes.LABEL__GCNE:
+			DotAttributes.setLabelRaw(graph, value);
+			break;
+		case DotAttributes.LAYOUT__G:
+			DotAttributes.setLayoutRaw(graph, value);
+			break;
+		case DotAttributes.OUTPUTORDER__G:
+			DotAttributes.setOutputorderRaw(graph, value);
+			break;
+		case DotAttributes.PAGEDIR__G:
+			DotAttributes.setPagedirRaw(graph, value);
+			break;
+		case DotAttributes.RANK__S:
+			DotAttributes.setRankRaw(graph, value);
+			break;
+		case DotAttributes.RANKDIR__G:
+			DotAttributes.setRankdirRaw(graph, value);
+			break;
+		case DotAttributes.SPLINES__G:
+			DotAttributes.setSplinesRaw(graph, value);
+			break;
+		default:
+			throw new IllegalArgumentException(
+					"Unsupported graph attribute " + name + ".");
+		}
+	}
+
+	private static void setNodeAttribute(Node node, String name, ID value) {
+		switch (name) {
+		case DotAttributes.COLOR__CNE:
+			DotAttributes.setColorRaw(node, value);
+			break;
+		case DotAttributes.COLORSCHEME__GCNE:
+			DotAttributes.setColorschemeRaw(node, value);
+			break;
+		case DotAttributes.DISTORTION__N:
+			DotAttributes.setDistortionRaw(node, value);
+			break;
+		case DotAttributes.FILLCOLOR__CNE:
+			DotAttributes.setFillcolorRaw(node, value);
+			break;
+		case DotAttributes.FIXEDSIZE__N:
+			DotAttributes.setFixedsizeRaw(node, value);
+			break;
+		case DotAttributes.FONTCOLOR__GCNE:
+			DotAttributes.setFontcolorRaw(node, value);
+			break;
+		case DotAttributes.HEIGHT__N:
+			DotAttributes.setHeightRaw(node, value);
+			break;
+		case DotAttributes.ID__GCNE:
+			DotAttributes.setIdRaw(node, value);
+			break;
+		case DotAttributes.LABEL__GCNE:
+			DotAttributes.setLabelRaw(node, value);
+			break;
+		case DotAttributes.POS__NE:
+			DotAttributes.setPosRaw(node, value);
+			break;
+		case DotAttributes.SHAPE__N:
+			DotAttributes.setShapeRaw(node, value);
+			break;
+		case DotAttributes.SIDES__N:
+			DotAttributes.setSidesRaw(node, value);
+			break;
+		case DotAttributes.SKEW__N:
+			DotAttributes.setSkewRaw(node, value);
+			break;
+		case DotAttributes.STYLE__GCNE:
+			DotAttributes.setStyleRaw(node, value);
+			break;
+		case DotAttributes.WIDTH__N:
+			DotAttributes.setWidthRaw(node, value);
+			break;
+		case DotAttributes.XLABEL__NE:
+			DotAttributes.setXlabelRaw(node, value);
+			break;
+		case DotAttributes.XLP__NE:
+			DotAttributes.setXlpRaw(node, value);
+			break;
+		default:
+			throw new IllegalArgumentException(
+					"Unsupported node attribute " + name + ".");
+		}
+	}
+
+	/**
+	 * Imports the graphs of the given DOT file. The file is read (in UTF-8
+	 * encoding) in a streaming manner.
+	 *
+	 * @param dotFile
+	 *            The DOT file to import.
+	 * @return The imported {@link Graph}s.
+	 */
+	public List<Graph> importDot(File dotFile) {
+		try (Reader reader = new InputStreamReader(
+				new FileInputStream(dotFile), "UTF-8")) {
+			return importDot(reader);
+		} catch (IOException e) {
+			throw new IllegalArgumentException(
+					"Could not read DOT file " + dotFile + ".", e);
+		}
+	}
+
+	/**
+	 * Imports the graphs that are read from the given {@link Reader}. The
+	 * {@link Reader} is read in chunks (so it does not need to be buffered),
+	 * and is not closed.
+	 *
+	 * @param reader
+	 *            The {@link Reader} that provides the DOT input.
+	 * @return The imported {@link Graph}s.
+	 * @throws IOException
+	 *             In case the given {@link Reader} cannot be read.
+	 */
+	public List<Graph> importDot(Reader reader) throws IOException {
+		return new Parser(reader, problemHandler).parse();
+	}
+
+	/**
+	 * Imports the graphs of the given DOT string.
+	 *
+	 * @param dotString
+	 *            The DOT string to import.
+	 * @return The imported {@link Graph}s.
+	 */
+	public List<Graph> importDot(String dotString) {
+		try {
+			return importDot(new StringReader(dotString));
+		} catch (IOException e) {
+			// cannot happen for a StringReader
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.nodes.PolyBezierInterpolator;
+import org.eclipse.gef.fx.nodes.PolylineInterpolator;
+import org.eclipse.gef.geometry.planar.ICurve;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.PolyBezier;
+import org.eclipse.gef.geometry.planar.Polyline;
+import org.junit.Test;
+
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Polygon;
+
+/**
+ * Tests the clipping of the curve at the decorations of a {@link Connection}
+ * by the interpolators.
+ */
+public class AbstractInterpolatorTests {
+
+	private static final double TOLERANCE = 1e-4;
+
+	private static void assertPoint(Point expected, Point actual) {
+		assertEquals(expected.x, actual.x, TOLERANCE);
+		assertEquals(expected.y, actual.y, TOLERANCE);
+	}
+
+	/**
+	 * Creates an arrow decoration of the given length, whose tip is located
+	 * at the origin.
+	 */
+	private static Polygon createArrow(double length) {
+		Polygon arrow = new Polygon(0, 0, length, -length / 2, length,
+				length / 2);
+		arrow.setFill(Color.BLACK);
+		return arrow;
+	}
+
+	private static ICurve getCurveGeometry(Connection connection) {
+		return (ICurve) ((GeometryNode<?>) connection.getCurve())
+				.getGeometry();
+	}
+
+	@Test
+	public void test_bezier() {
+		Connection connection = new Connection();
+		connection.setInterpolator(new PolyBezierInterpolator());
+		connection.setStartPoint(new Point(0, 0));
+		connection.addControlPoint(0, new Point(50, 50));
+		connection.setEndPoint(new Point(100, 0));
+		Point center = connection.getCenter();
+
+		connection.setEndDecoration(createArrow(10));
+		ICurve curve = getCurveGeometry(connection);
+		assertTrue(curve instanceof PolyBezier);
+		assertPoint(new Point(0, 0), curve.getP1());
+		// the curve ends where it enters the base of the arrow
+		double distance = curve.getP2().getDistance(new Point(100, 0));
+		assertTrue(distance > 10 - TOLERANCE);
+		assertTrue(distance < Math.hypot(10, 5));
+		// the center is computed from the unclipped curve
+		assertPoint(center, connection.getCenter());
+	}
+
+	@Test
+	public void test_center_cached() {
+		final int[] computations = new int[1];
+		Connection connection = new Connection();
+		connection.setInterpolator(new PolylineInterpolator() {
+			@Override
+			protected ICurve computeCurve(Connection connection) {
+				computations[0]++;
+				return super.computeCurve(connection);
+			}
+		});
+		connection.setStartPoint(new Point(0, 0));
+		connection.setEndPoint(new Point(100, 0));
+		connection.setEndDecoration(createArrow(10));
+		int count = computations[0];
+		// the unclipped curve of the last interpolation is reused
+		assertPoint(new Point(50, 0), connection.getCenter());
+		assertPoint(new Point(50, 0), connection.getCenter());
+		assertEquals(count, computations[0]);
+
+		// until the points change
+		connection.setEndPoint(new Point(200, 0));
+		assertPoint(new Point(100, 0), connection.getCenter());
+	}
+
+	@Test
+	public void test_decorationLargerThanCurve() {
+		Connection connection = new Connection();
+		connection.setStartPoint(new Point(0, 0));
+		connection.setEndPoint(new Point(5, 0));
+		connection.setEndDecoration(createArrow(10));
+		// the curve is completely covered by the decoration, so that it is
+		// not clipped
+		ICurve curve = getCurveGeometry(connection);
+		assertPoint(new Point(0, 0), curve.getP1());
+		assertPoint(new Point(5, 0), curve.getP2());
+
+		// the same applies to overlapping decorations
+		connection.setStartDecoration(createArrow(10));
+		curve = getCurveGeometry(connection);
+		assertPoint(new Point(0, 0), curve.getP1());
+		assertPoint(new Point(5, 0), curve.getP2());
+		assertPoint(new Point(2.5, 0), connection.getCenter());
+	}
+
+	@Test
+	public void test_polyline() {
+		Connection connection = new Connection();
+		connection.setStartPoint(new Point(0, 0));
+		connection.addControlPoint(0, new Point(50, 0));
+		connection.setEndPoint(new Point(50, 100));
+		connection.setEndDecoration(createArrow(10));
+		ICurve curve = getCurveGeometry(connection);
+		assertTrue(curve instanceof Polyline);
+		Point[] points = ((Polyline) curve).getPoints();
+		assertEquals(3, points.length);
+		assertPoint(new Point(0, 0), points[0]);
+		assertPoint(new Point(50, 0), points[1]);
+		assertPoint(new Point(50, 90), points[2]);
+		assertPoint(new Point(50, 0), connection.getCenter());
+	}
+
+	@Test
+	public void test_straight() {
+		Connection connection = new Connection();
+		connection.setStartPoint(new Point(0, 0));
+		connection.setEndPoint(new Point(100, 0));
+		connection.setStartDecoration(createArrow(10));
+		connection.setEndDecoration(createArrow(20));
+		ICurve curve = getCurveGeometry(connection);
+		assertTrue(curve instanceof Polyline);
+		assertPoint(new Point(10, 0), curve.getP1());
+		assertPoint(new Point(80, 0), curve.getP2());
+		// the points and the center are not affected by the clipping
+		assertPoint(new Point(0, 0), connection.getStartPoint());
+		assertPoint(new Point(100, 0), connection.getEndPoint());
+		assertPoint(new Point(50, 0), connection.getCenter());
+
+		// removing a decoration restores the curve
+		connection.setEndDecoration(null);
+		curve = getCurveGeometry(connection);
+		assertPoint(new Point(10, 0), curve.getP1());
+		assertPoint(new Point(100, 0), curve.getP2());
+	}
+
+}
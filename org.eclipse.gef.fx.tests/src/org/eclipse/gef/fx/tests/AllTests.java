@@ -17,8 +17,9 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ ConnectionTests.class, GeometryNodeTests.class, GeometryConversionTests.class,
-		OrthogonalProjectionStrategyTests.class, NodeUtilsTests.class, FXCanvasExTests.class})
+@SuiteClasses({ AbstractInterpolatorTests.class, BatchedConnectionCanvasTests.class, ConnectionTests.class, GeometryNodeTests.class, GeometryConversionTests.class,
+		OrthogonalProjectionStrategyTests.class, NodeUtilsTests.class, FXCanvasExTests.class,
+		OrthogonalRoutingGridTests.class, DynamicAnchorTests.class })
 public class AllTests {
 
 }
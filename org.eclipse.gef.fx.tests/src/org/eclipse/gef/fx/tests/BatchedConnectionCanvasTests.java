@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.fx.nodes.BatchedConnectionCanvas;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.geometry.planar.ICurve;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Point;
+import org.junit.Test;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Polygon;
+
+public class BatchedConnectionCanvasTests {
+
+	/**
+	 * Counts the requested repaints instead of scheduling them, so that no
+	 * running JavaFX application thread is required.
+	 */
+	private static class BatchedConnectionCanvasStub
+			extends BatchedConnectionCanvas {
+
+		private int repaintRequests = 0;
+
+		@Override
+		public void requestRepaint() {
+			repaintRequests++;
+		}
+	}
+
+	private static Connection createConnection() {
+		Connection connection = new Connection();
+		connection.setStartPoint(new Point(0, 0));
+		connection.setEndPoint(new Point(100, 50));
+		return connection;
+	}
+
+	@Test
+	public void test_add_remove() {
+		BatchedConnectionCanvasStub canvas = new BatchedConnectionCanvasStub();
+		Connection connection = createConnection();
+		connection.setOpacity(0.5);
+
+		assertTrue(canvas.add(connection));
+		assertFalse(canvas.add(connection));
+		assertTrue(canvas.contains(connection));
+		assertTrue(canvas.isBatched(connection));
+		assertEquals(0, connection.getOpacity(), 0);
+		assertFalse(connection.isManaged());
+
+		// geometry changes lead to a repaint
+		int repaintRequests = canvas.repaintRequests;
+		connection.setEndPoint(new Point(200, 50));
+		assertTrue(canvas.repaintRequests > repaintRequests);
+
+		assertTrue(canvas.remove(connection));
+		assertFalse(canvas.remove(connection));
+		assertFalse(canvas.contains(connection));
+		assertFalse(canvas.isBatched(connection));
+		assertEquals(0.5, connection.getOpacity(), 0);
+		assertTrue(connection.isManaged());
+
+		// the observers are unregistered
+		repaintRequests = canvas.repaintRequests;
+		connection.setEndPoint(new Point(100, 50));
+		connection.setStartDecoration(new Polygon(0, 0, 5, 5, 0, 10));
+		((GeometryNode<?>) connection.getCurve()).getStrokeDashArray()
+				.add(5d);
+		assertEquals(repaintRequests, canvas.repaintRequests);
+	}
+
+	@Test
+	public void test_curveChange() {
+		BatchedConnectionCanvasStub canvas = new BatchedConnectionCanvasStub();
+		Connection connection = createConnection();
+		canvas.add(connection);
+		@SuppressWarnings("unchecked")
+		GeometryNode<ICurve> oldCurve = (GeometryNode<ICurve>) connection
+				.getCurve();
+
+		// a dashed curve can not be batched
+		GeometryNode<ICurve> newCurve = new GeometryNode<>();
+		newCurve.getStrokeDashArray().add(5d);
+		connection.setCurve(newCurve);
+		assertTrue(canvas.contains(connection));
+		assertFalse(canvas.isBatched(connection));
+		assertEquals(1, connection.getOpacity(), 0);
+		assertTrue(connection.isManaged());
+
+		// the observers are moved to the new curve
+		int repaintRequests = canvas.repaintRequests;
+		oldCurve.setGeometry(new Line(0, 0, 10, 10));
+		oldCurve.getStrokeDashArray().add(5d);
+		assertEquals(repaintRequests, canvas.repaintRequests);
+		assertFalse(canvas.isBatched(connection));
+
+		newCurve.getStrokeDashArray().clear();
+		assertTrue(canvas.isBatched(connection));
+		assertEquals(0, connection.getOpacity(), 0);
+		assertFalse(connection.isManaged());
+		repaintRequests = canvas.repaintRequests;
+		newCurve.setGeometry(new Line(0, 0, 20, 20));
+		assertTrue(canvas.repaintRequests > repaintRequests);
+	}
+
+	@Test
+	public void test_decorationChange() {
+		BatchedConnectionCanvasStub canvas = new BatchedConnectionCanvasStub();
+		Connection connection = createConnection();
+		connection.setEndDecoration(new Polygon(0, 0, 5, 5, 0, 10));
+		canvas.add(connection);
+		assertTrue(canvas.isBatched(connection));
+
+		// decorations without a geometric outline can not be batched
+		connection.setStartDecoration(new Group());
+		assertFalse(canvas.isBatched(connection));
+		assertEquals(1, connection.getOpacity(), 0);
+		assertTrue(connection.isManaged());
+		// repainting does not fail for connections that are not batched
+		canvas.repaint();
+
+		connection.setStartDecoration(null);
+		assertTrue(canvas.isBatched(connection));
+		assertEquals(0, connection.getOpacity(), 0);
+		assertFalse(connection.isManaged());
+		canvas.repaint();
+	}
+
+	@Test
+	public void test_nonBatchableConnection() {
+		BatchedConnectionCanvasStub canvas = new BatchedConnectionCanvasStub();
+		Connection connection = createConnection();
+		((GeometryNode<?>) connection.getCurve()).getStrokeDashArray()
+				.add(5d);
+		assertFalse(canvas.isBatchable(connection));
+
+		// the connection is added, but rendered by its own visual until it
+		// becomes batchable
+		assertTrue(canvas.add(connection));
+		assertFalse(canvas.isBatched(connection));
+		assertEquals(1, connection.getOpacity(), 0);
+		assertTrue(connection.isManaged());
+		((GeometryNode<?>) connection.getCurve()).getStrokeDashArray()
+				.clear();
+		assertTrue(canvas.isBatched(connection));
+		assertEquals(0, connection.getOpacity(), 0);
+		assertFalse(connection.isManaged());
+	}
+
+	@Test
+	public void test_repaint_cached() {
+		BatchedConnectionCanvasStub canvas = new BatchedConnectionCanvasStub();
+		canvas.setWidth(200);
+		canvas.setHeight(200);
+		final int[] geometryQueries = new int[1];
+		Connection connection = createConnection();
+		connection.setCurve(new GeometryNode<ICurve>() {
+			@Override
+			public ICurve getGeometry() {
+				geometryQueries[0]++;
+				return super.getGeometry();
+			}
+		});
+		canvas.add(connection);
+		canvas.repaint();
+		int queries = geometryQueries[0];
+
+		// the cached geometries are reused if the connection did not change
+		canvas.repaint();
+		assertEquals(queries, geometryQueries[0]);
+		// or if only the transformation to the canvas changed
+		canvas.setLayoutX(10);
+		canvas.repaint();
+		assertEquals(queries, geometryQueries[0]);
+
+		// but recomputed if the connection changed
+		connection.setEndPoint(new Point(150, 50));
+		queries = geometryQueries[0];
+		canvas.repaint();
+		assertTrue(geometryQueries[0] > queries);
+	}
+
+}
@@ -13,7 +13,9 @@
 package org.eclipse.gef.fx.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -25,6 +27,9 @@ import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Point;
 import org.junit.Test;
 
+import javafx.scene.Node;
+import javafx.scene.shape.Polygon;
+
 public class ConnectionTests {
 
 	@Test
@@ -128,6 +133,46 @@ public class ConnectionTests {
 		assertEquals(newEndPoint, connection.getEndPoint());
 	}
 
+	@Test
+	public void incrementalRefresh() {
+		// setup connection with many (static) control anchors
+		Connection connection = new Connection();
+		connection.getCurve().setTranslateX(5);
+		connection.setStartPoint(new Point(0, 0));
+		connection.setEndPoint(new Point(1000, 0));
+		List<StaticAnchor> controlAnchors = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			StaticAnchor anchor = new StaticAnchor(connection, new Point(10 * i, 10));
+			controlAnchors.add(anchor);
+		}
+		connection.setControlAnchors(new ArrayList<IAnchor>(controlAnchors));
+		Polygon endDecoration = new Polygon(0, 0, 5, 5, 0, 10);
+		connection.setEndDecoration(endDecoration);
+		List<Node> children = new ArrayList<>(connection.getChildren());
+		assertEquals(2, children.size());
+		assertSame(endDecoration, children.get(1));
+
+		// change the position of a single control anchor
+		controlAnchors.get(50).setReferencePosition(new Point(500, 50));
+		assertEquals(new Point(500, 50), connection.getControlPoint(50));
+		assertEquals(new Point(490, 10), connection.getControlPoint(49));
+		assertEquals(new Point(510, 10), connection.getControlPoint(51));
+		assertEquals(new Point(0, 0), connection.getStartPoint());
+		assertEquals(new Point(1000, 0), connection.getEndPoint());
+		// children are retained
+		assertEquals(children, connection.getChildren());
+
+		// changing the curve transformation updates all points
+		connection.getCurve().setTranslateX(10);
+		assertEquals(new Point(500, 50), connection.getControlPoint(50));
+		assertEquals(new Point(0, 10), connection.getControlPoint(0));
+		assertEquals(new Point(990, 10), connection.getControlPoint(99));
+
+		// position changes are still tracked afterwards
+		controlAnchors.get(0).setReferencePosition(new Point(1, 2));
+		assertEquals(new Point(1, 2), connection.getControlPoint(0));
+	}
+
 	@Test
 	public void pointConversions() {
 		Point startPoint = new Point(123, 456);
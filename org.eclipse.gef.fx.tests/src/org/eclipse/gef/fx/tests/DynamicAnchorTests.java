@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.fx.anchors.AnchorKey;
+import org.eclipse.gef.fx.anchors.ChopBoxStrategy;
+import org.eclipse.gef.fx.anchors.DynamicAnchor;
+import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchorageReferenceGeometry;
+import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchoredReferencePoint;
+import org.eclipse.gef.fx.anchors.IComputationStrategy.Parameter;
+import org.eclipse.gef.geometry.planar.ICurve;
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.junit.Test;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+public class DynamicAnchorTests {
+
+	private static class CountingChopBoxStrategy extends ChopBoxStrategy {
+
+		private int outlineComputations = 0;
+
+		@Override
+		protected List<ICurve> getOutlineSegments(IGeometry geometry) {
+			outlineComputations++;
+			return super.getOutlineSegments(geometry);
+		}
+	}
+
+	@Test
+	public void bulkComputation() {
+		Group container = new Group();
+		javafx.scene.shape.Rectangle anchorage = new javafx.scene.shape.Rectangle(0, 0, 100, 100);
+		container.getChildren().add(anchorage);
+		CountingChopBoxStrategy strategy = new CountingChopBoxStrategy();
+		DynamicAnchor anchor = new DynamicAnchor(anchorage, strategy);
+
+		List<AnchorKey> keys = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			javafx.scene.shape.Rectangle anchored = new javafx.scene.shape.Rectangle(0, 0, 10, 10);
+			container.getChildren().add(anchored);
+			AnchorKey key = new AnchorKey(anchored, "role");
+			anchor.attach(key);
+			anchor.getComputationParameter(key, AnchoredReferencePoint.class).set(new Point(200, i * 4 - 50));
+			keys.add(key);
+		}
+		// all positions lie on the right side of the anchorage
+		for (AnchorKey key : keys) {
+			assertEquals(100, anchor.getPosition(key).x, 0);
+		}
+
+		// moving the anchorage recomputes the outline only once
+		int outlineComputations = strategy.outlineComputations;
+		anchorage.setTranslateX(50);
+		assertEquals(outlineComputations + 1, strategy.outlineComputations);
+		for (AnchorKey key : keys) {
+			assertEquals(150, anchor.getPosition(key).x, 0);
+		}
+
+		// bulk computation yields the same positions as single computation
+		Map<AnchorKey, Set<Parameter<?>>> parameters = new HashMap<>();
+		for (AnchorKey key : keys) {
+			Set<Parameter<?>> keyParameters = new HashSet<>();
+			keyParameters.add(anchor.getComputationParameter(AnchorageReferenceGeometry.class));
+			keyParameters.add(anchor.getComputationParameter(key, AnchoredReferencePoint.class));
+			parameters.put(key, keyParameters);
+		}
+		Map<AnchorKey, Point> positionsInScene = strategy.computePositionsInScene(anchorage, parameters);
+		for (AnchorKey key : keys) {
+			Node anchored = key.getAnchored();
+			assertEquals(strategy.computePositionInScene(anchorage, anchored, parameters.get(key)),
+					positionsInScene.get(key));
+		}
+
+		// changing the reference geometry invalidates the cached outline
+		AnchorageReferenceGeometry geometry = anchor.getComputationParameter(AnchorageReferenceGeometry.class);
+		geometry.unbind();
+		geometry.set(new Rectangle(0, 0, 50, 100));
+		anchorage.setTranslateX(0);
+		for (AnchorKey key : keys) {
+			assertEquals(50, anchor.getPosition(key).x, 0);
+		}
+	}
+
+	@Test
+	public void cachedOutlineComparedByValue() {
+		Group container = new Group();
+		javafx.scene.shape.Rectangle anchorage = new javafx.scene.shape.Rectangle(0, 0, 100, 100);
+		javafx.scene.shape.Rectangle anchored = new javafx.scene.shape.Rectangle(0, 0, 10, 10);
+		container.getChildren().addAll(anchorage, anchored);
+		CountingChopBoxStrategy strategy = new CountingChopBoxStrategy();
+		Rectangle geometry = new Rectangle(0, 0, 100, 100);
+		Set<Parameter<?>> parameters = new HashSet<>();
+		AnchorageReferenceGeometry anchorageReferenceGeometry = new AnchorageReferenceGeometry(geometry);
+		parameters.add(anchorageReferenceGeometry);
+		parameters.add(new AnchoredReferencePoint(new Point(200, 50)));
+		assertEquals(new Point(100, 50), strategy.computePositionInScene(anchorage, anchored, parameters));
+		assertEquals(1, strategy.outlineComputations);
+
+		// an equal geometry does not invalidate the cached outline
+		anchorageReferenceGeometry.set(new Rectangle(0, 0, 100, 100));
+		assertEquals(new Point(100, 50), strategy.computePositionInScene(anchorage, anchored, parameters));
+		assertEquals(1, strategy.outlineComputations);
+
+		// altering the geometry in place invalidates the cached outline
+		geometry.setWidth(50);
+		anchorageReferenceGeometry.set(geometry);
+		assertEquals(new Point(50, 50), strategy.computePositionInScene(anchorage, anchored, parameters));
+		assertEquals(2, strategy.outlineComputations);
+		geometry.setWidth(80);
+		assertEquals(new Point(80, 50), strategy.computePositionInScene(anchorage, anchored, parameters));
+		assertEquals(3, strategy.outlineComputations);
+	}
+
+}
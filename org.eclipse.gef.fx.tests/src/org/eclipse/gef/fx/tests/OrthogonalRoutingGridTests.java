@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.gef.fx.nodes.OrthogonalRoutingGrid;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.junit.Test;
+
+public class OrthogonalRoutingGridTests {
+
+	private static void assertValidRoute(Point start, Point end, List<Point> bendPoints, Rectangle... obstacles) {
+		assertNotNull(bendPoints);
+		List<Point> points = new ArrayList<>();
+		points.add(start);
+		points.addAll(bendPoints);
+		points.add(end);
+		for (int i = 0; i < points.size() - 1; i++) {
+			Point p = points.get(i);
+			Point q = points.get(i + 1);
+			// orthogonal
+			assertTrue(p.x == q.x || p.y == q.y);
+			// not passing through the interior of an obstacle (obstacles
+			// containing start or end are ignored)
+			for (Rectangle r : obstacles) {
+				if (r.contains(start) || r.contains(end)) {
+					continue;
+				}
+				assertFalse(Math.max(p.x, q.x) > r.getX() && Math.min(p.x, q.x) < r.getX() + r.getWidth()
+						&& Math.max(p.y, q.y) > r.getY() && Math.min(p.y, q.y) < r.getY() + r.getHeight());
+			}
+		}
+	}
+
+	@Test
+	public void enclosedEnd() {
+		OrthogonalRoutingGrid grid = new OrthogonalRoutingGrid();
+		grid.putObstacle("top", new Rectangle(50, 50, 100, 10));
+		grid.putObstacle("bottom", new Rectangle(50, 140, 100, 10));
+		grid.putObstacle("left", new Rectangle(50, 50, 10, 100));
+		grid.putObstacle("right", new Rectangle(140, 50, 10, 100));
+		assertNull(grid.findRoute(new Point(0, 0), new Point(100, 100)));
+
+		// open the enclosure
+		grid.removeObstacle("right");
+		Point start = new Point(0, 0);
+		Point end = new Point(100, 100);
+		List<Point> route = grid.findRoute(start, end);
+		assertValidRoute(start, end, route, grid.getObstacle("top"), grid.getObstacle("bottom"),
+				grid.getObstacle("left"));
+	}
+
+	@Test
+	public void ignoreObstaclesContainingStartAndEnd() {
+		OrthogonalRoutingGrid grid = new OrthogonalRoutingGrid();
+		grid.putObstacle("source", new Rectangle(0, 0, 100, 100));
+		grid.putObstacle("target", new Rectangle(300, 0, 100, 100));
+		List<Point> route = grid.findRoute(new Point(100, 50), new Point(300, 50));
+		assertNotNull(route);
+		assertTrue(route.isEmpty());
+	}
+
+	@Test
+	public void incrementalUpdate() {
+		OrthogonalRoutingGrid grid = new OrthogonalRoutingGrid();
+		Point start = new Point(0, 50);
+		Point end = new Point(200, 50);
+		assertTrue(grid.findRoute(start, end).isEmpty());
+
+		// add obstacle in between
+		Rectangle obstacle = new Rectangle(80, 0, 40, 100);
+		grid.putObstacle("obstacle", obstacle);
+		List<Point> route = grid.findRoute(start, end);
+		assertFalse(route.isEmpty());
+		assertValidRoute(start, end, route, obstacle);
+		// bends are placed with a margin
+		for (Point bendPoint : route) {
+			assertTrue(bendPoint.y <= -grid.getMargin() || bendPoint.y >= 100 + grid.getMargin());
+		}
+
+		// move obstacle out of the way
+		grid.putObstacle("obstacle", new Rectangle(80, 100, 40, 100));
+		assertEquals(new Rectangle(80, 100, 40, 100), grid.getObstacle("obstacle"));
+		assertTrue(grid.findRoute(start, end).isEmpty());
+
+		// move it back and remove it
+		grid.putObstacle("obstacle", obstacle);
+		assertFalse(grid.findRoute(start, end).isEmpty());
+		grid.removeObstacle("obstacle");
+		assertNull(grid.getObstacle("obstacle"));
+		assertTrue(grid.findRoute(start, end).isEmpty());
+	}
+
+	@Test
+	public void parallelRoutes() throws InterruptedException {
+		OrthogonalRoutingGrid grid = new OrthogonalRoutingGrid();
+		List<Rectangle> obstacles = new ArrayList<>();
+		for (int x = 0; x < 20; x++) {
+			for (int y = 0; y < 20; y++) {
+				Rectangle obstacle = new Rectangle(x * 100, y * 100, 50, 50);
+				grid.putObstacle(obstacles.size(), obstacle);
+				obstacles.add(obstacle);
+			}
+		}
+		List<Line> segments = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			Rectangle source = obstacles.get(i);
+			Rectangle target = obstacles.get(obstacles.size() - 1 - i);
+			segments.add(new Line(source.getCenter(), target.getCenter()));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<List<Point>> routes = grid.findRoutes(segments, executor);
+			assertEquals(segments.size(), routes.size());
+			for (int i = 0; i < segments.size(); i++) {
+				Line segment = segments.get(i);
+				assertEquals(grid.findRoute(segment.getP1(), segment.getP2()), routes.get(i));
+				assertValidRoute(segment.getP1(), segment.getP2(), routes.get(i),
+						obstacles.toArray(new Rectangle[] {}));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
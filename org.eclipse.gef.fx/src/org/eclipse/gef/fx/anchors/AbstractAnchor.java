@@ -12,8 +12,11 @@
  *******************************************************************************/
 package org.eclipse.gef.fx.anchors;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -52,7 +55,11 @@ import javafx.scene.transform.Transform;
  * trigger the (re-)computation of positions.
  * <p>
  * The actual computation of positions for attached nodes is delegated to
- * {@link #computePosition(AnchorKey)}, thus left to subclasses. If a subclass
+ * {@link #computePosition(AnchorKey)}, thus left to subclasses. In case the
+ * positions of several {@link AnchorKey}s need to be updated (e.g. because the
+ * anchorage {@link Node} was moved), they are computed in a single pass via
+ * {@link #computePositions(Collection)}, which subclasses may override to share
+ * computations between the individual {@link AnchorKey}s. If a subclass
  * needs additional information to compute positions for attached
  * {@link AnchorKey}s, it may request that an {@link IAdaptable} info gets
  * passed into {@link #attach(AnchorKey)} and {@link #detach(AnchorKey)}, and
@@ -210,6 +217,25 @@ public abstract class AbstractAnchor implements IAnchor {
 	 */
 	protected abstract Point computePosition(AnchorKey key);
 
+	/**
+	 * Recomputes the positions for the given attached {@link AnchorKey}s in a
+	 * single pass. Per default, {@link #computePosition(AnchorKey)} is called
+	 * for each {@link AnchorKey}.
+	 *
+	 * @param keys
+	 *            The {@link AnchorKey}s for which to compute anchor positions.
+	 * @return A {@link Map} that holds the point for each {@link AnchorKey} in
+	 *         local coordinates of the respective anchored {@link Node}.
+	 */
+	protected Map<AnchorKey, Point> computePositions(
+			Collection<AnchorKey> keys) {
+		Map<AnchorKey, Point> positions = new HashMap<>();
+		for (AnchorKey key : keys) {
+			positions.put(key, computePosition(key));
+		}
+		return positions;
+	}
+
 	private VisualChangeListener createVCL(final Node anchored) {
 		return new VisualChangeListener() {
 			@Override
@@ -423,12 +449,11 @@ public abstract class AbstractAnchor implements IAnchor {
 		}
 
 		// compute new position to see if it has changed
-		Point oldPosition = getPosition(key);
-		Point newPosition = computePosition(key);
-
-		// System.out.print("[" + key.getId() + "] old = " + oldPosition
-		// + ", new = " + newPosition);
+		updatePosition(key, computePosition(key));
+	}
 
+	private void updatePosition(AnchorKey key, Point newPosition) {
+		Point oldPosition = getPosition(key);
 		if (oldPosition == null || !oldPosition.equals(newPosition)) {
 			// TODO: we could enforce that computePosition may never return
 			// null or an invalid position
@@ -436,30 +461,53 @@ public abstract class AbstractAnchor implements IAnchor {
 					&& !Double.isInfinite(newPosition.x)
 					&& !Double.isNaN(newPosition.y)
 					&& !Double.isInfinite(newPosition.y)) {
-				// System.out.println(" !!!");
 				positions.put(key, newPosition);
-				// return;
 			}
 		}
-		// System.out.println();
 	}
 
 	/**
 	 * Updates the positions for all attached {@link AnchorKey}s.
 	 */
 	protected void updatePositions() {
-		for (AnchorKey key : getKeys()) {
-			updatePosition(key);
+		updatePositions(getKeys());
+	}
+
+	/**
+	 * Updates the positions for the given {@link AnchorKey}s (see
+	 * {@link #updatePosition(AnchorKey)}). The new positions are computed in a
+	 * single pass (see {@link #computePositions(Collection)}).
+	 *
+	 * @param keys
+	 *            The {@link AnchorKey}s for which the positions are updated.
+	 */
+	protected void updatePositions(Collection<AnchorKey> keys) {
+		// only update positions of attached keys
+		List<AnchorKey> attachedKeys = new ArrayList<>();
+		for (AnchorKey key : keys) {
+			if (isAttached(key)) {
+				attachedKeys.add(key);
+			}
+		}
+		if (attachedKeys.isEmpty()) {
+			return;
+		}
+
+		// compute new positions to see if they have changed
+		Map<AnchorKey, Point> newPositions = computePositions(attachedKeys);
+		for (AnchorKey key : attachedKeys) {
+			// XXX: A key may get detached by a listener that is notified about
+			// the position change of a preceding key.
+			if (isAttached(key)) {
+				updatePosition(key, newPositions.get(key));
+			}
 		}
 	}
 
 	private void updatePositions(Node anchored) {
 		SetMultimap<Node, AnchorKey> keys = getKeysByNode();
 		if (keys.containsKey(anchored)) {
-			Set<AnchorKey> keysCopy = new HashSet<>(keys.get(anchored));
-			for (AnchorKey key : keysCopy) {
-				updatePosition(key);
-			}
+			updatePositions(new HashSet<>(keys.get(anchored)));
 		}
 	}
 }
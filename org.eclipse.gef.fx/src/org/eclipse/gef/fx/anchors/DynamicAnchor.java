@@ -13,6 +13,7 @@
 package org.eclipse.gef.fx.anchors;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -29,6 +30,7 @@ import org.eclipse.gef.fx.anchors.IComputationStrategy.Parameter.Kind;
 import org.eclipse.gef.fx.utils.NodeUtils;
 import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
 import org.eclipse.gef.geometry.convert.fx.Geometry2FX;
+import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
@@ -358,19 +360,10 @@ public class DynamicAnchor extends AbstractAnchor {
 	protected Point computePosition(AnchorKey key) {
 		// check for availability of (anchorage) parameters
 		Set<IComputationStrategy.Parameter<?>> parameters = getParameters(key);
-		for (Class<? extends Parameter<?>> parameterType : computationStrategy
-				.getRequiredParameters()) {
-			Parameter<?> p = Parameter.get(parameters, parameterType);
-			// check that parameter values are provided
-			if (p == null || (p.get() == null && !p.isOptional())) {
-				// as long as all required parameters are not provided, we
-				// cannot compute a position.
-				// System.out.println("Skipping computation of position for key
-				// "
-				// + key + " because mandatory parameter " + p
-				// + " has no value.");
-				return null;
-			}
+		if (!isComputable(parameters)) {
+			// as long as all required parameters are not provided, we
+			// cannot compute a position.
+			return null;
 		}
 
 		// only invoke strategy if all required parameters are provided
@@ -381,6 +374,53 @@ public class DynamicAnchor extends AbstractAnchor {
 		return position;
 	}
 
+	/**
+	 * Recomputes the positions for the given attached {@link AnchorKey}s in a
+	 * single pass, by delegating to
+	 * {@link IComputationStrategy#computePositionsInScene(Node, Map)} of the
+	 * respective {@link IComputationStrategy}. The scene-to-local-transform of
+	 * each anchored {@link Node} is only determined once.
+	 *
+	 * @param keys
+	 *            The {@link AnchorKey}s for which to compute anchor positions.
+	 * @return A {@link Map} that holds the point for each {@link AnchorKey} in
+	 *         local coordinates of the respective anchored {@link Node}.
+	 */
+	@Override
+	protected Map<AnchorKey, Point> computePositions(
+			Collection<AnchorKey> keys) {
+		// only invoke strategy for those keys for which all required
+		// parameters are provided
+		Map<AnchorKey, Set<Parameter<?>>> parameters = new HashMap<>();
+		for (AnchorKey key : keys) {
+			Set<Parameter<?>> keyParameters = getParameters(key);
+			if (isComputable(keyParameters)) {
+				parameters.put(key, keyParameters);
+			}
+		}
+		Map<AnchorKey, Point> positionsInScene = computationStrategy
+				.computePositionsInScene(getAnchorage(), parameters);
+
+		// transform positions to local coordinates of the anchored nodes
+		Map<AnchorKey, Point> positions = new HashMap<>();
+		Map<Node, AffineTransform> sceneToLocalTxs = new HashMap<>();
+		for (AnchorKey key : keys) {
+			Point positionInScene = positionsInScene.get(key);
+			if (positionInScene == null) {
+				positions.put(key, null);
+				continue;
+			}
+			Node anchored = key.getAnchored();
+			AffineTransform sceneToLocalTx = sceneToLocalTxs.get(anchored);
+			if (sceneToLocalTx == null) {
+				sceneToLocalTx = NodeUtils.getSceneToLocalTx(anchored);
+				sceneToLocalTxs.put(anchored, sceneToLocalTx);
+			}
+			positions.put(key, sceneToLocalTx.getTransformed(positionInScene));
+		}
+		return positions;
+	}
+
 	@Override
 	public void detach(AnchorKey key) {
 		super.detach(key);
@@ -543,6 +583,18 @@ public class DynamicAnchor extends AbstractAnchor {
 		}
 	}
 
+	private boolean isComputable(Set<Parameter<?>> parameters) {
+		for (Class<? extends Parameter<?>> parameterType : computationStrategy
+				.getRequiredParameters()) {
+			Parameter<?> p = Parameter.get(parameters, parameterType);
+			// check that parameter values are provided
+			if (p == null || (p.get() == null && !p.isOptional())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Sets the given {@link IComputationStrategy} to be used by this
 	 * {@link IAnchor}.
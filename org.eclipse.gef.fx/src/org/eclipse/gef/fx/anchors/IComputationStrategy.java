@@ -13,7 +13,9 @@
 package org.eclipse.gef.fx.anchors;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.gef.geometry.planar.Point;
@@ -246,6 +248,31 @@ public interface IComputationStrategy {
 	public Point computePositionInScene(Node anchorage, Node anchored,
 			Set<Parameter<?>> parameters);
 
+	/**
+	 * Computes the anchor positions for the given {@link AnchorKey}s (which all
+	 * refer to the same anchorage visual) in a single pass. Per default,
+	 * {@link #computePositionInScene(Node, Node, Set)} is called for each
+	 * {@link AnchorKey}. Strategies may override this method to share
+	 * computations that only depend on the anchorage visual (e.g. its outline
+	 * in scene coordinates) between the individual {@link AnchorKey}s.
+	 *
+	 * @param anchorage
+	 *            The anchorage visual.
+	 * @param parameters
+	 *            The available computation parameters per {@link AnchorKey}.
+	 * @return A {@link Map} that holds the anchor position (in scene
+	 *         coordinates) per {@link AnchorKey}.
+	 */
+	public default Map<AnchorKey, Point> computePositionsInScene(
+			Node anchorage, Map<AnchorKey, Set<Parameter<?>>> parameters) {
+		Map<AnchorKey, Point> positionsInScene = new HashMap<>();
+		for (AnchorKey key : parameters.keySet()) {
+			positionsInScene.put(key, computePositionInScene(anchorage,
+					key.getAnchored(), parameters.get(key)));
+		}
+		return positionsInScene;
+	}
+
 	/**
 	 * Returns the types of parameters required by this strategy.
 	 *
@@ -15,11 +15,13 @@ package org.eclipse.gef.fx.anchors;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchorageReferenceGeometry;
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchoredReferencePoint;
 import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.IShape;
@@ -44,11 +46,30 @@ import javafx.scene.Node;
  * <li>Return the nearest projection to the anchored reference point.</li>
  * </ol>
  *
+ * The anchorage outlines (in scene) are cached (see
+ * {@link #getAnchorageOutlinesInScene(Node, IGeometry)}), so that they are
+ * only recomputed when the anchorage reference geometry (compared by value) or
+ * the local-to-scene-transform of the anchorage changes. When computing the
+ * positions of several anchored reference points in a single pass (see
+ * {@link #computePositionsInScene(Node, Map)}), the cache is only validated
+ * once.
+ *
  * @author anyssen
  * @author mwienand
  */
 public class ProjectionStrategy implements IComputationStrategy {
 
+	// cached anchorage outlines (in scene), which are valid for the given
+	// anchorage, anchorage reference geometry (a copy, as geometries are
+	// mutable), and local-to-scene-transform
+	private Node cachedAnchorage;
+	private IGeometry cachedAnchorageGeometryInLocal;
+	private AffineTransform cachedAnchorageToSceneTx;
+	private List<ICurve> cachedAnchorageOutlinesInScene;
+	// the anchorage reference geometry for which the cache was validated at
+	// the beginning of a batch
+	private IGeometry batchAnchorageGeometryInLocal;
+
 	@Override
 	public Point computePositionInScene(Node anchorage, Node anchored,
 			Set<Parameter<?>> parameters) {
@@ -58,13 +79,9 @@ public class ProjectionStrategy implements IComputationStrategy {
 		Point anchoredReferencePointInLocal = Parameter
 				.get(parameters, AnchoredReferencePoint.class).get();
 
-		// determine anchorage geometry in scene
-		IGeometry anchorageGeometryInScene = NodeUtils.localToScene(anchorage,
-				anchorageReferenceGeometryInLocal);
-
 		// determine anchorage outlines in scene
-		List<ICurve> anchorageOutlinesInScene = getOutlineSegments(
-				anchorageGeometryInScene);
+		List<ICurve> anchorageOutlinesInScene = getAnchorageOutlinesInScene(
+				anchorage, anchorageReferenceGeometryInLocal);
 
 		// transform anchored reference point to scene
 		Point anchoredReferencePointInScene = NodeUtils.localToScene(anchored,
@@ -76,6 +93,35 @@ public class ProjectionStrategy implements IComputationStrategy {
 				anchoredReferencePointInScene, parameters);
 	}
 
+	@Override
+	public Map<AnchorKey, Point> computePositionsInScene(Node anchorage,
+			Map<AnchorKey, Set<Parameter<?>>> parameters) {
+		if (parameters.isEmpty()) {
+			return IComputationStrategy.super.computePositionsInScene(
+					anchorage, parameters);
+		}
+		// validate the cached anchorage outlines once for all keys (the
+		// anchorage reference geometry is an anchorage parameter and thus
+		// shared)
+		AnchorageReferenceGeometry anchorageReferenceGeometry = Parameter.get(
+				parameters.values().iterator().next(),
+				AnchorageReferenceGeometry.class);
+		if (anchorageReferenceGeometry == null
+				|| anchorageReferenceGeometry.get() == null) {
+			return IComputationStrategy.super.computePositionsInScene(
+					anchorage, parameters);
+		}
+		getAnchorageOutlinesInScene(anchorage,
+				anchorageReferenceGeometry.get());
+		batchAnchorageGeometryInLocal = anchorageReferenceGeometry.get();
+		try {
+			return IComputationStrategy.super.computePositionsInScene(
+					anchorage, parameters);
+		} finally {
+			batchAnchorageGeometryInLocal = null;
+		}
+	}
+
 	/**
 	 * Computes the anchorage reference position in scene coordinates, based on
 	 * the given anchorage outlines and the given anchored reference point.
@@ -101,6 +147,49 @@ public class ProjectionStrategy implements IComputationStrategy {
 		return Point.nearest(anchoredReferencePointInScene, projections);
 	}
 
+	/**
+	 * Returns the outlines of the given anchorage reference geometry in scene
+	 * coordinates (see {@link #getOutlineSegments(IGeometry)}). The outlines
+	 * are cached, and are only recomputed in case the anchorage, the anchorage
+	 * reference geometry, or the local-to-scene-transform of the anchorage
+	 * changed. The anchorage reference geometry is compared by value (see
+	 * {@link Object#equals(Object)}), so that changes of a geometry that is
+	 * altered in place are detected as well. The returned outlines may thus
+	 * not be altered.
+	 *
+	 * @param anchorage
+	 *            The anchorage visual.
+	 * @param anchorageReferenceGeometryInLocal
+	 *            The anchorage reference geometry within the local coordinate
+	 *            system of the anchorage visual.
+	 * @return A list of {@link ICurve}s representing the outline of the given
+	 *         anchorage reference geometry in scene coordinates.
+	 */
+	protected List<ICurve> getAnchorageOutlinesInScene(Node anchorage,
+			IGeometry anchorageReferenceGeometryInLocal) {
+		if (anchorage == cachedAnchorage
+				&& anchorageReferenceGeometryInLocal == batchAnchorageGeometryInLocal) {
+			// XXX: The cache was validated at the beginning of the batch.
+			return cachedAnchorageOutlinesInScene;
+		}
+		AffineTransform anchorageToSceneTx = NodeUtils
+				.getLocalToSceneTx(anchorage);
+		if (anchorage == cachedAnchorage
+				&& anchorageToSceneTx.equals(cachedAnchorageToSceneTx)
+				&& anchorageReferenceGeometryInLocal
+						.equals(cachedAnchorageGeometryInLocal)) {
+			return cachedAnchorageOutlinesInScene;
+		}
+		cachedAnchorage = anchorage;
+		cachedAnchorageGeometryInLocal = anchorageReferenceGeometryInLocal
+				.getCopy();
+		cachedAnchorageToSceneTx = anchorageToSceneTx;
+		cachedAnchorageOutlinesInScene = getOutlineSegments(
+				anchorageReferenceGeometryInLocal
+						.getTransformed(anchorageToSceneTx));
+		return cachedAnchorageOutlinesInScene;
+	}
+
 	/**
 	 * Determines the outline of the given {@link IGeometry}, represented as a
 	 * list of {@link ICurve}s.
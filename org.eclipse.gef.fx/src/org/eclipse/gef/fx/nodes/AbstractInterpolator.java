@@ -9,26 +9,41 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG)  - initial API and implementation
  *     Matthias Wienand (itemis AG) - initial API and implementation
+ *     agent - clip curves analytically at decorations
  *
  *******************************************************************************/
 package org.eclipse.gef.fx.nodes;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.eclipse.gef.fx.utils.Geometry2Shape;
 import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.fx.utils.Shape2Geometry;
 import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
 import org.eclipse.gef.geometry.convert.fx.Geometry2FX;
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.euclidean.Vector;
 import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.BezierCurve;
+import org.eclipse.gef.geometry.planar.BezierCurveUtils;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.IShape;
+import org.eclipse.gef.geometry.planar.Line;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.PolyBezier;
+import org.eclipse.gef.geometry.planar.Polyline;
 
 import javafx.collections.ObservableList;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.Shape;
@@ -37,6 +52,27 @@ import javafx.scene.shape.Shape;
  * Abstract base class for {@link IConnectionInterpolator} implementations,
  * which supports updating the geometry for an {@link IGeometry} curve node, as
  * well as arranging and clipping the decorations.
+ * <p>
+ * The curve is clipped at decorations that provide a geometric outline (i.e.
+ * {@link GeometryNode}s with an {@link IShape} geometry, or {@link Shape}s that
+ * can be converted into one) and that are filled with an opaque {@link Paint},
+ * by shortening its geometry to the point where it enters the decoration
+ * outline. For all other {@link Shape} decorations, the curve node is clipped
+ * by means of {@link Shape} boolean operations (see
+ * {@link #clipAtDecoration(Shape, Shape, Shape)}).
+ * <p>
+ * Note that the geometry of the curve node is thus the shortened curve. The
+ * {@link Connection#getCenter() center} of the {@link Connection} is computed
+ * from the unclipped curve (see {@link #computeCurve(Connection)}), so that it
+ * does not depend on the decorations. As the removed parts of the curve lie
+ * within the decorations, which are part of the {@link Connection}, as well,
+ * hit-testing the {@link Connection} is not affected either.
+ * <p>
+ * The unclipped curve of each {@link Connection} is cached until its points
+ * change. The outline of each decoration is cached until its geometry
+ * changes, and the parameter at which the curve is clipped is only recomputed
+ * when the curve or the transformation between the curve and the decoration
+ * changes.
  *
  * @author anyssen
  * @author mwienand
@@ -44,6 +80,52 @@ import javafx.scene.shape.Shape;
  */
 public abstract class AbstractInterpolator implements IConnectionInterpolator {
 
+	/**
+	 * The geometric outline of a decoration (in the local coordinate system of
+	 * the decoration), together with the geometry it was computed from.
+	 */
+	private static class DecorationOutline {
+
+		private final IGeometry geometry;
+		private final IShape shape;
+		private final ICurve[] segments;
+		private final org.eclipse.gef.geometry.planar.Rectangle bounds;
+
+		// the input and result of the last clip parameter computation
+		private double[][] clippedCurve;
+		private AffineTransform clippedCurveToDecorationTx;
+		private boolean clippedAtStart;
+		private double clipParameter;
+
+		public DecorationOutline(IGeometry geometry, IShape shape) {
+			this.geometry = geometry;
+			this.shape = shape;
+			this.segments = shape.getOutlineSegments();
+			this.bounds = shape.getBounds();
+		}
+	}
+
+	/**
+	 * The unclipped curve of a connection, together with the points it was
+	 * computed from.
+	 */
+	private static class UnclippedCurve {
+
+		private final List<Point> points;
+		private final ICurve curve;
+
+		public UnclippedCurve(List<Point> points, ICurve curve) {
+			this.points = new ArrayList<>(points);
+			this.curve = curve;
+		}
+	}
+
+	// XXX: Connections and decorations are cached weakly, so that they can be
+	// garbage collected once they are no longer used (an interpolator may be
+	// shared by several connections).
+	private final Map<Connection, UnclippedCurve> unclippedCurves = new WeakHashMap<>();
+	private final Map<Node, DecorationOutline> decorationOutlines = new WeakHashMap<>();
+
 	/**
 	 * Arranges the given decoration according to the passed-in values.
 	 *
@@ -164,6 +246,123 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 		return clip;
 	}
 
+	/**
+	 * Computes the (global) parameter at which the given curve (provided as a
+	 * sequence of {@link BezierCurve}s, where the global parameter of the
+	 * <i>i</i>-th {@link BezierCurve} ranges from <code>i</code> to
+	 * <code>i + 1</code>) has to be clipped so that it does not paint through
+	 * the given decoration. At the start, this is the point where the curve
+	 * leaves the decoration outline; at the end, the point where it enters it.
+	 *
+	 * @param curve
+	 *            The {@link BezierCurve}s of the curve.
+	 * @param curveToSceneTx
+	 *            The transformation from the curve's coordinate system to
+	 *            scene coordinates.
+	 * @param decoration
+	 *            The decoration at which to clip.
+	 * @param outline
+	 *            The outline of the decoration.
+	 * @param atStart
+	 *            <code>true</code> if the decoration is located at the start
+	 *            of the curve, <code>false</code> if it is located at its end.
+	 * @return The global parameter at which to clip the curve.
+	 */
+	private double computeClipParameter(BezierCurve[] curve,
+			AffineTransform curveToSceneTx, Node decoration,
+			DecorationOutline outline, boolean atStart) {
+		// transform curve into the coordinate system of the outline (so that
+		// the cached outline can be reused)
+		AffineTransform decorationToSceneTx = getGeometryToSceneTx(
+				decoration);
+		if (decorationToSceneTx.getDeterminant() == 0) {
+			return atStart ? 0 : curve.length;
+		}
+		AffineTransform curveToDecorationTx = decorationToSceneTx
+				.getInverse().concatenate(curveToSceneTx);
+		double[][] coordinates = new double[curve.length][];
+		for (int i = 0; i < curve.length; i++) {
+			coordinates[i] = curve[i].getCoordinates();
+		}
+		if (outline.clippedCurve != null && outline.clippedAtStart == atStart
+				&& curveToDecorationTx
+						.equals(outline.clippedCurveToDecorationTx)
+				&& Arrays.deepEquals(coordinates, outline.clippedCurve)) {
+			return outline.clipParameter;
+		}
+		BezierCurve[] beziers = new BezierCurve[curve.length];
+		for (int i = 0; i < curve.length; i++) {
+			beziers[i] = curve[i].getTransformed(curveToDecorationTx);
+		}
+		double clipParameter = computeClipParameter(beziers, outline,
+				atStart);
+		outline.clippedCurve = coordinates;
+		outline.clippedCurveToDecorationTx = curveToDecorationTx;
+		outline.clippedAtStart = atStart;
+		outline.clipParameter = clipParameter;
+		return clipParameter;
+	}
+
+	/**
+	 * Computes the (global) parameter at which the given curve, which is
+	 * provided in the coordinate system of the given decoration outline, has
+	 * to be clipped (see {@link #computeClipParameter(BezierCurve[],
+	 * AffineTransform, Node, DecorationOutline, boolean)}).
+	 */
+	private double computeClipParameter(BezierCurve[] beziers,
+			DecorationOutline outline, boolean atStart) {
+
+		// collect intersections with the outline segments
+		List<Double> parameters = new ArrayList<>();
+		for (int i = 0; i < beziers.length; i++) {
+			if (!beziers[i].getBounds().touches(outline.bounds)) {
+				continue;
+			}
+			for (ICurve segment : outline.segments) {
+				for (Point poi : beziers[i].getIntersections(segment)) {
+					parameters.add(i + getParameterAt(beziers[i], poi));
+				}
+			}
+		}
+		if (parameters.isEmpty()) {
+			return atStart ? 0 : beziers.length;
+		}
+		Collections.sort(parameters);
+
+		// determine interval boundaries (removing duplicates, which result
+		// from intersections at outline vertices)
+		List<Double> boundaries = new ArrayList<>();
+		boundaries.add(0d);
+		for (double parameter : parameters) {
+			if (parameter - boundaries.get(boundaries.size() - 1) > 1e-9) {
+				boundaries.add(parameter);
+			}
+		}
+		if (beziers.length - boundaries.get(boundaries.size() - 1) > 1e-9) {
+			boundaries.add((double) beziers.length);
+		}
+
+		// find the boundary where the curve leaves the outline (at the start)
+		// or enters it (at the end)
+		if (atStart) {
+			for (int j = 1; j < boundaries.size() - 1; j++) {
+				if (isInside(beziers, outline, boundaries, j - 1)
+						&& !isInside(beziers, outline, boundaries, j)) {
+					return boundaries.get(j);
+				}
+			}
+			return 0;
+		} else {
+			for (int j = boundaries.size() - 2; j > 0; j--) {
+				if (!isInside(beziers, outline, boundaries, j - 1)
+						&& isInside(beziers, outline, boundaries, j)) {
+					return boundaries.get(j);
+				}
+			}
+			return beziers.length;
+		}
+	}
+
 	/**
 	 * Computes an {@link ICurve} geometry from the {@link Connection}'s points,
 	 * which is used to update the {@link Connection#getCurve() curve node}.
@@ -175,24 +374,140 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 	 */
 	protected abstract ICurve computeCurve(Connection connection);
 
+	/**
+	 * Returns the given curve, clipped to the given range of global
+	 * parameters (see {@link #computeClipParameter(BezierCurve[],
+	 * AffineTransform, Node, DecorationOutline, boolean)}).
+	 */
+	private ICurve getClipped(ICurve curve, BezierCurve[] beziers,
+			double startParameter, double endParameter) {
+		List<BezierCurve> clipped = new ArrayList<>();
+		for (int i = 0; i < beziers.length; i++) {
+			double s = Math.max(i, startParameter) - i;
+			double e = Math.min(i + 1, endParameter) - i;
+			if (s == 0 && e == 1) {
+				clipped.add(beziers[i]);
+			} else if (s < e) {
+				clipped.add(beziers[i].getClipped(s, e));
+			}
+		}
+		if (clipped.isEmpty()) {
+			// the curve is completely covered by the decorations
+			return curve;
+		}
+		if (curve instanceof Polyline || curve instanceof Line) {
+			// preserve the type of linear curves
+			Point[] points = new Point[clipped.size() + 1];
+			points[0] = clipped.get(0).getP1();
+			for (int i = 0; i < clipped.size(); i++) {
+				points[i + 1] = clipped.get(i).getP2();
+			}
+			return new Polyline(points);
+		}
+		return new PolyBezier(clipped.toArray(new BezierCurve[] {}));
+	}
+
+	/**
+	 * Returns the (cached) geometric outline of the given decoration, or
+	 * <code>null</code> if the decoration does not provide a geometric outline
+	 * or is not filled opaquely (so that the curve cannot be shortened without
+	 * visual changes).
+	 */
+	private DecorationOutline getDecorationOutline(Node decoration) {
+		IGeometry geometry = null;
+		Paint fill = null;
+		if (decoration instanceof GeometryNode) {
+			geometry = ((GeometryNode<?>) decoration).getGeometry();
+			fill = ((GeometryNode<?>) decoration).getFill();
+		} else if (decoration instanceof Shape) {
+			fill = ((Shape) decoration).getFill();
+			if (fill != null && fill.isOpaque()) {
+				try {
+					geometry = Shape2Geometry.toGeometry((Shape) decoration);
+				} catch (IllegalStateException e) {
+					// XXX: Text and SVGPath cannot be converted
+					return null;
+				}
+			}
+		}
+		if (!(geometry instanceof IShape) || fill == null
+				|| !fill.isOpaque()) {
+			return null;
+		}
+		DecorationOutline outline = decorationOutlines.get(decoration);
+		if (outline == null || (outline.geometry != geometry
+				&& !outline.geometry.equals(geometry))) {
+			outline = new DecorationOutline(geometry, (IShape) geometry);
+			decorationOutlines.put(decoration, outline);
+		}
+		return outline;
+	}
+
+	/**
+	 * Returns the unclipped curve of the given {@link Connection} (see
+	 * {@link #computeCurve(Connection)}). The curve that was computed by the
+	 * last {@link #interpolate(Connection)} call is reused, as long as the
+	 * points of the {@link Connection} did not change in the meantime.
+	 *
+	 * @param connection
+	 *            The {@link Connection} for which to return the unclipped
+	 *            curve.
+	 * @return The unclipped curve of the given {@link Connection}.
+	 */
+	ICurve getUnclippedCurve(Connection connection) {
+		UnclippedCurve unclippedCurve = unclippedCurves.get(connection);
+		List<Point> points = connection.getPointsUnmodifiable();
+		if (unclippedCurve == null || !unclippedCurve.points.equals(points)) {
+			unclippedCurve = new UnclippedCurve(points,
+					computeCurve(connection));
+			unclippedCurves.put(connection, unclippedCurve);
+		}
+		return unclippedCurve.curve;
+	}
+
+	/**
+	 * Returns the parameter of the given intersection {@link Point} on the
+	 * given {@link BezierCurve}.
+	 */
+	private double getParameterAt(BezierCurve bezier, Point poi) {
+		try {
+			return bezier.getParameterAt(poi);
+		} catch (IllegalArgumentException e) {
+			// XXX: Due to imprecision, the intersection point may not be
+			// recognized to lie on the curve, in which case the parameter of
+			// its projection onto the curve is used.
+			return BezierCurveUtils.getProjection(bezier.getCoordinates(),
+					poi.x, poi.y, new double[2]);
+		}
+	}
+
+	/**
+	 * Returns the transformation from the coordinate system of the given
+	 * {@link GeometryNode}'s geometry to scene coordinates.
+	 */
+	private AffineTransform getGeometryToSceneTx(Node node) {
+		AffineTransform tx = NodeUtils.getLocalToSceneTx(node);
+		if (node instanceof GeometryNode) {
+			// XXX: The geometry of a GeometryNode is relocated by its layout
+			// position.
+			tx.concatenate(new AffineTransform().setToTranslation(
+					-node.getLayoutX(), -node.getLayoutY()));
+		}
+		return tx;
+	}
+
 	@Override
 	public void interpolate(Connection connection) {
 		// compute new curve (this can lead to another refreshGeometry() call
 		// which is not executed)
 		ICurve newGeometry = computeCurve(connection);
+		unclippedCurves.put(connection, new UnclippedCurve(
+				connection.getPointsUnmodifiable(), newGeometry));
 
 		// XXX: we can only deal with geometry nodes so far
 		@SuppressWarnings("unchecked")
 		final GeometryNode<ICurve> curveNode = (GeometryNode<ICurve>) connection
 				.getCurve();
-		if (curveNode instanceof GeometryNode
-				&& !newGeometry.equals(curveNode.getGeometry())) {
-			// TODO: we need to prevent positions are re-calculated as a
-			// result of the changed geometry. -> the static anchors should not
-			// update their positions because of layout bounds changes.
-			// System.out.println("New geometry: " + newGeometry);
-			curveNode.setGeometry(newGeometry);
-		}
 
 		Node startDecoration = connection.getStartDecoration();
 		if (startDecoration != null) {
@@ -206,8 +521,49 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 					newGeometry.getP2());
 		}
 
-		if (!newGeometry.getBounds().isEmpty()
+		// shorten the curve analytically at decorations that provide a
+		// geometric outline (the decorations have to be arranged before)
+		ICurve clippedGeometry = newGeometry;
+		boolean clipAtStartDecorationShape = startDecoration instanceof Shape;
+		boolean clipAtEndDecorationShape = endDecoration instanceof Shape;
+		if (curveNode instanceof GeometryNode
 				&& (startDecoration != null || endDecoration != null)) {
+			BezierCurve[] beziers = newGeometry.toBezier();
+			double startParameter = 0;
+			double endParameter = beziers.length;
+			AffineTransform curveToSceneTx = getGeometryToSceneTx(curveNode);
+			DecorationOutline startOutline = startDecoration == null ? null
+					: getDecorationOutline(startDecoration);
+			if (startOutline != null) {
+				startParameter = computeClipParameter(beziers, curveToSceneTx,
+						startDecoration, startOutline, true);
+				clipAtStartDecorationShape = false;
+			}
+			DecorationOutline endOutline = endDecoration == null ? null
+					: getDecorationOutline(endDecoration);
+			if (endOutline != null) {
+				endParameter = computeClipParameter(beziers, curveToSceneTx,
+						endDecoration, endOutline, false);
+				clipAtEndDecorationShape = false;
+			}
+			if (startParameter < endParameter && (startParameter > 0
+					|| endParameter < beziers.length)) {
+				clippedGeometry = getClipped(newGeometry, beziers,
+						startParameter, endParameter);
+			}
+		}
+
+		if (curveNode instanceof GeometryNode
+				&& !clippedGeometry.equals(curveNode.getGeometry())) {
+			// TODO: we need to prevent positions are re-calculated as a
+			// result of the changed geometry. -> the static anchors should not
+			// update their positions because of layout bounds changes.
+			// System.out.println("New geometry: " + newGeometry);
+			curveNode.setGeometry(clippedGeometry);
+		}
+
+		if (!newGeometry.getBounds().isEmpty()
+				&& (clipAtStartDecorationShape || clipAtEndDecorationShape)) {
 			// XXX Use scene coordinates, as the clip node does not provide a
 			// parent.
 
@@ -232,13 +588,13 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 					visualBounds.getHeight());
 			clip.setFill(Color.RED);
 
-			// can only clip Shape decorations
-			if (startDecoration != null && startDecoration instanceof Shape) {
+			// can only clip Shape decorations (that could not be clipped
+			// analytically)
+			if (clipAtStartDecorationShape) {
 				clip = clipAtDecoration(curveNode.getGeometricShape(), clip,
 						(Shape) startDecoration);
 			}
-			// can only clip Shape decorations
-			if (endDecoration != null && endDecoration instanceof Shape) {
+			if (clipAtEndDecorationShape) {
 				clip = clipAtDecoration(curveNode.getGeometricShape(), clip,
 						(Shape) endDecoration);
 			}
@@ -255,4 +611,16 @@ public abstract class AbstractInterpolator implements IConnectionInterpolator {
 			curveNode.setClip(null);
 		}
 	}
+
+	/**
+	 * Tests whether the interval between the given boundary and its successor
+	 * lies within the given decoration outline.
+	 */
+	private boolean isInside(BezierCurve[] beziers, DecorationOutline outline,
+			List<Double> boundaries, int index) {
+		double parameter = (boundaries.get(index) + boundaries.get(index + 1))
+				/ 2;
+		int i = Math.min((int) parameter, beziers.length - 1);
+		return outline.shape.contains(beziers[i].get(parameter - i));
+	}
 }
@@ -0,0 +1,780 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.nodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.gef.fx.listeners.VisualChangeListener;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.fx.utils.Shape2Geometry;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.Path;
+import org.eclipse.gef.geometry.planar.Path.Segment;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Shape;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+
+/**
+ * A {@link BatchedConnectionCanvas} is a {@link Canvas} that renders a set of
+ * {@link Connection}s in a single pass, rather than by means of individual
+ * scene graph nodes. The curves (and decorations) of all batched
+ * {@link Connection}s are grouped by their stroke (and fill) style, so that
+ * each group can be rendered using a single path.
+ * <p>
+ * The geometry of a batched {@link Connection} is still computed by its
+ * {@link IConnectionRouter} and {@link IConnectionInterpolator}, i.e. the
+ * {@link Connection} remains part of the scene graph. This is required,
+ * because its anchors observe the curve by means of a
+ * {@link VisualChangeListener}, which can only be registered if the curve and
+ * the anchorage share a common ancestor; it also keeps the {@link Connection}
+ * pickable, so that it can be hovered and selected (which is why it is not
+ * made invisible). However, while it is batched, the {@link Connection} is
+ * unmanaged, so that it does not take part in the layout of its parent, and
+ * its opacity is set to <code>0</code>, so that it is skipped during
+ * rendering. When a {@link Connection} is {@link #remove(Connection) removed}
+ * from the batch, its managed state and opacity are restored.
+ * <p>
+ * Only {@link Connection}s that are {@link #isBatchable(Connection)
+ * batchable} are rendered, i.e. those whose curve is a {@link GeometryNode}
+ * with a solid stroke, and whose decorations are either {@link GeometryNode}s
+ * or {@link Shape}s for which a geometric outline can be determined. When the
+ * curve, the stroke dash array of the curve, or the decorations of an added
+ * {@link Connection} change, its batchability is re-evaluated, so that it is
+ * rendered by its own visual as long as it is not batchable (see
+ * {@link #isBatched(Connection)}).
+ * <p>
+ * The geometries of a batched {@link Connection} are cached within its local
+ * coordinate system, which is not affected by scrolling or zooming. They are
+ * only recomputed when the {@link Connection} changes (i.e. when the geometry
+ * of its curve or its bounds change), in which case a repaint is scheduled
+ * automatically. Upon a {@link #repaint()}, only the region of this
+ * {@link BatchedConnectionCanvas} that is covered by {@link Connection}s that
+ * changed or that were moved relative to this {@link BatchedConnectionCanvas}
+ * is redrawn. As changes of the transformation from the {@link Connection}s
+ * to this {@link BatchedConnectionCanvas} (e.g. caused by scrolling or
+ * zooming) are not observed, clients need to {@link #requestRepaint()
+ * request} a repaint in such a case.
+ *
+ * @author agent
+ *
+ */
+public class BatchedConnectionCanvas extends Canvas {
+
+	/**
+	 * The state of an added {@link Connection}, i.e. its observers, the
+	 * properties that are restored when it leaves the batch, and the
+	 * geometries and transformation it was last painted with.
+	 */
+	private static final class CachedConnection {
+
+		private Node observedCurve;
+		private InvalidationListener batchabilityObserver;
+		private InvalidationListener changeObserver;
+		private double opacity;
+		private boolean managed;
+		// null if the geometries need to be recomputed
+		private List<CachedGeometry> geometries;
+		private AffineTransform connectionToCanvas;
+		// null if the connection was not painted
+		private Rectangle canvasBounds;
+	}
+
+	/**
+	 * A geometry of a batched {@link Connection} (its curve or a decoration),
+	 * given in the local coordinate system of the {@link Connection}.
+	 */
+	private static final class CachedGeometry {
+
+		private final Node node;
+		private final Path path;
+		// the scale from the node to the connection coordinate system
+		private final double scale;
+		private final boolean isCurve;
+
+		public CachedGeometry(Node node, Path path, double scale,
+				boolean isCurve) {
+			this.node = node;
+			this.path = path;
+			this.scale = scale;
+			this.isCurve = isCurve;
+		}
+
+		public Style getStyle(double connectionToCanvasScale) {
+			if (node instanceof Shape) {
+				return new Style((Shape) node, scale * connectionToCanvasScale);
+			}
+			// the curve is only stroked, decorations are filled as well
+			GeometryNode<?> geometryNode = (GeometryNode<?>) node;
+			return new Style(geometryNode, scale * connectionToCanvasScale,
+					!isCurve);
+		}
+	}
+
+	/**
+	 * The style (stroke and fill) that is used to render a batch of
+	 * geometries.
+	 */
+	private static final class Style {
+
+		private final Paint stroke;
+		private final double strokeWidth;
+		private final StrokeLineCap lineCap;
+		private final StrokeLineJoin lineJoin;
+		private final double miterLimit;
+		private final Paint fill;
+
+		public Style(GeometryNode<?> node, double scale, boolean fill) {
+			this(node.getStroke(), node.getStrokeWidth() * scale,
+					node.getStrokeLineCap(), node.getStrokeLineJoin(),
+					node.getStrokeMiterLimit(), fill ? node.getFill() : null);
+		}
+
+		public Style(Paint stroke, double strokeWidth, StrokeLineCap lineCap,
+				StrokeLineJoin lineJoin, double miterLimit, Paint fill) {
+			this.stroke = stroke;
+			this.strokeWidth = strokeWidth;
+			this.lineCap = lineCap;
+			this.lineJoin = lineJoin;
+			this.miterLimit = miterLimit;
+			this.fill = fill;
+		}
+
+		public Style(Shape shape, double scale) {
+			this(shape.getStroke(), shape.getStrokeWidth() * scale,
+					shape.getStrokeLineCap(), shape.getStrokeLineJoin(),
+					shape.getStrokeMiterLimit(), shape.getFill());
+		}
+
+		public void apply(GraphicsContext gc) {
+			gc.setStroke(stroke);
+			gc.setLineWidth(strokeWidth);
+			gc.setLineCap(lineCap);
+			gc.setLineJoin(lineJoin);
+			gc.setMiterLimit(miterLimit);
+			gc.setFill(fill);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Style)) {
+				return false;
+			}
+			Style other = (Style) obj;
+			return strokeWidth == other.strokeWidth
+					&& miterLimit == other.miterLimit
+					&& lineCap == other.lineCap && lineJoin == other.lineJoin
+					&& (stroke == null ? other.stroke == null
+							: stroke.equals(other.stroke))
+					&& (fill == null ? other.fill == null
+							: fill.equals(other.fill));
+		}
+
+		@Override
+		public int hashCode() {
+			int result = 1;
+			result = 31 * result + (stroke == null ? 0 : stroke.hashCode());
+			result = 31 * result + (fill == null ? 0 : fill.hashCode());
+			long bits = Double.doubleToLongBits(strokeWidth);
+			result = 31 * result + (int) (bits ^ (bits >>> 32));
+			result = 31 * result + (lineCap == null ? 0 : lineCap.hashCode());
+			result = 31 * result
+					+ (lineJoin == null ? 0 : lineJoin.hashCode());
+			return result;
+		}
+	}
+
+	private final Map<Connection, CachedConnection> connections = new LinkedHashMap<>();
+	// the added connections that are currently batchable
+	private final Set<Connection> batchedConnections = new LinkedHashSet<>();
+	// the region that needs to be redrawn in addition to the changed
+	// connections, or null
+	private Rectangle dirtyRegion = null;
+	private boolean isRepaintRequested = false;
+
+	private InvalidationListener sizeObserver = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			dirtyRegion = getCanvasBounds();
+			requestRepaint();
+		}
+	};
+
+	/**
+	 * Constructs a new {@link BatchedConnectionCanvas}.
+	 */
+	public BatchedConnectionCanvas() {
+		setMouseTransparent(true);
+		widthProperty().addListener(sizeObserver);
+		heightProperty().addListener(sizeObserver);
+	}
+
+	/**
+	 * Adds the given {@link Connection} to the batch of {@link Connection}s
+	 * that are rendered by this {@link BatchedConnectionCanvas}. The rendering
+	 * of the {@link Connection} itself is suppressed (it is unmanaged and its
+	 * opacity is set to <code>0</code>) for as long as it is
+	 * {@link #isBatchable(Connection) batchable}, otherwise it is rendered by
+	 * its own visual.
+	 *
+	 * @param connection
+	 *            The {@link Connection} to add.
+	 * @return <code>true</code> if the {@link Connection} was added,
+	 *         <code>false</code> if it was already contained.
+	 */
+	public boolean add(final Connection connection) {
+		if (connections.containsKey(connection)) {
+			return false;
+		}
+		CachedConnection cached = new CachedConnection();
+		cached.batchabilityObserver = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				updateBatching(connection);
+			}
+		};
+		cached.changeObserver = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				invalidate(connection);
+			}
+		};
+		connections.put(connection, cached);
+		connection.curveProperty().addListener(cached.batchabilityObserver);
+		connection.startDecorationProperty()
+				.addListener(cached.batchabilityObserver);
+		connection.endDecorationProperty()
+				.addListener(cached.batchabilityObserver);
+		// XXX: The bounds of the connection reflect changes of the
+		// decorations (which are arranged when the connection is refreshed)
+		// and of the visibility; the geometry of the curve is observed
+		// separately, as it may change within the same bounds.
+		connection.boundsInLocalProperty().addListener(cached.changeObserver);
+		connection.visibleProperty().addListener(cached.changeObserver);
+		updateBatching(connection);
+		return true;
+	}
+
+	/**
+	 * Adds the segments of the given {@link Path}, transformed by the given
+	 * {@link AffineTransform}, to the current path of the given
+	 * {@link GraphicsContext}.
+	 *
+	 * @param gc
+	 *            The {@link GraphicsContext} to which the segments are added.
+	 * @param path
+	 *            The {@link Path} whose segments are added.
+	 * @param tx
+	 *            The {@link AffineTransform} to apply to the segments.
+	 */
+	private void appendPath(GraphicsContext gc, Path path,
+			AffineTransform tx) {
+		// XXX: The points are transformed here (rather than by setting the
+		// transform of the graphics context), so that no transformed copies
+		// of the cached paths are created, and so that the stroke width (which
+		// is already scaled) is not affected.
+		double[] m = tx.getMatrix();
+		for (Segment segment : path.getSegments()) {
+			Point[] p = segment.getPoints();
+			switch (segment.getType()) {
+			case Segment.MOVE_TO:
+				gc.moveTo(x(m, p[0]), y(m, p[0]));
+				break;
+			case Segment.LINE_TO:
+				gc.lineTo(x(m, p[0]), y(m, p[0]));
+				break;
+			case Segment.QUAD_TO:
+				gc.quadraticCurveTo(x(m, p[0]), y(m, p[0]), x(m, p[1]),
+						y(m, p[1]));
+				break;
+			case Segment.CUBIC_TO:
+				gc.bezierCurveTo(x(m, p[0]), y(m, p[0]), x(m, p[1]),
+						y(m, p[1]), x(m, p[2]), y(m, p[2]));
+				break;
+			case Segment.CLOSE:
+				gc.closePath();
+				break;
+			default:
+				throw new IllegalStateException(
+						"Unsupported segment type " + segment.getType() + ".");
+			}
+		}
+	}
+
+	/**
+	 * Adds the cached geometries of the given {@link CachedConnection} to the
+	 * corresponding curve and decoration batches.
+	 */
+	private void batch(Map<Style, List<CachedGeometry>> curveBatches,
+			Map<Style, List<CachedGeometry>> decorationBatches,
+			Map<CachedGeometry, AffineTransform> transforms,
+			CachedConnection cached) {
+		double scale = getScale(cached.connectionToCanvas);
+		for (CachedGeometry geometry : cached.geometries) {
+			Map<Style, List<CachedGeometry>> batches = geometry.isCurve
+					? curveBatches : decorationBatches;
+			Style style = geometry.getStyle(scale);
+			List<CachedGeometry> batch = batches.get(style);
+			if (batch == null) {
+				batch = new ArrayList<>();
+				batches.put(style, batch);
+			}
+			batch.add(geometry);
+			transforms.put(geometry, cached.connectionToCanvas);
+		}
+	}
+
+	/**
+	 * Adds the geometry of the given decoration {@link Node} (if any) to the
+	 * given list of {@link CachedGeometry geometries}.
+	 */
+	private void cacheDecoration(List<CachedGeometry> geometries,
+			Node decoration) {
+		if (decoration == null || !decoration.isVisible()) {
+			return;
+		}
+		if (decoration instanceof GeometryNode) {
+			GeometryNode<?> geometryNode = (GeometryNode<?>) decoration;
+			if (geometryNode.getGeometry() != null) {
+				cacheGeometry(geometries, geometryNode,
+						geometryNode.getGeometry(),
+						getGeometryToConnectionTransform(geometryNode), false);
+			}
+		} else if (decoration instanceof Shape) {
+			cacheGeometry(geometries, decoration,
+					Shape2Geometry.toGeometry((Shape) decoration),
+					FX2Geometry.toAffineTransform(
+							decoration.getLocalToParentTransform()),
+					false);
+		}
+	}
+
+	private void cacheGeometry(List<CachedGeometry> geometries, Node node,
+			IGeometry geometry, AffineTransform nodeToConnection,
+			boolean isCurve) {
+		geometries.add(new CachedGeometry(node,
+				geometry.getTransformed(nodeToConnection).toPath(),
+				getScale(nodeToConnection), isCurve));
+	}
+
+	/**
+	 * Computes the geometries of the given (batched) {@link Connection} within
+	 * its local coordinate system.
+	 */
+	private List<CachedGeometry> computeGeometries(Connection connection) {
+		List<CachedGeometry> geometries = new ArrayList<>();
+		GeometryNode<?> curve = (GeometryNode<?>) connection.getCurve();
+		if (curve.getGeometry() == null) {
+			return geometries;
+		}
+		cacheGeometry(geometries, curve, curve.getGeometry(),
+				getGeometryToConnectionTransform(curve), true);
+		cacheDecoration(geometries, connection.getStartDecoration());
+		cacheDecoration(geometries, connection.getEndDecoration());
+		return geometries;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given {@link Connection} was
+	 * {@link #add(Connection) added} to the batch of this
+	 * {@link BatchedConnectionCanvas}, otherwise <code>false</code>.
+	 *
+	 * @param connection
+	 *            The {@link Connection} to test.
+	 * @return <code>true</code> if the given {@link Connection} was added,
+	 *         otherwise <code>false</code>.
+	 * @see #isBatched(Connection)
+	 */
+	public boolean contains(Connection connection) {
+		return connections.containsKey(connection);
+	}
+
+	private Rectangle getCanvasBounds() {
+		return new Rectangle(0, 0, getWidth(), getHeight());
+	}
+
+	/**
+	 * Returns an unmodifiable view on the {@link Connection}s that were
+	 * {@link #add(Connection) added} to this {@link BatchedConnectionCanvas}.
+	 *
+	 * @return The added {@link Connection}s.
+	 */
+	public Set<Connection> getConnectionsUnmodifiable() {
+		return Collections.unmodifiableSet(connections.keySet());
+	}
+
+	/**
+	 * Returns the transformation from the coordinate system of the geometry of
+	 * the given {@link GeometryNode} (a child of a {@link Connection}) to the
+	 * coordinate system of the {@link Connection}.
+	 */
+	private AffineTransform getGeometryToConnectionTransform(
+			GeometryNode<?> geometryNode) {
+		// XXX: The geometry is relocated by the layout position of the
+		// GeometryNode (see GeometryNode#getPathElements()).
+		return FX2Geometry
+				.toAffineTransform(geometryNode.getLocalToParentTransform())
+				.concatenate(new AffineTransform().setToTranslation(
+						-geometryNode.getLayoutX(),
+						-geometryNode.getLayoutY()));
+	}
+
+	private double getScale(AffineTransform tx) {
+		return Math.sqrt(Math.abs(tx.getDeterminant()));
+	}
+
+	/**
+	 * Marks the cached geometries of the given {@link Connection} as invalid,
+	 * and requests a repaint if it is batched.
+	 */
+	private void invalidate(Connection connection) {
+		CachedConnection cached = connections.get(connection);
+		if (cached != null) {
+			cached.geometries = null;
+			if (isBatched(connection)) {
+				requestRepaint();
+			}
+		}
+	}
+
+	/**
+	 * Adds the given region to the region that needs to be redrawn.
+	 */
+	private void invalidateRegion(Rectangle region) {
+		if (region != null) {
+			dirtyRegion = dirtyRegion == null ? region.getCopy()
+					: dirtyRegion.union(region);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the given {@link Connection} can be
+	 * rendered by a {@link BatchedConnectionCanvas}. This is the case if its
+	 * curve is a {@link GeometryNode} with a solid (i.e. non-dashed) stroke,
+	 * and its decorations (if any) are {@link GeometryNode}s or {@link Shape}s
+	 * for which a geometric outline can be computed.
+	 *
+	 * @param connection
+	 *            The {@link Connection} to test.
+	 * @return <code>true</code> if the given {@link Connection} can be
+	 *         batched, otherwise <code>false</code>.
+	 */
+	public boolean isBatchable(Connection connection) {
+		Node curve = connection.getCurve();
+		if (!(curve instanceof GeometryNode)) {
+			return false;
+		}
+		// XXX: The JavaFX 8 GraphicsContext does not support line dashes.
+		if (!((GeometryNode<?>) curve).getStrokeDashArray().isEmpty()) {
+			return false;
+		}
+		return isBatchableDecoration(connection.getStartDecoration())
+				&& isBatchableDecoration(connection.getEndDecoration());
+	}
+
+	/**
+	 * Returns <code>true</code> if the given {@link Connection} is currently
+	 * rendered by this {@link BatchedConnectionCanvas}, i.e. if it was
+	 * {@link #add(Connection) added} and is still
+	 * {@link #isBatchable(Connection) batchable}.
+	 *
+	 * @param connection
+	 *            The {@link Connection} to test.
+	 * @return <code>true</code> if the given {@link Connection} is rendered by
+	 *         this {@link BatchedConnectionCanvas}, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isBatched(Connection connection) {
+		return batchedConnections.contains(connection);
+	}
+
+	private boolean isBatchableDecoration(Node decoration) {
+		if (decoration == null || decoration instanceof GeometryNode) {
+			return true;
+		}
+		if (decoration instanceof Shape) {
+			try {
+				Shape2Geometry.toGeometry((Shape) decoration);
+				return true;
+			} catch (IllegalStateException e) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Registers the observers of the given {@link CachedConnection} at the
+	 * given curve.
+	 */
+	private void observeCurve(Node curve, CachedConnection cached) {
+		if (curve instanceof GeometryNode) {
+			GeometryNode<?> geometryNode = (GeometryNode<?>) curve;
+			geometryNode.geometryProperty().addListener(cached.changeObserver);
+			geometryNode.getStrokeDashArray()
+					.addListener(cached.batchabilityObserver);
+		}
+	}
+
+	/**
+	 * Removes the given {@link Connection} from the batch of
+	 * {@link Connection}s that are rendered by this
+	 * {@link BatchedConnectionCanvas}, so that it is rendered by means of its
+	 * own visual again (its managed state and opacity are restored).
+	 *
+	 * @param connection
+	 *            The {@link Connection} to remove.
+	 * @return <code>true</code> if the {@link Connection} was removed,
+	 *         <code>false</code> if it was not contained.
+	 */
+	public boolean remove(Connection connection) {
+		CachedConnection cached = connections.remove(connection);
+		if (cached == null) {
+			return false;
+		}
+		connection.visibleProperty().removeListener(cached.changeObserver);
+		connection.boundsInLocalProperty()
+				.removeListener(cached.changeObserver);
+		connection.endDecorationProperty()
+				.removeListener(cached.batchabilityObserver);
+		connection.startDecorationProperty()
+				.removeListener(cached.batchabilityObserver);
+		connection.curveProperty().removeListener(cached.batchabilityObserver);
+		unobserveCurve(cached.observedCurve, cached);
+		unbatch(connection, cached);
+		return true;
+	}
+
+	/**
+	 * Repaints the batched {@link Connection}s. The geometries of
+	 * {@link Connection}s that changed are recomputed, and the region that is
+	 * covered by {@link Connection}s that changed or that were moved relative
+	 * to this {@link BatchedConnectionCanvas} (before and after the change) is
+	 * redrawn. The geometries within that region are grouped by their
+	 * {@link Style}, so that each group can be rendered by a single stroke
+	 * (and fill) operation.
+	 */
+	public void repaint() {
+		// update the cached connections and determine the dirty region
+		AffineTransform sceneToCanvas = NodeUtils.getSceneToLocalTx(this);
+		Map<Node, AffineTransform> parentToCanvasTransforms = new HashMap<>();
+		for (Connection connection : batchedConnections) {
+			CachedConnection cached = connections.get(connection);
+			Node parent = connection.getParent();
+			AffineTransform parentToCanvas = parentToCanvasTransforms
+					.get(parent);
+			if (parentToCanvas == null) {
+				parentToCanvas = parent == null ? sceneToCanvas
+						: sceneToCanvas.getCopy().concatenate(
+								NodeUtils.getLocalToSceneTx(parent));
+				parentToCanvasTransforms.put(parent, parentToCanvas);
+			}
+			AffineTransform connectionToCanvas = parentToCanvas.getCopy()
+					.concatenate(FX2Geometry.toAffineTransform(
+							connection.getLocalToParentTransform()));
+			if (cached.geometries != null
+					&& connectionToCanvas.equals(cached.connectionToCanvas)) {
+				continue;
+			}
+			invalidateRegion(cached.canvasBounds);
+			if (cached.geometries == null) {
+				cached.geometries = computeGeometries(connection);
+			}
+			cached.connectionToCanvas = connectionToCanvas;
+			// XXX: The bounds in local include the strokes; they are
+			// expanded to account for anti-aliasing. They are queried in any
+			// case, so that the change observer is notified of subsequent
+			// changes.
+			Rectangle bounds = FX2Geometry
+					.toRectangle(connection.getBoundsInLocal())
+					.getTransformed(connectionToCanvas).getBounds()
+					.expand(1, 1);
+			cached.canvasBounds = connection.isVisible()
+					&& !cached.geometries.isEmpty() ? bounds : null;
+			invalidateRegion(cached.canvasBounds);
+		}
+		if (dirtyRegion == null) {
+			return;
+		}
+		Rectangle region = dirtyRegion.getIntersected(getCanvasBounds());
+		dirtyRegion = null;
+		if (region.isEmpty()) {
+			return;
+		}
+		// snap the region to pixels, so that no artifacts remain at its border
+		double x = Math.floor(region.getX());
+		double y = Math.floor(region.getY());
+		region = new Rectangle(x, y,
+				Math.ceil(region.getX() + region.getWidth()) - x,
+				Math.ceil(region.getY() + region.getHeight()) - y);
+
+		// group the geometries within the region by style
+		Map<Style, List<CachedGeometry>> curveBatches = new LinkedHashMap<>();
+		Map<Style, List<CachedGeometry>> decorationBatches = new LinkedHashMap<>();
+		Map<CachedGeometry, AffineTransform> transforms = new HashMap<>();
+		for (Connection connection : batchedConnections) {
+			CachedConnection cached = connections.get(connection);
+			if (cached.canvasBounds != null
+					&& cached.canvasBounds.touches(region)) {
+				batch(curveBatches, decorationBatches, transforms, cached);
+			}
+		}
+
+		GraphicsContext gc = getGraphicsContext2D();
+		gc.save();
+		gc.beginPath();
+		gc.rect(region.getX(), region.getY(), region.getWidth(),
+				region.getHeight());
+		gc.clip();
+		gc.clearRect(region.getX(), region.getY(), region.getWidth(),
+				region.getHeight());
+
+		// render curves (below decorations)
+		for (Entry<Style, List<CachedGeometry>> batch : curveBatches
+				.entrySet()) {
+			batch.getKey().apply(gc);
+			gc.beginPath();
+			for (CachedGeometry geometry : batch.getValue()) {
+				appendPath(gc, geometry.path, transforms.get(geometry));
+			}
+			gc.stroke();
+		}
+
+		// render decorations
+		for (Entry<Style, List<CachedGeometry>> batch : decorationBatches
+				.entrySet()) {
+			Style style = batch.getKey();
+			style.apply(gc);
+			gc.beginPath();
+			for (CachedGeometry geometry : batch.getValue()) {
+				appendPath(gc, geometry.path, transforms.get(geometry));
+			}
+			if (style.fill != null) {
+				gc.fill();
+			}
+			if (style.stroke != null) {
+				gc.stroke();
+			}
+		}
+		gc.restore();
+	}
+
+	/**
+	 * Requests that this {@link BatchedConnectionCanvas} is repainted. The
+	 * repaint is deferred, so that multiple requests (e.g. caused by several
+	 * {@link Connection}s that are refreshed within the same pulse) result in
+	 * a single repaint.
+	 */
+	public void requestRepaint() {
+		if (!isRepaintRequested) {
+			isRepaintRequested = true;
+			Platform.runLater(new Runnable() {
+				@Override
+				public void run() {
+					isRepaintRequested = false;
+					repaint();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Moves the given {@link Connection} out of the batch (if it is batched),
+	 * restoring its managed state and opacity, and invalidates the region it
+	 * was last painted at.
+	 */
+	private void unbatch(Connection connection, CachedConnection cached) {
+		if (batchedConnections.remove(connection)) {
+			connection.setManaged(cached.managed);
+			connection.setOpacity(cached.opacity);
+			invalidateRegion(cached.canvasBounds);
+			cached.geometries = null;
+			cached.connectionToCanvas = null;
+			cached.canvasBounds = null;
+			requestRepaint();
+		}
+	}
+
+	/**
+	 * Unregisters the observers of the given {@link CachedConnection} from
+	 * the given curve.
+	 */
+	private void unobserveCurve(Node curve, CachedConnection cached) {
+		if (curve instanceof GeometryNode) {
+			GeometryNode<?> geometryNode = (GeometryNode<?>) curve;
+			geometryNode.getStrokeDashArray()
+					.removeListener(cached.batchabilityObserver);
+			geometryNode.geometryProperty()
+					.removeListener(cached.changeObserver);
+		}
+	}
+
+	/**
+	 * Moves the observers of the given (added) {@link Connection} to its
+	 * current curve, and moves the {@link Connection} into or out of the
+	 * batch, depending on whether it is (still)
+	 * {@link #isBatchable(Connection) batchable}.
+	 */
+	private void updateBatching(Connection connection) {
+		CachedConnection cached = connections.get(connection);
+		Node newCurve = connection.getCurve();
+		if (cached.observedCurve != newCurve) {
+			unobserveCurve(cached.observedCurve, cached);
+			observeCurve(newCurve, cached);
+			cached.observedCurve = newCurve;
+		}
+		if (!isBatchable(connection)) {
+			unbatch(connection, cached);
+			return;
+		}
+		if (batchedConnections.add(connection)) {
+			cached.managed = connection.isManaged();
+			cached.opacity = connection.getOpacity();
+			connection.setManaged(false);
+			connection.setOpacity(0);
+		}
+		// the curve or decorations may have been replaced
+		cached.geometries = null;
+		requestRepaint();
+	}
+
+	private double x(double[] m, Point p) {
+		return m[0] * p.x + m[2] * p.y + m[4];
+	}
+
+	private double y(double[] m, Point p) {
+		return m[1] * p.x + m[3] * p.y + m[5];
+	}
+
+}
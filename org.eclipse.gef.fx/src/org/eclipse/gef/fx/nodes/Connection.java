@@ -9,6 +9,8 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG)  - initial API and implementation
  *     Matthias Wienand (itemis AG) - initial API and implementation
+ *     agent - refresh points incrementally
+ *           - compute the center from the unclipped curve
  *
  *******************************************************************************/
 package org.eclipse.gef.fx.nodes;
@@ -17,9 +19,11 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.eclipse.gef.common.beans.property.ReadOnlyListPropertyBaseEx;
@@ -32,6 +36,7 @@ import org.eclipse.gef.fx.anchors.IAnchor;
 import org.eclipse.gef.fx.anchors.StaticAnchor;
 import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
 import org.eclipse.gef.geometry.convert.fx.Geometry2FX;
+import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.BezierCurve;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Point;
@@ -312,6 +317,10 @@ public class Connection extends Group {
 		}
 	};
 	private boolean inRefresh = false;
+	// anchor keys whose positions changed while refreshing, and the
+	// curve-to-connection-transform that was used to compute the points
+	private Set<AnchorKey> changedAnchorKeys = new HashSet<>();
+	private AffineTransform curveToConnectionTx = null;
 
 	/**
 	 * Constructs a new {@link Connection} whose start and end point are set to
@@ -483,6 +492,7 @@ public class Connection extends Group {
 				IAnchor a = controlAnchorsToMove.get(i);
 
 				anchorsByKeys.put(ak, a);
+				changedAnchorKeys.add(ak);
 
 				a.attach(ak);
 
@@ -496,6 +506,7 @@ public class Connection extends Group {
 			}
 		}
 		registerPCL(anchorKey, anchor);
+		changedAnchorKeys.add(anchorKey);
 		refresh();
 	}
 
@@ -571,11 +582,15 @@ public class Connection extends Group {
 			@Override
 			public void onChanged(
 					MapChangeListener.Change<? extends AnchorKey, ? extends Point> change) {
-				// if (inRefresh) {
-				// return;
-				// }
 				if (change.getKey().equals(anchorKey)) {
 					if (change.wasAdded() && change.wasRemoved()) {
+						if (inRefresh) {
+							// XXX: The points are refreshed (incrementally)
+							// by #refresh(), so we only need to record the
+							// change here.
+							changedAnchorKeys.add(anchorKey);
+							return;
+						}
 						Point newPoint = FX2Geometry
 								.toPoint(getCurve().localToParent(Geometry2FX
 										.toFXPoint(change.getValueAdded())));
@@ -682,8 +697,15 @@ public class Connection extends Group {
 		// TODO: we would better delegate this to interpolator, as there we can
 		// exchange the logic
 		BezierCurve[] bezierCurves = null;
-		if (getCurve() instanceof GeometryNode && ((GeometryNode<?>) getCurve())
-				.getGeometry() instanceof ICurve) {
+		if (getInterpolator() instanceof AbstractInterpolator
+				&& getPointsUnmodifiable().size() > 1) {
+			// XXX: The geometry of the curve node may be clipped at the
+			// decorations, so we use the (cached) unclipped curve instead.
+			bezierCurves = ((AbstractInterpolator) getInterpolator())
+					.getUnclippedCurve(this).toBezier();
+		} else if (getCurve() instanceof GeometryNode
+				&& ((GeometryNode<?>) getCurve())
+						.getGeometry() instanceof ICurve) {
 			bezierCurves = ((ICurve) ((GeometryNode<?>) getCurve())
 					.getGeometry()).toBezier();
 		} else {
@@ -1129,7 +1151,10 @@ public class Connection extends Group {
 			}
 			return;
 		} else {
-			// Re-attach all anchor keys.
+			// Re-attach all anchor keys. As the anchor keys (and thus the
+			// positions) change, all points need to be refreshed.
+			curveToConnectionTx = null;
+			changedAnchorKeys.clear();
 			for (AnchorKey oldAk : new ArrayList<>(anchorsByKeys.keySet())) {
 				// query anchor for oldAk
 				IAnchor anchor = anchorsByKeys.get(oldAk);
@@ -1170,15 +1195,16 @@ public class Connection extends Group {
 	 * inserting volatile anchors, computing a curve geometry, and updating the
 	 * visualization to that geometry. In addition, the position change
 	 * listeners registered at the individual
-	 * {@link AbstractAnchor#positionsUnmodifiableProperty()} need to be
-	 * disabled during {@link #refresh()} to prevent
-	 * {@link ConcurrentModificationException}. The process can be described by
-	 * the following steps:
+	 * {@link AbstractAnchor#positionsUnmodifiableProperty()} may not update
+	 * the points during {@link #refresh()} to prevent
+	 * {@link ConcurrentModificationException}. Instead, they only record the
+	 * {@link AnchorKey}s whose positions changed, so that only the
+	 * corresponding points need to be refreshed (as long as the c2ctx does not
+	 * change). The process can be described by the following steps:
 	 * <ol>
-	 * <li>The connection unregisters all position change listeners.
-	 * <li>The connection queries all points from its anchors and transforms
-	 * them from curve to connection coordinates (curve-to-connection-transform,
-	 * c2ctx).
+	 * <li>The connection queries the (changed) points from its anchors and
+	 * transforms them from curve to connection coordinates
+	 * (curve-to-connection-transform, c2ctx).
 	 * <li>The router removes all (previously inserted) volatile anchors.
 	 * <li>=&gt; The connection's points are refreshed in-place, because removal
 	 * of anchors calls {@link #removeAnchor(AnchorKey, IAnchor)}, which updates
@@ -1197,15 +1223,14 @@ public class Connection extends Group {
 	 * manually, because the connection did not yet update its points.
 	 * <li>The router inserts volatile anchors according to the routing
 	 * strategy.
-	 * <li>The connection refreshes its points manually, because the position
-	 * change listeners are disabled.
+	 * <li>The connection refreshes its (changed) points manually, because the
+	 * position change listeners only recorded the changes.
 	 * <li>The interpolator computes a new curve geometry and applies it to the
 	 * connection.
 	 * <li>=&gt; The c2ctx changes, that's why the parameters are recomputed
 	 * from the bindings, which triggers a recomputation of the anchor
 	 * positions.
-	 * <li>The connection refreshed its points manually again.
-	 * <li>The connection registers all position change listeners.
+	 * <li>The connection refreshed its (changed) points manually again.
 	 * </ol>
 	 */
 	protected void refresh() {
@@ -1216,27 +1241,12 @@ public class Connection extends Group {
 		inRefresh = true;
 		// System.out.println("+--- Refresh ---+");
 
-		// unregister PCLs
-		// TODO: Investigate if the fields need to be up-to-date or if the
-		// removal and addition of listeners can happen locally (i.e. without
-		// affecting anchorPCLs etc.)
-
-		for (AnchorKey ak : anchorsByKeys.keySet()) {
-			unregisterPCL(ak, anchorsByKeys.get(ak));
-		}
-
-		// clear visuals except for the curveProperty
-		getChildren().retainAll(getCurve());
+		// XXX: The PCLs stay registered, they only record the changed anchor
+		// keys while refreshing (see #createPCL(AnchorKey)).
 
-		// z-order: place decorations above curve
-		Node startDecoration = getStartDecoration();
-		if (startDecoration != null) {
-			getChildren().add(startDecoration);
-		}
-		Node endDecoration = getEndDecoration();
-		if (endDecoration != null) {
-			getChildren().add(endDecoration);
-		}
+		// z-order: place decorations above curve (only update the children if
+		// needed, to prevent scene graph changes)
+		refreshChildren();
 
 		// Transform tx = getCurve().getLocalToParentTransform();
 		// System.out.println("| +--- Initial ---+");
@@ -1254,8 +1264,8 @@ public class Connection extends Group {
 			// compute parameters and insert volatile anchors
 			router.route(this);
 
-			// since PCLs are disabled (to prevent CME), points need to be
-			// refreshed again
+			// since PCLs only record changes (to prevent CME), points need to
+			// be refreshed again
 			// XXX: The Router performs the transformation internally after
 			// updating the parameters and before routing.
 			refreshPoints();
@@ -1276,8 +1286,8 @@ public class Connection extends Group {
 			// apply new points to the visualization
 			interpolator.interpolate(this);
 			// XXX: Changing the visualization changes the
-			// curve-to-connection-transform, and since the PCLs are disabled,
-			// the points need to be refreshed again, in order to be up-to-date.
+			// curve-to-connection-transform, and since the PCLs only record
+			// changes, the points need to be refreshed again, in order to be up-to-date.
 			refreshPoints();
 
 			// tx = getCurve().getLocalToParentTransform();
@@ -1300,42 +1310,77 @@ public class Connection extends Group {
 			pointsUnmodifiableProperty.fireValueChangedEvent();
 		}
 
-		// reregister PCLs
-		// TODO: Investigate if the fields need to be up-to-date or if the
-		// removal and addition of listeners can happen locally (i.e. without
-		// affecting anchorPCLs etc.)
+		// react to events again
+		inRefresh = false;
+	}
 
-		for (AnchorKey ak : anchorsByKeys.keySet()) {
-			registerPCL(ak, anchorsByKeys.get(ak));
+	/**
+	 * Ensures the curve is the first child of this {@link Connection} and is
+	 * followed by the start and end decorations (if any). The children are
+	 * only changed in case they do not already match.
+	 */
+	private void refreshChildren() {
+		List<Node> expectedChildren = new ArrayList<>(3);
+		expectedChildren.add(getCurve());
+		Node startDecoration = getStartDecoration();
+		if (startDecoration != null) {
+			expectedChildren.add(startDecoration);
+		}
+		Node endDecoration = getEndDecoration();
+		if (endDecoration != null) {
+			expectedChildren.add(endDecoration);
+		}
+		if (!getChildren().equals(expectedChildren)) {
+			// clear visuals except for the curveProperty
+			getChildren().retainAll(getCurve());
+			getChildren().addAll(
+					expectedChildren.subList(1, expectedChildren.size()));
 		}
+	}
 
-		// react to events again
-		inRefresh = false;
+	private boolean refreshPoint(int index) {
+		Point position = getAnchor(index).getPosition(getAnchorKey(index));
+		// XXX: Here the same computation is used that
+		// is also used within #createPCL().
+		Point newPoint = FX2Geometry.toPoint(
+				getCurve().localToParent(Geometry2FX.toFXPoint(position)));
+		if (!points.get(index).equals(newPoint)) {
+			points.set(index, newPoint);
+			return true;
+		}
+		return false;
 	}
 
 	/**
 	 * Refreshes the points of this {@link Connection} by querying the
 	 * individual anchor positions and transforming them from curve coordinates
-	 * to connection coordinates.
+	 * to connection coordinates. In case the curve-to-connection-transform did
+	 * not change since the last refresh, only the points of those anchors are
+	 * refreshed, whose positions changed in the meantime.
 	 *
 	 * @return <code>true</code> if any points were changed, <code>false</code>
 	 *         otherwise.
 	 */
 	private boolean refreshPoints() {
-		// walk over all anchors to compute new points,
-		// transforming them using the curve's local to parent
-		// transform
 		boolean changed = false;
-		for (int i = 0; i < points.size(); i++) {
-			Point position = getAnchor(i).getPosition(getAnchorKey(i));
-			// XXX: Here the same computation is used that
-			// is also used within #createPCL().
-			Point newPoint = FX2Geometry.toPoint(
-					getCurve().localToParent(Geometry2FX.toFXPoint(position)));
-			if (!points.get(i).equals(newPoint)) {
-				points.set(i, newPoint);
-				changed = true;
+		List<AnchorKey> changedKeys = new ArrayList<>(changedAnchorKeys);
+		changedAnchorKeys.clear();
+		AffineTransform tx = FX2Geometry
+				.toAffineTransform(getCurve().getLocalToParentTransform());
+		if (tx.equals(curveToConnectionTx)) {
+			// only refresh the points of the changed anchors
+			for (AnchorKey ak : changedKeys) {
+				if (anchorsByKeys.containsKey(ak)) {
+					changed |= refreshPoint(getAnchorIndex(ak));
+				}
+			}
+		} else {
+			// walk over all anchors to compute new points, transforming them
+			// using the curve's local to parent transform
+			for (int i = 0; i < points.size(); i++) {
+				changed |= refreshPoint(i);
 			}
+			curveToConnectionTx = tx;
 		}
 		return changed;
 	}
@@ -1439,6 +1484,7 @@ public class Connection extends Group {
 				IAnchor a = controlAnchorsToMove.get(i);
 
 				anchorsByKeys.put(ak, a);
+				changedAnchorKeys.add(ak);
 
 				a.attach(ak);
 
@@ -1548,6 +1594,7 @@ public class Connection extends Group {
 			points.set(anchorIndex, newPosition);
 		}
 		registerPCL(anchorKey, anchor);
+		changedAnchorKeys.add(anchorKey);
 		refresh();
 	}
 
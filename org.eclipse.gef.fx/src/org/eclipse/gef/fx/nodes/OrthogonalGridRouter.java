@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.nodes;
+
+import java.util.List;
+
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.euclidean.Vector;
+import org.eclipse.gef.geometry.planar.Point;
+
+import javafx.scene.Node;
+
+/**
+ * An {@link OrthogonalRouter} that routes the segments between the way points
+ * of a {@link Connection} around the obstacles of a (shared)
+ * {@link OrthogonalRoutingGrid}. In case no route can be found within the
+ * grid, or a segment is already orthogonal and unobstructed, the routing is
+ * performed as by the {@link OrthogonalRouter}.
+ * <p>
+ * The obstacles of the {@link OrthogonalRoutingGrid} are interpreted within
+ * the local coordinate system of the grid container {@link Node} (e.g. the
+ * content group of an {@link InfiniteCanvas}). If no grid container is
+ * specified, they are interpreted within scene coordinates.
+ *
+ * @author agent
+ *
+ */
+public class OrthogonalGridRouter extends OrthogonalRouter {
+
+	private final OrthogonalRoutingGrid grid;
+	private final Node gridContainer;
+
+	/**
+	 * Constructs a new {@link OrthogonalGridRouter} that uses the given
+	 * {@link OrthogonalRoutingGrid}, whose obstacles are interpreted within
+	 * the local coordinate system of the given grid container {@link Node}.
+	 *
+	 * @param grid
+	 *            The {@link OrthogonalRoutingGrid} that is used to route
+	 *            around obstacles.
+	 * @param gridContainer
+	 *            The {@link Node} providing the coordinate system of the
+	 *            grid, or <code>null</code> if the grid uses scene
+	 *            coordinates.
+	 */
+	public OrthogonalGridRouter(OrthogonalRoutingGrid grid,
+			Node gridContainer) {
+		if (grid == null) {
+			throw new IllegalArgumentException("grid may not be null.");
+		}
+		this.grid = grid;
+		this.gridContainer = gridContainer;
+	}
+
+	/**
+	 * Returns the {@link OrthogonalRoutingGrid} that is used by this
+	 * {@link OrthogonalGridRouter}.
+	 *
+	 * @return The {@link OrthogonalRoutingGrid}.
+	 */
+	public OrthogonalRoutingGrid getGrid() {
+		return grid;
+	}
+
+	/**
+	 * Returns the {@link Node} that provides the coordinate system of the
+	 * {@link #getGrid() grid}, or <code>null</code> if the grid uses scene
+	 * coordinates.
+	 *
+	 * @return The grid container {@link Node}.
+	 */
+	public Node getGridContainer() {
+		return gridContainer;
+	}
+
+	@Override
+	protected Vector route(ControlPointManipulator cpm, Vector inDirection,
+			Vector outDirection) {
+		if (Math.abs(outDirection.x) <= 0.05
+				&& Math.abs(outDirection.y) <= 0.05) {
+			// effectively 0 => do not insert point
+			return super.route(cpm, inDirection, outDirection);
+		}
+		Connection connection = cpm.getConnection();
+		Point start = cpm.getPoint();
+		Point end = start.getTranslated(outDirection.x, outDirection.y);
+		List<Point> bendPoints = grid.findRoute(toGrid(connection, start),
+				toGrid(connection, end));
+		if (bendPoints == null || bendPoints.isEmpty()) {
+			// no route found or segment is straight and unobstructed
+			return super.route(cpm, inDirection, outDirection);
+		}
+		double[] deltas = new double[bendPoints.size() * 2];
+		Point last = null;
+		for (int i = 0; i < bendPoints.size(); i++) {
+			last = toConnection(connection, bendPoints.get(i));
+			deltas[2 * i] = last.x - start.x;
+			deltas[2 * i + 1] = last.y - start.y;
+		}
+		cpm.addRoutingPoints(cpm.getIndex() + 1, start, deltas);
+		return new Vector(last, end);
+	}
+
+	private Point toConnection(Connection connection, Point pointInGrid) {
+		Point pointInScene = gridContainer == null ? pointInGrid
+				: NodeUtils.localToScene(gridContainer, pointInGrid);
+		return NodeUtils.sceneToLocal(connection, pointInScene);
+	}
+
+	private Point toGrid(Connection connection, Point pointInConnection) {
+		Point pointInScene = NodeUtils.localToScene(connection,
+				pointInConnection);
+		return gridContainer == null ? pointInScene
+				: NodeUtils.sceneToLocal(gridContainer, pointInScene);
+	}
+
+}
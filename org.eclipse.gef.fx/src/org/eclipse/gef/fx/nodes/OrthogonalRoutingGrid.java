@@ -0,0 +1,606 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.nodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+
+/**
+ * An {@link OrthogonalRoutingGrid} maintains a set of rectangular obstacles
+ * and computes orthogonal routes around them. It is intended to be shared by
+ * all {@link Connection}s within a common coordinate system (e.g. the content
+ * layer of a viewer), so that the routing information does not need to be
+ * computed per {@link Connection}.
+ * <p>
+ * The grid is a sparse orthogonal visibility graph: its vertical (horizontal)
+ * lines are placed at the left and right (top and bottom) sides of all
+ * obstacles, offset by the {@link #getMargin() margin}, as well as at the
+ * start and end point of the route that is searched. The graph is not
+ * materialized, but only the sorted grid coordinates are maintained, which
+ * can be updated incrementally when obstacles are added, changed, or removed.
+ * Routes are computed using A* search, where each bend is penalized by the
+ * {@link #getBendPenalty() bend penalty}.
+ * <p>
+ * The grid is thread-safe. Obstacle updates are mutually exclusive with route
+ * searches, while multiple route searches may be performed in parallel (see
+ * {@link #findRoutes(List, ExecutorService)}).
+ *
+ * @author agent
+ *
+ */
+public class OrthogonalRoutingGrid {
+
+	private static class SearchNode implements Comparable<SearchNode> {
+		private final int xi;
+		private final int yi;
+		private final int direction;
+		private final double g;
+		private final double f;
+		private final SearchNode parent;
+
+		public SearchNode(int xi, int yi, int direction, double g, double f,
+				SearchNode parent) {
+			this.xi = xi;
+			this.yi = yi;
+			this.direction = direction;
+			this.g = g;
+			this.f = f;
+			this.parent = parent;
+		}
+
+		@Override
+		public int compareTo(SearchNode o) {
+			int result = Double.compare(f, o.f);
+			if (result == 0) {
+				// prefer nodes that are closer to the end
+				result = Double.compare(o.g, g);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * The default distance that is kept between routes and obstacles.
+	 */
+	public static final double DEFAULT_MARGIN = 15;
+
+	/**
+	 * The default cost that is added for each bend of a route.
+	 */
+	public static final double DEFAULT_BEND_PENALTY = 20;
+
+	/**
+	 * The default size of the cells of the spatial index that is used to look
+	 * up obstacles.
+	 */
+	public static final double DEFAULT_CELL_SIZE = 128;
+
+	/**
+	 * The maximum number of search nodes that are expanded before the search
+	 * for a route is given up.
+	 */
+	private static final int MAX_EXPANSIONS = 100000;
+
+	// directions: right, down, left, up (start node has no direction)
+	private static final int[] DX = new int[] { 1, 0, -1, 0 };
+	private static final int[] DY = new int[] { 0, 1, 0, -1 };
+	private static final int NO_DIRECTION = 4;
+
+	private final double margin;
+	private final double bendPenalty;
+	private final double cellSize;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Object, Rectangle> obstacles = new HashMap<>();
+	private final Map<Long, List<Object>> cells = new HashMap<>();
+	// grid coordinates with their reference counts
+	private final TreeMap<Double, Integer> xCoordinates = new TreeMap<>();
+	private final TreeMap<Double, Integer> yCoordinates = new TreeMap<>();
+	// sorted grid coordinates (lazily computed)
+	private volatile double[] xs = null;
+	private volatile double[] ys = null;
+
+	/**
+	 * Constructs a new {@link OrthogonalRoutingGrid} using the
+	 * {@link #DEFAULT_MARGIN}, {@link #DEFAULT_BEND_PENALTY}, and
+	 * {@link #DEFAULT_CELL_SIZE}.
+	 */
+	public OrthogonalRoutingGrid() {
+		this(DEFAULT_MARGIN, DEFAULT_BEND_PENALTY, DEFAULT_CELL_SIZE);
+	}
+
+	/**
+	 * Constructs a new {@link OrthogonalRoutingGrid} using the given margin,
+	 * bend penalty, and cell size.
+	 *
+	 * @param margin
+	 *            The distance that is kept between routes and obstacles.
+	 * @param bendPenalty
+	 *            The cost that is added for each bend of a route.
+	 * @param cellSize
+	 *            The size of the cells of the spatial index that is used to
+	 *            look up obstacles.
+	 */
+	public OrthogonalRoutingGrid(double margin, double bendPenalty,
+			double cellSize) {
+		if (margin < 0) {
+			throw new IllegalArgumentException(
+					"margin may not be negative, but is " + margin + ".");
+		}
+		if (bendPenalty < 0) {
+			throw new IllegalArgumentException(
+					"bendPenalty may not be negative, but is " + bendPenalty
+							+ ".");
+		}
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException(
+					"cellSize has to be positive, but is " + cellSize + ".");
+		}
+		this.margin = margin;
+		this.bendPenalty = bendPenalty;
+		this.cellSize = cellSize;
+	}
+
+	private void addCoordinate(TreeMap<Double, Integer> coordinates,
+			double coordinate) {
+		Integer count = coordinates.get(coordinate);
+		coordinates.put(coordinate, count == null ? 1 : count + 1);
+	}
+
+	private void addObstacle(Object key, Rectangle bounds) {
+		obstacles.put(key, bounds);
+		for (long cell : getCells(bounds)) {
+			List<Object> keys = cells.get(cell);
+			if (keys == null) {
+				keys = new ArrayList<>(2);
+				cells.put(cell, keys);
+			}
+			keys.add(key);
+		}
+		addCoordinate(xCoordinates, bounds.getX() - margin);
+		addCoordinate(xCoordinates, bounds.getX() + bounds.getWidth() + margin);
+		addCoordinate(yCoordinates, bounds.getY() - margin);
+		addCoordinate(yCoordinates,
+				bounds.getY() + bounds.getHeight() + margin);
+		xs = null;
+		ys = null;
+	}
+
+	/**
+	 * Removes all obstacles from this {@link OrthogonalRoutingGrid}.
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			obstacles.clear();
+			cells.clear();
+			xCoordinates.clear();
+			yCoordinates.clear();
+			xs = null;
+			ys = null;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private int findIndex(double[] coordinates, double coordinate) {
+		int index = Arrays.binarySearch(coordinates, coordinate);
+		if (index < 0) {
+			throw new IllegalStateException(
+					"Coordinate " + coordinate + " is not part of the grid.");
+		}
+		return index;
+	}
+
+	/**
+	 * Computes an orthogonal route from the given start to the given end
+	 * {@link Point} that does not pass through any obstacle. Obstacles that
+	 * contain the start or end {@link Point} (e.g. the source and target node
+	 * of a {@link Connection}) are ignored.
+	 *
+	 * @param start
+	 *            The start {@link Point} of the route.
+	 * @param end
+	 *            The end {@link Point} of the route.
+	 * @return A list containing the bend points of the route (excluding the
+	 *         start and end {@link Point}), which is empty if start and end
+	 *         can be connected by a straight orthogonal line, or
+	 *         <code>null</code> if no route could be found.
+	 */
+	public List<Point> findRoute(Point start, Point end) {
+		if (start == null) {
+			throw new IllegalArgumentException("start may not be null.");
+		}
+		if (end == null) {
+			throw new IllegalArgumentException("end may not be null.");
+		}
+		lock.readLock().lock();
+		try {
+			return search(start, end);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Computes the routes for the given segments in parallel, using the given
+	 * {@link ExecutorService} (see {@link #findRoute(Point, Point)}). This
+	 * method blocks until all routes are computed and should thus not be
+	 * called on the JavaFX application thread.
+	 *
+	 * @param segments
+	 *            The {@link Line}s specifying start and end {@link Point} of
+	 *            the routes to compute.
+	 * @param executor
+	 *            The {@link ExecutorService} that is used to compute the
+	 *            routes.
+	 * @return A list containing the bend points of the route for each of the
+	 *         given segments (or <code>null</code> in case no route could be
+	 *         found for a segment).
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the routes to be
+	 *             computed.
+	 */
+	public List<List<Point>> findRoutes(List<Line> segments,
+			ExecutorService executor) throws InterruptedException {
+		List<Callable<List<Point>>> tasks = new ArrayList<>(segments.size());
+		for (final Line segment : segments) {
+			tasks.add(new Callable<List<Point>>() {
+				@Override
+				public List<Point> call() throws Exception {
+					return findRoute(segment.getP1(), segment.getP2());
+				}
+			});
+		}
+		List<List<Point>> routes = new ArrayList<>(segments.size());
+		for (Future<List<Point>> future : executor.invokeAll(tasks)) {
+			try {
+				routes.add(future.get());
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+		return routes;
+	}
+
+	/**
+	 * Returns the cost that is added for each bend of a route.
+	 *
+	 * @return The bend penalty.
+	 */
+	public double getBendPenalty() {
+		return bendPenalty;
+	}
+
+	private long getCell(int cx, int cy) {
+		// XXX: Multiplication with an odd constant is bijective, but spreads
+		// the bits, so that the hash codes of the keys do not collide.
+		return (((long) cx << 32) | (cy & 0xffffffffL)) * 0x9E3779B97F4A7C15L;
+	}
+
+	private List<Long> getCells(Rectangle bounds) {
+		int minCx = getCellIndex(bounds.getX());
+		int maxCx = getCellIndex(bounds.getX() + bounds.getWidth());
+		int minCy = getCellIndex(bounds.getY());
+		int maxCy = getCellIndex(bounds.getY() + bounds.getHeight());
+		List<Long> cellsOfBounds = new ArrayList<>(
+				(maxCx - minCx + 1) * (maxCy - minCy + 1));
+		for (int cx = minCx; cx <= maxCx; cx++) {
+			for (int cy = minCy; cy <= maxCy; cy++) {
+				cellsOfBounds.add(getCell(cx, cy));
+			}
+		}
+		return cellsOfBounds;
+	}
+
+	private int getCellIndex(double coordinate) {
+		return (int) Math.floor(coordinate / cellSize);
+	}
+
+	private double[] getCoordinates(boolean horizontal) {
+		double[] coordinates = horizontal ? xs : ys;
+		if (coordinates == null) {
+			// XXX: Only called while holding the read lock, so that we only
+			// need to synchronize concurrent searches.
+			synchronized (this) {
+				coordinates = horizontal ? xs : ys;
+				if (coordinates == null) {
+					TreeMap<Double, Integer> map = horizontal ? xCoordinates
+							: yCoordinates;
+					coordinates = new double[map.size()];
+					int i = 0;
+					for (double c : map.keySet()) {
+						coordinates[i++] = c;
+					}
+					if (horizontal) {
+						xs = coordinates;
+					} else {
+						ys = coordinates;
+					}
+				}
+			}
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Returns the distance that is kept between routes and obstacles.
+	 *
+	 * @return The margin.
+	 */
+	public double getMargin() {
+		return margin;
+	}
+
+	/**
+	 * Returns (a copy of) the bounds of the obstacle that is registered for
+	 * the given key, or <code>null</code> if no obstacle is registered for it.
+	 *
+	 * @param key
+	 *            The key of the obstacle.
+	 * @return The bounds of the obstacle, or <code>null</code>.
+	 */
+	public Rectangle getObstacle(Object key) {
+		lock.readLock().lock();
+		try {
+			Rectangle bounds = obstacles.get(key);
+			return bounds == null ? null : bounds.getCopy();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Set<Object> getObstaclesAt(Point point) {
+		Set<Object> keys = new HashSet<>();
+		List<Object> candidates = cells.get(getCell(getCellIndex(point.x),
+				getCellIndex(point.y)));
+		if (candidates != null) {
+			for (Object key : candidates) {
+				if (obstacles.get(key).contains(point)) {
+					keys.add(key);
+				}
+			}
+		}
+		return keys;
+	}
+
+	private double[] insertCoordinates(double[] coordinates, double c1,
+			double c2) {
+		double[] result = coordinates;
+		for (double c : new double[] { c1, c2 }) {
+			int index = Arrays.binarySearch(result, c);
+			if (index < 0) {
+				int insertionIndex = -index - 1;
+				double[] inserted = new double[result.length + 1];
+				System.arraycopy(result, 0, inserted, 0, insertionIndex);
+				inserted[insertionIndex] = c;
+				System.arraycopy(result, insertionIndex, inserted,
+						insertionIndex + 1, result.length - insertionIndex);
+				result = inserted;
+			}
+		}
+		return result;
+	}
+
+	private boolean isBlocked(double x1, double y1, double x2, double y2,
+			Set<Object> ignored) {
+		double minX = Math.min(x1, x2);
+		double maxX = Math.max(x1, x2);
+		double minY = Math.min(y1, y2);
+		double maxY = Math.max(y1, y2);
+		for (int cx = getCellIndex(minX); cx <= getCellIndex(maxX); cx++) {
+			for (int cy = getCellIndex(minY); cy <= getCellIndex(maxY); cy++) {
+				List<Object> candidates = cells.get(getCell(cx, cy));
+				if (candidates == null) {
+					continue;
+				}
+				for (Object key : candidates) {
+					if (ignored.contains(key)) {
+						continue;
+					}
+					// the segment is blocked if it intersects the interior of
+					// the obstacle
+					Rectangle r = obstacles.get(key);
+					if (maxX > r.getX() && minX < r.getX() + r.getWidth()
+							&& maxY > r.getY()
+							&& minY < r.getY() + r.getHeight()) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Registers an obstacle with the given bounds for the given key. In case
+	 * an obstacle is already registered for the key, its bounds are updated.
+	 *
+	 * @param key
+	 *            The key of the obstacle (e.g. the visual of a node).
+	 * @param bounds
+	 *            The bounds of the obstacle.
+	 */
+	public void putObstacle(Object key, Rectangle bounds) {
+		if (key == null) {
+			throw new IllegalArgumentException("key may not be null.");
+		}
+		if (bounds == null) {
+			throw new IllegalArgumentException("bounds may not be null.");
+		}
+		lock.writeLock().lock();
+		try {
+			Rectangle oldBounds = obstacles.get(key);
+			if (bounds.equals(oldBounds)) {
+				return;
+			}
+			if (oldBounds != null) {
+				removeObstacle(key, oldBounds);
+			}
+			addObstacle(key, bounds.getCopy());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeCoordinate(TreeMap<Double, Integer> coordinates,
+			double coordinate) {
+		Integer count = coordinates.get(coordinate);
+		if (count == null) {
+			return;
+		}
+		if (count == 1) {
+			coordinates.remove(coordinate);
+		} else {
+			coordinates.put(coordinate, count - 1);
+		}
+	}
+
+	/**
+	 * Removes the obstacle that is registered for the given key (if any).
+	 *
+	 * @param key
+	 *            The key of the obstacle to remove.
+	 */
+	public void removeObstacle(Object key) {
+		lock.writeLock().lock();
+		try {
+			Rectangle bounds = obstacles.get(key);
+			if (bounds != null) {
+				removeObstacle(key, bounds);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeObstacle(Object key, Rectangle bounds) {
+		obstacles.remove(key);
+		for (long cell : getCells(bounds)) {
+			List<Object> keys = cells.get(cell);
+			if (keys != null) {
+				keys.remove(key);
+				if (keys.isEmpty()) {
+					cells.remove(cell);
+				}
+			}
+		}
+		removeCoordinate(xCoordinates, bounds.getX() - margin);
+		removeCoordinate(xCoordinates,
+				bounds.getX() + bounds.getWidth() + margin);
+		removeCoordinate(yCoordinates, bounds.getY() - margin);
+		removeCoordinate(yCoordinates,
+				bounds.getY() + bounds.getHeight() + margin);
+		xs = null;
+		ys = null;
+	}
+
+	private List<Point> search(Point start, Point end) {
+		// ignore obstacles containing start or end point
+		Set<Object> ignored = getObstaclesAt(start);
+		ignored.addAll(getObstaclesAt(end));
+
+		// determine grid coordinates, including start and end point
+		double[] x = insertCoordinates(getCoordinates(true), start.x, end.x);
+		double[] y = insertCoordinates(getCoordinates(false), start.y, end.y);
+		int startXi = findIndex(x, start.x);
+		int startYi = findIndex(y, start.y);
+		int endXi = findIndex(x, end.x);
+		int endYi = findIndex(y, end.y);
+
+		// A* search
+		PriorityQueue<SearchNode> open = new PriorityQueue<>();
+		Map<Long, Double> bestCosts = new HashMap<>();
+		open.add(new SearchNode(startXi, startYi, NO_DIRECTION, 0,
+				start.getDistance(end), null));
+		int expansions = 0;
+		while (!open.isEmpty() && expansions++ < MAX_EXPANSIONS) {
+			SearchNode current = open.poll();
+			if (current.xi == endXi && current.yi == endYi) {
+				return toBendPoints(current, x, y);
+			}
+			long id = ((long) current.xi * y.length + current.yi) * 5
+					+ current.direction;
+			Double bestCost = bestCosts.get(id);
+			if (bestCost != null && bestCost < current.g) {
+				// already expanded with lower cost
+				continue;
+			}
+			for (int d = 0; d < 4; d++) {
+				// do not reverse direction
+				if (current.direction != NO_DIRECTION
+						&& (current.direction + 2) % 4 == d) {
+					continue;
+				}
+				int nxi = current.xi + DX[d];
+				int nyi = current.yi + DY[d];
+				if (nxi < 0 || nxi >= x.length || nyi < 0
+						|| nyi >= y.length) {
+					continue;
+				}
+				if (isBlocked(x[current.xi], y[current.yi], x[nxi], y[nyi],
+						ignored)) {
+					continue;
+				}
+				double g = current.g + Math.abs(x[nxi] - x[current.xi])
+						+ Math.abs(y[nyi] - y[current.yi]);
+				if (current.direction != NO_DIRECTION
+						&& current.direction != d) {
+					g += bendPenalty;
+				}
+				long nid = ((long) nxi * y.length + nyi) * 5 + d;
+				Double nBestCost = bestCosts.get(nid);
+				if (nBestCost == null || g < nBestCost) {
+					bestCosts.put(nid, g);
+					double h = Math.abs(end.x - x[nxi])
+							+ Math.abs(end.y - y[nyi]);
+					open.add(new SearchNode(nxi, nyi, d, g, g + h, current));
+				}
+			}
+		}
+		return null;
+	}
+
+	private List<Point> toBendPoints(SearchNode node, double[] x, double[] y) {
+		List<Point> bendPoints = new ArrayList<>();
+		SearchNode current = node;
+		while (current.parent != null) {
+			if (current.parent.parent != null
+					&& current.parent.direction != current.direction) {
+				bendPoints.add(new Point(x[current.parent.xi],
+						y[current.parent.yi]));
+			}
+			current = current.parent;
+		}
+		Collections.reverse(bendPoints);
+		return bendPoints;
+	}
+
+}
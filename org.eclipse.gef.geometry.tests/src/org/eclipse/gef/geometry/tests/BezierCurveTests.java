@@ -8,6 +8,7 @@
  *
  * Contributors:
  *     Matthias Wienand (itemis AG) - initial API and implementation
+ *     agent - test cached bounds and outlines
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.tests;
@@ -23,7 +24,9 @@ import java.util.Arrays;
 
 import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
 import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.internal.utils.CacheStatistics;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.BezierCurve;
 import org.eclipse.gef.geometry.planar.CubicCurve;
 import org.eclipse.gef.geometry.planar.Ellipse;
@@ -31,6 +34,7 @@ import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Line;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.PolyBezier;
+import org.eclipse.gef.geometry.planar.Polyline;
 import org.eclipse.gef.geometry.planar.QuadraticCurve;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.junit.Test;
@@ -207,6 +211,29 @@ public class BezierCurveTests {
 		assertEquals(c2pathBounds.getWidth(), c2bounds.getWidth(), 0.1);
 	}
 
+	@Test
+	public void test_getBounds_cached() {
+		BezierCurve c = new BezierCurve(1, 1, 1, 10, 10, 1, 10, 10);
+		CacheStatistics.reset();
+		Rectangle bounds = c.getBounds();
+		assertEquals(new Rectangle(1, 1, 9, 9), bounds);
+		assertEquals(0, CacheStatistics.getHitCount());
+
+		// cached bounds may not be modified via the returned copy
+		bounds.translate(5, 5);
+		assertEquals(new Rectangle(1, 1, 9, 9), c.getBounds());
+		assertEquals(1, CacheStatistics.getHitCount());
+
+		// modifications reset the cache
+		c.translate(5, 5);
+		assertEquals(new Rectangle(6, 6, 9, 9), c.getBounds());
+		c.setP2(new Point(20, 20));
+		assertEquals(new Rectangle(6, 6, 14, 14), c.getBounds());
+		c.scale(2, new Point(6, 6));
+		assertEquals(new Rectangle(6, 6, 28, 28), c.getBounds());
+		assertEquals(1, CacheStatistics.getHitCount());
+	}
+
 	@Test
 	public void test_getClipped() {
 		BezierCurve c0 = new BezierCurve(1, 1, 1, 10, 10, 1, 10, 10);
@@ -254,6 +281,34 @@ public class BezierCurveTests {
 		// TODO: check the derivative for some points on the curve
 	}
 
+	@Test
+	public void test_getFlattenedCoordinates() {
+		BezierCurve c0 = new BezierCurve(1, 1, 1, 100, 100, 1, 100, 100);
+		double tolerance = 0.5;
+		double[] coordinates = c0.getFlattenedCoordinates(tolerance);
+		int n = coordinates.length / 2;
+		assertEquals(c0.getP1(), new Point(coordinates[0], coordinates[1]));
+		assertEquals(c0.getP2(), new Point(coordinates[2 * n - 2],
+				coordinates[2 * n - 1]));
+
+		// every curve point is within tolerance of the flattening
+		Point[] points = new Point[n];
+		for (int i = 0; i < n; i++) {
+			points[i] = new Point(coordinates[2 * i], coordinates[2 * i + 1]);
+		}
+		Polyline flattening = new Polyline(points);
+		for (int i = 0; i <= 100; i++) {
+			Point p = c0.get(i / 100d);
+			assertTrue(flattening.getProjection(p).getDistance(p) <= tolerance);
+		}
+
+		// a zoomed-out curve needs fewer segments
+		double[] zoomedOut = c0.getFlattenedCoordinates(tolerance,
+				new AffineTransform().scale(0.1, 0.1));
+		assertTrue(zoomedOut.length < coordinates.length);
+		assertTrue(zoomedOut.length > 4);
+	}
+
 	@Test
 	public void test_getIntersections_Rectangle() {
 		Rectangle r = new Rectangle(new Point(100, 150), new Point(550, 300));
@@ -679,6 +734,23 @@ public class BezierCurveTests {
 				.getDistance(test));
 	}
 
+	@Test
+	public void test_projections() {
+		BezierCurve c0 = new BezierCurve(10, 10, 20, 15, 30, 10);
+		Point[] references = new Point[] { new Point(0, 0), new Point(40, 0),
+				new Point(20, -20), new Point(20, 20) };
+		Point[] projections = c0.getProjections(references);
+		assertEquals(references.length, projections.length);
+		for (int i = 0; i < references.length; i++) {
+			assertEquals(c0.getProjection(references[i]), projections[i]);
+		}
+		assertEquals(new Point(20, 12.5), projections[3]);
+
+		// cached LUT is reset on modification
+		c0.setP2(new Point(30, 20));
+		assertEquals(c0.getP2(), c0.getProjection(new Point(40, 30)));
+	}
+
 	@Test
 	public void test_split() {
 		BezierCurve c0 = new BezierCurve(1, 1, 1, 10, 10, 1, 10, 10);
@@ -738,6 +810,26 @@ public class BezierCurveTests {
 		// TODO: check complicated curves, too
 	}
 
+	@Test
+	public void test_toLineStrip_cached() {
+		BezierCurve c = new BezierCurve(1, 1, 1, 10, 10, 1, 10, 10);
+		CacheStatistics.reset();
+		Line[] lines = c.toLineStrip(0.25);
+		assertTrue(Arrays.equals(lines, c.toLineStrip(0.25)));
+		assertEquals(1, CacheStatistics.getHitCount());
+		assertFalse(Arrays.equals(lines, c.toLineStrip(1)));
+		assertEquals(1, CacheStatistics.getHitCount());
+
+		// modifications reset the cache
+		c.translate(1, 0);
+		Line[] translated = c.toLineStrip(0.25);
+		assertEquals(lines.length, translated.length);
+		for (int i = 0; i < lines.length; i++) {
+			assertEquals(lines[i].getTranslated(1, 0), translated[i]);
+		}
+		assertEquals(1, CacheStatistics.getHitCount());
+	}
+
 	@Test
 	public void test_toQuadratic() {
 		BezierCurve c0 = new BezierCurve(1, 1);
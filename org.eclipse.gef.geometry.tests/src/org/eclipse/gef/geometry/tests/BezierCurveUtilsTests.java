@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.gef.geometry.planar.BezierCurve;
+import org.eclipse.gef.geometry.planar.BezierCurveUtils;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.junit.Test;
+
+public class BezierCurveUtilsTests {
+
+	private static final double[] CUBIC = { 0, 0, 0, 100, 100, 100, 100, 0 };
+
+	@Test
+	public void test_clip() {
+		double[] clipped = new double[CUBIC.length];
+		BezierCurveUtils.clip(CUBIC, 0.25, 0.75, clipped);
+		assertEquals(new BezierCurve(CUBIC).getClipped(0.25, 0.75),
+				new BezierCurve(clipped));
+
+		// in place
+		double[] inPlace = CUBIC.clone();
+		BezierCurveUtils.clip(inPlace, 0.25, 0.75, inPlace);
+		assertEquals(new BezierCurve(clipped), new BezierCurve(inPlace));
+
+		// end points of the clipped curve lie on the curve
+		double[] p = new double[2];
+		BezierCurveUtils.evaluate(CUBIC, 0.25, p);
+		assertEquals(new Point(p[0], p[1]), new Point(clipped[0], clipped[1]));
+		BezierCurveUtils.evaluate(CUBIC, 0.75, p);
+		assertEquals(new Point(p[0], p[1]), new Point(clipped[6], clipped[7]));
+	}
+
+	@Test
+	public void test_evaluate() {
+		double[] p = new double[2];
+		BezierCurveUtils.evaluate(CUBIC, 0, p);
+		assertEquals(new Point(0, 0), new Point(p[0], p[1]));
+		BezierCurveUtils.evaluate(CUBIC, 0.5, p);
+		assertEquals(new Point(50, 75), new Point(p[0], p[1]));
+		BezierCurveUtils.evaluate(CUBIC, 1, p);
+		assertEquals(new Point(100, 0), new Point(p[0], p[1]));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_evaluate_outOfRange() {
+		BezierCurveUtils.evaluate(CUBIC, 1.5, new double[2]);
+	}
+
+	@Test
+	public void test_flatten() {
+		// |P0 - 2P1 + P2| = |P1 - 2P2 + P3| = 100 * sqrt(2), so that
+		// N = ceil(sqrt(3 * 2 * 100 * sqrt(2) / (8 * tolerance)))
+		assertEquals(11, BezierCurveUtils.getFlatteningSegmentCount(CUBIC, 1));
+		assertEquals(21, BezierCurveUtils.getFlatteningSegmentCount(CUBIC, 0.25));
+		// lines are never subdivided
+		assertEquals(1, BezierCurveUtils.getFlatteningSegmentCount(new double[] { 0, 0, 100, 100 }, 0.01));
+
+		double[] result = new double[8];
+		BezierCurveUtils.flatten(CUBIC, 2, result, 1);
+		assertEquals(new Point(0, 0), new Point(result[1], result[2]));
+		assertEquals(new Point(50, 75), new Point(result[3], result[4]));
+		assertEquals(new Point(100, 0), new Point(result[5], result[6]));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_flatten_invalidTolerance() {
+		BezierCurveUtils.getFlatteningSegmentCount(CUBIC, 0);
+	}
+
+	@Test
+	public void test_getBounds() {
+		double[] bounds = new double[4];
+		BezierCurveUtils.getBounds(CUBIC, bounds);
+		assertEquals(new Rectangle(0, 0, 100, 75),
+				new Rectangle(new Point(bounds[0], bounds[1]), new Point(bounds[2], bounds[3])));
+
+		BezierCurveUtils.getControlBounds(CUBIC, bounds);
+		assertEquals(new Rectangle(0, 0, 100, 100),
+				new Rectangle(new Point(bounds[0], bounds[1]), new Point(bounds[2], bounds[3])));
+	}
+
+	@Test
+	public void test_getIntersections() {
+		double[] other = { 0, 50, 100, 50 };
+		double[] result = new double[8];
+		assertEquals(2, BezierCurveUtils.getIntersections(CUBIC, other, result));
+		// y(t) = 300t(1-t) = 50 and x(t) = 100t^2(3-2t)
+		double t1 = (1 - Math.sqrt(1d / 3)) / 2;
+		double t2 = (1 + Math.sqrt(1d / 3)) / 2;
+		assertEquals(new Point(100 * t1 * t1 * (3 - 2 * t1), 50), new Point(result[0], result[1]));
+		assertEquals(new Point(100 * t2 * t2 * (3 - 2 * t2), 50), new Point(result[2], result[3]));
+
+		// disjoint
+		assertEquals(0, BezierCurveUtils.getIntersections(CUBIC, new double[] { 0, 200, 100, 200 }, result));
+
+		// limited by the result array
+		assertEquals(1, BezierCurveUtils.getIntersections(CUBIC, other, new double[2]));
+	}
+
+	@Test
+	public void test_getProjection() {
+		double[] p = new double[2];
+		// apex (by symmetry)
+		assertEquals(0.5, BezierCurveUtils.getProjection(CUBIC, 50, 100, p), 1e-9);
+		assertEquals(new Point(50, 75), new Point(p[0], p[1]));
+		// on the curve
+		assertEquals(0.25, BezierCurveUtils.getProjection(CUBIC, 15.625, 56.25, p), 1e-9);
+		assertEquals(new Point(15.625, 56.25), new Point(p[0], p[1]));
+		// nearest end
+		assertEquals(1, BezierCurveUtils.getProjection(CUBIC, 150, -50, p), 1e-9);
+		assertEquals(new Point(100, 0), new Point(p[0], p[1]));
+
+		// batch, in place
+		double[] coordinates = { 50, 100, 150, -50 };
+		BezierCurveUtils.getProjections(CUBIC, coordinates, coordinates);
+		assertEquals(new Point(50, 75), new Point(coordinates[0], coordinates[1]));
+		assertEquals(new Point(100, 0), new Point(coordinates[2], coordinates[3]));
+	}
+
+	@Test
+	public void test_split() {
+		double[] left = new double[CUBIC.length];
+		double[] right = new double[CUBIC.length];
+		BezierCurveUtils.split(CUBIC, 0.5, left, right);
+		assertEquals(new BezierCurve(0, 0, 0, 50, 25, 75, 50, 75), new BezierCurve(left));
+		assertEquals(new BezierCurve(50, 75, 75, 75, 100, 50, 100, 0), new BezierCurve(right));
+	}
+
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.BezierCurve;
+import org.eclipse.gef.geometry.planar.CubicCurve;
+import org.eclipse.gef.geometry.planar.Ellipse;
+import org.eclipse.gef.geometry.planar.GeometryBatchUtils;
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Polygon;
+import org.eclipse.gef.geometry.planar.Polyline;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.geometry.planar.Region;
+import org.junit.Test;
+
+public class GeometryBatchUtilsTests {
+
+	private static final IGeometry[] GEOMETRIES = { new Line(0, 0, 10, 10),
+			new Polyline(20, 0, 30, 10, 40, 0),
+			new Polygon(0, 20, 10, 20, 5, 30), new Rectangle(50, 50, 10, 20),
+			new CubicCurve(0, 40, 0, 50, 10, 50, 10, 40),
+			new BezierCurve(60, 0, 70, 10, 80, 0, 90, 10, 100, 0),
+			new Ellipse(100, 100, 20, 10) };
+
+	@Test
+	public void test_contains() {
+		boolean[] result = new boolean[GEOMETRIES.length];
+		assertEquals(3, GeometryBatchUtils
+				.contains(new Rectangle(0, 0, 40, 40), GEOMETRIES, result));
+		assertArrayEquals(new boolean[] { true, true, true, false, false,
+				false, false }, result);
+
+		// consistent with individual tests
+		Polygon query = new Polygon(-5, -5, 120, -5, 120, 120);
+		GeometryBatchUtils.contains(query, GEOMETRIES, result);
+		for (int i = 0; i < GEOMETRIES.length; i++) {
+			assertEquals(query.contains(GEOMETRIES[i]), result[i]);
+		}
+
+		// bounds
+		double[] bounds = { 0, 0, 10, 10, -1, 0, 10, 10, 30, 30, 50, 50 };
+		result = new boolean[3];
+		assertEquals(1, GeometryBatchUtils
+				.contains(new Rectangle(0, 0, 40, 40), bounds, result));
+		assertArrayEquals(new boolean[] { true, false, false }, result);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_contains_curve() {
+		GeometryBatchUtils.contains(new Line(0, 0, 10, 10), GEOMETRIES,
+				new boolean[GEOMETRIES.length]);
+	}
+
+	@Test
+	public void test_getBounds() {
+		double[] bounds = new double[4 * GEOMETRIES.length];
+		GeometryBatchUtils.getBounds(GEOMETRIES, bounds);
+		for (int i = 0; i < GEOMETRIES.length; i++) {
+			Rectangle expected = GEOMETRIES[i].getBounds();
+			assertEquals(expected.getX(), bounds[4 * i], 0);
+			assertEquals(expected.getY(), bounds[4 * i + 1], 0);
+			assertEquals(expected.getRight().x, bounds[4 * i + 2], 0);
+			assertEquals(expected.getBottom().y, bounds[4 * i + 3], 0);
+		}
+
+		// empty geometry
+		double[] empty = new double[4];
+		GeometryBatchUtils.getBounds(new IGeometry[] { new Region() }, empty);
+		assertTrue(Double.isNaN(empty[0]));
+		boolean[] result = new boolean[1];
+		assertEquals(0, GeometryBatchUtils
+				.touches(new Rectangle(-10, -10, 20, 20), empty, result));
+
+		// point sequences
+		double[] coordinates = { 0, 0, 10, 5, 5, 10, 20, 20, 15, 30, 25, 25 };
+		GeometryBatchUtils.getBounds(coordinates, 3, bounds);
+		assertArrayEquals(new double[] { 0, 0, 10, 10, 15, 20, 25, 30 },
+				new double[] { bounds[0], bounds[1], bounds[2], bounds[3],
+						bounds[4], bounds[5], bounds[6], bounds[7] },
+				0);
+	}
+
+	@Test
+	public void test_getTransformed() {
+		AffineTransform t = new AffineTransform().translate(5, -5).rotate(1)
+				.scale(2, 0.5);
+		IGeometry[] transformed = GeometryBatchUtils.getTransformed(t,
+				GEOMETRIES);
+		assertEquals(GEOMETRIES.length, transformed.length);
+		for (int i = 0; i < GEOMETRIES.length; i++) {
+			IGeometry expected = GEOMETRIES[i].getTransformed(t);
+			assertEquals(expected.getClass(), transformed[i].getClass());
+			assertEquals(expected.getBounds(), transformed[i].getBounds());
+			if (!(GEOMETRIES[i] instanceof Ellipse)) {
+				// CurvedPolygon does not implement equals()
+				assertEquals(expected, transformed[i]);
+			}
+		}
+	}
+
+	@Test
+	public void test_touches() {
+		boolean[] result = new boolean[GEOMETRIES.length];
+		Line query = new Line(0, 10, 100, 10);
+		assertEquals(2,
+				GeometryBatchUtils.touches(query, GEOMETRIES, result));
+		for (int i = 0; i < GEOMETRIES.length; i++) {
+			assertEquals(query.touches(GEOMETRIES[i]), result[i]);
+		}
+		assertFalse(result[2]);
+	}
+
+	@Test
+	public void test_transform() {
+		AffineTransform t = new AffineTransform().translate(5, -5).rotate(1)
+				.scale(2, 0.5);
+		double[] coordinates = { 0, 0, 10, 5, -3, 7 };
+		double[] result = new double[coordinates.length];
+		GeometryBatchUtils.transform(t, coordinates, result);
+		for (int i = 0; i < coordinates.length; i += 2) {
+			Point expected = t
+					.getTransformed(new Point(coordinates[i], coordinates[i + 1]));
+			assertEquals(expected.x, result[i], 1e-12);
+			assertEquals(expected.y, result[i + 1], 1e-12);
+		}
+
+		// bounds of transformed corners
+		double[] bounds = { 0, 0, 10, 5 };
+		GeometryBatchUtils.transformBounds(t, bounds, bounds);
+		double[] corners = { 0, 0, 10, 0, 10, 5, 0, 5 };
+		GeometryBatchUtils.transform(t, corners, corners);
+		double[] expected = new double[4];
+		GeometryBatchUtils.getBounds(corners, 4, expected);
+		assertArrayEquals(expected, bounds, 1e-12);
+	}
+
+}
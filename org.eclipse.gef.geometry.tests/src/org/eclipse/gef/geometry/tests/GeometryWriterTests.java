@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.eclipse.gef.geometry.planar.BezierCurve;
+import org.eclipse.gef.geometry.planar.CubicCurve;
+import org.eclipse.gef.geometry.planar.Ellipse;
+import org.eclipse.gef.geometry.planar.GeometryReader;
+import org.eclipse.gef.geometry.planar.GeometryWriter;
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Path;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.PolyBezier;
+import org.eclipse.gef.geometry.planar.Polygon;
+import org.eclipse.gef.geometry.planar.Polyline;
+import org.eclipse.gef.geometry.planar.QuadraticCurve;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.geometry.planar.Region;
+import org.eclipse.gef.geometry.planar.Ring;
+import org.junit.Test;
+
+public class GeometryWriterTests {
+
+	private static final IGeometry[] GEOMETRIES = { new Line(0, 0, 10, 10),
+			new QuadraticCurve(0, 0, 5, 10, 10, 0),
+			new CubicCurve(0, 40, 0, 50, 10, 50, 10, 40),
+			new BezierCurve(60, 0, 70, 10, 80, 0, 90, 10, 100, 0),
+			new Polyline(20, 0, 30.5, 10, 40, -0.25),
+			new Polygon(Math.PI, Math.E, 10, 20, 5, 30),
+			new Rectangle(50, 50, 10.125, 20),
+			new PolyBezier(new Line(0, 0, 10, 0),
+					new CubicCurve(10, 0, 20, 10, 30, -10, 40, 0),
+					new BezierCurve(40, 0, 50, 5, 60, 5, 70, 5, 80, 0)),
+			new Path(Path.WIND_EVEN_ODD).moveTo(10, 10).lineTo(80, 10)
+					.quadTo(50, 50, 80, 80).cubicTo(50, 100, 30, 60, 10, 80)
+					.close(),
+			new Ring(new Polygon(0, 0, 10, 0, 5, 5),
+					new Polygon(5, 0, 15, 0, 10, 5)),
+			new Region(new Rectangle(0, 0, 10, 10),
+					new Rectangle(5, 5, 10, 10), new Rectangle(30, 0, 5, 5)),
+			new Region() };
+
+	private static Object[] concat(Object... points) {
+		Object[] geometries = Arrays.copyOf(points,
+				points.length + GEOMETRIES.length);
+		System.arraycopy(GEOMETRIES, 0, geometries, points.length,
+				GEOMETRIES.length);
+		return geometries;
+	}
+
+	private static byte[] write(Object... geometries) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GeometryWriter writer = new GeometryWriter(out);
+		for (Object g : geometries) {
+			if (g instanceof Point) {
+				writer.write((Point) g);
+			} else {
+				writer.write((IGeometry) g);
+			}
+		}
+		writer.close();
+		return out.toByteArray();
+	}
+
+	private void assertRead(GeometryReader reader) throws IOException {
+		assertEquals(new Point(1, 2), reader.read());
+		// computed coordinates are restored exactly
+		Point p = reader.read(Point.class);
+		assertEquals(Math.PI, p.x, 0);
+		assertEquals(0.1, p.y, 0);
+		for (IGeometry expected : GEOMETRIES) {
+			IGeometry actual = reader.read(IGeometry.class);
+			assertEquals(expected.getClass(), actual.getClass());
+			if (expected instanceof PolyBezier) {
+				// PolyBezier does not implement equals()
+				assertEquals(expected.toString(), actual.toString());
+			} else if (expected instanceof Region) {
+				assertArrayEquals(((Region) expected).getShapes(),
+						((Region) actual).getShapes());
+			} else if (expected instanceof Ring) {
+				assertArrayEquals(((Ring) expected).getShapes(),
+						((Ring) actual).getShapes());
+			} else {
+				assertEquals(expected, actual);
+			}
+		}
+		assertNull(reader.read());
+		assertNull(reader.read());
+	}
+
+	@Test
+	public void test_compact() throws IOException {
+		Point[] points = new Point[1000];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = new Point(i, 1000 - i);
+		}
+		assertTrue(write((Object[]) points).length < 8 * points.length);
+		// coordinates with few decimal places are stored as integers
+		Polyline polyline = new Polyline(points).getTranslated(0.5, 0.25);
+		assertTrue(write(polyline).length < 4 * 2 * points.length);
+	}
+
+	@Test
+	public void test_large() throws IOException {
+		Point[] points = new Point[1000];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = new Point(Math.cos(i), Math.sin(i));
+		}
+		Polygon polygon = new Polygon(points);
+		byte[] bytes = write(polygon, polygon);
+		GeometryReader reader = new GeometryReader(
+				new ByteArrayInputStream(bytes));
+		assertEquals(polygon, reader.read());
+		assertEquals(polygon, reader.read());
+		assertNull(reader.read());
+	}
+
+	@Test(expected = IOException.class)
+	public void test_missingHeader() throws IOException {
+		new GeometryReader(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6 }))
+				.read();
+	}
+
+	@Test
+	public void test_read_ByteBuffer() throws IOException {
+		byte[] bytes = write(concat(new Point(1, 2), new Point(Math.PI, 0.1)));
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).flip();
+		assertRead(new GeometryReader(buffer));
+		// the position of the buffer is not changed
+		assertEquals(0, buffer.position());
+	}
+
+	@Test
+	public void test_read_InputStream() throws IOException {
+		byte[] bytes = write(concat(new Point(1, 2), new Point(Math.PI, 0.1)));
+		assertRead(new GeometryReader(new ByteArrayInputStream(bytes)));
+	}
+
+	@Test
+	public void test_skip() throws IOException {
+		GeometryReader reader = new GeometryReader(
+				ByteBuffer.wrap(write((Object[]) GEOMETRIES)));
+		for (int i = 0; i < GEOMETRIES.length - 2; i++) {
+			assertTrue(reader.skip());
+		}
+		assertEquals(GEOMETRIES[GEOMETRIES.length - 2], reader.read());
+		assertTrue(reader.skip());
+		assertFalse(reader.skip());
+	}
+
+	@Test
+	public void test_read_type() throws IOException {
+		GeometryReader reader = new GeometryReader(
+				ByteBuffer.wrap(write(new Point(1, 2), GEOMETRIES[0],
+						GEOMETRIES[0])));
+		assertEquals(new Point(1, 2), reader.read(Point.class));
+		assertEquals(GEOMETRIES[0], reader.read(Line.class));
+		try {
+			reader.read(Point.class);
+			fail("Expected an IOException for a record of another type");
+		} catch (IOException e) {
+			// expected
+		}
+		assertNull(reader.read(Point.class));
+	}
+
+	@Test(expected = EOFException.class)
+	public void test_truncated() throws IOException {
+		byte[] bytes = write((Object[]) GEOMETRIES);
+		GeometryReader reader = new GeometryReader(
+				new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+		while (reader.read() != null) {
+			// read until the truncated record is reached
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_unsupported() throws IOException {
+		write(new Ellipse(0, 0, 10, 10));
+	}
+
+}
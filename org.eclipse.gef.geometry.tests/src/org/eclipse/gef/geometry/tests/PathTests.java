@@ -8,6 +8,8 @@
  *
  * Contributors:
  *     Matthias Wienand (itemis AG) - initial API and implementation
+ *     agent - test cached bounds and outlines
+ *           - test boolean operations
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.tests;
@@ -16,16 +18,43 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.geom.Area;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
+import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.internal.utils.CacheStatistics;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.Ellipse;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Polygon;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.junit.Test;
 
 public class PathTests {
 
+	private void assertSameArea(Area expected, Path actual, Random random) {
+		for (int i = 0; i < 200; i++) {
+			Point p = new Point(random.nextDouble() * 100,
+					random.nextDouble() * 100);
+			assertEquals(p.toString(), expected.contains(p.x, p.y),
+					actual.contains(p));
+		}
+	}
+
+	private Polygon randomPolygon(Random random) {
+		Point[] points = new Point[3 + random.nextInt(8)];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = new Point(random.nextDouble() * 100,
+					random.nextDouble() * 100);
+		}
+		return new Polygon(points);
+	}
+
 	@Test
 	public void test_CAG_add() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
@@ -35,6 +64,18 @@ public class PathTests {
 		assertTrue(unionPath.contains(r1.getCenter()));
 	}
 
+	@Test
+	public void test_CAG_curved() {
+		Path ellipse = new Ellipse(0, 0, 100, 100).toPath();
+		Path rectangle = new Rectangle(50, 0, 100, 100).toPath();
+		Path intersection = Path.intersect(ellipse, rectangle);
+		assertTrue(intersection.contains(new Point(75, 50)));
+		assertTrue(intersection.contains(new Point(99.9, 50)));
+		assertFalse(intersection.contains(new Point(25, 50)));
+		assertFalse(intersection.contains(new Point(95, 5)));
+		assertEquals(new Rectangle(50, 0, 50, 100), intersection.getBounds());
+	}
+
 	@Test
 	public void test_CAG_exclusiveOr() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
@@ -45,6 +86,23 @@ public class PathTests {
 		assertTrue(xorPath.contains(new Point(125, 125)));
 	}
 
+	@Test
+	public void test_CAG_hole() {
+		Rectangle r0 = new Rectangle(0, 0, 100, 100);
+		Rectangle r1 = new Rectangle(25, 25, 50, 50);
+		Path differencePath = Path.subtract(r0.toPath(), r1.toPath());
+		assertTrue(differencePath.contains(new Point(10, 10)));
+		assertFalse(differencePath.contains(new Point(50, 50)));
+		// outer and inner ring, without collinear vertices
+		assertEquals(2 * 5, differencePath.getSegments().length);
+
+		// touching rectangles are joined
+		Path unionPath = Path.add(r0.toPath(),
+				new Rectangle(100, 0, 100, 100).toPath());
+		assertEquals(5, unionPath.getSegments().length);
+		assertEquals(new Rectangle(0, 0, 200, 100), unionPath.getBounds());
+	}
+
 	@Test
 	public void test_CAG_intersect() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
@@ -55,6 +113,36 @@ public class PathTests {
 		assertFalse(intersectionPath.contains(new Point(125, 125)));
 	}
 
+	@Test
+	public void test_CAG_matchesAWT() {
+		Random random = new Random(0);
+		for (int i = 0; i < 50; i++) {
+			// (self-intersecting) random polygons
+			Path pa = randomPolygon(random).toPath();
+			pa.setWindingRule(random.nextBoolean() ? Path.WIND_EVEN_ODD
+					: Path.WIND_NON_ZERO);
+			Path pb = randomPolygon(random).toPath();
+			pb.setWindingRule(random.nextBoolean() ? Path.WIND_EVEN_ODD
+					: Path.WIND_NON_ZERO);
+
+			Area union = new Area(Geometry2AWT.toAWTPath(pa));
+			union.add(new Area(Geometry2AWT.toAWTPath(pb)));
+			assertSameArea(union, Path.add(pa, pb), random);
+
+			Area intersection = new Area(Geometry2AWT.toAWTPath(pa));
+			intersection.intersect(new Area(Geometry2AWT.toAWTPath(pb)));
+			assertSameArea(intersection, Path.intersect(pa, pb), random);
+
+			Area difference = new Area(Geometry2AWT.toAWTPath(pa));
+			difference.subtract(new Area(Geometry2AWT.toAWTPath(pb)));
+			assertSameArea(difference, Path.subtract(pa, pb), random);
+
+			Area xor = new Area(Geometry2AWT.toAWTPath(pa));
+			xor.exclusiveOr(new Area(Geometry2AWT.toAWTPath(pb)));
+			assertSameArea(xor, Path.exclusiveOr(pa, pb), random);
+		}
+	}
+
 	@Test
 	public void test_CAG_subtract() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
@@ -100,6 +188,24 @@ public class PathTests {
 		assertEquals(outlineBounds, bounds);
 	}
 
+	@Test
+	public void test_getBounds_cached() {
+		Path path = new Path().moveTo(10, 10).lineTo(80, 10).lineTo(80, 80);
+		CacheStatistics.reset();
+		assertEquals(new Rectangle(10, 10, 70, 70), path.getBounds());
+		assertEquals(new Rectangle(10, 10, 70, 70), path.getBounds());
+		assertEquals(2, path.getOutlines().size());
+		assertEquals(2, CacheStatistics.getHitCount());
+
+		// modifications reset the cache
+		path.lineTo(0, 90).close();
+		assertEquals(new Rectangle(0, 10, 80, 80), path.getBounds());
+		assertEquals(4, path.getOutlines().size());
+		path.reset();
+		assertEquals(new Rectangle(), path.getBounds());
+		assertTrue(path.getOutlines().isEmpty());
+	}
+
 	@Test
 	public void test_getBounds_linear() {
 		// create path using all segment types
@@ -160,4 +266,44 @@ public class PathTests {
 		assertEquals(outlineBounds, bounds);
 	}
 
+	@Test
+	public void test_getFlattened() {
+		Path path = new Path(Path.WIND_NON_ZERO,
+				new Path.Segment(Path.Segment.MOVE_TO, new Point(10, 10)),
+				new Path.Segment(Path.Segment.LINE_TO, new Point(80, 10)),
+				new Path.Segment(Path.Segment.QUAD_TO, new Point(50, 50),
+						new Point(80, 80)),
+				new Path.Segment(Path.Segment.CUBIC_TO, new Point(50, 100),
+						new Point(30, 60), new Point(10, 80)),
+				new Path.Segment(Path.Segment.CLOSE));
+		Path flattened = path.getFlattened(0.1);
+		assertEquals(Path.WIND_NON_ZERO, flattened.getWindingRule());
+		Path.Segment[] segments = flattened.getSegments();
+		assertEquals(Path.Segment.MOVE_TO, segments[0].getType());
+		assertEquals(Path.Segment.CLOSE,
+				segments[segments.length - 1].getType());
+		for (int i = 1; i < segments.length - 1; i++) {
+			assertEquals(Path.Segment.LINE_TO, segments[i].getType());
+		}
+		// the end points of the curves are retained
+		List<Point> points = new ArrayList<>();
+		for (Path.Segment s : segments) {
+			points.addAll(Arrays.asList(s.getPoints()));
+		}
+		assertTrue(points.contains(new Point(80, 80)));
+		assertTrue(points.contains(new Point(10, 80)));
+		assertTrue(path.getBounds().getExpanded(0.1, 0.1)
+				.contains(flattened.getBounds()));
+		assertTrue(flattened.getBounds().getExpanded(0.1, 0.1)
+				.contains(path.getBounds()));
+
+		// zooming out reduces the number of segments
+		assertTrue(path.getFlattened(0.1, new AffineTransform().scale(0.1, 0.1))
+				.getSegments().length < segments.length);
+
+		// line segments are preserved
+		Path polygon = new Polygon(0, 0, 10, 0, 5, 5).toPath();
+		assertEquals(polygon, polygon.getFlattened(0.1));
+	}
+
 }
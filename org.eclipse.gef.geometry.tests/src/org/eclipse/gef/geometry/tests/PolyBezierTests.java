@@ -21,6 +21,21 @@ import org.junit.Test;
 
 public class PolyBezierTests {
 
+	@Test
+	public void test_getFlattenedCoordinates() {
+		BezierCurve c0 = new BezierCurve(0, 0, 50, 100, 100, 0);
+		BezierCurve c1 = new BezierCurve(100, 0, 150, -100, 200, 0);
+		PolyBezier polyBezier = new PolyBezier(c0, c1);
+		double[] coordinates = polyBezier.getFlattenedCoordinates(0.5);
+		// the joint point is shared
+		assertEquals(c0.getFlattenedCoordinates(0.5).length
+				+ c1.getFlattenedCoordinates(0.5).length - 2,
+				coordinates.length);
+		assertEquals(new Point(200, 0),
+				new Point(coordinates[coordinates.length - 2],
+						coordinates[coordinates.length - 1]));
+	}
+
 	@Test
 	public void test_same_points() {
 		PolyBezier polyBezier = PolyBezier.interpolateCubic(new Point(),
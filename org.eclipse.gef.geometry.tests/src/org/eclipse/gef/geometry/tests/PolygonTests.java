@@ -10,6 +10,7 @@
  *    Alexander Shatalin (Borland) - initial API and implementation
  *    Alexander Nyssen (itemis AG) - contribution for Bugzilla #162082
  *    Matthias Wienand (itemis AG) - contribution for Bugzilla #355997
+ *    agent - test the triangulation of large and non-simple polygons
  *    
  *******************************************************************************/
 package org.eclipse.gef.geometry.tests;
@@ -17,6 +18,7 @@ package org.eclipse.gef.geometry.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
@@ -60,6 +62,29 @@ public class PolygonTests {
 	private static final double UNRECOGNIZABLE_FRACTION = PRECISION_FRACTION
 			- PRECISION_FRACTION / 10;
 
+	private static void assertNotSimple(Polygon p) {
+		try {
+			p.getTriangulation();
+			fail("Expected an IllegalStateException for the non-simple polygon "
+					+ p);
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	private static void assertTriangulation(Polygon p) {
+		Polygon[] triangles = p.getTriangulation();
+		double area = 0;
+		for (Polygon t : triangles) {
+			Point[] v = t.getPoints();
+			assertEquals(3, v.length);
+			assertTrue(p.contains(new Point((v[0].x + v[1].x + v[2].x) / 3,
+					(v[0].y + v[1].y + v[2].y) / 3)));
+			area += t.getArea();
+		}
+		assertTrue(PrecisionUtils.equal(p.getArea(), area));
+	}
+
 	@Test
 	public void test_constructors() {
 		assertEquals(RHOMB, new Polygon(new Point(2, 0), new Point(4, 2),
@@ -519,29 +544,96 @@ public class PolygonTests {
 		Polygon p = new Polygon(150.0, 50.0, 50.0, 100.0, 23.0, 165.0, 50.0,
 				250.0, 135.0, 294.0, 250.0, 300.0, 137.0, 260.0, 63.0, 168.0,
 				113.0, 105.0, 136.0, 206.0, 150.0, 50.0);
-
-		// test that it does not throw a NullPointerException
-		p.getTriangulation();
-		assertTrue(true);
-		// TODO: test that the triangulation is correct
+		assertTriangulation(p);
 
 		p = new Polygon(150.0, 50.0, 50.0, 100.0, 32.0, 168.0, 50.0, 250.0,
 				136.0, 298.0, 250.0, 300.0, 122.0, 252.0, 67.0, 180.0, 114.0,
 				95.0, 136.0, 194.0, 150.0, 50.0);
-		p.getTriangulation();
-		assertTrue(true);
+		assertTriangulation(p);
 
 		// test special cases
 
 		// point inside and very near to edge, but not on edge, intersection can
 		// be found
 		p = new Polygon(150.0, 200.0, 300.0, 150.0, 226.0, 29.0, 232.0, 114.0);
-		p.getTriangulation();
-		assertTrue(true);
+		assertTriangulation(p);
 
 		p = new Polygon(150.0, 200.0, 300.0, 150.0, 241.0, 17.0, 233.0, 88.0);
-		p.getTriangulation();
-		assertTrue(true);
+		assertTriangulation(p);
+
+		assertTriangulation(CONCAVE_OCTAGON);
+		assertTriangulation(CONCAVE_PENTAGON);
+		assertTriangulation(RECTANGLE);
+		assertTriangulation(RHOMB);
+		assertEquals(2, RECTANGLE.getTriangulation().length);
+	}
+
+	@Test
+	public void test_getTriangulation_degenerated() {
+		// collinear vertices
+		Polygon p = new Polygon(0, 0, 1, 0, 2, 0, 2, 1, 2, 2, 1, 2, 0, 2, 0,
+				1);
+		assertTriangulation(p);
+
+		// (imprecisely) equal consecutive vertices
+		p = new Polygon(0, 0, UNRECOGNIZABLE_FRACTION, 0, 4, 0, 4, 4, 4, 4, 0,
+				4, 0, 0);
+		assertTriangulation(p);
+		assertEquals(2, p.getTriangulation().length);
+
+		// clockwise orientation
+		p = new Polygon(0, 0, 0, 4, 2, 2, 4, 4, 4, 0);
+		assertTriangulation(p);
+		for (Polygon t : p.getTriangulation()) {
+			assertTrue(t.getSignedArea() * p.getSignedArea() > 0);
+		}
+	}
+
+	@Test
+	public void test_getTriangulation_large() {
+		// a comb-like polygon with many split and merge vertices, which
+		// exceeded the stack depth of the recursive triangulation
+		int teeth = 2500;
+		Point[] points = new Point[4 * teeth + 2];
+		for (int i = 0; i < teeth; i++) {
+			points[4 * i] = new Point(4 * i, 0);
+			points[4 * i + 1] = new Point(4 * i + 1, 10 + i % 7);
+			points[4 * i + 2] = new Point(4 * i + 2, 1);
+			points[4 * i + 3] = new Point(4 * i + 3, 10 - i % 5);
+		}
+		points[4 * teeth] = new Point(4 * teeth, -5);
+		points[4 * teeth + 1] = new Point(0, -5);
+		Polygon p = new Polygon(points);
+		Polygon[] triangles = p.getTriangulation();
+		assertEquals(points.length - 2, triangles.length);
+		double area = 0;
+		for (Polygon t : triangles) {
+			area += t.getArea();
+		}
+		assertTrue(PrecisionUtils.equal(p.getArea(), area));
+	}
+
+	@Test
+	public void test_getTriangulation_notSimple() {
+		// crossing edges
+		assertNotSimple(new Polygon(0, 0, 4, 4, 4, 0, 0, 4));
+
+		// a vertex that touches a non-adjacent edge
+		assertNotSimple(new Polygon(0, 0, 4, 0, 4, 4, 2, 0, 0, 4));
+
+		// a single tooth of a large comb crosses its base
+		int teeth = 2500;
+		Point[] points = new Point[4 * teeth + 2];
+		for (int i = 0; i < teeth; i++) {
+			points[4 * i] = new Point(4 * i, 0);
+			points[4 * i + 1] = new Point(4 * i + 1, 10);
+			points[4 * i + 2] = new Point(4 * i + 2, 1);
+			points[4 * i + 3] = new Point(4 * i + 3, 10);
+		}
+		points[4 * teeth] = new Point(4 * teeth, -5);
+		points[4 * teeth + 1] = new Point(0, -5);
+		points[2 * teeth + 2] = new Point(2 * teeth + 2, -10);
+		assertNotSimple(new Polygon(points));
 	}
 
 	@Test
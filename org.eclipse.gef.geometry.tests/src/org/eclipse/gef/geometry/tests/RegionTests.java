@@ -17,6 +17,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+import org.eclipse.gef.geometry.planar.Line;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Path.Segment;
 import org.eclipse.gef.geometry.planar.Point;
@@ -26,6 +27,20 @@ import org.junit.Test;
 
 public class RegionTests {
 
+	@Test
+	public void test_add_Region() {
+		Region region = new Region(new Rectangle(0, 0, 100, 100));
+		region.add(new Region(new Rectangle(100, 0, 100, 100),
+				new Rectangle(50, 50, 100, 100)));
+
+		assertTrue(region.contains(new Rectangle(0, 0, 200, 100)));
+		assertTrue(region.contains(new Rectangle(50, 50, 100, 100)));
+		assertFalse(region.contains(new Point(25, 125)));
+		assertFalse(region.contains(new Point(175, 125)));
+		// bands: [0;100] covering [0;200], [100;150] covering [50;150]
+		assertEquals(2, region.getShapes().length);
+	}
+
 	@Test
 	public void test_constructor() {
 		Region region = new Region();
@@ -38,6 +53,24 @@ public class RegionTests {
 		assertEquals(1, region.getShapes().length);
 	}
 
+	@Test
+	public void test_contains_Point() {
+		Region region = new Region(new Rectangle(0, 0, 50, 50),
+				new Rectangle(100, 0, 50, 50), new Rectangle(0, 50, 150, 50));
+
+		assertTrue(region.contains(new Point(25, 25)));
+		assertTrue(region.contains(new Point(125, 25)));
+		assertTrue(region.contains(new Point(75, 75)));
+		// border points
+		assertTrue(region.contains(new Point(50, 25)));
+		assertTrue(region.contains(new Point(75, 50)));
+		assertTrue(region.contains(new Point(150, 100)));
+
+		assertFalse(region.contains(new Point(75, 25)));
+		assertFalse(region.contains(new Point(-1, 50)));
+		assertFalse(region.contains(new Point(75, 101)));
+	}
+
 	@Test
 	public void test_copy_semantics() {
 		Rectangle r1 = new Rectangle(0, 0, 100, 100);
@@ -122,6 +155,65 @@ public class RegionTests {
 		assertFalse(r1.equals(r0));
 	}
 
+	@Test
+	public void test_getOutlineIntersections() {
+		Region region = new Region(new Rectangle(0, 0, 100, 100),
+				new Rectangle(200, 0, 100, 100));
+
+		Point[] intersections = region
+				.getOutlineIntersections(new Line(-50, 50, 350, 50));
+		assertEquals(4, intersections.length);
+
+		intersections = region
+				.getOutlineIntersections(new Line(50, 50, 150, 150));
+		assertEquals(1, intersections.length);
+		assertEquals(new Point(100, 100), intersections[0]);
+
+		assertEquals(0, region.getOutlineIntersections(
+				new Line(0, 150, 300, 150)).length);
+	}
+
+	@Test
+	public void test_intersect() {
+		Region region = new Region(new Rectangle(0, 0, 100, 100),
+				new Rectangle(200, 0, 100, 100));
+		region.intersect(new Rectangle(50, 50, 200, 100));
+
+		assertEquals(new Region(new Rectangle(50, 50, 50, 50),
+				new Rectangle(200, 50, 50, 50)), region);
+
+		region.intersect(new Region(new Rectangle(0, 0, 10, 10)));
+		assertEquals(0, region.getShapes().length);
+		assertEquals(null, region.getBounds());
+	}
+
+	@Test
+	public void test_scale() {
+		Region region = new Region(new Rectangle(0, 0, 100, 50),
+				new Rectangle(0, 50, 50, 50));
+
+		region.scale(-1, 2, 0, 0);
+		assertEquals(new Region(new Rectangle(-100, 0, 100, 100),
+				new Rectangle(-50, 100, 50, 100)), region);
+		assertEquals(new Rectangle(-100, 0, 100, 200), region.getBounds());
+	}
+
+	@Test
+	public void test_subtract() {
+		Region region = new Region(new Rectangle(0, 0, 300, 300));
+		region.subtract(new Rectangle(100, 100, 100, 100));
+
+		assertEquals(4, region.getShapes().length);
+		assertFalse(region.contains(new Point(150, 150)));
+		assertTrue(region.contains(new Point(150, 50)));
+		assertTrue(region.contains(new Point(50, 150)));
+		assertFalse(region.contains(new Rectangle(50, 50, 100, 100)));
+		assertTrue(region.contains(new Rectangle(0, 0, 300, 100)));
+
+		region.subtract(new Region(new Rectangle(0, 0, 300, 300)));
+		assertEquals(0, region.getShapes().length);
+	}
+
 	@Test
 	public void test_toPath() {
 		// empty Region
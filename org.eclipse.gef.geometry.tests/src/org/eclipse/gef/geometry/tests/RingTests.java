@@ -8,6 +8,7 @@
  *
  * Contributors:
  *     Matthias Wienand (itemis AG) - initial API and implementation
+ *     agent - test rings of large polygons
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.tests;
@@ -36,6 +37,28 @@ public class RingTests {
 
 	public static class ContainmentTests {
 
+		@Test
+		public void cover_large_polygon() {
+			// a comb-like polygon, whose triangles do not need to be split
+			// against each other
+			int teeth = 500;
+			Point[] points = new Point[2 * teeth + 2];
+			for (int i = 0; i < teeth; i++) {
+				points[2 * i] = new Point(i, 1 + i % 3);
+				points[2 * i + 1] = new Point(i + 0.5, 5);
+			}
+			points[2 * teeth] = new Point(teeth, -1);
+			points[2 * teeth + 1] = new Point(0, -1);
+			Polygon p = new Polygon(points);
+			Ring ring = new Ring(p);
+
+			double area = 0;
+			for (Polygon t : ring.getShapes()) {
+				area += t.getArea();
+			}
+			assertEquals(p.getArea(), area, 1e-9 * p.getArea());
+		}
+
 		@Test
 		public void cover_single_polygon() {
 			Polygon p1 = new Polygon(1, 2, 1, 3, 2, 4, 3, 4, 4, 3, 4, 2, 3, 1,
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.internal.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the hits and misses of the caches that geometries maintain for
+ * derived data (i.e. bounds, flattened line strips, and outlines), so that
+ * their effectiveness can be profiled.
+ *
+ * @author agent
+ *
+ */
+public class CacheStatistics {
+
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+
+	/**
+	 * Returns the number of cache hits recorded since the last
+	 * {@link #reset()}.
+	 *
+	 * @return The number of cache hits.
+	 */
+	public static long getHitCount() {
+		return HITS.sum();
+	}
+
+	/**
+	 * Returns the ratio of cache hits to cache accesses recorded since the
+	 * last {@link #reset()}.
+	 *
+	 * @return The cache hit rate within [0;1], or <code>0</code> if no
+	 *         accesses have been recorded.
+	 */
+	public static double getHitRate() {
+		long hits = HITS.sum();
+		long accesses = hits + MISSES.sum();
+		return accesses == 0 ? 0 : (double) hits / accesses;
+	}
+
+	/**
+	 * Returns the number of cache misses recorded since the last
+	 * {@link #reset()}.
+	 *
+	 * @return The number of cache misses.
+	 */
+	public static long getMissCount() {
+		return MISSES.sum();
+	}
+
+	/**
+	 * Records a cache hit.
+	 */
+	public static void hit() {
+		HITS.increment();
+	}
+
+	/**
+	 * Records a cache miss.
+	 */
+	public static void miss() {
+		MISSES.increment();
+	}
+
+	/**
+	 * Resets the recorded hits and misses.
+	 */
+	public static void reset() {
+		HITS.reset();
+		MISSES.reset();
+	}
+
+	private CacheStatistics() {
+		// this class should not be instantiated by clients
+	}
+
+}
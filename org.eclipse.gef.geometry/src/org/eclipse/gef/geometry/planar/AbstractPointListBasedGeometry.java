@@ -9,12 +9,14 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
  *     Matthias Wienand (itemis AG) - contribution for Bugzilla #355997
+ *     agent - cache bounds, line strips and outlines
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.euclidean.Vector;
+import org.eclipse.gef.geometry.internal.utils.CacheStatistics;
 import org.eclipse.gef.geometry.internal.utils.PointListUtils;
 
 /**
@@ -44,6 +46,9 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 	 */
 	Point[] points;
 
+	// lazily computed, reset by all methods that modify the points
+	private transient Rectangle bounds;
+
 	/**
 	 * Constructs a new {@link AbstractPointListBasedGeometry} from a
 	 * even-numbered sequence of coordinates.
@@ -75,7 +80,13 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 
 	@Override
 	public final Rectangle getBounds() {
-		return Point.getBounds(points);
+		if (bounds == null) {
+			CacheStatistics.miss();
+			bounds = Point.getBounds(points);
+		} else {
+			CacheStatistics.hit();
+		}
+		return bounds.getCopy();
 	}
 
 	/**
@@ -351,6 +362,7 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 			p.x = np.x;
 			p.y = np.y;
 		}
+		bounds = null;
 		return (T) this;
 	}
 
@@ -363,6 +375,7 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 	@SuppressWarnings("unchecked")
 	public T translate(double dx, double dy) {
 		Point.translate(points, dx, dy);
+		bounds = null;
 		return (T) this;
 	}
 
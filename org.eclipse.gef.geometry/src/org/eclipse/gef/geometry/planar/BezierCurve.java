@@ -9,6 +9,8 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
  *     Matthias Wienand (itemis AG) - contribution for Bugzilla #355997
+ *     agent - operate on flat coordinate arrays
+ *           - cache bounds, line strips and outlines
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
@@ -17,13 +19,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.euclidean.Vector;
+import org.eclipse.gef.geometry.internal.utils.CacheStatistics;
 import org.eclipse.gef.geometry.internal.utils.PointListUtils;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 import org.eclipse.gef.geometry.projective.Straight3D;
@@ -511,22 +516,6 @@ public class BezierCurve extends AbstractGeometry
 
 	}
 
-	/**
-	 * <p>
-	 * The {@link IPointCmp} interface specifies a method to determine which of
-	 * two given {@link Point}s "is better than" the other.
-	 * </p>
-	 * <p>
-	 * It is used to identify the bounding box of an arbitrary
-	 * {@link BezierCurve} by searching for the minimal and maximal x and y
-	 * coordinates while sub-dividing the {@link BezierCurve} until all of its
-	 * control {@link Point}s are not "better than" the one selected.
-	 * </p>
-	 */
-	private interface IPointCmp {
-		public boolean pIsBetterThanQ(Point p, Point q);
-	}
-
 	private static final long serialVersionUID = 1L;
 
 	private static final int CHUNK_SHIFT = -3;
@@ -539,52 +528,14 @@ public class BezierCurve extends AbstractGeometry
 
 	private static final boolean PARALLEL = false;
 
-	private static final double UNRECOGNIZABLE_PRECISION_FRACTION = PrecisionUtils
-			.calculateFraction(0) / 10;
-
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * minimal x coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp xminCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.smallerEqual(p.x, q.x);
-		}
-	};
-
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * maximal x coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp xmaxCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.greaterEqual(p.x, q.x);
-		}
-	};
-
 	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * minimal y coordinate in a list of {@link Point}s.
+	 * The maximum number of line strips (for distinct line similarities) that
+	 * are cached per {@link BezierCurve}.
 	 */
-	private static final IPointCmp yminCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.smallerEqual(p.y, q.y);
-		}
-	};
+	private static final int LINE_STRIP_CACHE_CAPACITY = 4;
 
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * maximal y coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp ymaxCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.greaterEqual(p.y, q.y);
-		}
-	};
+	private static final double UNRECOGNIZABLE_PRECISION_FRACTION = PrecisionUtils
+			.calculateFraction(0) / 10;
 
 	/**
 	 * <p>
@@ -677,38 +628,56 @@ public class BezierCurve extends AbstractGeometry
 	 */
 	private static boolean containmentParameter(BezierCurve c,
 			double[] interval, Point p) {
-		Stack<Interval> parts = new Stack<>();
-		parts.push(new Interval(interval));
-		while (!parts.empty()) {
-			Interval i = parts.pop();
-
-			if (i.converges(1)) {
-				interval[0] = i.a;
-				interval[1] = i.b;
+		double[] controlPoints = c.getCoordinates();
+		double[] clipped = new double[controlPoints.length];
+		double[] bounds = new double[4];
+
+		// stack of parameter intervals (pairs of lower and upper limit)
+		double[] parts = new double[64];
+		parts[0] = interval[0];
+		parts[1] = interval[1];
+		int size = 2;
+		while (size > 0) {
+			double a = parts[size - 2];
+			double b = parts[size - 1];
+			size -= 2;
+
+			if (PrecisionUtils.equal(a, b, 1)) {
+				interval[0] = a;
+				interval[1] = b;
 				break;
 			}
 
-			double iMid = i.getMid();
-			Interval left = new Interval(i.a, iMid);
-			Interval right = new Interval(iMid, i.b);
-
-			BezierCurve clipped = c.getClipped(left.a, left.b);
-			Rectangle bounds = clipped.getControlBounds();
-
-			if (bounds.contains(p)) {
-				parts.push(left);
+			if (size + 4 > parts.length) {
+				parts = Arrays.copyOf(parts, 2 * parts.length);
 			}
-
-			clipped = c.getClipped(right.a, right.b);
-			bounds = clipped.getControlBounds();
-
-			if (bounds.contains(p)) {
-				parts.push(right);
+			double mid = (a + b) / 2;
+			if (controlBoundsContain(controlPoints, a, mid, p, clipped,
+					bounds)) {
+				parts[size++] = a;
+				parts[size++] = mid;
+			}
+			if (controlBoundsContain(controlPoints, mid, b, p, clipped,
+					bounds)) {
+				parts[size++] = mid;
+				parts[size++] = b;
 			}
 		}
 		return PrecisionUtils.equal(interval[0], interval[1], 1);
 	}
 
+	// tests if the bounds of the control polygon of the given curve, clipped
+	// to [a;b], contain the given point
+	private static boolean controlBoundsContain(double[] controlPoints,
+			double a, double b, Point p, double[] clipped, double[] bounds) {
+		BezierCurveUtils.clip(controlPoints, a, b, clipped);
+		BezierCurveUtils.getControlBounds(clipped, bounds);
+		return PrecisionUtils.greaterEqual(p.x, bounds[0])
+				&& PrecisionUtils.greaterEqual(p.y, bounds[1])
+				&& PrecisionUtils.smallerEqual(p.x, bounds[2])
+				&& PrecisionUtils.smallerEqual(p.y, bounds[3]);
+	}
+
 	/**
 	 * Overwrites the attribute values of {@link IntervalPair} <i>dst</i> with
 	 * the respective attribute values of {@link IntervalPair} <i>src</i>.
@@ -1044,6 +1013,12 @@ public class BezierCurve extends AbstractGeometry
 	 */
 	private final Vector3D[] points;
 
+	// lazily computed, reset by all methods that modify the points (see
+	// setPoint())
+	private transient Rectangle bounds;
+	private transient Map<Double, Line[]> lineStrips;
+	private transient double[] projectionLUT;
+
 	/**
 	 * Constructs a new {@link BezierCurve} from the given {@link CubicCurve}.
 	 *
@@ -1333,68 +1308,6 @@ public class BezierCurve extends AbstractGeometry
 		}
 	}
 
-	/**
-	 * Searches for the specified extreme on this {@link BezierCurve}.
-	 *
-	 * @param cmp
-	 *            the {@link IPointCmp} that specifies the extreme to search for
-	 * @return the extreme {@link Point} that can be identified
-	 */
-	private Point findExtreme(IPointCmp cmp) {
-		return findExtreme(cmp, Interval.getFull());
-	}
-
-	/**
-	 * <p>
-	 * Searches for an extreme {@link Point} on this {@link BezierCurve}.
-	 * </p>
-	 *
-	 * @param cmp
-	 *            the {@link IPointCmp} that is used to find the extreme
-	 *            {@link Point}
-	 * @param iStart
-	 *            the start {@link Interval} on this {@link BezierCurve} in
-	 *            which the extreme {@link Point} is searched for
-	 * @return the extreme {@link Point} that could be found
-	 */
-	private Point findExtreme(IPointCmp cmp, Interval iStart) {
-		Stack<Interval> parts = new Stack<>();
-		parts.push(iStart);
-
-		Point xtreme = getHC(iStart.a).toPoint();
-
-		while (!parts.isEmpty()) {
-			Interval i = parts.pop();
-			BezierCurve clipped = getClipped(i.a, i.b);
-
-			Point sp = clipped.points[0].toPoint();
-			xtreme = cmp.pIsBetterThanQ(sp, xtreme) ? sp : xtreme;
-			Point ep = clipped.points[clipped.points.length - 1].toPoint();
-			xtreme = cmp.pIsBetterThanQ(ep, xtreme) ? ep : xtreme;
-
-			boolean everythingWorse = true;
-			for (int j = 1; j < clipped.points.length - 1; j++) {
-				if (!cmp.pIsBetterThanQ(xtreme, clipped.points[j].toPoint())) {
-					everythingWorse = false;
-					break;
-				}
-			}
-
-			if (everythingWorse) {
-				continue;
-			}
-
-			// split interval
-			if (!i.converges()) {
-				double im = i.getMid();
-				parts.push(new Interval(im, i.b));
-				parts.push(new Interval(i.a, im));
-			}
-		}
-
-		return xtreme;
-	}
-
 	/**
 	 * <p>
 	 * Find intersection {@link IntervalPair} chunks. The chunks are not very
@@ -1615,16 +1528,23 @@ public class BezierCurve extends AbstractGeometry
 	 *         parameter value
 	 */
 	public Point get(double t) {
-		return getHC(t).toPoint();
+		double[] p = new double[2];
+		BezierCurveUtils.evaluate(getCoordinates(), t, p);
+		return new Point(p[0], p[1]);
 	}
 
 	@Override
 	public Rectangle getBounds() {
-		double xmin = findExtreme(xminCmp).x;
-		double xmax = findExtreme(xmaxCmp).x;
-		double ymin = findExtreme(yminCmp).y;
-		double ymax = findExtreme(ymaxCmp).y;
-		return new Rectangle(new Point(xmin, ymin), new Point(xmax, ymax));
+		if (bounds == null) {
+			CacheStatistics.miss();
+			double[] extremes = new double[4];
+			BezierCurveUtils.getBounds(getCoordinates(), extremes);
+			bounds = new Rectangle(new Point(extremes[0], extremes[1]),
+					new Point(extremes[2], extremes[3]));
+		} else {
+			CacheStatistics.hit();
+		}
+		return bounds.getCopy();
 	}
 
 	/**
@@ -1644,9 +1564,9 @@ public class BezierCurve extends AbstractGeometry
 		if (s == 1) {
 			return new BezierCurve(points[points.length - 1]);
 		}
-		BezierCurve right = split(s)[1];
-		double rightT2 = (e - s) / (1 - s);
-		return right.split(rightT2)[0];
+		double[] clipped = getCoordinates();
+		BezierCurveUtils.clip(clipped, s, e, clipped);
+		return new BezierCurve(clipped);
 	}
 
 	/**
@@ -1657,26 +1577,27 @@ public class BezierCurve extends AbstractGeometry
 	 *         {@link Polygon} of this {@link BezierCurve}
 	 */
 	public Rectangle getControlBounds() {
-		Point[] realPoints = getPoints();
-
-		double xmin = realPoints[0].x, xmax = realPoints[0].x,
-				ymin = realPoints[0].y, ymax = realPoints[0].y;
-
-		for (int i = 1; i < realPoints.length; i++) {
-			if (realPoints[i].x < xmin) {
-				xmin = realPoints[i].x;
-			} else if (realPoints[i].x > xmax) {
-				xmax = realPoints[i].x;
-			}
+		double[] bounds = new double[4];
+		BezierCurveUtils.getControlBounds(getCoordinates(), bounds);
+		return new Rectangle(bounds[0], bounds[1], bounds[2] - bounds[0],
+				bounds[3] - bounds[1]);
+	}
 
-			if (realPoints[i].y < ymin) {
-				ymin = realPoints[i].y;
-			} else if (realPoints[i].y > ymax) {
-				ymax = realPoints[i].y;
-			}
+	/**
+	 * Returns the (cartesian) coordinates of the control points of this
+	 * {@link BezierCurve} in x, y order, as expected by the methods of
+	 * {@link BezierCurveUtils}.
+	 *
+	 * @return a new array containing the coordinates of the control points of
+	 *         this {@link BezierCurve}
+	 */
+	public double[] getCoordinates() {
+		double[] coordinates = new double[2 * points.length];
+		for (int i = 0; i < points.length; i++) {
+			coordinates[2 * i] = points[i].x / points[i].z;
+			coordinates[2 * i + 1] = points[i].y / points[i].z;
 		}
-
-		return new Rectangle(xmin, ymin, xmax - xmin, ymax - ymin);
+		return coordinates;
 	}
 
 	@Override
@@ -1722,6 +1643,49 @@ public class BezierCurve extends AbstractGeometry
 		return new BezierCurve(q);
 	}
 
+	/**
+	 * Flattens this {@link BezierCurve} into a sequence of points, so that
+	 * the distance between this {@link BezierCurve} and the connecting line
+	 * segments does not exceed the given tolerance. In contrast to
+	 * {@link #toLineStrip(double)}, the number of line segments is computed
+	 * up front (see
+	 * {@link BezierCurveUtils#getFlatteningSegmentCount(double[], double)}).
+	 *
+	 * @param tolerance
+	 *            the maximal distance between this {@link BezierCurve} and
+	 *            its flattening
+	 * @return the coordinates of the points, in x, y order, starting with the
+	 *         start point and ending with the end point of this
+	 *         {@link BezierCurve}
+	 */
+	public double[] getFlattenedCoordinates(double tolerance) {
+		return getFlattenedCoordinates(tolerance, null);
+	}
+
+	/**
+	 * Flattens this {@link BezierCurve} into a sequence of points (see
+	 * {@link #getFlattenedCoordinates(double)}), where the given tolerance
+	 * refers to the coordinate system this {@link BezierCurve} is transformed
+	 * to by the given {@link AffineTransform}. This way, the tolerance can be
+	 * specified in device pixels, so that a zoomed-out curve is flattened
+	 * into fewer line segments. The returned coordinates are not transformed.
+	 *
+	 * @param tolerance
+	 *            the maximal distance between the transformed
+	 *            {@link BezierCurve} and its transformed flattening
+	 * @param t
+	 *            the {@link AffineTransform} to the coordinate system the
+	 *            tolerance refers to, or <code>null</code> if it refers to the
+	 *            coordinate system of this {@link BezierCurve}
+	 * @return the coordinates of the points, in x, y order, starting with the
+	 *         start point and ending with the end point of this
+	 *         {@link BezierCurve}
+	 */
+	public double[] getFlattenedCoordinates(double tolerance,
+			AffineTransform t) {
+		return CurveUtils.flatten(new BezierCurve[] { this }, tolerance, t);
+	}
+
 	/**
 	 * Returns a {@link Vector3D} representing the {@link Point} at the given
 	 * parameter value.
@@ -1984,83 +1948,40 @@ public class BezierCurve extends AbstractGeometry
 		return realPoints;
 	}
 
-	/**
-	 * Returns a copy of the {@link Vector3D} representations of the control
-	 * points of this {@link BezierCurve}.
-	 *
-	 * @return a copy of the {@link Vector3D} representations of the control
-	 *         points of this {@link BezierCurve}
-	 */
-	private Vector3D[] getPointsCopy() {
-		Vector3D[] copy = new Vector3D[points.length];
-		for (int i = 0; i < points.length; i++) {
-			copy[i] = points[i].getCopy();
-		}
-		return copy;
-	}
-
 	@Override
 	public Point getProjection(final Point reference) {
-		// construct look up table (LUT)
-		int size = 100;
-		Point[] lut = constructLUT(0, 1, size);
-
-		// find nearest LUT entry
-		int nearestLut = 0;
-		double distance = reference.getDistance(lut[0]);
-		for (int i = 1; i < lut.length; i++) {
-			double dist = reference.getDistance(lut[i]);
-			if (dist < distance) {
-				distance = dist;
-				nearestLut = i;
-			}
-		}
-		Point nearest = lut[nearestLut];
-
-		// compute interval based on LUT
-		Interval interval = new Interval(
-				nearestLut / (double) (size - 1) - 1 / (double) (size - 1),
-				nearestLut / (double) (size - 1) + 1 / (double) (size - 1));
-		// ensure interval is valid
-		interval.a = Math.min(1, Math.max(0, interval.a));
-		interval.b = Math.min(1, Math.max(0, interval.b));
-
-		// refine interval
-		while (!interval.converges()) {
-			// compute start point and end point for the current interval
-			Point sp = get(interval.a);
-			Point ep = get(interval.b);
-
-			// compute distance to reference point
-			double sDist = reference.getDistance(sp);
-			double eDist = reference.getDistance(ep);
-
-			if (sDist >= distance && eDist >= distance) {
-				// start point and end point have greater distance
-				// => reduce interval on both sides
-				double range = interval.b - interval.a;
-				interval.b = interval.a + 0.75 * range;
-				interval.a = interval.a + 0.25 * range;
-			} else if (sDist < distance && sDist < eDist) {
-				// start has smaller distance
-				distance = sDist;
-				nearest = sp;
-				// reduce interval to its left side
-				interval.b = (interval.a + interval.b) / 2;
-			} else if (eDist < distance) {
-				// end has smaller distance
-				distance = eDist;
-				nearest = ep;
-				// reduce interval to its right side
-				interval.a = (interval.a + interval.b) / 2;
-			} else {
-				// impossible
-				throw new IllegalStateException(
-						"condition should not be reachable");
-			}
+		double[] projection = new double[2];
+		BezierCurveUtils.getProjection(getCoordinates(), getProjectionLUT(),
+				reference.x, reference.y, projection);
+		return new Point(projection[0], projection[1]);
+	}
+
+	private double[] getProjectionLUT() {
+		if (projectionLUT == null) {
+			CacheStatistics.miss();
+			projectionLUT = BezierCurveUtils
+					.getProjectionLUT(getCoordinates());
+		} else {
+			CacheStatistics.hit();
 		}
+		return projectionLUT;
+	}
 
-		return nearest;
+	/**
+	 * Computes the projections of the given reference {@link Point}s onto
+	 * this {@link BezierCurve} (see {@link #getProjection(Point)}). This is
+	 * more efficient than projecting the {@link Point}s one by one.
+	 *
+	 * @param references
+	 *            the reference {@link Point}s to project
+	 * @return the projections of the given reference {@link Point}s, in the
+	 *         order of the reference {@link Point}s
+	 */
+	public Point[] getProjections(Point... references) {
+		double[] coordinates = PointListUtils.toCoordinatesArray(references);
+		BezierCurveUtils.getProjections(getCoordinates(), getProjectionLUT(),
+				coordinates, coordinates);
+		return PointListUtils.toPointsArray(coordinates);
 	}
 
 	@Override
@@ -2217,6 +2138,12 @@ public class BezierCurve extends AbstractGeometry
 		return false;
 	}
 
+	private void resetCaches() {
+		bounds = null;
+		lineStrips = null;
+		projectionLUT = null;
+	}
+
 	/**
 	 * Directly rotates this {@link BezierCurve} counter-clockwise (CCW) around
 	 * its center {@link Point} by the given {@link Angle}. Direct adaptation
@@ -2272,6 +2199,7 @@ public class BezierCurve extends AbstractGeometry
 							.getRotatedCCW(angle).toPoint()
 							.getTranslated(center));
 		}
+		resetCaches();
 		return this;
 	}
 
@@ -2408,6 +2336,7 @@ public class BezierCurve extends AbstractGeometry
 					+ (points.length - 1) + ".");
 		}
 		points[i] = new Vector3D(p);
+		resetCaches();
 		return this;
 	}
 
@@ -2425,23 +2354,11 @@ public class BezierCurve extends AbstractGeometry
 	 *         <code>[0;t]</code>) and the right (<code>[t;1]</code>)
 	 */
 	public BezierCurve[] split(double t) {
-		Vector3D[] leftPoints = new Vector3D[points.length];
-		Vector3D[] rightPoints = new Vector3D[points.length];
-
-		Vector3D[] ratioPoints = getPointsCopy();
-
-		for (int i = 0; i < points.length; i++) {
-			leftPoints[i] = ratioPoints[0];
-			rightPoints[points.length - 1 - i] = ratioPoints[points.length - 1
-					- i];
-
-			for (int j = 0; j < points.length - i - 1; j++) {
-				ratioPoints[j] = ratioPoints[j].getRatio(ratioPoints[j + 1], t);
-			}
-		}
-
-		return new BezierCurve[] { new BezierCurve(leftPoints),
-				new BezierCurve(rightPoints) };
+		double[] left = getCoordinates();
+		double[] right = new double[left.length];
+		BezierCurveUtils.split(left, t, left, right);
+		return new BezierCurve[] { new BezierCurve(left),
+				new BezierCurve(right) };
 	}
 
 	@Override
@@ -2503,7 +2420,25 @@ public class BezierCurve extends AbstractGeometry
 	 * @see BezierCurve#toLineStrip(double, Interval)
 	 */
 	public Line[] toLineStrip(double lineSimilarity) {
-		return toLineStrip(lineSimilarity, Interval.getFull());
+		Line[] lineStrip = lineStrips == null ? null
+				: lineStrips.get(lineSimilarity);
+		if (lineStrip == null) {
+			CacheStatistics.miss();
+			lineStrip = toLineStrip(lineSimilarity, Interval.getFull());
+			if (lineStrips == null) {
+				lineStrips = new HashMap<>();
+			} else if (lineStrips.size() >= LINE_STRIP_CACHE_CAPACITY) {
+				lineStrips.clear();
+			}
+			lineStrips.put(lineSimilarity, lineStrip);
+		} else {
+			CacheStatistics.hit();
+		}
+		Line[] copy = new Line[lineStrip.length];
+		for (int i = 0; i < lineStrip.length; i++) {
+			copy[i] = lineStrip[i].getCopy();
+		}
+		return copy;
 	}
 
 	/**
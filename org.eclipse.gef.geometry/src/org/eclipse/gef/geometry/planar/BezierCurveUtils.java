@@ -0,0 +1,823 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.util.Arrays;
+
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+
+/**
+ * <p>
+ * The {@link BezierCurveUtils} class provides the core operations of
+ * {@link BezierCurve} (evaluation, subdivision, clipping, bounds computation,
+ * intersection, projection, and flattening) on flat coordinate arrays. The control points of a Bezier
+ * curve are expected in x, y order, i.e. x1, y1, x2, y2, x3, y3, ... (see
+ * {@link BezierCurve#BezierCurve(double...)}).
+ * </p>
+ * <p>
+ * All results are written into caller-provided arrays, so that no
+ * intermediate {@link Point} or {@link BezierCurve} objects have to be
+ * allocated. This is especially beneficial when lots of curves are processed,
+ * e.g. during routing.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class BezierCurveUtils {
+
+	// sub-curves are subdivided with a higher precision than the one used to
+	// compare points of intersection, so that points of intersection that
+	// are reported by neighboring sub-curves are regarded to be equal
+	private static final int INTERSECTION_SHIFT = 1;
+
+	// the (tiny) imprecision that is tolerated when testing the bounds of
+	// sub-curves for overlap, to compensate rounding errors; it also limits
+	// the subdivision of degenerated curves
+	private static final int ROUNDING_SHIFT = 6;
+
+	// the number of initial segments per degree of a curve that a projection
+	// LUT is composed of, before these are adaptively subdivided
+	private static final int PROJECTION_SEGMENTS = 4;
+
+	// a segment of a projection LUT is regarded to be flat if its control
+	// polygon is at most this much longer than its chord (i.e. if it turns by
+	// less than about 30 degrees)
+	private static final double PROJECTION_FLATNESS = 1.01;
+
+	// limits the subdivision of the initial segments of a projection LUT
+	private static final int PROJECTION_MAX_DEPTH = 6;
+
+	// limits the Newton iterations when refining a projection
+	private static final int PROJECTION_MAX_ITERATIONS = 32;
+
+	// the precision up to which projection parameters are refined
+	private static final int PROJECTION_SHIFT = 6;
+
+	/**
+	 * Clips the Bezier curve specified by the given control point coordinates
+	 * to the parameter interval <code>[s;e]</code>, writing the control point
+	 * coordinates of the clipped curve (which is of the same degree) into the
+	 * given result array.
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param s
+	 *            the lower limit of the parameter interval
+	 * @param e
+	 *            the upper limit of the parameter interval
+	 * @param result
+	 *            the array to store the control point coordinates of the
+	 *            clipped curve in, which has to provide at least
+	 *            <code>controlPoints.length</code> elements and may be the same
+	 *            as <i>controlPoints</i>
+	 */
+	public static void clip(double[] controlPoints, double s, double e,
+			double[] result) {
+		int n = controlPoints.length / 2;
+		if (result != controlPoints) {
+			System.arraycopy(controlPoints, 0, result, 0, 2 * n);
+		}
+		if (s == 1) {
+			// degenerated to the end point
+			for (int i = 0; i < n - 1; i++) {
+				result[2 * i] = controlPoints[2 * n - 2];
+				result[2 * i + 1] = controlPoints[2 * n - 1];
+			}
+			return;
+		}
+		// right part of the subdivision at s (in place)
+		for (int i = 1; i < n; i++) {
+			for (int j = 0; j < n - i; j++) {
+				result[2 * j] = ratio(result[2 * j], result[2 * j + 2], s);
+				result[2 * j + 1] = ratio(result[2 * j + 1], result[2 * j + 3],
+						s);
+			}
+		}
+		// left part of the subdivision at the corresponding parameter of the
+		// right part (in place)
+		double t = (e - s) / (1 - s);
+		for (int i = 1; i < n; i++) {
+			for (int j = n - 1; j >= i; j--) {
+				result[2 * j] = ratio(result[2 * j - 2], result[2 * j], t);
+				result[2 * j + 1] = ratio(result[2 * j - 1], result[2 * j + 1],
+						t);
+			}
+		}
+	}
+
+	/**
+	 * Evaluates the Bezier curve specified by the given control point
+	 * coordinates at the given parameter value, writing the x and y
+	 * coordinates of the resulting point into the first two elements of the
+	 * given result array.
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param t
+	 *            the parameter value, which has to lie in the parameter
+	 *            interval <code>[0;1]</code>
+	 * @param result
+	 *            the array to store the x and y coordinates of the point in
+	 */
+	public static void evaluate(double[] controlPoints, double t,
+			double[] result) {
+		if (t < 0 || t > 1) {
+			throw new IllegalArgumentException("t out of range: " + t);
+		}
+		if (controlPoints.length < 2) {
+			throw new IllegalArgumentException(
+					"At least one control point is required.");
+		}
+		evaluate(controlPoints, t, result, 0);
+	}
+
+	private static void evaluate(double[] controlPoints, double t,
+			double[] result, int offset) {
+		int n = controlPoints.length / 2;
+		// using horner's scheme (on homogeneous coordinates):
+		double bn = 1, tn = 1, d = 1d - t;
+		double x = controlPoints[0];
+		double y = controlPoints[1];
+		double z = 1;
+		for (int i = 1; i < n; i++) {
+			bn = bn * (n - i) / i;
+			tn = tn * t;
+			x = x * d + controlPoints[2 * i] * (bn * tn);
+			y = y * d + controlPoints[2 * i + 1] * (bn * tn);
+			z = z * d + bn * tn;
+		}
+		result[offset] = x / z;
+		result[offset + 1] = y / z;
+	}
+
+	private static double findExtreme(double[] controlPoints, int coordinate,
+			boolean max, double[] clipped) {
+		int n = controlPoints.length / 2;
+		double extreme = controlPoints[coordinate];
+
+		// stack of parameter intervals (pairs of lower and upper limit)
+		double[] intervals = new double[64];
+		intervals[0] = 0;
+		intervals[1] = 1;
+		int size = 2;
+		while (size > 0) {
+			double a = intervals[size - 2];
+			double b = intervals[size - 1];
+			size -= 2;
+			clip(controlPoints, a, b, clipped);
+
+			double sp = clipped[coordinate];
+			extreme = isBetter(sp, extreme, max) ? sp : extreme;
+			double ep = clipped[2 * n - 2 + coordinate];
+			extreme = isBetter(ep, extreme, max) ? ep : extreme;
+
+			boolean everythingWorse = true;
+			for (int j = 1; j < n - 1; j++) {
+				if (!isBetter(extreme, clipped[2 * j + coordinate], max)) {
+					everythingWorse = false;
+					break;
+				}
+			}
+
+			if (everythingWorse) {
+				continue;
+			}
+
+			// split interval
+			if (!PrecisionUtils.equal(a, b)) {
+				if (size + 4 > intervals.length) {
+					double[] grown = new double[2 * intervals.length];
+					System.arraycopy(intervals, 0, grown, 0, size);
+					intervals = grown;
+				}
+				double m = (a + b) / 2;
+				intervals[size++] = m;
+				intervals[size++] = b;
+				intervals[size++] = a;
+				intervals[size++] = m;
+			}
+		}
+		return extreme;
+	}
+
+	/**
+	 * Flattens the Bezier curve specified by the given control point
+	 * coordinates into the given number of line segments, i.e. evaluates it
+	 * at <code>segments + 1</code> uniformly distributed parameter values, and
+	 * writes the coordinates of the resulting points (in x, y order) into the
+	 * given result array, starting at the given offset. The first and last
+	 * point equal the start and end point of the curve. The number of
+	 * segments needed for a certain tolerance can be computed using
+	 * {@link #getFlatteningSegmentCount(double[], double)}.
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param segments
+	 *            the number of line segments, which has to be positive
+	 * @param result
+	 *            the array to store the coordinates of the points in, which
+	 *            has to provide at least <code>2 * segments + 2</code>
+	 *            elements, starting at <i>offset</i>
+	 * @param offset
+	 *            the index of the first element of <i>result</i> to write to
+	 */
+	public static void flatten(double[] controlPoints, int segments,
+			double[] result, int offset) {
+		if (segments < 1) {
+			throw new IllegalArgumentException(
+					"At least one segment is required: " + segments);
+		}
+		int n = controlPoints.length / 2;
+		result[offset] = controlPoints[0];
+		result[offset + 1] = controlPoints[1];
+		for (int i = 1; i < segments; i++) {
+			evaluate(controlPoints, i / (double) segments, result,
+					offset + 2 * i);
+		}
+		result[offset + 2 * segments] = controlPoints[2 * n - 2];
+		result[offset + 2 * segments + 1] = controlPoints[2 * n - 1];
+	}
+
+	/**
+	 * Computes the bounds of the Bezier curve specified by the given control
+	 * point coordinates, writing the minimal x, minimal y, maximal x, and
+	 * maximal y coordinates (in this order) into the first four elements of
+	 * the given result array.
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param result
+	 *            the array to store the bounds in
+	 */
+	public static void getBounds(double[] controlPoints, double[] result) {
+		double[] clipped = new double[controlPoints.length];
+		double xmin = findExtreme(controlPoints, 0, false, clipped);
+		double xmax = findExtreme(controlPoints, 0, true, clipped);
+		double ymin = findExtreme(controlPoints, 1, false, clipped);
+		double ymax = findExtreme(controlPoints, 1, true, clipped);
+		result[0] = xmin;
+		result[1] = ymin;
+		result[2] = xmax;
+		result[3] = ymax;
+	}
+
+	/**
+	 * Computes the bounds of the control polygon of the Bezier curve specified
+	 * by the given control point coordinates, writing the minimal x, minimal
+	 * y, maximal x, and maximal y coordinates (in this order) into the first
+	 * four elements of the given result array.
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param result
+	 *            the array to store the bounds in
+	 */
+	public static void getControlBounds(double[] controlPoints,
+			double[] result) {
+		getControlBounds(controlPoints, controlPoints.length / 2, result);
+	}
+
+	private static void getControlBounds(double[] controlPoints, int n,
+			double[] result) {
+		double xmin = controlPoints[0], xmax = controlPoints[0],
+				ymin = controlPoints[1], ymax = controlPoints[1];
+		for (int i = 1; i < n; i++) {
+			double x = controlPoints[2 * i];
+			double y = controlPoints[2 * i + 1];
+			if (x < xmin) {
+				xmin = x;
+			} else if (x > xmax) {
+				xmax = x;
+			}
+			if (y < ymin) {
+				ymin = y;
+			} else if (y > ymax) {
+				ymax = y;
+			}
+		}
+		result[0] = xmin;
+		result[1] = ymin;
+		result[2] = xmax;
+		result[3] = ymax;
+	}
+
+	private static double[] getDerivative(double[] controlPoints) {
+		int n = controlPoints.length / 2;
+		if (n < 2) {
+			return new double[0];
+		}
+		double[] derivative = new double[2 * n - 2];
+		for (int i = 0; i < 2 * n - 2; i++) {
+			derivative[i] = (n - 1)
+					* (controlPoints[i + 2] - controlPoints[i]);
+		}
+		return derivative;
+	}
+
+	/**
+	 * <p>
+	 * Computes the number of line segments that are needed to flatten the
+	 * Bezier curve specified by the given control point coordinates (see
+	 * {@link #flatten(double[], int, double[], int)}), so that the distance
+	 * between the curve and the line segments does not exceed the given
+	 * tolerance.
+	 * </p>
+	 * <p>
+	 * The number of segments is computed up front, using Wang's formula,
+	 * which bounds the deviation by the maximal second difference of the
+	 * control points. As Bezier curves are affine invariant, the tolerance
+	 * may refer to a transformed coordinate system (e.g. device pixels) by
+	 * passing transformed control point coordinates.
+	 * </p>
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param tolerance
+	 *            the maximal distance between the curve and its flattening,
+	 *            which has to be positive
+	 * @return the number of line segments, which is at least <code>1</code>
+	 */
+	public static int getFlatteningSegmentCount(double[] controlPoints,
+			double tolerance) {
+		if (!(tolerance > 0)) {
+			throw new IllegalArgumentException(
+					"The tolerance has to be positive: " + tolerance);
+		}
+		int degree = controlPoints.length / 2 - 1;
+		if (degree < 2) {
+			return 1;
+		}
+		double max = 0;
+		for (int i = 0; i < 2 * degree - 2; i += 2) {
+			double ddx = controlPoints[i] - 2 * controlPoints[i + 2]
+					+ controlPoints[i + 4];
+			double ddy = controlPoints[i + 1] - 2 * controlPoints[i + 3]
+					+ controlPoints[i + 5];
+			max = Math.max(max, Math.hypot(ddx, ddy));
+		}
+		return Math.max(1, (int) Math.ceil(
+				Math.sqrt(degree * (degree - 1) * max / (8 * tolerance))));
+	}
+
+	/**
+	 * <p>
+	 * Computes the points of intersection of the two Bezier curves specified
+	 * by the given control point coordinates, writing the x and y coordinates
+	 * of the points of intersection (in x, y order) into the given result
+	 * array. At most <code>result.length / 2</code> points of intersection are
+	 * computed.
+	 * </p>
+	 * <p>
+	 * The points of intersection are found by recursive subdivision of both
+	 * curves, until the bounds of the control polygons of the sub-curves
+	 * (which contain the sub-curves) are no longer recognizable. In contrast
+	 * to {@link BezierCurve#getIntersections(BezierCurve)}, overlaps are not
+	 * detected; for overlapping curves, points of the overlap are reported
+	 * until the result array is exhausted.
+	 * </p>
+	 *
+	 * @param controlPoints1
+	 *            the control point coordinates of the first Bezier curve, in
+	 *            x, y order
+	 * @param controlPoints2
+	 *            the control point coordinates of the second Bezier curve, in
+	 *            x, y order
+	 * @param result
+	 *            the array to store the coordinates of the points of
+	 *            intersection in
+	 * @return the number of points of intersection that were stored
+	 */
+	public static int getIntersections(double[] controlPoints1,
+			double[] controlPoints2, double[] result) {
+		int n1 = controlPoints1.length / 2;
+		int n2 = controlPoints2.length / 2;
+		double[] clipped1 = new double[2 * n1];
+		double[] clipped2 = new double[2 * n2];
+		double[] bounds1 = new double[4];
+		double[] bounds2 = new double[4];
+		int count = 0;
+
+		// stack of parameter interval pairs
+		double[] intervals = new double[256];
+		intervals[0] = 0;
+		intervals[1] = 1;
+		intervals[2] = 0;
+		intervals[3] = 1;
+		int size = 4;
+		while (size > 0 && 2 * count + 1 < result.length) {
+			double a1 = intervals[size - 4];
+			double b1 = intervals[size - 3];
+			double a2 = intervals[size - 2];
+			double b2 = intervals[size - 1];
+			size -= 4;
+
+			clip(controlPoints1, a1, b1, clipped1);
+			getControlBounds(clipped1, n1, bounds1);
+			clip(controlPoints2, a2, b2, clipped2);
+			getControlBounds(clipped2, n2, bounds2);
+			if (!PrecisionUtils.greaterEqual(bounds1[2], bounds2[0],
+					ROUNDING_SHIFT)
+					|| !PrecisionUtils.greaterEqual(bounds2[2], bounds1[0],
+					ROUNDING_SHIFT)
+					|| !PrecisionUtils.greaterEqual(bounds1[3], bounds2[1],
+					ROUNDING_SHIFT)
+					|| !PrecisionUtils.greaterEqual(bounds2[3], bounds1[1],
+					ROUNDING_SHIFT)) {
+				// disjoint
+				continue;
+			}
+
+			boolean converged1 = isUnrecognizable(bounds1)
+					|| PrecisionUtils.equal(a1, b1, ROUNDING_SHIFT);
+			boolean converged2 = isUnrecognizable(bounds2)
+					|| PrecisionUtils.equal(a2, b2, ROUNDING_SHIFT);
+			if (converged1 && converged2) {
+				// center of the overlap of both bounds
+				double x = (Math.max(bounds1[0], bounds2[0])
+						+ Math.min(bounds1[2], bounds2[2])) / 2;
+				double y = (Math.max(bounds1[1], bounds2[1])
+						+ Math.min(bounds1[3], bounds2[3])) / 2;
+				// neighboring sub-curves may report the same point
+				boolean known = false;
+				for (int i = 0; i < count && !known; i++) {
+					known = PrecisionUtils.equal(result[2 * i], x)
+							&& PrecisionUtils.equal(result[2 * i + 1], y);
+				}
+				if (!known) {
+					result[2 * count] = x;
+					result[2 * count + 1] = y;
+					count++;
+				}
+				continue;
+			}
+
+			// subdivide the unconverged curves
+			if (size + 16 > intervals.length) {
+				double[] grown = new double[2 * intervals.length];
+				System.arraycopy(intervals, 0, grown, 0, size);
+				intervals = grown;
+			}
+			double m1 = (a1 + b1) / 2;
+			double m2 = (a2 + b2) / 2;
+			if (converged1) {
+				size = push(intervals, size, a1, b1, m2, b2);
+				size = push(intervals, size, a1, b1, a2, m2);
+			} else if (converged2) {
+				size = push(intervals, size, m1, b1, a2, b2);
+				size = push(intervals, size, a1, m1, a2, b2);
+			} else {
+				size = push(intervals, size, m1, b1, m2, b2);
+				size = push(intervals, size, m1, b1, a2, m2);
+				size = push(intervals, size, a1, m1, m2, b2);
+				size = push(intervals, size, a1, m1, a2, m2);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Computes the projection of the given reference point onto the Bezier
+	 * curve specified by the given control point coordinates, i.e. the point
+	 * on the curve that is closest to the reference point. The x and y
+	 * coordinates of the projection are written into the first two elements
+	 * of the given result array, and its parameter value is returned.
+	 * </p>
+	 * <p>
+	 * The curve is sampled by a look up table (LUT), which is adaptively
+	 * refined where the curve bends. Starting at each sample that is locally
+	 * closest to the reference point, the distance is minimized by Newton
+	 * iteration. As the LUT is computed on each call, use
+	 * {@link #getProjections(double[], double[], double[])} to project
+	 * multiple points onto the same curve.
+	 * </p>
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param x
+	 *            the x coordinate of the reference point
+	 * @param y
+	 *            the y coordinate of the reference point
+	 * @param result
+	 *            the array to store the x and y coordinates of the projection
+	 *            in
+	 * @return the parameter value of the projection
+	 */
+	public static double getProjection(double[] controlPoints, double x,
+			double y, double[] result) {
+		return getProjection(controlPoints, getProjectionLUT(controlPoints),
+				x, y, result);
+	}
+
+	/**
+	 * Computes the projection of the given reference point onto the Bezier
+	 * curve specified by the given control point coordinates, based on the
+	 * given LUT (see {@link #getProjectionLUT(double[])}).
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param lut
+	 *            the projection LUT of the Bezier curve
+	 * @param x
+	 *            the x coordinate of the reference point
+	 * @param y
+	 *            the y coordinate of the reference point
+	 * @param result
+	 *            the array to store the x and y coordinates of the projection
+	 *            in
+	 * @return the parameter value of the projection
+	 */
+	static double getProjection(double[] controlPoints, double[] lut,
+			double x, double y, double[] result) {
+		if (controlPoints.length < 4) {
+			// degenerated to a single point
+			result[0] = controlPoints[0];
+			result[1] = controlPoints[1];
+			return 0;
+		}
+		double[] first = getDerivative(controlPoints);
+		double[] second = getDerivative(first);
+		double[] scratch = new double[6];
+
+		int size = lut.length / 3;
+		double bestT = 0;
+		double bestDistance = Double.POSITIVE_INFINITY;
+		double previous = Double.POSITIVE_INFINITY;
+		double current = squaredDistance(lut, 0, x, y);
+		for (int i = 0; i < size; i++) {
+			double next = i + 1 < size ? squaredDistance(lut, i + 1, x, y)
+					: Double.POSITIVE_INFINITY;
+			// refine each sample that is locally closest (of a sequence of
+			// equally close samples, only the first one is refined)
+			if (current < previous && current <= next) {
+				double lo = lut[3 * Math.max(0, i - 1)];
+				double hi = lut[3 * Math.min(size - 1, i + 1)];
+				double t = refineProjection(controlPoints, first, second, x,
+						y, lo, hi, lut[3 * i], scratch);
+				double dx = scratch[0] - x;
+				double dy = scratch[1] - y;
+				double distance = dx * dx + dy * dy;
+				if (distance > current) {
+					// fall back to the sample (Newton iteration may converge
+					// to a maximum of the distance)
+					t = lut[3 * i];
+					scratch[0] = lut[3 * i + 1];
+					scratch[1] = lut[3 * i + 2];
+					distance = current;
+				}
+				if (distance < bestDistance) {
+					bestDistance = distance;
+					bestT = t;
+					result[0] = scratch[0];
+					result[1] = scratch[1];
+				}
+			}
+			previous = current;
+			current = next;
+		}
+		return bestT;
+	}
+
+	/**
+	 * Computes a look up table (LUT) for the projection of points onto the
+	 * Bezier curve specified by the given control point coordinates. The LUT
+	 * consists of triples of parameter value, x, and y coordinate of points on
+	 * the curve, in ascending parameter order. The curve is sampled more
+	 * densely where it bends, so that the distance of any point to the curve
+	 * has at most one local minimum between adjacent samples.
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @return the projection LUT of the Bezier curve
+	 */
+	static double[] getProjectionLUT(double[] controlPoints) {
+		int n = controlPoints.length / 2;
+		double[] lut = new double[48];
+		lut[0] = 0;
+		lut[1] = controlPoints[0];
+		lut[2] = controlPoints[1];
+		int size = 3;
+		if (n < 2) {
+			return Arrays.copyOf(lut, size);
+		}
+
+		// stack of parameter intervals (triples of lower limit, upper limit,
+		// and depth), which is processed in ascending parameter order
+		int segments = PROJECTION_SEGMENTS * (n - 1);
+		double[] intervals = new double[3 * (segments
+				+ PROJECTION_MAX_DEPTH)];
+		int stack = 0;
+		for (int i = segments - 1; i >= 0; i--) {
+			intervals[stack++] = i / (double) segments;
+			intervals[stack++] = (i + 1) / (double) segments;
+			intervals[stack++] = 0;
+		}
+		double[] clipped = new double[2 * n];
+		while (stack > 0) {
+			double depth = intervals[--stack];
+			double b = intervals[--stack];
+			double a = intervals[--stack];
+			clip(controlPoints, a, b, clipped);
+
+			double length = 0;
+			for (int i = 0; i < n - 1; i++) {
+				length += Math.hypot(clipped[2 * i + 2] - clipped[2 * i],
+						clipped[2 * i + 3] - clipped[2 * i + 1]);
+			}
+			double chord = Math.hypot(clipped[2 * n - 2] - clipped[0],
+					clipped[2 * n - 1] - clipped[1]);
+
+			if (depth < PROJECTION_MAX_DEPTH
+					&& length > PROJECTION_FLATNESS * chord) {
+				// split interval (right part first, so that the left part is
+				// processed next)
+				double m = (a + b) / 2;
+				intervals[stack++] = m;
+				intervals[stack++] = b;
+				intervals[stack++] = depth + 1;
+				intervals[stack++] = a;
+				intervals[stack++] = m;
+				intervals[stack++] = depth + 1;
+			} else {
+				if (size + 3 > lut.length) {
+					lut = Arrays.copyOf(lut, 2 * lut.length);
+				}
+				lut[size++] = b;
+				lut[size++] = clipped[2 * n - 2];
+				lut[size++] = clipped[2 * n - 1];
+			}
+		}
+		return Arrays.copyOf(lut, size);
+	}
+
+	/**
+	 * Computes the projections of the given reference points onto the Bezier
+	 * curve specified by the given control point coordinates (see
+	 * {@link #getProjection(double[], double, double, double[])}), writing
+	 * the x and y coordinates of the projections (in x, y order) into the
+	 * given result array. The LUT of the curve is computed only once for all
+	 * reference points.
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param coordinates
+	 *            the coordinates of the reference points, in x, y order
+	 * @param result
+	 *            the array to store the coordinates of the projections in,
+	 *            which has to provide at least <code>coordinates.length</code>
+	 *            elements and may be the same as <i>coordinates</i>
+	 */
+	public static void getProjections(double[] controlPoints,
+			double[] coordinates, double[] result) {
+		getProjections(controlPoints, getProjectionLUT(controlPoints),
+				coordinates, result);
+	}
+
+	static void getProjections(double[] controlPoints, double[] lut,
+			double[] coordinates, double[] result) {
+		double[] projection = new double[2];
+		for (int i = 0; i + 1 < coordinates.length; i += 2) {
+			getProjection(controlPoints, lut, coordinates[i],
+					coordinates[i + 1], projection);
+			result[i] = projection[0];
+			result[i + 1] = projection[1];
+		}
+	}
+
+	private static boolean isBetter(double p, double q, boolean max) {
+		return max ? PrecisionUtils.greaterEqual(p, q)
+				: PrecisionUtils.smallerEqual(p, q);
+	}
+
+	private static boolean isUnrecognizable(double[] bounds) {
+		return PrecisionUtils.equal(bounds[0], bounds[2], INTERSECTION_SHIFT)
+				&& PrecisionUtils.equal(bounds[1], bounds[3],
+						INTERSECTION_SHIFT);
+	}
+
+	private static int push(double[] intervals, int size, double a1,
+			double b1, double a2, double b2) {
+		intervals[size] = a1;
+		intervals[size + 1] = b1;
+		intervals[size + 2] = a2;
+		intervals[size + 3] = b2;
+		return size + 4;
+	}
+
+	private static double ratio(double p, double q, double t) {
+		return p + (q - p) * t;
+	}
+
+	// minimizes the distance of the curve to (x, y) within [lo;hi] by Newton
+	// iteration (on the derivative of the squared distance), starting at t;
+	// where a Newton step leaves the (shrinking) interval, it is bisected
+	// instead; the point at the returned parameter is stored in scratch
+	private static double refineProjection(double[] controlPoints,
+			double[] first, double[] second, double x, double y, double lo,
+			double hi, double t, double[] scratch) {
+		for (int i = 0; i < PROJECTION_MAX_ITERATIONS; i++) {
+			evaluate(controlPoints, t, scratch, 0);
+			evaluate(first, t, scratch, 2);
+			double dx = scratch[0] - x;
+			double dy = scratch[1] - y;
+			double f = dx * scratch[2] + dy * scratch[3];
+			if (f == 0) {
+				return t;
+			}
+			double df = scratch[2] * scratch[2] + scratch[3] * scratch[3];
+			if (second.length > 0) {
+				evaluate(second, t, scratch, 4);
+				df += dx * scratch[4] + dy * scratch[5];
+			}
+			// the distance decreases towards the side of the minimum
+			if (f > 0) {
+				hi = t;
+			} else {
+				lo = t;
+			}
+			double next = t - f / df;
+			if (!(df > 0) || next < lo || next > hi) {
+				next = (lo + hi) / 2;
+			}
+			if (PrecisionUtils.equal(next, t, PROJECTION_SHIFT)) {
+				t = next;
+				break;
+			}
+			t = next;
+		}
+		evaluate(controlPoints, t, scratch, 0);
+		return t;
+	}
+
+	private static double squaredDistance(double[] lut, int i, double x,
+			double y) {
+		double dx = lut[3 * i + 1] - x;
+		double dy = lut[3 * i + 2] - y;
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * Subdivides the Bezier curve specified by the given control point
+	 * coordinates at the given parameter value, writing the control point
+	 * coordinates of the left (<code>[0;t]</code>) and right
+	 * (<code>[t;1]</code>) sub-curves into the given arrays.
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve, in x, y
+	 *            order
+	 * @param t
+	 *            the parameter value at which the curve is subdivided
+	 * @param left
+	 *            the array to store the control point coordinates of the left
+	 *            sub-curve in, which has to provide at least
+	 *            <code>controlPoints.length</code> elements and may be the same
+	 *            as <i>controlPoints</i>
+	 * @param right
+	 *            the array to store the control point coordinates of the right
+	 *            sub-curve in, which has to provide at least
+	 *            <code>controlPoints.length</code> elements and may neither be
+	 *            the same as <i>controlPoints</i> nor as <i>left</i>
+	 */
+	public static void split(double[] controlPoints, double t, double[] left,
+			double[] right) {
+		int n = controlPoints.length / 2;
+		System.arraycopy(controlPoints, 0, right, 0, 2 * n);
+		// de Casteljau (in place): after the i-th iteration, the first point
+		// is the i-th point of the left sub-curve, and the point at n - 1 - i
+		// is final for the right sub-curve
+		for (int i = 0; i < n; i++) {
+			left[2 * i] = right[0];
+			left[2 * i + 1] = right[1];
+			for (int j = 0; j < n - i - 1; j++) {
+				right[2 * j] = ratio(right[2 * j], right[2 * j + 2], t);
+				right[2 * j + 1] = ratio(right[2 * j + 1], right[2 * j + 3], t);
+			}
+		}
+	}
+
+	private BezierCurveUtils() {
+		// this class should not be instantiated by clients
+	}
+
+}
@@ -0,0 +1,757 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+import org.eclipse.gef.geometry.planar.Path.Segment;
+
+/**
+ * The {@link BooleanOperationUtils} class provides the boolean operations
+ * (union, intersection, difference, and exclusive-or) on the areas enclosed by
+ * {@link Path}s, as used by {@link Path#add(Path, Path)},
+ * {@link Path#intersect(Path, Path)}, {@link Path#subtract(Path, Path)}, and
+ * {@link Path#exclusiveOr(Path, Path)}.
+ * <p>
+ * The curved segments of the {@link Path}s are flattened (see
+ * {@link #FLATTENING_TOLERANCE}). The edges of both {@link Path}s are then
+ * split at their mutual intersections, so that a sweep-line (in the style of
+ * the Martinez-Rueda algorithm) can compute the winding numbers of both
+ * {@link Path}s on either side of each edge. An edge is part of the result if
+ * the result (evaluated with the winding rules of the {@link Path}s) differs
+ * on its two sides. The resulting edges are finally connected into closed
+ * rings, which are oriented so that the result is to their left, and which
+ * are returned as a {@link Path} using the {@link Path#WIND_NON_ZERO} winding
+ * rule.
+ *
+ * @author agent
+ *
+ */
+class BooleanOperationUtils {
+
+	/**
+	 * An edge between two {@link Vertex vertices}, where the left vertex is
+	 * the lexicographically smaller one.
+	 */
+	private static class Edge {
+		private final int id;
+		private final Vertex left;
+		private final Vertex right;
+		// the winding number contributions of both paths
+		private final int[] delta = new int[2];
+		// the winding numbers of both paths below (or right of, in case of a
+		// vertical edge) this edge
+		private final int[] windingBelow = new int[2];
+		private final int[] windingAbove = new int[2];
+
+		public Edge(int id, Vertex left, Vertex right) {
+			this.id = id;
+			this.left = left;
+			this.right = right;
+		}
+	}
+
+	private static enum Operation {
+		UNION {
+			@Override
+			boolean isInside(boolean inA, boolean inB) {
+				return inA || inB;
+			}
+		},
+		INTERSECTION {
+			@Override
+			boolean isInside(boolean inA, boolean inB) {
+				return inA && inB;
+			}
+		},
+		DIFFERENCE {
+			@Override
+			boolean isInside(boolean inA, boolean inB) {
+				return inA && !inB;
+			}
+		},
+		EXCLUSIVE_OR {
+			@Override
+			boolean isInside(boolean inA, boolean inB) {
+				return inA != inB;
+			}
+		};
+
+		abstract boolean isInside(boolean inA, boolean inB);
+	}
+
+	/**
+	 * A line segment of one of the (flattened) input {@link Path}s, which
+	 * collects the points at which it has to be split.
+	 */
+	private static class RawSegment {
+		private final int path;
+		private final double x1, y1, x2, y2;
+		private final List<double[]> splitPoints = new ArrayList<>();
+
+		public RawSegment(int path, double x1, double y1, double x2,
+				double y2) {
+			this.path = path;
+			this.x1 = x1;
+			this.y1 = y1;
+			this.x2 = x2;
+			this.y2 = y2;
+		}
+
+		public double getMaxX() {
+			return Math.max(x1, x2);
+		}
+
+		public double getMaxY() {
+			return Math.max(y1, y2);
+		}
+
+		public double getMinX() {
+			return Math.min(x1, x2);
+		}
+
+		public double getMinY() {
+			return Math.min(y1, y2);
+		}
+	}
+
+	/**
+	 * A (snapped) vertex, which is shared by all edges that are incident to
+	 * it.
+	 */
+	private static class Vertex {
+		private final int id;
+		private final double x;
+		private final double y;
+		// the edges of which this is the left vertex
+		private final List<Edge> edges = new ArrayList<>(2);
+
+		public Vertex(int id, double x, double y) {
+			this.id = id;
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	/**
+	 * A pool of {@link Vertex vertices}, which maps points that are closer to
+	 * each other than the {@link BooleanOperationUtils#TOLERANCE} to the same
+	 * {@link Vertex}. The vertices are hashed into a grid of cells, which are
+	 * large compared to the tolerance, so that usually only a single cell has
+	 * to be searched.
+	 */
+	private static class VertexPool {
+
+		private static class Cell {
+			private final long x;
+			private final long y;
+
+			public Cell(long x, long y) {
+				this.x = x;
+				this.y = y;
+			}
+
+			@Override
+			public boolean equals(Object obj) {
+				return obj instanceof Cell && ((Cell) obj).x == x
+						&& ((Cell) obj).y == y;
+			}
+
+			@Override
+			public int hashCode() {
+				long h = x * 0x9E3779B97F4A7C15L ^ y;
+				return (int) (h ^ (h >>> 32));
+			}
+		}
+
+		private static final double CELL_SIZE = 1024 * TOLERANCE;
+
+		private final Map<Cell, List<Vertex>> cells = new HashMap<>();
+		private int size;
+
+		public Vertex get(double x, double y) {
+			long minX = (long) Math.floor((x - TOLERANCE) / CELL_SIZE);
+			long maxX = (long) Math.floor((x + TOLERANCE) / CELL_SIZE);
+			long minY = (long) Math.floor((y - TOLERANCE) / CELL_SIZE);
+			long maxY = (long) Math.floor((y + TOLERANCE) / CELL_SIZE);
+			for (long i = minX; i <= maxX; i++) {
+				for (long j = minY; j <= maxY; j++) {
+					List<Vertex> cell = cells.get(new Cell(i, j));
+					if (cell != null) {
+						for (Vertex v : cell) {
+							if (Math.abs(v.x - x) <= TOLERANCE
+									&& Math.abs(v.y - y) <= TOLERANCE) {
+								return v;
+							}
+						}
+					}
+				}
+			}
+			Vertex v = new Vertex(size++, x, y);
+			Cell key = new Cell((long) Math.floor(x / CELL_SIZE),
+					(long) Math.floor(y / CELL_SIZE));
+			List<Vertex> cell = cells.get(key);
+			if (cell == null) {
+				cell = new ArrayList<>(1);
+				cells.put(key, cell);
+			}
+			cell.add(v);
+			return v;
+		}
+	}
+
+	/**
+	 * The line similarity (see {@link BezierCurve#toLineStrip(double)}) used
+	 * to flatten the curved segments of the input {@link Path}s.
+	 */
+	static final double FLATTENING_TOLERANCE = 0.05;
+
+	/**
+	 * The distance below which points are regarded to be equal.
+	 */
+	static final double TOLERANCE = PrecisionUtils.calculateFraction(3);
+
+	private static final Comparator<Vertex> VERTEX_COMPARATOR = new Comparator<Vertex>() {
+		@Override
+		public int compare(Vertex v1, Vertex v2) {
+			if (v1 == v2) {
+				return 0;
+			}
+			if (v1.x != v2.x) {
+				return v1.x < v2.x ? -1 : 1;
+			}
+			if (v1.y != v2.y) {
+				return v1.y < v2.y ? -1 : 1;
+			}
+			return Integer.compare(v1.id, v2.id);
+		}
+	};
+
+	/**
+	 * Orders the edges that intersect the sweep-line from bottom to top. As
+	 * the edges do not cross each other, their order does not change while
+	 * they intersect the sweep-line.
+	 */
+	private static final Comparator<Edge> EDGE_COMPARATOR = new Comparator<Edge>() {
+		@Override
+		public int compare(Edge e1, Edge e2) {
+			if (e1 == e2) {
+				return 0;
+			}
+			if (e1.left == e2.left) {
+				// compare by the right vertices
+				double o = orientation(e1.left, e1.right, e2.right);
+				if (o != 0) {
+					return o > 0 ? -1 : 1;
+				}
+				return Integer.compare(e1.id, e2.id);
+			}
+			if (VERTEX_COMPARATOR.compare(e1.left, e2.left) < 0) {
+				return -compare(e2, e1);
+			}
+			// e1 was inserted after e2, so its left vertex lies within the
+			// x-range of e2
+			double o = orientation(e2.left, e2.right, e1.left);
+			if (o == 0) {
+				o = orientation(e2.left, e2.right, e1.right);
+			}
+			if (o != 0) {
+				return o > 0 ? 1 : -1;
+			}
+			return Integer.compare(e1.id, e2.id);
+		}
+	};
+
+	private static void addSegments(List<RawSegment> segments, int path,
+			List<double[]> ring) {
+		for (int i = 0; i < ring.size(); i++) {
+			double[] p = ring.get(i);
+			double[] q = ring.get(i + 1 < ring.size() ? i + 1 : 0);
+			if (p[0] != q[0] || p[1] != q[1]) {
+				segments.add(new RawSegment(path, p[0], p[1], q[0], q[1]));
+			}
+		}
+	}
+
+	private static void addSplitPoint(RawSegment s, double x, double y) {
+		// only split within the interior of the segment
+		if (!isEndPoint(s, x, y)) {
+			s.splitPoints.add(new double[] { x, y });
+		}
+	}
+
+	private static Path compute(Path pa, Path pb, Operation operation) {
+		List<RawSegment> segments = new ArrayList<>();
+		flatten(pa, 0, segments);
+		flatten(pb, 1, segments);
+		split(segments);
+		List<Edge> edges = createEdges(segments);
+		sweep(edges);
+		return createPath(edges, operation, pa.getWindingRule(),
+				pb.getWindingRule());
+	}
+
+	private static List<Edge> createEdges(List<RawSegment> segments) {
+		VertexPool pool = new VertexPool();
+		List<Edge> edges = new ArrayList<>();
+		for (final RawSegment s : segments) {
+			if (s.splitPoints.size() > 1) {
+				// sort split points by their distance to the start point
+				Collections.sort(s.splitPoints, new Comparator<double[]>() {
+					@Override
+					public int compare(double[] p, double[] q) {
+						return Double.compare(
+								(p[0] - s.x1) * (p[0] - s.x1)
+										+ (p[1] - s.y1) * (p[1] - s.y1),
+								(q[0] - s.x1) * (q[0] - s.x1)
+										+ (q[1] - s.y1) * (q[1] - s.y1));
+					}
+				});
+			}
+			Vertex start = pool.get(s.x1, s.y1);
+			Vertex end = pool.get(s.x2, s.y2);
+			Vertex previous = start;
+			for (int i = 0; i <= s.splitPoints.size(); i++) {
+				Vertex next = i < s.splitPoints.size()
+						? pool.get(s.splitPoints.get(i)[0],
+								s.splitPoints.get(i)[1])
+						: end;
+				if (next != previous) {
+					boolean forward = VERTEX_COMPARATOR.compare(previous,
+							next) < 0;
+					Vertex left = forward ? previous : next;
+					Vertex right = forward ? next : previous;
+					// edges that connect the same vertices are merged
+					Edge edge = null;
+					for (Edge e : left.edges) {
+						if (e.right == right) {
+							edge = e;
+							break;
+						}
+					}
+					if (edge == null) {
+						edge = new Edge(edges.size(), left, right);
+						left.edges.add(edge);
+						edges.add(edge);
+					}
+					edge.delta[s.path] += forward ? 1 : -1;
+					previous = next;
+				}
+			}
+		}
+		List<Edge> result = new ArrayList<>();
+		for (Edge edge : edges) {
+			// skip edges that do not contribute to any winding number
+			if (edge.delta[0] != 0 || edge.delta[1] != 0) {
+				result.add(edge);
+			}
+		}
+		return result;
+	}
+
+	private static Path createPath(List<Edge> edges, Operation operation,
+			int windingRuleA, int windingRuleB) {
+		// collect the edges of the result, directed so that the result is to
+		// their left
+		Map<Vertex, List<Vertex>> outgoing = new HashMap<>();
+		List<Vertex[]> boundary = new ArrayList<>();
+		for (Edge edge : edges) {
+			boolean insideBelow = operation.isInside(
+					isInside(edge.windingBelow[0], windingRuleA),
+					isInside(edge.windingBelow[1], windingRuleB));
+			boolean insideAbove = operation.isInside(
+					isInside(edge.windingAbove[0], windingRuleA),
+					isInside(edge.windingAbove[1], windingRuleB));
+			if (insideBelow != insideAbove) {
+				Vertex from = insideAbove ? edge.left : edge.right;
+				Vertex to = insideAbove ? edge.right : edge.left;
+				List<Vertex> targets = outgoing.get(from);
+				if (targets == null) {
+					targets = new ArrayList<>(2);
+					outgoing.put(from, targets);
+				}
+				targets.add(to);
+				boundary.add(new Vertex[] { from, to });
+			}
+		}
+
+		// connect the edges into rings
+		Path path = new Path(Path.WIND_NON_ZERO);
+		for (Vertex[] start : boundary) {
+			List<Vertex> startTargets = outgoing.get(start[0]);
+			if (!startTargets.remove(start[1])) {
+				// already part of a ring
+				continue;
+			}
+			List<Vertex> ring = new ArrayList<>();
+			ring.add(start[0]);
+			Vertex previous = start[0];
+			Vertex current = start[1];
+			while (current != start[0]) {
+				ring.add(current);
+				List<Vertex> targets = outgoing.get(current);
+				if (targets == null || targets.isEmpty()) {
+					// XXX: Should not happen, as each vertex has as many
+					// incoming as outgoing edges, but close the ring
+					// nevertheless in case of numerical problems.
+					break;
+				}
+				Vertex next = getNext(previous, current, targets);
+				targets.remove(next);
+				previous = current;
+				current = next;
+			}
+			ring = removeCollinearVertices(ring);
+			if (ring.size() > 2) {
+				path.moveTo(ring.get(0).x, ring.get(0).y);
+				for (int i = 1; i < ring.size(); i++) {
+					path.lineTo(ring.get(i).x, ring.get(i).y);
+				}
+				path.close();
+			}
+		}
+		return path;
+	}
+
+	/**
+	 * Computes the area covered by the first or the second but not both given
+	 * {@link Path}s.
+	 *
+	 * @param pa
+	 *            The first {@link Path}.
+	 * @param pb
+	 *            The second {@link Path}.
+	 * @return A {@link Path} enclosing the exclusive-or of the areas.
+	 */
+	public static Path exclusiveOr(Path pa, Path pb) {
+		return compute(pa, pb, Operation.EXCLUSIVE_OR);
+	}
+
+	private static void flatten(Path path, int index,
+			List<RawSegment> segments) {
+		List<double[]> ring = new ArrayList<>();
+		double[] moveTo = null;
+		double[] current = null;
+		for (Segment s : path.getSegments()) {
+			if (current == null && s.getType() != Segment.MOVE_TO) {
+				throw new IllegalStateException(
+						"This Path does not start with a MOVE_TO, therefore, no start position could be determined.");
+			}
+			Point[] points = s.getPoints();
+			switch (s.getType()) {
+			case Segment.MOVE_TO:
+				// sub-paths are implicitly closed
+				addSegments(segments, index, ring);
+				ring.clear();
+				moveTo = new double[] { points[0].x, points[0].y };
+				current = moveTo;
+				ring.add(current);
+				break;
+			case Segment.LINE_TO:
+				current = new double[] { points[0].x, points[0].y };
+				ring.add(current);
+				break;
+			case Segment.QUAD_TO:
+			case Segment.CUBIC_TO:
+				Point[] controlPoints = new Point[points.length + 1];
+				controlPoints[0] = new Point(current[0], current[1]);
+				System.arraycopy(points, 0, controlPoints, 1, points.length);
+				for (Line line : new BezierCurve(controlPoints)
+						.toLineStrip(FLATTENING_TOLERANCE)) {
+					current = new double[] { line.getX2(), line.getY2() };
+					ring.add(current);
+				}
+				break;
+			case Segment.CLOSE:
+				addSegments(segments, index, ring);
+				ring.clear();
+				// subsequent segments start at the last move-to position
+				current = moveTo;
+				ring.add(current);
+				break;
+			default:
+				throw new IllegalStateException(
+						"This Path contains an unsupported Segment: <" + s
+								+ ">.");
+			}
+		}
+		addSegments(segments, index, ring);
+	}
+
+	/**
+	 * Returns the target of the outgoing edge that is reached first when
+	 * rotating clockwise around the current {@link Vertex}, starting at the
+	 * direction to the previous {@link Vertex}. Thereby, rings that touch each
+	 * other in a single {@link Vertex} are separated.
+	 */
+	private static Vertex getNext(Vertex previous, Vertex current,
+			List<Vertex> targets) {
+		if (targets.size() == 1) {
+			return targets.get(0);
+		}
+		double back = Math.atan2(previous.y - current.y,
+				previous.x - current.x);
+		Vertex next = null;
+		double minAngle = Double.POSITIVE_INFINITY;
+		for (Vertex target : targets) {
+			double angle = back - Math.atan2(target.y - current.y,
+					target.x - current.x);
+			while (angle <= 0) {
+				angle += 2 * Math.PI;
+			}
+			if (angle < minAngle) {
+				minAngle = angle;
+				next = target;
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * Computes the area covered by both given {@link Path}s.
+	 *
+	 * @param pa
+	 *            The first {@link Path}.
+	 * @param pb
+	 *            The second {@link Path}.
+	 * @return A {@link Path} enclosing the intersection of the areas.
+	 */
+	public static Path intersect(Path pa, Path pb) {
+		return compute(pa, pb, Operation.INTERSECTION);
+	}
+
+	private static boolean isCollinear(Vertex p, Vertex v, Vertex q) {
+		// v has to lie on the line segment between p and q
+		return Math.abs(orientation(p, q, v)) <= TOLERANCE
+				* Math.hypot(q.x - p.x, q.y - p.y)
+				&& (v.x - p.x) * (q.x - v.x) + (v.y - p.y) * (q.y - v.y) >= 0;
+	}
+
+	private static boolean isEndPoint(RawSegment s, double x, double y) {
+		return Math.abs(s.x1 - x) <= TOLERANCE
+				&& Math.abs(s.y1 - y) <= TOLERANCE
+				|| Math.abs(s.x2 - x) <= TOLERANCE
+						&& Math.abs(s.y2 - y) <= TOLERANCE;
+	}
+
+	private static boolean isInside(int winding, int windingRule) {
+		return windingRule == Path.WIND_EVEN_ODD ? (winding & 1) != 0
+				: winding != 0;
+	}
+
+	/**
+	 * Returns the (doubled, signed) area of the triangle spanned by the given
+	 * {@link Vertex vertices}, which is positive if r lies to the left of the
+	 * directed line from p to q.
+	 */
+	private static double orientation(Vertex p, Vertex q, Vertex r) {
+		return (q.x - p.x) * (r.y - p.y) - (q.y - p.y) * (r.x - p.x);
+	}
+
+	private static void remove(TreeSet<Edge> status, Edge edge) {
+		if (!status.remove(edge)) {
+			// XXX: In case of numerical problems, the order may be
+			// inconsistent, so that the edge cannot be found via the
+			// comparator.
+			for (Iterator<Edge> it = status.iterator(); it.hasNext();) {
+				if (it.next() == edge) {
+					it.remove();
+					break;
+				}
+			}
+		}
+	}
+
+	private static List<Vertex> removeCollinearVertices(List<Vertex> ring) {
+		List<Vertex> result = new ArrayList<>(ring.size());
+		for (Vertex v : ring) {
+			while (result.size() > 1 && isCollinear(
+					result.get(result.size() - 2),
+					result.get(result.size() - 1), v)) {
+				result.remove(result.size() - 1);
+			}
+			result.add(v);
+		}
+		// take care of the closing segment
+		boolean removed = true;
+		while (removed && result.size() > 2) {
+			removed = false;
+			if (isCollinear(result.get(result.size() - 2),
+					result.get(result.size() - 1), result.get(0))) {
+				result.remove(result.size() - 1);
+				removed = true;
+			} else if (isCollinear(result.get(result.size() - 1),
+					result.get(0), result.get(1))) {
+				result.remove(0);
+				removed = true;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Splits the given {@link RawSegment}s at their mutual intersections,
+	 * including the end points of one segment that lie on another one (e.g.
+	 * in case of overlapping segments). Candidate pairs are determined by a
+	 * sweep over the x-ranges of the segments.
+	 */
+	private static void split(List<RawSegment> segments) {
+		List<RawSegment> sorted = new ArrayList<>(segments);
+		Collections.sort(sorted, new Comparator<RawSegment>() {
+			@Override
+			public int compare(RawSegment s1, RawSegment s2) {
+				return Double.compare(s1.getMinX(), s2.getMinX());
+			}
+		});
+		List<RawSegment> active = new ArrayList<>();
+		for (RawSegment s : sorted) {
+			double minX = s.getMinX() - TOLERANCE;
+			double minY = s.getMinY() - TOLERANCE;
+			double maxY = s.getMaxY() + TOLERANCE;
+			for (Iterator<RawSegment> it = active.iterator(); it.hasNext();) {
+				RawSegment t = it.next();
+				if (t.getMaxX() < minX) {
+					it.remove();
+				} else if (t.getMinY() <= maxY && t.getMaxY() >= minY) {
+					split(s, t);
+				}
+			}
+			active.add(s);
+		}
+	}
+
+	private static void split(RawSegment s, RawSegment t) {
+		// end points that lie on the other segment
+		splitAtEndPoint(s, t.x1, t.y1);
+		splitAtEndPoint(s, t.x2, t.y2);
+		splitAtEndPoint(t, s.x1, s.y1);
+		splitAtEndPoint(t, s.x2, s.y2);
+
+		// proper intersection
+		double rx = s.x2 - s.x1;
+		double ry = s.y2 - s.y1;
+		double qx = t.x2 - t.x1;
+		double qy = t.y2 - t.y1;
+		double d = rx * qy - ry * qx;
+		if (d == 0) {
+			return;
+		}
+		double a = ((t.x1 - s.x1) * qy - (t.y1 - s.y1) * qx) / d;
+		double b = ((t.x1 - s.x1) * ry - (t.y1 - s.y1) * rx) / d;
+		if (a > 0 && a < 1 && b > 0 && b < 1) {
+			double x = s.x1 + a * rx;
+			double y = s.y1 + a * ry;
+			if (!isEndPoint(s, x, y) && !isEndPoint(t, x, y)) {
+				addSplitPoint(s, x, y);
+				addSplitPoint(t, x, y);
+			}
+		}
+	}
+
+	private static void splitAtEndPoint(RawSegment s, double x, double y) {
+		double dx = s.x2 - s.x1;
+		double dy = s.y2 - s.y1;
+		double lengthSquared = dx * dx + dy * dy;
+		double t = ((x - s.x1) * dx + (y - s.y1) * dy) / lengthSquared;
+		if (t <= 0 || t >= 1) {
+			return;
+		}
+		double distance = Math.abs((x - s.x1) * dy - (y - s.y1) * dx)
+				/ Math.sqrt(lengthSquared);
+		if (distance <= TOLERANCE) {
+			addSplitPoint(s, x, y);
+		}
+	}
+
+	/**
+	 * Computes the area covered by the first but not the second given
+	 * {@link Path}.
+	 *
+	 * @param pa
+	 *            The {@link Path} to subtract from.
+	 * @param pb
+	 *            The {@link Path} to subtract.
+	 * @return A {@link Path} enclosing the difference of the areas.
+	 */
+	public static Path subtract(Path pa, Path pb) {
+		return compute(pa, pb, Operation.DIFFERENCE);
+	}
+
+	/**
+	 * Computes the winding numbers on both sides of the given (non-crossing)
+	 * {@link Edge}s, by sweeping a vertical line from left to right. The
+	 * winding numbers below an {@link Edge} are those above its lower neighbor
+	 * at the time it is inserted into the sweep-line.
+	 */
+	private static void sweep(List<Edge> edges) {
+		List<Edge> insertions = new ArrayList<>(edges);
+		Collections.sort(insertions, new Comparator<Edge>() {
+			@Override
+			public int compare(Edge e1, Edge e2) {
+				int c = VERTEX_COMPARATOR.compare(e1.left, e2.left);
+				// insert edges with the same left vertex from bottom to top
+				return c != 0 ? c : EDGE_COMPARATOR.compare(e1, e2);
+			}
+		});
+		List<Edge> removals = new ArrayList<>(edges);
+		Collections.sort(removals, new Comparator<Edge>() {
+			@Override
+			public int compare(Edge e1, Edge e2) {
+				return VERTEX_COMPARATOR.compare(e1.right, e2.right);
+			}
+		});
+
+		TreeSet<Edge> status = new TreeSet<>(EDGE_COMPARATOR);
+		int r = 0;
+		for (Edge edge : insertions) {
+			// remove all edges that end before (or at) the insertion vertex
+			while (r < removals.size() && VERTEX_COMPARATOR
+					.compare(removals.get(r).right, edge.left) <= 0) {
+				remove(status, removals.get(r++));
+			}
+			Edge below = status.lower(edge);
+			for (int i = 0; i < 2; i++) {
+				edge.windingBelow[i] = below == null ? 0
+						: below.windingAbove[i];
+				edge.windingAbove[i] = edge.windingBelow[i] + edge.delta[i];
+			}
+			status.add(edge);
+		}
+	}
+
+	/**
+	 * Computes the area covered by the first or the second given {@link Path}.
+	 *
+	 * @param pa
+	 *            The first {@link Path}.
+	 * @param pb
+	 *            The second {@link Path}.
+	 * @return A {@link Path} enclosing the union of the areas.
+	 */
+	public static Path union(Path pa, Path pb) {
+		return compute(pa, pb, Operation.UNION);
+	}
+
+	private BooleanOperationUtils() {
+		// this class should not be instantiated by clients
+	}
+
+}
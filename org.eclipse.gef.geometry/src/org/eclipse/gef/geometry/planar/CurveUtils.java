@@ -25,6 +25,52 @@ import java.util.Set;
  */
 class CurveUtils {
 
+	/**
+	 * Flattens the given {@link BezierCurve}s, which are expected to form a
+	 * connected sequence, into a single sequence of points (see
+	 * {@link BezierCurveUtils#flatten(double[], int, double[], int)}). The
+	 * end point of a curve is only included once if it equals the start point
+	 * of the next curve.
+	 *
+	 * @param curves
+	 *            the {@link BezierCurve}s to flatten
+	 * @param tolerance
+	 *            the maximal distance between the curves and their flattening
+	 * @param t
+	 *            the {@link AffineTransform} to the coordinate system the
+	 *            tolerance refers to, or <code>null</code> if it refers to the
+	 *            coordinate system of the curves
+	 * @return the coordinates of the points, in x, y order
+	 */
+	public static double[] flatten(BezierCurve[] curves, double tolerance,
+			AffineTransform t) {
+		double[][] controlPoints = new double[curves.length][];
+		int[] segments = new int[curves.length];
+		int size = 0;
+		for (int i = 0; i < curves.length; i++) {
+			controlPoints[i] = curves[i].getCoordinates();
+			segments[i] = getFlatteningSegmentCount(controlPoints[i],
+					tolerance, t);
+			size += 2 * segments[i] + 2;
+			if (i > 0 && curves[i - 1].getP2().equals(curves[i].getP1())) {
+				// the start point overwrites the end point of the previous
+				// curve
+				size -= 2;
+			}
+		}
+		double[] coordinates = new double[size];
+		int offset = 0;
+		for (int i = 0; i < curves.length; i++) {
+			if (i > 0 && !curves[i - 1].getP2().equals(curves[i].getP1())) {
+				offset += 2;
+			}
+			BezierCurveUtils.flatten(controlPoints[i], segments[i],
+					coordinates, offset);
+			offset += 2 * segments[i];
+		}
+		return coordinates;
+	}
+
 	/**
 	 * Creates copies of the given {@link BezierCurve}s.
 	 *
@@ -40,6 +86,33 @@ class CurveUtils {
 		return copies;
 	}
 
+	/**
+	 * Computes the number of line segments needed to flatten the Bezier curve
+	 * specified by the given control point coordinates (see
+	 * {@link BezierCurveUtils#getFlatteningSegmentCount(double[], double)}).
+	 *
+	 * @param controlPoints
+	 *            the control point coordinates of the Bezier curve
+	 * @param tolerance
+	 *            the maximal distance between the curve and its flattening
+	 * @param t
+	 *            the {@link AffineTransform} to the coordinate system the
+	 *            tolerance refers to, or <code>null</code> if it refers to the
+	 *            coordinate system of the curve
+	 * @return the number of line segments
+	 */
+	public static int getFlatteningSegmentCount(double[] controlPoints,
+			double tolerance, AffineTransform t) {
+		if (t == null) {
+			return BezierCurveUtils.getFlatteningSegmentCount(controlPoints,
+					tolerance);
+		}
+		double[] transformed = new double[controlPoints.length];
+		GeometryBatchUtils.transform(t, controlPoints, transformed);
+		return BezierCurveUtils.getFlatteningSegmentCount(transformed,
+				tolerance);
+	}
+
 	/**
 	 * Delegates to the {@link BezierCurve#getIntersections(ICurve)} method.
 	 *
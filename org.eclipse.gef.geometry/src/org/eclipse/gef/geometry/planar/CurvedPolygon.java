@@ -8,6 +8,7 @@
  *
  * Contributors:
  *     Matthias Wienand (itemis AG) - initial API and implementation
+ *     agent - cache bounds, line strips and outlines
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
@@ -16,6 +17,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
+import org.eclipse.gef.geometry.internal.utils.CacheStatistics;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 
 /**
@@ -31,6 +33,9 @@ public class CurvedPolygon extends AbstractGeometry
 	private static final long serialVersionUID = 1L;
 	private BezierCurve[] edges;
 
+	// lazily computed, reset by all methods that modify the edges
+	private transient Rectangle bounds;
+
 	/**
 	 * Constructs a new {@link CurvedPolygon} from the given {@link BezierCurve}
 	 * s. Subsequent {@link BezierCurve}s need to be connected with each other
@@ -197,12 +202,17 @@ public class CurvedPolygon extends AbstractGeometry
 			return new Rectangle();
 		}
 
-		Rectangle bounds = edges[0].getBounds();
-		for (int i = 1; i < edges.length; i++) {
-			bounds.union(edges[i].getBounds());
+		if (bounds == null) {
+			CacheStatistics.miss();
+			bounds = edges[0].getBounds();
+			for (int i = 1; i < edges.length; i++) {
+				bounds.union(edges[i].getBounds());
+			}
+		} else {
+			CacheStatistics.hit();
 		}
 
-		return bounds;
+		return bounds.getCopy();
 	}
 
 	/**
@@ -398,6 +408,7 @@ public class CurvedPolygon extends AbstractGeometry
 		for (BezierCurve c : edges) {
 			c.rotateCCW(angle, cx, cy);
 		}
+		bounds = null;
 		return this;
 	}
 
@@ -446,6 +457,7 @@ public class CurvedPolygon extends AbstractGeometry
 		for (BezierCurve c : edges) {
 			c.rotateCW(angle, cx, cy);
 		}
+		bounds = null;
 		return this;
 	}
 
@@ -485,6 +497,7 @@ public class CurvedPolygon extends AbstractGeometry
 		for (BezierCurve c : edges) {
 			c.scale(fx, fy, cx, cy);
 		}
+		bounds = null;
 		return this;
 	}
 
@@ -521,6 +534,7 @@ public class CurvedPolygon extends AbstractGeometry
 		for (BezierCurve c : edges) {
 			c.translate(dx, dy);
 		}
+		bounds = null;
 		return this;
 	}
 
@@ -0,0 +1,433 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+
+/**
+ * <p>
+ * The {@link GeometryBatchUtils} class provides operations that process many
+ * geometries at once, i.e. transforming them by a single
+ * {@link AffineTransform}, computing their bounds, and testing them against a
+ * single query geometry.
+ * </p>
+ * <p>
+ * Coordinates and bounds are passed in packed arrays: points in x, y order
+ * (i.e. x1, y1, x2, y2, ...), and bounds as quadruples of minimal x, minimal
+ * y, maximal x, and maximal y coordinate (as computed by
+ * {@link #getBounds(IGeometry[], double[])}). All results are written into
+ * caller-provided arrays, so that no intermediate objects have to be
+ * allocated per geometry. This is especially beneficial when selecting or
+ * transforming thousands of geometries, e.g. during marquee selection.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class GeometryBatchUtils {
+
+	/**
+	 * Tests which of the given geometries are contained by the given query
+	 * geometry, storing the individual results in the given result array.
+	 * Geometries whose bounds are not contained by the bounds of the query
+	 * geometry are rejected without performing the actual (expensive)
+	 * containment test.
+	 *
+	 * @param query
+	 *            the {@link IShape} or {@link IMultiShape} to test the
+	 *            geometries against
+	 * @param geometries
+	 *            the geometries to test
+	 * @param result
+	 *            the array to store whether the geometry at the respective
+	 *            index is contained, which has to provide at least
+	 *            <code>geometries.length</code> elements
+	 * @return the number of contained geometries
+	 */
+	public static int contains(IGeometry query, IGeometry[] geometries,
+			boolean[] result) {
+		if (!(query instanceof IShape) && !(query instanceof IMultiShape)) {
+			throw new IllegalArgumentException(
+					"The query geometry has to be an IShape or an IMultiShape: contains("
+							+ query + ")");
+		}
+		double[] bounds = new double[4 * geometries.length];
+		getBounds(geometries, bounds);
+		double[] queryBounds = new double[4];
+		getBounds(new IGeometry[] { query }, queryBounds);
+		int count = 0;
+		for (int i = 0; i < geometries.length; i++) {
+			if (containsBounds(queryBounds, bounds, 4 * i)) {
+				result[i] = query instanceof IShape
+						? ((IShape) query).contains(geometries[i])
+						: ((IMultiShape) query).contains(geometries[i]);
+			} else {
+				result[i] = false;
+			}
+			if (result[i]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Tests which of the given bounds are contained by the given query
+	 * {@link Rectangle}, storing the individual results in the given result
+	 * array.
+	 *
+	 * @param query
+	 *            the {@link Rectangle} to test the bounds against
+	 * @param bounds
+	 *            the bounds to test, as quadruples of minimal x, minimal y,
+	 *            maximal x, and maximal y coordinate
+	 * @param result
+	 *            the array to store whether the bounds at the respective index
+	 *            are contained, which has to provide at least
+	 *            <code>bounds.length / 4</code> elements
+	 * @return the number of contained bounds
+	 */
+	public static int contains(Rectangle query, double[] bounds,
+			boolean[] result) {
+		double[] queryBounds = toBounds(query);
+		int count = 0;
+		for (int i = 0; i < bounds.length / 4; i++) {
+			result[i] = containsBounds(queryBounds, bounds, 4 * i);
+			if (result[i]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static boolean containsBounds(double[] outer, double[] bounds,
+			int i) {
+		if (isUndefined(outer, 0) || isUndefined(bounds, i)) {
+			return false;
+		}
+		return PrecisionUtils.greaterEqual(bounds[i], outer[0])
+				&& PrecisionUtils.greaterEqual(bounds[i + 1], outer[1])
+				&& PrecisionUtils.smallerEqual(bounds[i + 2], outer[2])
+				&& PrecisionUtils.smallerEqual(bounds[i + 3], outer[3]);
+	}
+
+	// creates a geometry of the type returned by getTransformed() from the
+	// given (transformed) coordinates
+	private static IGeometry create(IGeometry g, double[] coordinates) {
+		Class<?> type = g.getClass();
+		if (type == Line.class) {
+			return new Line(coordinates);
+		} else if (type == Polyline.class) {
+			return new Polyline(coordinates);
+		} else if (type == Polygon.class || type == Rectangle.class) {
+			return new Polygon(coordinates);
+		} else if (type == CubicCurve.class) {
+			return new CubicCurve(coordinates);
+		} else if (type == QuadraticCurve.class) {
+			return new QuadraticCurve(coordinates);
+		}
+		return new BezierCurve(coordinates);
+	}
+
+	/**
+	 * Computes the bounds of each of the given point sequences, each of which
+	 * consists of the given number of points, storing them in the given result
+	 * array.
+	 *
+	 * @param coordinates
+	 *            the coordinates of the point sequences, in x, y order
+	 * @param pointsPerGeometry
+	 *            the number of points per sequence
+	 * @param result
+	 *            the array to store the bounds in, as quadruples of minimal x,
+	 *            minimal y, maximal x, and maximal y coordinate, which has to
+	 *            provide at least
+	 *            <code>4 * coordinates.length / (2 * pointsPerGeometry)</code>
+	 *            elements
+	 */
+	public static void getBounds(double[] coordinates, int pointsPerGeometry,
+			double[] result) {
+		int stride = 2 * pointsPerGeometry;
+		for (int i = 0, j = 0; i + stride <= coordinates.length; i += stride,
+				j += 4) {
+			double xmin = coordinates[i], xmax = coordinates[i],
+					ymin = coordinates[i + 1], ymax = coordinates[i + 1];
+			for (int k = i + 2; k < i + stride; k += 2) {
+				xmin = Math.min(xmin, coordinates[k]);
+				xmax = Math.max(xmax, coordinates[k]);
+				ymin = Math.min(ymin, coordinates[k + 1]);
+				ymax = Math.max(ymax, coordinates[k + 1]);
+			}
+			result[j] = xmin;
+			result[j + 1] = ymin;
+			result[j + 2] = xmax;
+			result[j + 3] = ymax;
+		}
+	}
+
+	/**
+	 * Computes the bounds of the given geometries (see
+	 * {@link IGeometry#getBounds()}), storing them in the given result array.
+	 * Geometries without bounds (e.g. an empty {@link Region}) are represented
+	 * by {@link Double#NaN} coordinates, so that they neither contain nor
+	 * touch anything.
+	 *
+	 * @param geometries
+	 *            the geometries whose bounds to compute
+	 * @param result
+	 *            the array to store the bounds in, as quadruples of minimal x,
+	 *            minimal y, maximal x, and maximal y coordinate, which has to
+	 *            provide at least <code>4 * geometries.length</code> elements
+	 */
+	public static void getBounds(IGeometry[] geometries, double[] result) {
+		for (int i = 0; i < geometries.length; i++) {
+			Rectangle bounds = geometries[i].getBounds();
+			if (bounds == null) {
+				result[4 * i] = Double.NaN;
+				result[4 * i + 1] = Double.NaN;
+				result[4 * i + 2] = Double.NaN;
+				result[4 * i + 3] = Double.NaN;
+			} else {
+				result[4 * i] = bounds.x;
+				result[4 * i + 1] = bounds.y;
+				result[4 * i + 2] = bounds.x + bounds.width;
+				result[4 * i + 3] = bounds.y + bounds.height;
+			}
+		}
+	}
+
+	// returns the coordinates of the given geometry in case it is transformed
+	// by transforming its points, otherwise null
+	private static double[] getCoordinates(IGeometry g) {
+		Class<?> type = g.getClass();
+		if (type == Line.class || type == BezierCurve.class
+				|| type == CubicCurve.class || type == QuadraticCurve.class) {
+			return ((BezierCurve) g).getCoordinates();
+		} else if (type == Polyline.class || type == Polygon.class) {
+			return ((AbstractPointListBasedGeometry<?>) g).getCoordinates();
+		} else if (type == Rectangle.class) {
+			// in the order of Rectangle#getPoints()
+			Rectangle r = (Rectangle) g;
+			return new double[] { r.x, r.y, r.x + r.width, r.y,
+					r.x + r.width, r.y + r.height, r.x, r.y + r.height };
+		}
+		return null;
+	}
+
+	/**
+	 * Transforms the given geometries by the given {@link AffineTransform}
+	 * (see {@link IGeometry#getTransformed(AffineTransform)}). The points of
+	 * all {@link Line}s, {@link Polyline}s, {@link Polygon}s,
+	 * {@link Rectangle}s, and (plain, quadratic, and cubic)
+	 * {@link BezierCurve}s are packed into a single coordinate array and
+	 * transformed at once (see
+	 * {@link #transform(AffineTransform, double[], double[])}); all other
+	 * geometries are transformed individually.
+	 *
+	 * @param t
+	 *            the {@link AffineTransform} to apply
+	 * @param geometries
+	 *            the geometries to transform
+	 * @return new, transformed geometries, in the order of the given
+	 *         geometries and of the same types as the ones returned by
+	 *         {@link IGeometry#getTransformed(AffineTransform)}
+	 */
+	public static IGeometry[] getTransformed(AffineTransform t,
+			IGeometry[] geometries) {
+		// pack the coordinates of all point based geometries
+		double[][] coordinates = new double[geometries.length][];
+		int size = 0;
+		for (int i = 0; i < geometries.length; i++) {
+			coordinates[i] = getCoordinates(geometries[i]);
+			if (coordinates[i] != null) {
+				size += coordinates[i].length;
+			}
+		}
+		double[] packed = new double[size];
+		int offset = 0;
+		for (double[] c : coordinates) {
+			if (c != null) {
+				System.arraycopy(c, 0, packed, offset, c.length);
+				offset += c.length;
+			}
+		}
+
+		transform(t, packed, packed);
+
+		// unpack the transformed coordinates
+		IGeometry[] transformed = new IGeometry[geometries.length];
+		offset = 0;
+		for (int i = 0; i < geometries.length; i++) {
+			double[] c = coordinates[i];
+			if (c == null) {
+				transformed[i] = geometries[i].getTransformed(t);
+			} else {
+				System.arraycopy(packed, offset, c, 0, c.length);
+				offset += c.length;
+				transformed[i] = create(geometries[i], c);
+			}
+		}
+		return transformed;
+	}
+
+	// bounds of geometries without bounds are set to NaN, which may not be
+	// compared using PrecisionUtils
+	private static boolean isUndefined(double[] bounds, int i) {
+		return Double.isNaN(bounds[i]);
+	}
+
+	private static double[] toBounds(Rectangle r) {
+		return new double[] { r.x, r.y, r.x + r.width, r.y + r.height };
+	}
+
+	/**
+	 * Tests which of the given geometries touch the given query geometry (see
+	 * {@link IGeometry#touches(IGeometry)}), storing the individual results in
+	 * the given result array. Geometries whose bounds do not touch the bounds
+	 * of the query geometry are rejected without performing the actual
+	 * (expensive) test.
+	 *
+	 * @param query
+	 *            the geometry to test the geometries against
+	 * @param geometries
+	 *            the geometries to test
+	 * @param result
+	 *            the array to store whether the geometry at the respective
+	 *            index touches the query geometry, which has to provide at
+	 *            least <code>geometries.length</code> elements
+	 * @return the number of touching geometries
+	 */
+	public static int touches(IGeometry query, IGeometry[] geometries,
+			boolean[] result) {
+		double[] bounds = new double[4 * geometries.length];
+		getBounds(geometries, bounds);
+		double[] queryBounds = new double[4];
+		getBounds(new IGeometry[] { query }, queryBounds);
+		int count = 0;
+		for (int i = 0; i < geometries.length; i++) {
+			result[i] = touchesBounds(queryBounds, bounds, 4 * i)
+					&& query.touches(geometries[i]);
+			if (result[i]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Tests which of the given bounds touch the given query {@link Rectangle}
+	 * (see {@link Rectangle#touches(Rectangle)}), storing the individual
+	 * results in the given result array.
+	 *
+	 * @param query
+	 *            the {@link Rectangle} to test the bounds against
+	 * @param bounds
+	 *            the bounds to test, as quadruples of minimal x, minimal y,
+	 *            maximal x, and maximal y coordinate
+	 * @param result
+	 *            the array to store whether the bounds at the respective index
+	 *            touch the query {@link Rectangle}, which has to provide at
+	 *            least <code>bounds.length / 4</code> elements
+	 * @return the number of touching bounds
+	 */
+	public static int touches(Rectangle query, double[] bounds,
+			boolean[] result) {
+		double[] queryBounds = toBounds(query);
+		int count = 0;
+		for (int i = 0; i < bounds.length / 4; i++) {
+			result[i] = touchesBounds(queryBounds, bounds, 4 * i);
+			if (result[i]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static boolean touchesBounds(double[] other, double[] bounds,
+			int i) {
+		if (isUndefined(other, 0) || isUndefined(bounds, i)) {
+			return false;
+		}
+		return PrecisionUtils.smallerEqual(bounds[i], other[2])
+				&& PrecisionUtils.smallerEqual(bounds[i + 1], other[3])
+				&& PrecisionUtils.greaterEqual(bounds[i + 2], other[0])
+				&& PrecisionUtils.greaterEqual(bounds[i + 3], other[1]);
+	}
+
+	/**
+	 * Transforms the given points by the given {@link AffineTransform},
+	 * storing the coordinates of the transformed points in the given result
+	 * array.
+	 *
+	 * @param t
+	 *            the {@link AffineTransform} to apply
+	 * @param coordinates
+	 *            the coordinates of the points to transform, in x, y order
+	 * @param result
+	 *            the array to store the coordinates of the transformed points
+	 *            in, which has to provide at least
+	 *            <code>coordinates.length</code> elements and may be the same
+	 *            as <i>coordinates</i>
+	 */
+	public static void transform(AffineTransform t, double[] coordinates,
+			double[] result) {
+		double[] m = t.getMatrix();
+		double m00 = m[0], m10 = m[1], m01 = m[2], m11 = m[3], m02 = m[4],
+				m12 = m[5];
+		for (int i = 0; i + 1 < coordinates.length; i += 2) {
+			double x = coordinates[i];
+			double y = coordinates[i + 1];
+			result[i] = m00 * x + m01 * y + m02;
+			result[i + 1] = m10 * x + m11 * y + m12;
+		}
+	}
+
+	/**
+	 * Transforms the given bounds by the given {@link AffineTransform},
+	 * storing the bounds of the transformed corners in the given result
+	 * array.
+	 *
+	 * @param t
+	 *            the {@link AffineTransform} to apply
+	 * @param bounds
+	 *            the bounds to transform, as quadruples of minimal x, minimal
+	 *            y, maximal x, and maximal y coordinate
+	 * @param result
+	 *            the array to store the transformed bounds in, which has to
+	 *            provide at least <code>bounds.length</code> elements and may
+	 *            be the same as <i>bounds</i>
+	 */
+	public static void transformBounds(AffineTransform t, double[] bounds,
+			double[] result) {
+		double[] m = t.getMatrix();
+		double m00 = m[0], m10 = m[1], m01 = m[2], m11 = m[3], m02 = m[4],
+				m12 = m[5];
+		for (int i = 0; i + 3 < bounds.length; i += 4) {
+			// the extremes of a linear function over a box are attained by
+			// picking the respective end of each interval
+			double x1 = m00 * bounds[i], x2 = m00 * bounds[i + 2];
+			double x3 = m01 * bounds[i + 1], x4 = m01 * bounds[i + 3];
+			double y1 = m10 * bounds[i], y2 = m10 * bounds[i + 2];
+			double y3 = m11 * bounds[i + 1], y4 = m11 * bounds[i + 3];
+			result[i] = Math.min(x1, x2) + Math.min(x3, x4) + m02;
+			result[i + 1] = Math.min(y1, y2) + Math.min(y3, y4) + m12;
+			result[i + 2] = Math.max(x1, x2) + Math.max(x3, x4) + m02;
+			result[i + 3] = Math.max(y1, y2) + Math.max(y3, y4) + m12;
+		}
+	}
+
+	private GeometryBatchUtils() {
+		// this class should not be instantiated by clients
+	}
+
+}
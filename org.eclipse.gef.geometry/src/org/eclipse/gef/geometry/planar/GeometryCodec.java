@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+/**
+ * <p>
+ * The {@link GeometryCodec} class provides the constants and helper methods
+ * that define the binary format written by {@link GeometryWriter} and read by
+ * {@link GeometryReader}.
+ * </p>
+ * <p>
+ * A stream starts with the {@link #MAGIC} bytes and the {@link #VERSION} of
+ * the format, followed by one record per geometry. Each record consists of its
+ * length (excluding the length itself) as a varint, the type of the geometry
+ * as a single byte, the structure of the geometry (e.g. the number of points,
+ * or the segment types of a {@link Path}), and the coordinates of the
+ * geometry.
+ * </p>
+ * <p>
+ * The coordinates of a record are preceded by the index of the (decimal)
+ * scale (see {@link #SCALES}), which is the smallest one at which all of them
+ * can be represented as integers without any loss. They are stored as the
+ * differences to their predecessors (x to x and y to y), zig-zag and varint
+ * encoded, so that integral and nearby coordinates need only one or two
+ * bytes. If there is no such scale (e.g. for computed coordinates), the
+ * coordinates are stored as little-endian doubles instead ({@link #RAW}).
+ * </p>
+ *
+ * @author agent
+ *
+ */
+class GeometryCodec {
+
+	/**
+	 * The bytes each stream starts with.
+	 */
+	static final byte[] MAGIC = { 'G', 'E', 'F', 'G' };
+
+	/**
+	 * The version of the format.
+	 */
+	static final int VERSION = 1;
+
+	// the types of the records
+	static final int POINT = 1;
+	static final int LINE = 2;
+	static final int QUADRATIC_CURVE = 3;
+	static final int CUBIC_CURVE = 4;
+	static final int BEZIER_CURVE = 5;
+	static final int POLYLINE = 6;
+	static final int POLYGON = 7;
+	static final int RECTANGLE = 8;
+	static final int POLY_BEZIER = 9;
+	static final int PATH = 10;
+	static final int RING = 11;
+	static final int REGION = 12;
+
+	/**
+	 * The scales at which the coordinates of a record may be stored as
+	 * integers.
+	 */
+	static final double[] SCALES = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7,
+			1e8, 1e9 };
+
+	/**
+	 * The scale index denoting coordinates that are stored as doubles.
+	 */
+	static final int RAW = 0xFF;
+
+	/**
+	 * The maximum number of bytes of a varint encoded int value.
+	 */
+	static final int MAX_VARINT_LENGTH = 5;
+
+	// scaled coordinates are limited, so that their differences do not
+	// overflow
+	private static final double LIMIT = 1L << 62;
+
+	/**
+	 * Returns the index of the smallest scale (see {@link #SCALES}) at which
+	 * the given coordinates can be represented as integers without any loss,
+	 * or {@link #RAW} if there is no such scale.
+	 *
+	 * @param coordinates
+	 *            the coordinates to test
+	 * @param count
+	 *            the number of coordinates to test
+	 * @return the index of the scale, or {@link #RAW}
+	 */
+	static int getScale(double[] coordinates, int count) {
+		int scale = 0;
+		for (int i = 0; i < count; i++) {
+			if (!isExact(coordinates[i], SCALES[scale])) {
+				if (++scale == SCALES.length) {
+					return RAW;
+				}
+				// coordinates that are exact at a smaller scale are not
+				// necessarily exact at a larger one
+				i = -1;
+			}
+		}
+		return scale;
+	}
+
+	private static boolean isExact(double coordinate, double scale) {
+		double scaled = coordinate * scale;
+		// rejects NaN and infinite coordinates
+		return Math.abs(scaled) < LIMIT
+				&& Math.round(scaled) / scale == coordinate;
+	}
+
+	private GeometryCodec() {
+		// this class should not be instantiated by clients
+	}
+
+}
@@ -0,0 +1,455 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A {@link GeometryReader} reads the {@link Point}s and geometries that were
+ * written by a {@link GeometryWriter}, either from an {@link InputStream} or
+ * from a {@link ByteBuffer}.
+ * </p>
+ * <p>
+ * When reading from a {@link ByteBuffer}, the geometries are decoded directly
+ * from it, i.e. without copying its content, so that a (direct or memory
+ * mapped) {@link ByteBuffer} containing a snapshot of many geometries can be
+ * restored without any additional I/O. When reading from an
+ * {@link InputStream}, its content is buffered, so that the given
+ * {@link InputStream} does not need to be buffered.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class GeometryReader implements Closeable {
+
+	private final InputStream in;
+	private ByteBuffer buffer;
+	private boolean headerRead;
+
+	/**
+	 * Constructs a new {@link GeometryReader}, which reads from the remaining
+	 * content of the given {@link ByteBuffer}. The position of the given
+	 * {@link ByteBuffer} is not changed.
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} to read from
+	 */
+	public GeometryReader(ByteBuffer buffer) {
+		if (buffer == null) {
+			throw new IllegalArgumentException(
+					"The given ByteBuffer may not be null.");
+		}
+		this.in = null;
+		this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Constructs a new {@link GeometryReader}, which reads from the given
+	 * {@link InputStream}.
+	 *
+	 * @param in
+	 *            the {@link InputStream} to read from
+	 */
+	public GeometryReader(InputStream in) {
+		if (in == null) {
+			throw new IllegalArgumentException(
+					"The given InputStream may not be null.");
+		}
+		this.in = in;
+		buffer = ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.limit(0);
+	}
+
+	/**
+	 * Closes the underlying {@link InputStream} (if any).
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		if (in != null) {
+			in.close();
+		}
+	}
+
+	private Object decode() throws IOException {
+		int type = buffer.get() & 0xFF;
+		switch (type) {
+		case GeometryCodec.POINT:
+			double[] p = readCoordinates(2);
+			return new Point(p[0], p[1]);
+		case GeometryCodec.LINE:
+			return new Line(readCoordinates(4));
+		case GeometryCodec.QUADRATIC_CURVE:
+			return new QuadraticCurve(readCoordinates(6));
+		case GeometryCodec.CUBIC_CURVE:
+			return new CubicCurve(readCoordinates(8));
+		case GeometryCodec.BEZIER_CURVE:
+			return new BezierCurve(readCoordinates(2 * readCount()));
+		case GeometryCodec.POLYLINE:
+			return new Polyline(readCoordinates(2 * readCount()));
+		case GeometryCodec.POLYGON:
+			return new Polygon(readCoordinates(2 * readCount()));
+		case GeometryCodec.RECTANGLE:
+			double[] r = readCoordinates(4);
+			return new Rectangle(r[0], r[1], r[2], r[3]);
+		case GeometryCodec.POLY_BEZIER:
+			return decodePolyBezier();
+		case GeometryCodec.PATH:
+			return decodePath();
+		case GeometryCodec.RING:
+			return decodeRing();
+		case GeometryCodec.REGION:
+			return decodeRegion();
+		default:
+			throw new IOException("Unknown geometry type " + type + ".");
+		}
+	}
+
+	private Path decodePath() throws IOException {
+		Path path = new Path(buffer.get());
+		int[] types = new int[readCount()];
+		int coordinateCount = 0;
+		for (int i = 0; i < types.length; i++) {
+			types[i] = buffer.get();
+			if (types[i] == Path.Segment.QUAD_TO) {
+				coordinateCount += 4;
+			} else if (types[i] == Path.Segment.CUBIC_TO) {
+				coordinateCount += 6;
+			} else if (types[i] != Path.Segment.CLOSE) {
+				coordinateCount += 2;
+			}
+		}
+		double[] c = readCoordinates(coordinateCount);
+		for (int i = 0, k = 0; i < types.length; i++) {
+			switch (types[i]) {
+			case Path.Segment.MOVE_TO:
+				path.moveTo(c[k], c[k + 1]);
+				k += 2;
+				break;
+			case Path.Segment.LINE_TO:
+				path.lineTo(c[k], c[k + 1]);
+				k += 2;
+				break;
+			case Path.Segment.QUAD_TO:
+				path.quadTo(c[k], c[k + 1], c[k + 2], c[k + 3]);
+				k += 4;
+				break;
+			case Path.Segment.CUBIC_TO:
+				path.cubicTo(c[k], c[k + 1], c[k + 2], c[k + 3], c[k + 4],
+						c[k + 5]);
+				k += 6;
+				break;
+			case Path.Segment.CLOSE:
+				path.close();
+				break;
+			default:
+				throw new IOException(
+						"Unknown segment type " + types[i] + ".");
+			}
+		}
+		return path;
+	}
+
+	private PolyBezier decodePolyBezier() throws IOException {
+		int[] types = new int[readCount()];
+		int[] counts = new int[types.length];
+		int coordinateCount = 0;
+		for (int i = 0; i < types.length; i++) {
+			types[i] = buffer.get() & 0xFF;
+			switch (types[i]) {
+			case GeometryCodec.LINE:
+				counts[i] = 4;
+				break;
+			case GeometryCodec.QUADRATIC_CURVE:
+				counts[i] = 6;
+				break;
+			case GeometryCodec.CUBIC_CURVE:
+				counts[i] = 8;
+				break;
+			case GeometryCodec.BEZIER_CURVE:
+				counts[i] = 2 * readCount();
+				break;
+			default:
+				throw new IOException("Unknown curve type " + types[i] + ".");
+			}
+			coordinateCount += counts[i];
+		}
+		double[] c = readCoordinates(coordinateCount);
+		BezierCurve[] beziers = new BezierCurve[types.length];
+		for (int i = 0, k = 0; i < beziers.length; k += counts[i++]) {
+			double[] controlPoints = new double[counts[i]];
+			System.arraycopy(c, k, controlPoints, 0, counts[i]);
+			if (types[i] == GeometryCodec.LINE) {
+				beziers[i] = new Line(controlPoints);
+			} else if (types[i] == GeometryCodec.QUADRATIC_CURVE) {
+				beziers[i] = new QuadraticCurve(controlPoints);
+			} else if (types[i] == GeometryCodec.CUBIC_CURVE) {
+				beziers[i] = new CubicCurve(controlPoints);
+			} else {
+				beziers[i] = new BezierCurve(controlPoints);
+			}
+		}
+		return new PolyBezier(beziers);
+	}
+
+	private Region decodeRegion() throws IOException {
+		double[][] bands = new double[readCount()][];
+		int coordinateCount = 0;
+		for (int i = 0; i < bands.length; i++) {
+			bands[i] = new double[2 + 2 * readCount()];
+			coordinateCount += bands[i].length;
+		}
+		double[] c = readCoordinates(coordinateCount);
+		for (int i = 0, k = 0; i < bands.length; k += bands[i++].length) {
+			System.arraycopy(c, k, bands[i], 0, bands[i].length);
+		}
+		// the bands have already been normalized when writing them, so that
+		// they can be added as they are
+		return Region.fromBands(bands);
+	}
+
+	private Ring decodeRing() throws IOException {
+		int[] counts = new int[readCount()];
+		int coordinateCount = 0;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = 2 * readCount();
+			coordinateCount += counts[i];
+		}
+		double[] c = readCoordinates(coordinateCount);
+		List<Polygon> triangles = new ArrayList<>(counts.length);
+		for (int i = 0, k = 0; i < counts.length; k += counts[i++]) {
+			double[] coordinates = new double[counts[i]];
+			System.arraycopy(c, k, coordinates, 0, counts[i]);
+			triangles.add(new Polygon(coordinates));
+		}
+		// the triangles do not overlap, so that they do not have to be split
+		// again (see Ring#add(Polygon))
+		return Ring.fromTriangles(triangles);
+	}
+
+	// ensures that at least n bytes remain in the buffer (if possible)
+	private boolean fill(int n) throws IOException {
+		if (buffer.remaining() >= n || in == null) {
+			return buffer.remaining() >= n;
+		}
+		if (n > buffer.capacity()) {
+			ByteBuffer larger = ByteBuffer
+					.allocate(Math.max(n, 2 * buffer.capacity()))
+					.order(ByteOrder.LITTLE_ENDIAN);
+			larger.put(buffer);
+			buffer = larger;
+		} else {
+			buffer.compact();
+		}
+		while (buffer.position() < n) {
+			int read = in.read(buffer.array(), buffer.position(),
+					buffer.remaining());
+			if (read < 0) {
+				break;
+			}
+			buffer.position(buffer.position() + read);
+		}
+		buffer.flip();
+		return buffer.remaining() >= n;
+	}
+
+	/**
+	 * Reads the next {@link Point} or geometry. Use {@link #read(Class)} in
+	 * case its type is known.
+	 *
+	 * @return the {@link Point} or geometry that was read, or
+	 *         <code>null</code> if the end of the input was reached
+	 * @throws IOException
+	 *             if an I/O error occurs, or if the input was not written by
+	 *             a {@link GeometryWriter}
+	 */
+	public Object read() throws IOException {
+		int length = readLength();
+		if (length < 0) {
+			return null;
+		}
+		// prevent malformed records from being decoded beyond their end
+		int limit = buffer.limit();
+		int end = buffer.position() + length;
+		buffer.limit(end);
+		Object geometry;
+		try {
+			geometry = decode();
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new IOException("Malformed geometry record.", e);
+		}
+		if (buffer.position() != end) {
+			throw new IOException("Malformed geometry record.");
+		}
+		buffer.limit(limit);
+		return geometry;
+	}
+
+	/**
+	 * Reads the next {@link Point} or geometry, which has to be of the given
+	 * type, e.g. {@link Point}, {@link IGeometry}, or {@link Polygon}.
+	 *
+	 * @param <T>
+	 *            the type of the {@link Point} or geometry to read
+	 * @param type
+	 *            the type of the {@link Point} or geometry to read
+	 * @return the {@link Point} or geometry that was read, or
+	 *         <code>null</code> if the end of the input was reached
+	 * @throws IOException
+	 *             if an I/O error occurs, if the input was not written by a
+	 *             {@link GeometryWriter}, or if the {@link Point} or geometry
+	 *             that was read is not of the given type
+	 */
+	public <T> T read(Class<T> type) throws IOException {
+		if (type == null) {
+			throw new IllegalArgumentException(
+					"The given Class may not be null.");
+		}
+		Object geometry = read();
+		if (geometry != null && !type.isInstance(geometry)) {
+			throw new IOException("Expected a record of type "
+					+ type.getName() + " but read one of type "
+					+ geometry.getClass().getName() + ".");
+		}
+		return type.cast(geometry);
+	}
+
+	private double[] readCoordinates(int count) throws IOException {
+		// each coordinate takes up at least one byte
+		if (count < 0 || count > buffer.remaining()) {
+			throw new IOException("Malformed geometry record.");
+		}
+		double[] coordinates = new double[count];
+		int scaleIndex = buffer.get() & 0xFF;
+		if (scaleIndex == GeometryCodec.RAW) {
+			for (int i = 0; i < count; i++) {
+				coordinates[i] = buffer.getDouble();
+			}
+		} else if (scaleIndex < GeometryCodec.SCALES.length) {
+			double scale = GeometryCodec.SCALES[scaleIndex];
+			long x = 0;
+			long y = 0;
+			for (int i = 0; i < count; i += 2) {
+				x += readVarLong();
+				y += readVarLong();
+				coordinates[i] = x / scale;
+				coordinates[i + 1] = y / scale;
+			}
+		} else {
+			throw new IOException("Unknown scale " + scaleIndex + ".");
+		}
+		return coordinates;
+	}
+
+	// reads a number of elements, each of which takes up at least one byte
+	private int readCount() throws IOException {
+		int count = readVarInt();
+		if (count < 0 || count > buffer.remaining()) {
+			throw new IOException("Malformed geometry record.");
+		}
+		return count;
+	}
+
+	// reads the header (if not done yet) and the length of the next record,
+	// returning -1 if there is none
+	private int readLength() throws IOException {
+		if (!headerRead) {
+			if (!fill(GeometryCodec.MAGIC.length + 1)) {
+				throw new IOException("Missing geometry stream header.");
+			}
+			for (byte b : GeometryCodec.MAGIC) {
+				if (buffer.get() != b) {
+					throw new IOException("Missing geometry stream header.");
+				}
+			}
+			int version = buffer.get();
+			if (version != GeometryCodec.VERSION) {
+				throw new IOException(
+						"Unsupported geometry stream version " + version
+								+ ".");
+			}
+			headerRead = true;
+		}
+		if (!fill(1)) {
+			return -1;
+		}
+		fill(GeometryCodec.MAX_VARINT_LENGTH);
+		int length;
+		try {
+			length = readVarInt();
+		} catch (BufferUnderflowException e) {
+			throw new EOFException("Truncated geometry record.");
+		}
+		if (!fill(length)) {
+			throw new EOFException("Truncated geometry record.");
+		}
+		return length;
+	}
+
+	private long readUnsignedVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint.");
+	}
+
+	private int readVarInt() throws IOException {
+		long value = readUnsignedVarLong();
+		if (value > Integer.MAX_VALUE) {
+			throw new IOException("Malformed varint.");
+		}
+		return (int) value;
+	}
+
+	private long readVarLong() throws IOException {
+		long value = readUnsignedVarLong();
+		// undo the zig-zag encoding (see GeometryWriter)
+		return value >>> 1 ^ -(value & 1);
+	}
+
+	/**
+	 * Skips the next {@link Point} or geometry without decoding it.
+	 *
+	 * @return <code>true</code> if a {@link Point} or geometry was skipped,
+	 *         <code>false</code> if the end of the input was reached
+	 * @throws IOException
+	 *             if an I/O error occurs, or if the input was not written by
+	 *             a {@link GeometryWriter}
+	 */
+	public boolean skip() throws IOException {
+		int length = readLength();
+		if (length < 0) {
+			return false;
+		}
+		buffer.position(buffer.position() + length);
+		return true;
+	}
+
+}
@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.eclipse.gef.geometry.planar.Path.Segment;
+
+/**
+ * <p>
+ * A {@link GeometryWriter} writes {@link Point}s and geometries in a compact
+ * binary format to an {@link OutputStream}, from which they can be restored
+ * by a {@link GeometryReader}. Supported are {@link Line}s,
+ * {@link QuadraticCurve}s, {@link CubicCurve}s, {@link BezierCurve}s,
+ * {@link Polyline}s, {@link Polygon}s, {@link Rectangle}s,
+ * {@link PolyBezier}s, {@link Path}s, {@link Ring}s, and {@link Region}s.
+ * </p>
+ * <p>
+ * Coordinates are delta and varint encoded (see {@link GeometryCodec}), so
+ * that integral coordinates and those with few decimal places take up only a
+ * few bytes, while all other coordinates are stored as doubles. The
+ * coordinates are restored exactly, except for the sign of zero.
+ * {@link BezierCurve}s are stored by their (cartesian) control points, and
+ * {@link Ring}s and {@link Region}s by their internal shapes, so that they do
+ * not have to be recomputed when reading them.
+ * </p>
+ * <p>
+ * The encoded records are buffered, so that the given {@link OutputStream}
+ * does not need to be buffered. {@link #flush()} or {@link #close()} has to
+ * be called after the last geometry has been written.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class GeometryWriter implements Closeable, Flushable {
+
+	private final OutputStream out;
+
+	// the encoded records that are not yet written to the stream
+	private byte[] buffer = new byte[8192];
+	private int count;
+
+	// the record that is currently encoded (except for its coordinates)
+	private byte[] record = new byte[64];
+	private int length;
+
+	// the coordinates of the record that is currently encoded
+	private double[] coordinates = new double[64];
+	private int coordinateCount;
+
+	/**
+	 * Constructs a new {@link GeometryWriter}, which writes to the given
+	 * {@link OutputStream}.
+	 *
+	 * @param out
+	 *            the {@link OutputStream} to write to
+	 */
+	public GeometryWriter(OutputStream out) {
+		if (out == null) {
+			throw new IllegalArgumentException(
+					"The given OutputStream may not be null.");
+		}
+		this.out = out;
+		System.arraycopy(GeometryCodec.MAGIC, 0, buffer, 0,
+				GeometryCodec.MAGIC.length);
+		buffer[GeometryCodec.MAGIC.length] = GeometryCodec.VERSION;
+		count = GeometryCodec.MAGIC.length + 1;
+	}
+
+	private void addCoordinates(double x, double y) {
+		if (coordinateCount + 2 > coordinates.length) {
+			coordinates = Arrays.copyOf(coordinates,
+					Math.max(2 * coordinates.length, coordinateCount + 2));
+		}
+		coordinates[coordinateCount++] = x;
+		coordinates[coordinateCount++] = y;
+	}
+
+	private void addCoordinates(double[] coordinates) {
+		for (int i = 0; i < coordinates.length; i += 2) {
+			addCoordinates(coordinates[i], coordinates[i + 1]);
+		}
+	}
+
+	private void addCoordinates(Point[] points) {
+		for (Point p : points) {
+			addCoordinates(p.x, p.y);
+		}
+	}
+
+	/**
+	 * Flushes this {@link GeometryWriter} and closes the underlying
+	 * {@link OutputStream}.
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+		out.close();
+	}
+
+	private void ensureCapacity(int n) {
+		if (length + n > record.length) {
+			record = Arrays.copyOf(record,
+					Math.max(2 * record.length, length + n));
+		}
+	}
+
+	/**
+	 * Writes all buffered records to the underlying {@link OutputStream} and
+	 * flushes it.
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	@Override
+	public void flush() throws IOException {
+		out.write(buffer, 0, count);
+		count = 0;
+		out.flush();
+	}
+
+	/**
+	 * Writes the given geometry.
+	 *
+	 * @param geometry
+	 *            the geometry to write, which has to be of one of the
+	 *            supported types (see {@link GeometryWriter})
+	 * @throws IllegalArgumentException
+	 *             if the type of the given geometry is not supported
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void write(IGeometry geometry) throws IOException {
+		if (geometry == null) {
+			throw new IllegalArgumentException(
+					"The given IGeometry may not be null.");
+		}
+		length = 0;
+		coordinateCount = 0;
+		Class<?> type = geometry.getClass();
+		if (type == Line.class) {
+			writeByte(GeometryCodec.LINE);
+			addCoordinates(((Line) geometry).getCoordinates());
+		} else if (type == QuadraticCurve.class) {
+			writeByte(GeometryCodec.QUADRATIC_CURVE);
+			addCoordinates(((QuadraticCurve) geometry).getCoordinates());
+		} else if (type == CubicCurve.class) {
+			writeByte(GeometryCodec.CUBIC_CURVE);
+			addCoordinates(((CubicCurve) geometry).getCoordinates());
+		} else if (type == BezierCurve.class) {
+			double[] controlPoints = ((BezierCurve) geometry).getCoordinates();
+			writeByte(GeometryCodec.BEZIER_CURVE);
+			writeVarInt(controlPoints.length / 2);
+			addCoordinates(controlPoints);
+		} else if (type == Polyline.class || type == Polygon.class) {
+			Point[] points = ((AbstractPointListBasedGeometry<?>) geometry).points;
+			writeByte(type == Polyline.class ? GeometryCodec.POLYLINE
+					: GeometryCodec.POLYGON);
+			writeVarInt(points.length);
+			addCoordinates(points);
+		} else if (type == Rectangle.class) {
+			Rectangle r = (Rectangle) geometry;
+			writeByte(GeometryCodec.RECTANGLE);
+			addCoordinates(r.x, r.y);
+			addCoordinates(r.width, r.height);
+		} else if (type == PolyBezier.class) {
+			BezierCurve[] beziers = ((PolyBezier) geometry).toBezier();
+			writeByte(GeometryCodec.POLY_BEZIER);
+			writeVarInt(beziers.length);
+			for (BezierCurve c : beziers) {
+				// preserve the types of the curves
+				double[] controlPoints = c.getCoordinates();
+				if (c.getClass() == Line.class) {
+					writeByte(GeometryCodec.LINE);
+				} else if (c.getClass() == QuadraticCurve.class) {
+					writeByte(GeometryCodec.QUADRATIC_CURVE);
+				} else if (c.getClass() == CubicCurve.class) {
+					writeByte(GeometryCodec.CUBIC_CURVE);
+				} else {
+					writeByte(GeometryCodec.BEZIER_CURVE);
+					writeVarInt(controlPoints.length / 2);
+				}
+				addCoordinates(controlPoints);
+			}
+		} else if (type == Path.class) {
+			Path path = (Path) geometry;
+			Segment[] segments = path.getSegments();
+			writeByte(GeometryCodec.PATH);
+			writeByte(path.getWindingRule());
+			writeVarInt(segments.length);
+			for (Segment s : segments) {
+				writeByte(s.getType());
+				addCoordinates(s.getPoints());
+			}
+		} else if (type == Ring.class) {
+			Polygon[] triangles = ((Ring) geometry).getShapes();
+			writeByte(GeometryCodec.RING);
+			writeVarInt(triangles.length);
+			for (Polygon triangle : triangles) {
+				writeVarInt(triangle.points.length);
+				addCoordinates(triangle.points);
+			}
+		} else if (type == Region.class) {
+			double[][] bands = ((Region) geometry).getBands();
+			writeByte(GeometryCodec.REGION);
+			writeVarInt(bands.length);
+			for (double[] band : bands) {
+				writeVarInt((band.length - 2) / 2);
+				addCoordinates(band);
+			}
+		} else {
+			throw new IllegalArgumentException(
+					"Geometries of type " + type.getName()
+							+ " are not supported.");
+		}
+		writeCoordinates();
+		writeRecord();
+	}
+
+	/**
+	 * Writes the given {@link Point}.
+	 *
+	 * @param point
+	 *            the {@link Point} to write
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void write(Point point) throws IOException {
+		if (point == null) {
+			throw new IllegalArgumentException(
+					"The given Point may not be null.");
+		}
+		length = 0;
+		coordinateCount = 0;
+		writeByte(GeometryCodec.POINT);
+		addCoordinates(point.x, point.y);
+		writeCoordinates();
+		writeRecord();
+	}
+
+	private void writeByte(int b) {
+		ensureCapacity(1);
+		record[length++] = (byte) b;
+	}
+
+	private void writeCoordinates() {
+		int scaleIndex = GeometryCodec.getScale(coordinates, coordinateCount);
+		writeByte(scaleIndex);
+		if (scaleIndex == GeometryCodec.RAW) {
+			ensureCapacity(8 * coordinateCount);
+			for (int i = 0; i < coordinateCount; i++) {
+				long bits = Double.doubleToRawLongBits(coordinates[i]);
+				for (int k = 0; k < 8; k++) {
+					record[length++] = (byte) (bits >>> 8 * k);
+				}
+			}
+		} else {
+			double scale = GeometryCodec.SCALES[scaleIndex];
+			long previousX = 0;
+			long previousY = 0;
+			for (int i = 0; i < coordinateCount; i += 2) {
+				long x = Math.round(coordinates[i] * scale);
+				long y = Math.round(coordinates[i + 1] * scale);
+				writeVarLong(x - previousX);
+				writeVarLong(y - previousY);
+				previousX = x;
+				previousY = y;
+			}
+		}
+	}
+
+	private void writeRecord() throws IOException {
+		int n = length + GeometryCodec.MAX_VARINT_LENGTH;
+		if (count + n > buffer.length) {
+			out.write(buffer, 0, count);
+			count = 0;
+			if (n > buffer.length) {
+				buffer = new byte[n];
+			}
+		}
+		for (int v = length; true; v >>>= 7) {
+			if ((v & ~0x7F) == 0) {
+				buffer[count++] = (byte) v;
+				break;
+			}
+			buffer[count++] = (byte) (v & 0x7F | 0x80);
+		}
+		System.arraycopy(record, 0, buffer, count, length);
+		count += length;
+	}
+
+	private void writeVarInt(int value) {
+		ensureCapacity(GeometryCodec.MAX_VARINT_LENGTH);
+		for (int v = value; true; v >>>= 7) {
+			if ((v & ~0x7F) == 0) {
+				record[length++] = (byte) v;
+				return;
+			}
+			record[length++] = (byte) (v & 0x7F | 0x80);
+		}
+	}
+
+	// zig-zag encodes the given value, so that small negative values result
+	// in short varints as well
+	private void writeVarLong(long value) {
+		ensureCapacity(10);
+		for (long v = value << 1 ^ value >> 63; true; v >>>= 7) {
+			if ((v & ~0x7FL) == 0) {
+				record[length++] = (byte) v;
+				return;
+			}
+			record[length++] = (byte) (v & 0x7F | 0x80);
+		}
+	}
+
+}
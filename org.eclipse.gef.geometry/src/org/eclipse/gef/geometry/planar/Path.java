@@ -8,11 +8,12 @@
  *
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
+ *     agent - cache bounds, line strips and outlines
+ *           - compute boolean operations without java.awt.geom.Area
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
 
-import java.awt.geom.Area;
 import java.awt.geom.Path2D;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -20,6 +21,7 @@ import java.util.List;
 
 import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
 import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.internal.utils.CacheStatistics;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 
 /**
@@ -254,10 +256,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the sum of the areas
 	 */
 	public static Path add(Path pa, Path pb) {
-		Area a = new Area(Geometry2AWT.toAWTPath(pa));
-		Area b = new Area(Geometry2AWT.toAWTPath(pb));
-		a.add(b);
-		return AWT2Geometry.toPath(new Path2D.Double(a));
+		return BooleanOperationUtils.union(pa, pb);
 	}
 
 	/**
@@ -271,10 +270,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the exclusive-or of the areas
 	 */
 	public static Path exclusiveOr(Path pa, Path pb) {
-		Area a = new Area(Geometry2AWT.toAWTPath(pa));
-		Area b = new Area(Geometry2AWT.toAWTPath(pb));
-		a.exclusiveOr(b);
-		return AWT2Geometry.toPath(new Path2D.Double(a));
+		return BooleanOperationUtils.exclusiveOr(pa, pb);
 	}
 
 	/**
@@ -288,10 +284,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 *         areas
 	 */
 	public static Path intersect(Path pa, Path pb) {
-		Area a = new Area(Geometry2AWT.toAWTPath(pa));
-		Area b = new Area(Geometry2AWT.toAWTPath(pb));
-		a.intersect(b);
-		return AWT2Geometry.toPath(new Path2D.Double(a));
+		return BooleanOperationUtils.intersect(pa, pb);
 	}
 
 	/**
@@ -304,16 +297,17 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the area covered by the first but not the second given area
 	 */
 	public static Path subtract(Path pa, Path pb) {
-		Area a = new Area(Geometry2AWT.toAWTPath(pa));
-		Area b = new Area(Geometry2AWT.toAWTPath(pb));
-		a.subtract(b);
-		return AWT2Geometry.toPath(new Path2D.Double(a));
+		return BooleanOperationUtils.subtract(pa, pb);
 	}
 
 	private int windingRule = WIND_NON_ZERO;
 
 	private List<Segment> segments = new ArrayList<>();
 
+	// lazily computed, reset by all methods that modify the segments
+	private transient BezierCurve[] outlines;
+	private transient Rectangle bounds;
+
 	/**
 	 * Creates a new empty path with a default winding rule of
 	 * {@link #WIND_NON_ZERO}.
@@ -368,6 +362,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 */
 	public final Path add(List<Segment> segments) {
 		this.segments.addAll(segments);
+		resetCaches();
 		return this;
 	}
 
@@ -380,6 +375,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 */
 	public final Path add(Segment... segments) {
 		this.segments.addAll(Arrays.asList(segments));
+		resetCaches();
 		return this;
 	}
 
@@ -391,9 +387,57 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 */
 	public final Path close() {
 		segments.add(new Segment(Segment.CLOSE));
+		resetCaches();
 		return this;
 	}
 
+	private BezierCurve[] computeOutlines() {
+		List<BezierCurve> curves = new ArrayList<>();
+		// save the segment start point as it is not contained within individual
+		// path segments
+		Point segmentStart = null;
+		// save the last move_to position which is later needed for a close
+		// segment
+		Point moveTo = null;
+		for (Segment s : segments) {
+			if (s.getType() == Segment.MOVE_TO) {
+				// save MOVE_TO position
+				moveTo = s.getPoints()[0];
+				// set segment start position to the move_to position
+				segmentStart = moveTo;
+			} else {
+				// for all other segments a curve is created
+				if (segmentStart == null) {
+					throw new IllegalStateException(
+							"This Path does not start with a MOVE_TO, therefore, no start position could be determined.");
+				} else {
+					if (s.getType() == Segment.LINE_TO) {
+						curves.add(new Line(segmentStart, s.getPoints()[0]));
+						segmentStart = s.getPoints()[0];
+					} else if (s.getType() == Segment.QUAD_TO) {
+						curves.add(new QuadraticCurve(segmentStart,
+								s.getPoints()[0], s.getPoints()[1]));
+						segmentStart = s.getPoints()[1];
+					} else if (s.getType() == Segment.CUBIC_TO) {
+						curves.add(
+								new org.eclipse.gef.geometry.planar.CubicCurve(
+										segmentStart, s.getPoints()[0],
+										s.getPoints()[1], s.getPoints()[2]));
+						segmentStart = s.getPoints()[2];
+					} else if (s.getType() == Segment.CLOSE) {
+						curves.add(new Line(segmentStart, moveTo));
+						segmentStart = moveTo;
+					} else {
+						throw new IllegalStateException(
+								"This Path contains an unsupported Segment: <"
+										+ s + ">.");
+					}
+				}
+			}
+		}
+		return curves.toArray(new BezierCurve[] {});
+	}
+
 	@Override
 	public boolean contains(Point p) {
 		return Geometry2AWT.toAWTPath(this)
@@ -440,6 +484,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 		segments.add(
 				new Segment(Segment.CUBIC_TO, new Point(control1X, control1Y),
 						new Point(control2X, control2Y), new Point(x, y)));
+		resetCaches();
 		return this;
 	}
 
@@ -458,15 +503,31 @@ public class Path extends AbstractGeometry implements IGeometry {
 
 	@Override
 	public Rectangle getBounds() {
-		List<ICurve> outlines = getOutlines();
-		if (outlines.size() > 0) {
-			Rectangle outlineBounds = outlines.get(0).getBounds();
-			for (int i = 1; i < outlines.size(); i++) {
-				outlineBounds.union(outlines.get(i).getBounds());
+		if (bounds == null) {
+			CacheStatistics.miss();
+			BezierCurve[] outlines = getCachedOutlines();
+			if (outlines.length > 0) {
+				bounds = outlines[0].getBounds();
+				for (int i = 1; i < outlines.length; i++) {
+					bounds.union(outlines[i].getBounds());
+				}
+			} else {
+				bounds = new Rectangle();
 			}
-			return outlineBounds;
+		} else {
+			CacheStatistics.hit();
+		}
+		return bounds.getCopy();
+	}
+
+	private BezierCurve[] getCachedOutlines() {
+		if (outlines == null) {
+			CacheStatistics.miss();
+			outlines = computeOutlines();
+		} else {
+			CacheStatistics.hit();
 		}
-		return new Rectangle();
+		return outlines;
 	}
 
 	@Override
@@ -475,61 +536,93 @@ public class Path extends AbstractGeometry implements IGeometry {
 	}
 
 	/**
-	 * Returns a {@link List} of {@link ICurve}s, representing the outline of
-	 * <code>this</code> {@link Path}. For every {@link Segment#LINE_TO},
-	 * {@link Segment#QUAD_TO}, {@link Segment#CUBIC_TO}, and
-	 * {@link Segment#CLOSE}, one {@link BezierCurve} is created that resembles
-	 * that segment.
+	 * Returns a new {@link Path}, in which the {@link Segment#QUAD_TO} and
+	 * {@link Segment#CUBIC_TO} segments of this {@link Path} are replaced by
+	 * {@link Segment#LINE_TO} segments, so that the distance between each
+	 * curve and its flattening does not exceed the given tolerance (see
+	 * {@link BezierCurve#getFlattenedCoordinates(double)}).
 	 *
-	 * @return A {@link List} of {@link ICurve}s representing the outline of the
-	 *         given {@link Path}.
+	 * @param tolerance
+	 *            the maximal distance between the curves of this {@link Path}
+	 *            and their flattening
+	 * @return a new, flattened {@link Path}
 	 */
-	public List<ICurve> getOutlines() {
-		List<ICurve> curves = new ArrayList<>();
-		Segment[] segments = getSegments();
-		// save the segment start point as it is not contained within individual
-		// path segments
+	public Path getFlattened(double tolerance) {
+		return getFlattened(tolerance, null);
+	}
+
+	/**
+	 * Returns a new, flattened {@link Path} (see
+	 * {@link #getFlattened(double)}), where the given tolerance refers to the
+	 * coordinate system this {@link Path} is transformed to by the given
+	 * {@link AffineTransform} (see
+	 * {@link BezierCurve#getFlattenedCoordinates(double, AffineTransform)}).
+	 * The returned {@link Path} is not transformed.
+	 *
+	 * @param tolerance
+	 *            the maximal distance between the transformed curves of this
+	 *            {@link Path} and their transformed flattening
+	 * @param t
+	 *            the {@link AffineTransform} to the coordinate system the
+	 *            tolerance refers to, or <code>null</code> if it refers to the
+	 *            coordinate system of this {@link Path}
+	 * @return a new, flattened {@link Path}
+	 */
+	public Path getFlattened(double tolerance, AffineTransform t) {
+		Path flattened = new Path(windingRule);
+		// see computeOutlines()
 		Point segmentStart = null;
-		// save the last move_to position which is later needed for a close
-		// segment
 		Point moveTo = null;
 		for (Segment s : segments) {
-			if (s.getType() == Segment.MOVE_TO) {
-				// save MOVE_TO position
-				moveTo = s.getPoints()[0];
-				// set segment start position to the move_to position
+			if (s.type == Segment.MOVE_TO) {
+				moveTo = s.points[0];
+				segmentStart = moveTo;
+				flattened.moveTo(moveTo.x, moveTo.y);
+			} else if (segmentStart == null) {
+				throw new IllegalStateException(
+						"This Path does not start with a MOVE_TO, therefore, no start position could be determined.");
+			} else if (s.type == Segment.CLOSE) {
 				segmentStart = moveTo;
+				flattened.close();
+			} else if (s.type == Segment.LINE_TO) {
+				segmentStart = s.points[0];
+				flattened.lineTo(segmentStart.x, segmentStart.y);
 			} else {
-				// for all other segments a curve is created
-				if (segmentStart == null) {
-					throw new IllegalStateException(
-							"This Path does not start with a MOVE_TO, therefore, no start position could be determined.");
-				} else {
-					if (s.getType() == Segment.LINE_TO) {
-						curves.add(new Line(segmentStart, s.getPoints()[0]));
-						segmentStart = s.getPoints()[0];
-					} else if (s.getType() == Segment.QUAD_TO) {
-						curves.add(new QuadraticCurve(segmentStart,
-								s.getPoints()[0], s.getPoints()[1]));
-						segmentStart = s.getPoints()[1];
-					} else if (s.getType() == Segment.CUBIC_TO) {
-						curves.add(
-								new org.eclipse.gef.geometry.planar.CubicCurve(
-										segmentStart, s.getPoints()[0],
-										s.getPoints()[1], s.getPoints()[2]));
-						segmentStart = s.getPoints()[2];
-					} else if (s.getType() == Segment.CLOSE) {
-						curves.add(new Line(segmentStart, moveTo));
-						segmentStart = moveTo;
-					} else {
-						throw new IllegalStateException(
-								"This Path contains an unsupported Segment: <"
-										+ s + ">.");
-					}
+				double[] controlPoints = new double[2 * s.points.length + 2];
+				controlPoints[0] = segmentStart.x;
+				controlPoints[1] = segmentStart.y;
+				for (int i = 0; i < s.points.length; i++) {
+					controlPoints[2 * i + 2] = s.points[i].x;
+					controlPoints[2 * i + 3] = s.points[i].y;
+				}
+				int count = CurveUtils.getFlatteningSegmentCount(
+						controlPoints, tolerance, t);
+				double[] coordinates = new double[2 * count + 2];
+				BezierCurveUtils.flatten(controlPoints, count, coordinates,
+						0);
+				for (int i = 1; i <= count; i++) {
+					flattened.lineTo(coordinates[2 * i],
+							coordinates[2 * i + 1]);
 				}
+				segmentStart = s.points[s.points.length - 1];
 			}
 		}
-		return curves;
+		return flattened;
+	}
+
+	/**
+	 * Returns a {@link List} of {@link ICurve}s, representing the outline of
+	 * <code>this</code> {@link Path}. For every {@link Segment#LINE_TO},
+	 * {@link Segment#QUAD_TO}, {@link Segment#CUBIC_TO}, and
+	 * {@link Segment#CLOSE}, one {@link BezierCurve} is created that resembles
+	 * that segment.
+	 *
+	 * @return A {@link List} of {@link ICurve}s representing the outline of the
+	 *         given {@link Path}.
+	 */
+	public List<ICurve> getOutlines() {
+		return new ArrayList<ICurve>(
+				Arrays.asList(CurveUtils.getCopy(getCachedOutlines())));
 	}
 
 	/**
@@ -575,6 +668,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 */
 	public final Path lineTo(double x, double y) {
 		segments.add(new Segment(Segment.LINE_TO, new Point(x, y)));
+		resetCaches();
 		return this;
 	}
 
@@ -590,6 +684,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 */
 	public final Path moveTo(double x, double y) {
 		segments.add(new Segment(Segment.MOVE_TO, new Point(x, y)));
+		resetCaches();
 		return this;
 	}
 
@@ -612,6 +707,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 			double y) {
 		segments.add(new Segment(Segment.QUAD_TO, new Point(controlX, controlY),
 				new Point(x, y)));
+		resetCaches();
 		return this;
 	}
 
@@ -622,9 +718,15 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 */
 	public final Path reset() {
 		segments.clear();
+		resetCaches();
 		return this;
 	}
 
+	private void resetCaches() {
+		outlines = null;
+		bounds = null;
+	}
+
 	/**
 	 * Sets the winding rule of this {@link Path} to the passed-in integer
 	 * constant which is either of:
@@ -8,6 +8,7 @@
  *
  * Contributors:
  *     Matthias Wienand (itemis AG) - initial API and implementation
+ *     agent - cache bounds, line strips and outlines
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
@@ -17,6 +18,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
+import org.eclipse.gef.geometry.internal.utils.CacheStatistics;
 import org.eclipse.gef.geometry.internal.utils.PointListUtils;
 
 /**
@@ -199,6 +201,9 @@ public class PolyBezier extends AbstractGeometry
 
 	private BezierCurve[] beziers;
 
+	// lazily computed, reset by all methods that modify the beziers
+	private transient Rectangle bounds;
+
 	/**
 	 * Constructs a new {@link PolyBezier} of the given {@link BezierCurve}s.
 	 * The {@link BezierCurve}s are expected to be connected with each other.
@@ -227,13 +232,17 @@ public class PolyBezier extends AbstractGeometry
 			return new Rectangle();
 		}
 
-		Rectangle bounds = beziers[0].getBounds();
-
-		for (BezierCurve c : beziers) {
-			bounds.union(c.getBounds());
+		if (bounds == null) {
+			CacheStatistics.miss();
+			bounds = beziers[0].getBounds();
+			for (BezierCurve c : beziers) {
+				bounds.union(c.getBounds());
+			}
+		} else {
+			CacheStatistics.hit();
 		}
 
-		return bounds;
+		return bounds.getCopy();
 	}
 
 	@Override
@@ -241,6 +250,41 @@ public class PolyBezier extends AbstractGeometry
 		return new PolyBezier(beziers);
 	}
 
+	/**
+	 * Flattens this {@link PolyBezier} into a sequence of points, so that the
+	 * distance between this {@link PolyBezier} and the connecting line
+	 * segments does not exceed the given tolerance (see
+	 * {@link BezierCurve#getFlattenedCoordinates(double)}).
+	 *
+	 * @param tolerance
+	 *            the maximal distance between this {@link PolyBezier} and its
+	 *            flattening
+	 * @return the coordinates of the points, in x, y order
+	 */
+	public double[] getFlattenedCoordinates(double tolerance) {
+		return getFlattenedCoordinates(tolerance, null);
+	}
+
+	/**
+	 * Flattens this {@link PolyBezier} into a sequence of points, where the
+	 * given tolerance refers to the coordinate system this {@link PolyBezier}
+	 * is transformed to by the given {@link AffineTransform} (see
+	 * {@link BezierCurve#getFlattenedCoordinates(double, AffineTransform)}).
+	 *
+	 * @param tolerance
+	 *            the maximal distance between the transformed
+	 *            {@link PolyBezier} and its transformed flattening
+	 * @param t
+	 *            the {@link AffineTransform} to the coordinate system the
+	 *            tolerance refers to, or <code>null</code> if it refers to the
+	 *            coordinate system of this {@link PolyBezier}
+	 * @return the coordinates of the points, in x, y order
+	 */
+	public double[] getFlattenedCoordinates(double tolerance,
+			AffineTransform t) {
+		return CurveUtils.flatten(beziers, tolerance, t);
+	}
+
 	@Override
 	public Point[] getIntersections(ICurve c) {
 		return CurveUtils.getIntersections(this, c);
@@ -422,6 +466,7 @@ public class PolyBezier extends AbstractGeometry
 		for (BezierCurve c : beziers) {
 			c.rotateCCW(angle, cx, cy);
 		}
+		bounds = null;
 		return this;
 	}
 
@@ -476,6 +521,7 @@ public class PolyBezier extends AbstractGeometry
 		for (BezierCurve c : beziers) {
 			c.rotateCW(angle, cx, cy);
 		}
+		bounds = null;
 		return this;
 	}
 
@@ -519,6 +565,7 @@ public class PolyBezier extends AbstractGeometry
 		for (BezierCurve c : beziers) {
 			c.scale(fx, fy, cx, cy);
 		}
+		bounds = null;
 		return this;
 	}
 
@@ -560,6 +607,7 @@ public class PolyBezier extends AbstractGeometry
 		for (BezierCurve c : beziers) {
 			c.translate(dx, dy);
 		}
+		bounds = null;
 		return this;
 	}
 
@@ -9,6 +9,8 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
  *     Matthias Wienand (itemis AG) - contribution for Bugzilla #355997
+ *     agent - represent regions as bands of sorted spans
+ *           - restore regions from their bands
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
@@ -16,12 +18,11 @@ package org.eclipse.gef.geometry.planar;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.Stack;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 
 /**
  * A combination of {@link Rectangle}s. The {@link Rectangle}s that build up a
@@ -36,6 +37,14 @@ import org.eclipse.gef.geometry.euclidean.Angle;
  * They are defined to not share any area, so that only their borders can be
  * overlapping.
  *
+ * Internally, the area is represented by horizontal bands (sorted from top to
+ * bottom), each of which covers a list of sorted, disjoint spans (similar to
+ * X11 regions). Adjacent bands with equal spans are combined. Union,
+ * intersection, and difference of {@link Region}s are computed by merging the
+ * bands of both {@link Region}s in linear time, so that a {@link Region} of n
+ * {@link Rectangle}s is constructed in O(n log n) (with respect to the number
+ * of resulting internal {@link Rectangle}s).
+ *
  * @author anyssen
  * @author mwienand
  *
@@ -43,59 +52,164 @@ import org.eclipse.gef.geometry.euclidean.Angle;
 public class Region extends AbstractMultiShape
 		implements ITranslatable<Region>, IScalable<Region>, IRotatable<Ring> {
 
+	private static enum Operation {
+		UNION {
+			@Override
+			boolean isInside(boolean inA, boolean inB) {
+				return inA || inB;
+			}
+		},
+		INTERSECTION {
+			@Override
+			boolean isInside(boolean inA, boolean inB) {
+				return inA && inB;
+			}
+		},
+		DIFFERENCE {
+			@Override
+			boolean isInside(boolean inA, boolean inB) {
+				return inA && !inB;
+			}
+		};
+
+		abstract boolean isInside(boolean inA, boolean inB);
+	}
+
+	private static final long serialVersionUID = 1L;
+
+	private static final double[] NO_SPANS = new double[0];
+
 	/**
-	 * Cuts the given {@link Rectangle}s along the given parallel to the x-axis.
-	 *
-	 * @param y
-	 *            the distance of the cut-line to the x-axis
-	 * @param parts
-	 *            the {@link Rectangle}s to cut along that line
+	 * Computes the given {@link Operation} on the given {@link Region}s by
+	 * merging their bands.
+	 */
+	private static Region compute(Region a, Region b, Operation operation) {
+		Region result = new Region();
+		int i = 0;
+		int j = 0;
+		double y = Math.min(a.bandCount > 0 ? a.ys[0] : Double.MAX_VALUE,
+				b.bandCount > 0 ? b.ys[0] : Double.MAX_VALUE);
+		while (true) {
+			// skip the bands that end above the current y-coordinate
+			while (i < a.bandCount && a.ys[2 * i + 1] <= y) {
+				i++;
+			}
+			while (j < b.bandCount && b.ys[2 * j + 1] <= y) {
+				j++;
+			}
+			if (i >= a.bandCount && j >= b.bandCount) {
+				break;
+			}
+			boolean inA = i < a.bandCount && a.ys[2 * i] <= y;
+			boolean inB = j < b.bandCount && b.ys[2 * j] <= y;
+			// the next y-coordinate at which a band starts or ends
+			double next = Double.POSITIVE_INFINITY;
+			if (i < a.bandCount) {
+				next = Math.min(next, a.ys[inA ? 2 * i + 1 : 2 * i]);
+			}
+			if (j < b.bandCount) {
+				next = Math.min(next, b.ys[inB ? 2 * j + 1 : 2 * j]);
+			}
+			if (inA || inB) {
+				computeSpans(inA ? a.xs : NO_SPANS, inA ? a.offsets[i] : 0,
+						inA ? a.offsets[i + 1] : 0, inB ? b.xs : NO_SPANS,
+						inB ? b.offsets[j] : 0, inB ? b.offsets[j + 1] : 0,
+						operation, result);
+				result.addBand(y, next);
+			}
+			y = next;
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the given {@link Operation} on the given spans, adding the
+	 * resulting span boundaries to the given result {@link Region}.
 	 */
-	private static void cutH(double y, ArrayList<Rectangle> parts) {
-		for (Rectangle r : new ArrayList<>(parts)) {
-			if (r.y < y && y < r.y + r.height) {
-				parts.remove(r);
-				parts.add(new Rectangle(r.x, r.y, r.width, y - r.y));
-				parts.add(new Rectangle(r.x, y, r.width, r.y + r.height - y));
+	private static void computeSpans(double[] xa, int ia, int ea,
+			double[] xb, int ib, int eb, Operation operation,
+			Region result) {
+		boolean inA = false;
+		boolean inB = false;
+		boolean inside = false;
+		while (ia < ea || ib < eb) {
+			double x = Math.min(ia < ea ? xa[ia] : Double.POSITIVE_INFINITY,
+					ib < eb ? xb[ib] : Double.POSITIVE_INFINITY);
+			if (ia < ea && xa[ia] == x) {
+				inA = !inA;
+				ia++;
+			}
+			if (ib < eb && xb[ib] == x) {
+				inB = !inB;
+				ib++;
+			}
+			if (operation.isInside(inA, inB) != inside) {
+				inside = !inside;
+				result.addBoundary(x);
 			}
 		}
 	}
 
 	/**
-	 * Cuts the given {@link Rectangle}s along the given parallel to the y-axis.
+	 * Creates a new {@link Region} from the given bands (see
+	 * {@link #getBands()}), which are added as they are, i.e. without
+	 * recomputing them. Used by the {@link GeometryReader} to restore the
+	 * bands of a {@link Region} as they were written.
 	 *
-	 * @param x
-	 *            the distance of the cut-line to the y-axis
-	 * @param parts
-	 *            the {@link Rectangle}s to cut along that line
+	 * @param bands
+	 *            the (normalized) bands of the {@link Region}
+	 * @return the {@link Region} consisting of the given bands
 	 */
-	private static void cutV(double x, ArrayList<Rectangle> parts) {
-		for (Rectangle r : new ArrayList<>(parts)) {
-			if (r.x < x && x < r.x + r.width) {
-				parts.remove(r);
-				parts.add(new Rectangle(r.x, r.y, x - r.x, r.height));
-				parts.add(new Rectangle(x, r.y, r.x + r.width - x, r.height));
+	static Region fromBands(double[][] bands) {
+		Region region = new Region();
+		for (double[] band : bands) {
+			for (int k = 2; k < band.length; k++) {
+				region.addBoundary(band[k]);
 			}
+			region.addBand(band[0], band[1]);
 		}
+		return region;
 	}
 
-	private static final long serialVersionUID = 1L;
+	private static Region union(Rectangle[] rectangles, int from, int to) {
+		if (to - from == 1) {
+			Rectangle r = rectangles[from];
+			Region region = new Region();
+			region.addBoundary(r.x);
+			region.addBoundary(r.x + r.width);
+			region.addBand(r.y, r.y + r.height);
+			return region;
+		}
+		int mid = (from + to) >>> 1;
+		return compute(union(rectangles, from, mid),
+				union(rectangles, mid, to), Operation.UNION);
+	}
 
-	private ArrayList<Rectangle> rects;
+	// the upper and lower y-coordinates of the bands
+	private double[] ys;
+	// the indices of the first span boundaries of the bands within xs, where
+	// offsets[bandCount] is the number of span boundaries (and
+	// offsets[bandCount + 1] is used while building a band)
+	private int[] offsets;
+	// the alternating left and right x-coordinates of the spans
+	private double[] xs;
+	private int bandCount;
 
 	/**
 	 * Constructs a new {@link Region} not covering any area.
 	 */
 	public Region() {
-		rects = new ArrayList<>();
+		ys = new double[8];
+		offsets = new int[5];
+		xs = new double[8];
 	}
 
 	/**
 	 * Constructs a new {@link Region} from the given list of {@link Rectangle}
 	 * s.
 	 *
-	 * The given {@link Rectangle}s are {@link #add(Rectangle)}ed to the
-	 * {@link Region} one after the other.
+	 * The given {@link Rectangle}s are united pairwise (in a divide and
+	 * conquer manner), so that the {@link Region} is constructed in O(n log n).
 	 *
 	 * @param rectangles
 	 *            The array of {@link Rectangle}s from which this {@link Region}
@@ -103,10 +217,8 @@ public class Region extends AbstractMultiShape
 	 */
 	public Region(Rectangle... rectangles) {
 		this();
-		rects.add(rectangles[0].getCopy());
-
-		for (int i = 1; i < rectangles.length; i++) {
-			add(rectangles[i].getCopy());
+		if (rectangles.length > 0) {
+			set(union(rectangles, 0, rectangles.length));
 		}
 	}
 
@@ -119,75 +231,253 @@ public class Region extends AbstractMultiShape
 	 *            constructed.
 	 */
 	public Region(Region other) {
-		rects = new ArrayList<>(other.rects.size());
-
-		for (Rectangle or : other.rects) {
-			rects.add(or.getCopy());
-		}
+		ys = Arrays.copyOf(other.ys, Math.max(8, 2 * other.bandCount));
+		offsets = Arrays.copyOf(other.offsets,
+				Math.max(5, other.bandCount + 2));
+		xs = Arrays.copyOf(other.xs,
+				Math.max(8, other.offsets[other.bandCount]));
+		bandCount = other.bandCount;
 	}
 
 	/**
 	 * Adds the given {@link Rectangle} to this {@link Region}.
 	 *
-	 * To assure the required conditions for internal {@link Rectangle}s, the
-	 * given {@link Rectangle} is cut into several sub-{@link Rectangle}s so
-	 * that no internal {@link Rectangle}s share any area.
-	 *
 	 * @param rectangle
 	 *            the {@link Rectangle} to add to this {@link Region}
 	 * @return <code>this</code> for convenience
 	 */
 	public Region add(Rectangle rectangle) {
-		ArrayList<Rectangle> toAdd = new ArrayList<>(1);
-
-		toAdd.add(rectangle.getCopy());
-
-		for (Rectangle retain : rects) {
-			for (Rectangle addend : new ArrayList<>(toAdd)) {
-				ArrayList<Rectangle> parts = new ArrayList<>(8);
-				parts.add(addend);
+		return add(new Region(rectangle));
+	}
 
-				if (addend.x <= retain.x && retain.x <= addend.x + addend.width
-						|| retain.x <= addend.x
-								&& addend.x <= retain.x + retain.width) {
-					cutH(retain.y, parts);
-					cutH(retain.y + retain.height, parts);
-				}
+	/**
+	 * Adds the area covered by the given other {@link Region} to this
+	 * {@link Region}.
+	 *
+	 * @param other
+	 *            the {@link Region} to add to this {@link Region}
+	 * @return <code>this</code> for convenience
+	 */
+	public Region add(Region other) {
+		return set(compute(this, other, Operation.UNION));
+	}
 
-				if (addend.y <= retain.y && retain.y <= addend.y + addend.height
-						|| retain.y <= addend.y
-								&& addend.y <= retain.y + retain.height) {
-					cutV(retain.x, parts);
-					cutV(retain.x + retain.width, parts);
-				}
+	/**
+	 * Completes the band that is currently built (see
+	 * {@link #addBoundary(double)}) between the given y-coordinates. Empty
+	 * bands are discarded, and bands that are adjacent to the previous band
+	 * and cover the same spans are combined with it.
+	 */
+	private void addBand(double y1, double y2) {
+		int start = offsets[bandCount];
+		int end = offsets[bandCount + 1];
+		// reset the boundaries of the band that is currently built
+		offsets[bandCount + 1] = start;
+		if (start == end || PrecisionUtils.equal(y1, y2)) {
+			return;
+		}
+		if (bandCount > 0 && PrecisionUtils.equal(ys[2 * bandCount - 1], y1)) {
+			int previousStart = offsets[bandCount - 1];
+			boolean equal = start - previousStart == end - start;
+			for (int k = 0; equal && k < end - start; k++) {
+				equal = PrecisionUtils.equal(xs[previousStart + k],
+						xs[start + k]);
+			}
+			if (equal) {
+				ys[2 * bandCount - 1] = y2;
+				return;
+			}
+			// snap to the previous band
+			y1 = ys[2 * bandCount - 1];
+		}
+		if (2 * bandCount + 2 > ys.length) {
+			ys = Arrays.copyOf(ys, 2 * ys.length);
+		}
+		if (bandCount + 3 > offsets.length) {
+			offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+		}
+		ys[2 * bandCount] = y1;
+		ys[2 * bandCount + 1] = y2;
+		bandCount++;
+		offsets[bandCount] = end;
+		offsets[bandCount + 1] = end;
+	}
 
-				// filter inner parts:
-				for (Iterator<Rectangle> p = parts.iterator(); p.hasNext();) {
-					if (retain.contains(p.next())) {
-						p.remove();
-					}
-				}
+	/**
+	 * Adds the given span boundary to the band that is currently built, whose
+	 * boundaries range from offsets[bandCount] to offsets[bandCount + 1]. In
+	 * case it is (imprecisely) equal to the previous boundary, the empty span
+	 * (or gap) in between is removed instead.
+	 */
+	private void addBoundary(double x) {
+		int end = offsets[bandCount + 1];
+		if (end > offsets[bandCount] && PrecisionUtils.equal(xs[end - 1], x)) {
+			offsets[bandCount + 1] = end - 1;
+			return;
+		}
+		if (end + 1 > xs.length) {
+			xs = Arrays.copyOf(xs, 2 * xs.length);
+		}
+		xs[end] = x;
+		offsets[bandCount + 1] = end + 1;
+	}
 
-				toAdd.remove(addend);
-				toAdd.addAll(parts);
+	/**
+	 * Adds the horizontal outline segments at the given y-coordinate, i.e.
+	 * those parts that are covered by exactly one of the given spans, to the
+	 * given list.
+	 */
+	private void addHorizontalSegments(List<Line> segments, double y,
+			int ia, int ea, int ib, int eb) {
+		boolean inA = false;
+		boolean inB = false;
+		double start = 0;
+		while (ia < ea || ib < eb) {
+			double x = Math.min(ia < ea ? xs[ia] : Double.POSITIVE_INFINITY,
+					ib < eb ? xs[ib] : Double.POSITIVE_INFINITY);
+			if (inA != inB) {
+				segments.add(new Line(start, y, x, y));
+			}
+			if (ia < ea && xs[ia] == x) {
+				inA = !inA;
+				ia++;
 			}
+			if (ib < eb && xs[ib] == x) {
+				inB = !inB;
+				ib++;
+			}
+			start = x;
 		}
+	}
 
-		rects.addAll(toAdd);
-
-		return this;
+	/**
+	 * Adds the outline segments of the bands from the given start index
+	 * (inclusive) to the given end index (exclusive) to the given list,
+	 * including the segments along their upper and lower borders.
+	 */
+	private void addOutlineSegments(List<Line> segments, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double y1 = ys[2 * i];
+			double y2 = ys[2 * i + 1];
+			if (i > 0 && ys[2 * i - 1] == y1) {
+				addHorizontalSegments(segments, y1, offsets[i - 1],
+						offsets[i], offsets[i], offsets[i + 1]);
+			} else {
+				addHorizontalSegments(segments, y1, offsets[i],
+						offsets[i + 1], 0, 0);
+			}
+			for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+				segments.add(new Line(xs[k], y1, xs[k], y2));
+			}
+			if (i == bandCount - 1 || ys[2 * i + 2] != y2) {
+				addHorizontalSegments(segments, y2, offsets[i],
+						offsets[i + 1], 0, 0);
+			}
+		}
 	}
 
 	@Override
 	public boolean contains(IGeometry g) {
+		if (g instanceof Rectangle) {
+			return contains((Rectangle) g);
+		} else if (g instanceof Region) {
+			return contains((Region) g);
+		}
 		return ShapeUtils.contains(this, g);
 	}
 
+	@Override
+	public boolean contains(Point p) {
+		int i = getFirstBand(p.y);
+		while (i < bandCount
+				&& PrecisionUtils.smallerEqual(ys[2 * i], p.y)) {
+			if (containsSpan(i, p.x, p.x)) {
+				return true;
+			}
+			i++;
+		}
+		return false;
+	}
+
+	/**
+	 * Tests whether the given {@link Rectangle} is fully contained within
+	 * this {@link Region}.
+	 *
+	 * @param r
+	 *            the {@link Rectangle} to test
+	 * @return <code>true</code> if the given {@link Rectangle} is contained,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean contains(Rectangle r) {
+		int i = getFirstBand(r.y);
+		if (!PrecisionUtils.equal(r.height, 0)) {
+			// skip a band that only touches the upper side of the rectangle
+			while (i < bandCount
+					&& PrecisionUtils.smallerEqual(ys[2 * i + 1], r.y)) {
+				i++;
+			}
+		}
+		double y = r.y;
+		for (; i < bandCount; i++) {
+			if (!PrecisionUtils.smallerEqual(ys[2 * i], y)) {
+				// gap between the bands
+				return false;
+			}
+			if (!containsSpan(i, r.x, r.x + r.width)) {
+				return false;
+			}
+			y = ys[2 * i + 1];
+			if (PrecisionUtils.greaterEqual(y, r.y + r.height)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tests whether the given other {@link Region} is fully contained within
+	 * this {@link Region}.
+	 *
+	 * @param other
+	 *            the {@link Region} to test
+	 * @return <code>true</code> if the given {@link Region} is contained,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean contains(Region other) {
+		for (Rectangle r : other.getShapes()) {
+			if (!contains(r)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tests whether a single span of the given band (imprecisely) covers the
+	 * interval from x1 to x2.
+	 */
+	private boolean containsSpan(int band, double x1, double x2) {
+		// binary search for the last span that starts left of x1
+		int low = 0;
+		int high = (offsets[band + 1] - offsets[band]) / 2 - 1;
+		int found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (PrecisionUtils.smallerEqual(xs[offsets[band] + 2 * mid], x1)) {
+				found = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return found >= 0 && PrecisionUtils
+				.greaterEqual(xs[offsets[band] + 2 * found + 1], x2);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof Region) {
 			Region o = (Region) obj;
-			// TODO: Invent a better algorithm.
 			return contains(o) && o.contains(this);
 		}
 		return false;
@@ -200,28 +490,47 @@ public class Region extends AbstractMultiShape
 	 */
 	@Override
 	protected Line[] getAllEdges() {
-		Stack<Line> edges = new Stack<>();
-
-		for (Rectangle r : rects) {
-			for (Line e : r.getOutlineSegments()) {
-				edges.push(e);
-			}
+		List<Line> edges = new ArrayList<>();
+		for (Rectangle r : getShapes()) {
+			edges.addAll(Arrays.asList(r.getOutlineSegments()));
 		}
 		return edges.toArray(new Line[] {});
 	}
 
+	/**
+	 * Returns the bands of this {@link Region}, each of which consists of its
+	 * upper and lower y-coordinates, followed by the alternating left and
+	 * right x-coordinates of its spans. Used by the {@link GeometryWriter} to
+	 * write a {@link Region} without splitting it into {@link Rectangle}s.
+	 *
+	 * @return the bands of this {@link Region}
+	 */
+	double[][] getBands() {
+		double[][] bands = new double[bandCount][];
+		for (int i = 0; i < bandCount; i++) {
+			int start = offsets[i];
+			int end = offsets[i + 1];
+			bands[i] = new double[2 + end - start];
+			bands[i][0] = ys[2 * i];
+			bands[i][1] = ys[2 * i + 1];
+			System.arraycopy(xs, start, bands[i], 2, end - start);
+		}
+		return bands;
+	}
+
 	@Override
 	public Rectangle getBounds() {
-		if (rects.size() == 0) {
+		if (bandCount == 0) {
 			return null;
 		}
-
-		Rectangle bounds = rects.get(0).getBounds();
-		for (int i = 1; i < rects.size(); i++) {
-			bounds.union(rects.get(i).getBounds());
+		double minX = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < bandCount; i++) {
+			minX = Math.min(minX, xs[offsets[i]]);
+			maxX = Math.max(maxX, xs[offsets[i + 1] - 1]);
 		}
-
-		return bounds;
+		return new Rectangle(new Point(minX, ys[0]),
+				new Point(maxX, ys[2 * bandCount - 1]));
 	}
 
 	@Override
@@ -229,6 +538,24 @@ public class Region extends AbstractMultiShape
 		return new Region(this);
 	}
 
+	/**
+	 * Returns the index of the first band that does not (recognizably) end
+	 * above the given y-coordinate.
+	 */
+	private int getFirstBand(double y) {
+		int low = 0;
+		int high = bandCount;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (PrecisionUtils.greaterEqual(ys[2 * mid + 1], y)) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
 	/**
 	 * Computes the {@link Point}s of intersection of this {@link Region} with
 	 * the given {@link ICurve}.
@@ -240,14 +567,40 @@ public class Region extends AbstractMultiShape
 	 */
 	public Point[] getOutlineIntersections(ICurve c) {
 		Set<Point> intersections = new HashSet<>(0);
-
-		for (Line seg : getOutlineSegments()) {
-			intersections.addAll(Arrays.asList(seg.getIntersections(c)));
+		Rectangle bounds = c.getBounds();
+		// only consider the bands within the vertical extent of the curve
+		int from = getFirstBand(bounds.getY());
+		int to = from;
+		while (to < bandCount && PrecisionUtils.smallerEqual(ys[2 * to],
+				bounds.getY() + bounds.getHeight())) {
+			to++;
+		}
+		List<Line> segments = new ArrayList<>();
+		addOutlineSegments(segments, from, to);
+		for (Line seg : segments) {
+			// skip the segments that cannot intersect the curve
+			if (bounds.touches(seg.getBounds())) {
+				intersections.addAll(Arrays.asList(seg.getIntersections(c)));
+			}
 		}
-
 		return intersections.toArray(new Point[] {});
 	}
 
+	/**
+	 * Computes the outline segments of this {@link Region} directly from its
+	 * bands, i.e. the left and right sides of the spans, as well as those
+	 * parts of the band borders that are covered by only one of the adjacent
+	 * bands.
+	 *
+	 * @return the outline segments of this {@link Region}
+	 */
+	@Override
+	public Line[] getOutlineSegments() {
+		List<Line> segments = new ArrayList<>();
+		addOutlineSegments(segments, 0, bandCount);
+		return segments.toArray(new Line[] {});
+	}
+
 	@Override
 	public Ring getRotatedCCW(Angle angle) {
 		Point centroid = getBounds().getCenter();
@@ -256,9 +609,10 @@ public class Region extends AbstractMultiShape
 
 	@Override
 	public Ring getRotatedCCW(Angle angle, double cx, double cy) {
-		Polygon[] polys = new Polygon[rects.size()];
+		Rectangle[] rects = getShapes();
+		Polygon[] polys = new Polygon[rects.length];
 		for (int i = 0; i < polys.length; i++) {
-			polys[i] = rects.get(i).getRotatedCCW(angle, cx, cy);
+			polys[i] = rects[i].getRotatedCCW(angle, cx, cy);
 		}
 		return new Ring(polys);
 	}
@@ -276,9 +630,10 @@ public class Region extends AbstractMultiShape
 
 	@Override
 	public Ring getRotatedCW(Angle angle, double cx, double cy) {
-		Polygon[] polys = new Polygon[rects.size()];
+		Rectangle[] rects = getShapes();
+		Polygon[] polys = new Polygon[rects.length];
 		for (int i = 0; i < polys.length; i++) {
-			polys[i] = rects.get(i).getRotatedCW(angle, cx, cy);
+			polys[i] = rects[i].getRotatedCW(angle, cx, cy);
 		}
 		return new Ring(polys);
 	}
@@ -318,15 +673,29 @@ public class Region extends AbstractMultiShape
 		return getCopy().scale(factor, center);
 	}
 
+	/**
+	 * Returns the internal {@link Rectangle}s of this {@link Region}, one for
+	 * each span of each band, sorted from top to bottom and from left to
+	 * right.
+	 *
+	 * @return copies of the internal {@link Rectangle}s
+	 */
 	@Override
 	public Rectangle[] getShapes() {
-		return rects.toArray(new Rectangle[] {});
+		Rectangle[] rects = new Rectangle[offsets[bandCount] / 2];
+		for (int i = 0, r = 0; i < bandCount; i++) {
+			for (int k = offsets[i]; k < offsets[i + 1]; k += 2) {
+				rects[r++] = new Rectangle(xs[k], ys[2 * i],
+						xs[k + 1] - xs[k], ys[2 * i + 1] - ys[2 * i]);
+			}
+		}
+		return rects;
 	}
 
 	@Override
 	public Ring getTransformed(AffineTransform t) {
 		List<Polygon> transformedRectangles = new ArrayList<>();
-		for (Rectangle r : rects) {
+		for (Rectangle r : getShapes()) {
 			transformedRectangles.add(r.getTransformed(t));
 		}
 		return new Ring(transformedRectangles.toArray(new Polygon[] {}));
@@ -342,6 +711,30 @@ public class Region extends AbstractMultiShape
 		return getCopy().translate(d.x, d.y);
 	}
 
+	/**
+	 * Intersects this {@link Region} with the given {@link Rectangle}, so
+	 * that only the area covered by both remains.
+	 *
+	 * @param rectangle
+	 *            the {@link Rectangle} to intersect this {@link Region} with
+	 * @return <code>this</code> for convenience
+	 */
+	public Region intersect(Rectangle rectangle) {
+		return intersect(new Region(rectangle));
+	}
+
+	/**
+	 * Intersects this {@link Region} with the given other {@link Region}, so
+	 * that only the area covered by both remains.
+	 *
+	 * @param other
+	 *            the {@link Region} to intersect this {@link Region} with
+	 * @return <code>this</code> for convenience
+	 */
+	public Region intersect(Region other) {
+		return set(compute(this, other, Operation.INTERSECTION));
+	}
+
 	@Override
 	public Region scale(double factor) {
 		return scale(factor, factor);
@@ -360,8 +753,23 @@ public class Region extends AbstractMultiShape
 
 	@Override
 	public Region scale(double fx, double fy, double cx, double cy) {
-		for (Rectangle r : rects) {
-			r.scale(fx, fy, cx, cy);
+		if (fx <= 0 || fy <= 0) {
+			// the order of the bands or spans changes
+			Rectangle[] rects = getShapes();
+			for (int i = 0; i < rects.length; i++) {
+				Rectangle r = rects[i];
+				rects[i] = new Rectangle(
+						new Point(cx + (r.x - cx) * fx, cy + (r.y - cy) * fy),
+						new Point(cx + (r.x + r.width - cx) * fx,
+								cy + (r.y + r.height - cy) * fy));
+			}
+			return set(new Region(rects));
+		}
+		for (int i = 0; i < 2 * bandCount; i++) {
+			ys[i] = cy + (ys[i] - cy) * fy;
+		}
+		for (int i = 0; i < offsets[bandCount]; i++) {
+			xs[i] = cx + (xs[i] - cx) * fx;
 		}
 		return this;
 	}
@@ -376,6 +784,38 @@ public class Region extends AbstractMultiShape
 		return scale(factor, factor, center.x, center.y);
 	}
 
+	private Region set(Region other) {
+		ys = other.ys;
+		offsets = other.offsets;
+		xs = other.xs;
+		bandCount = other.bandCount;
+		return this;
+	}
+
+	/**
+	 * Subtracts the given {@link Rectangle} from this {@link Region}, so that
+	 * only the area not covered by the {@link Rectangle} remains.
+	 *
+	 * @param rectangle
+	 *            the {@link Rectangle} to subtract from this {@link Region}
+	 * @return <code>this</code> for convenience
+	 */
+	public Region subtract(Rectangle rectangle) {
+		return subtract(new Region(rectangle));
+	}
+
+	/**
+	 * Subtracts the given other {@link Region} from this {@link Region}, so
+	 * that only the area not covered by the other {@link Region} remains.
+	 *
+	 * @param other
+	 *            the {@link Region} to subtract from this {@link Region}
+	 * @return <code>this</code> for convenience
+	 */
+	public Region subtract(Region other) {
+		return set(compute(this, other, Operation.DIFFERENCE));
+	}
+
 	/**
 	 * Constructs a new {@link Ring} that covers the same area as this
 	 * {@link Region}.
@@ -384,18 +824,21 @@ public class Region extends AbstractMultiShape
 	 *         {@link Region}
 	 */
 	public Ring toRing() {
-		Polygon[] polys = new Polygon[rects.size()];
-		Iterator<Rectangle> i = rects.iterator();
-		for (int j = 0; j < rects.size(); j++) {
-			polys[j] = i.next().toPolygon();
+		Rectangle[] rects = getShapes();
+		Polygon[] polys = new Polygon[rects.length];
+		for (int i = 0; i < rects.length; i++) {
+			polys[i] = rects[i].toPolygon();
 		}
 		return new Ring(polys);
 	}
 
 	@Override
 	public Region translate(double dx, double dy) {
-		for (Rectangle r : rects) {
-			r.translate(dx, dy);
+		for (int i = 0; i < 2 * bandCount; i++) {
+			ys[i] += dy;
+		}
+		for (int i = 0; i < offsets[bandCount]; i++) {
+			xs[i] += dx;
 		}
 		return this;
 	}
@@ -9,6 +9,8 @@
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
  *     Matthias Wienand (itemis AG) - contribution for Bugzilla #355997
+ *     agent - skip triangles with disjoint bounds
+ *           - restore rings from their triangles
  *
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
@@ -32,6 +34,23 @@ import org.eclipse.gef.geometry.euclidean.Vector;
 public class Ring extends AbstractMultiShape
 		implements ITranslatable<Ring>, IScalable<Ring>, IRotatable<Ring> {
 
+	/**
+	 * Creates a new {@link Ring} from the given triangles, which may not
+	 * overlap each other, so that they do not have to be split (see
+	 * {@link #add(Polygon)}). Used by the {@link GeometryReader} to restore
+	 * the triangles of a {@link Ring} as they were written.
+	 *
+	 * @param triangles
+	 *            the non-overlapping triangles ({@link Polygon}s) of the
+	 *            {@link Ring}
+	 * @return the {@link Ring} consisting of the given triangles
+	 */
+	static Ring fromTriangles(List<Polygon> triangles) {
+		Ring ring = new Ring();
+		ring.triangles.addAll(triangles);
+		return ring;
+	}
+
 	/**
 	 * Triangulates the given triangle ({@link Polygon}) at the given
 	 * {@link Line}. The triangulation is done using the simpler
@@ -275,11 +294,19 @@ public class Ring extends AbstractMultiShape
 			}
 		}
 
+		// the triangles of the triangulation do not overlap each other, so
+		// that they only have to be split by the previously added triangles
+		List<Polygon> trianglesAlreadyThere = new ArrayList<>(triangles);
 		while (!toAdd.empty()) {
 			Polygon triangleToAdd = toAdd.pop();
 			Stack<Polygon> localAddends = new Stack<>();
 			localAddends.push(triangleToAdd);
-			for (Polygon triangleAlreadyThere : triangles) {
+			Rectangle bounds = triangleToAdd.getBounds();
+			for (Polygon triangleAlreadyThere : trianglesAlreadyThere) {
+				// triangles that do not touch the addend cannot split it
+				if (!bounds.touches(triangleAlreadyThere.getBounds())) {
+					continue;
+				}
 				for (Line e : triangleAlreadyThere.getOutlineSegments()) {
 					Stack<Polygon> nextAddends = new Stack<>();
 					for (Iterator<Polygon> i = localAddends.iterator(); i
@@ -495,6 +522,10 @@ public class Ring extends AbstractMultiShape
 			Polygon t1 = triangles.get(i);
 			for (int j = i + 1; j < triangles.size(); j++) {
 				Polygon t2 = triangles.get(j);
+				// only triangles that share an edge can be merged
+				if (!t1.getBounds().touches(t2.getBounds())) {
+					continue;
+				}
 				Polygon merge = mergeTriangles(t1, t2);
 				if (merge != null) {
 					triangles.set(i, merge);
@@ -0,0 +1,548 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The {@link TriangulationUtils} class provides the triangulation of simple
+ * {@link Polygon}s, as used by {@link Polygon#getTriangulation()}.
+ * <p>
+ * The {@link Polygon} is first partitioned into y-monotone pieces by a
+ * sweep-line, which inserts diagonals at split and merge vertices. Each piece
+ * is then triangulated in linear time by walking down both of its chains,
+ * resulting in an overall running time of O(n log n). Vertices are ordered by
+ * their y- and then by their x-coordinates, so that horizontal edges do not
+ * need special treatment. Consecutive vertices that are equal (with respect
+ * to the imprecise {@link Point#equals(Object)}) are merged, vertices at which
+ * the boundary turns back onto itself are removed, and degenerated triangles
+ * are omitted.
+ * <p>
+ * The same sweep order is used to test the simplicity of a {@link Polygon} in
+ * O(n log n) time (Shamos-Hoey), by only testing those edges against each
+ * other that become neighbors within the sweep status.
+ *
+ * @author agent
+ *
+ */
+class TriangulationUtils {
+
+	/**
+	 * A (downward directed) edge of the {@link Polygon}, which starts at its
+	 * upper {@link Vertex}. Only edges that have the interior of the
+	 * {@link Polygon} to their right are inserted into the sweep status.
+	 */
+	private static class Edge {
+		private final Vertex upper;
+		private final Vertex lower;
+		private Vertex helper;
+
+		public Edge(Vertex upper, Vertex lower) {
+			this.upper = upper;
+			this.lower = lower;
+		}
+	}
+
+	/**
+	 * A vertex of the {@link Polygon}, which keeps track of its outgoing
+	 * edges, i.e. the edge to its successor and the inserted diagonals.
+	 */
+	private static class Vertex {
+		private final int id;
+		private final Point point;
+		private final double x;
+		private final double y;
+		private Vertex previous;
+		private Vertex next;
+		private Edge edge;
+		private boolean merge;
+		private final List<Vertex> targets = new ArrayList<>(2);
+
+		public Vertex(int id, Point point) {
+			this.id = id;
+			this.point = point;
+			this.x = point.x;
+			this.y = point.y;
+		}
+	}
+
+	/**
+	 * Orders the vertices in the order in which they are visited by the
+	 * sweep-line, i.e. from top (greatest y-coordinate) to bottom, and from
+	 * left to right in case of equal y-coordinates.
+	 */
+	private static final Comparator<Vertex> VERTEX_COMPARATOR = new Comparator<Vertex>() {
+		@Override
+		public int compare(Vertex v1, Vertex v2) {
+			if (v1 == v2) {
+				return 0;
+			}
+			if (v1.y != v2.y) {
+				return v1.y > v2.y ? -1 : 1;
+			}
+			if (v1.x != v2.x) {
+				return v1.x < v2.x ? -1 : 1;
+			}
+			return Integer.compare(v1.id, v2.id);
+		}
+	};
+
+	/**
+	 * Orders the edges that intersect the sweep-line from left to right. As
+	 * the edges of a simple {@link Polygon} do not cross each other, their
+	 * order does not change while they intersect the sweep-line.
+	 */
+	private static final Comparator<Edge> EDGE_COMPARATOR = new Comparator<Edge>() {
+		@Override
+		public int compare(Edge e1, Edge e2) {
+			if (e1 == e2) {
+				return 0;
+			}
+			if (e1.upper == e2.upper) {
+				// compare by the lower vertices
+				double o = orientation(e1.upper, e1.lower, e2.lower);
+				if (o != 0) {
+					return o < 0 ? 1 : -1;
+				}
+				return Integer.compare(e1.lower.id, e2.lower.id);
+			}
+			if (VERTEX_COMPARATOR.compare(e1.upper, e2.upper) < 0) {
+				return -compare(e2, e1);
+			}
+			// e1 was inserted after e2, so its upper vertex lies within the
+			// y-range of e2; it is left of e2 if it lies to the right of the
+			// (downward directed) e2
+			double o = orientation(e2.upper, e2.lower, e1.upper);
+			if (o == 0) {
+				o = orientation(e2.upper, e2.lower, e1.lower);
+			}
+			if (o != 0) {
+				return o < 0 ? -1 : 1;
+			}
+			return Integer.compare(e1.upper.id, e2.upper.id);
+		}
+	};
+
+	private static void addDiagonal(Vertex v, Vertex w) {
+		v.targets.add(w);
+		w.targets.add(v);
+	}
+
+	private static void addTriangle(List<Polygon> triangles, Vertex v1,
+			Vertex v2, Vertex v3, boolean reverse) {
+		double o = orientation(v1, v2, v3);
+		// omit degenerated triangles
+		if (o != 0) {
+			triangles.add(o < 0 == reverse
+					? new Polygon(v1.point, v2.point, v3.point)
+					: new Polygon(v3.point, v2.point, v1.point));
+		}
+	}
+
+	private static List<Vertex> createVertices(Point[] points) {
+		List<Point> ring = new ArrayList<>(points.length);
+		for (Point p : points) {
+			ring.add(p);
+			int n = ring.size();
+			while (n >= 2) {
+				if (ring.get(n - 1).equals(ring.get(n - 2))) {
+					ring.remove(n - 1);
+				} else if (n >= 3 && isSpike(ring.get(n - 3), ring.get(n - 2),
+						ring.get(n - 1))) {
+					ring.remove(n - 2);
+				} else {
+					break;
+				}
+				n--;
+			}
+		}
+		// close the ring
+		int n = ring.size();
+		while (n >= 2) {
+			if (ring.get(n - 1).equals(ring.get(0))) {
+				ring.remove(n - 1);
+			} else if (n >= 3
+					&& isSpike(ring.get(n - 2), ring.get(n - 1), ring.get(0))) {
+				ring.remove(n - 1);
+			} else if (n >= 3
+					&& isSpike(ring.get(n - 1), ring.get(0), ring.get(1))) {
+				ring.remove(0);
+			} else {
+				break;
+			}
+			n--;
+		}
+		List<Vertex> vertices = new ArrayList<>(n);
+		for (Point p : ring) {
+			vertices.add(new Vertex(vertices.size(), p));
+		}
+		return vertices;
+	}
+
+	/**
+	 * Returns the target of the outgoing edge that is reached first when
+	 * rotating clockwise around the current {@link Vertex}, starting at the
+	 * direction to the previous {@link Vertex}, so that the face to the left
+	 * of the incoming edge is followed.
+	 */
+	private static Vertex getNext(Vertex previous, Vertex current) {
+		List<Vertex> targets = current.targets;
+		if (targets.isEmpty()) {
+			// XXX: In case of numerical problems, the face may not be closed.
+			return null;
+		}
+		int index = 0;
+		if (targets.size() > 1) {
+			double back = Math.atan2(previous.y - current.y,
+					previous.x - current.x);
+			double minAngle = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < targets.size(); i++) {
+				Vertex target = targets.get(i);
+				double angle = back - Math.atan2(target.y - current.y,
+						target.x - current.x);
+				while (angle <= 0) {
+					angle += 2 * Math.PI;
+				}
+				if (angle < minAngle) {
+					minAngle = angle;
+					index = i;
+				}
+			}
+		}
+		// each outgoing edge is part of exactly one face
+		return targets.remove(index);
+	}
+
+	private static boolean isBelow(Vertex v, Vertex w) {
+		return VERTEX_COMPARATOR.compare(v, w) > 0;
+	}
+
+	/**
+	 * Tests whether the given {@link Point}s form a simple {@link Polygon},
+	 * i.e. whether no two of its edges touch each other, except for those
+	 * that share an end point.
+	 *
+	 * @param points
+	 *            The {@link Point}s of the {@link Polygon} to test.
+	 * @return <code>true</code> if the given {@link Point}s form a simple
+	 *         {@link Polygon}, otherwise <code>false</code>.
+	 */
+	static boolean isSimple(Point[] points) {
+		int n = points.length;
+		Vertex[] vertices = new Vertex[n];
+		for (int i = 0; i < n; i++) {
+			vertices[i] = new Vertex(i, points[i]);
+		}
+		Edge[] edges = new Edge[n];
+		for (int i = 0; i < n; i++) {
+			Vertex v = vertices[i];
+			Vertex w = vertices[i + 1 < n ? i + 1 : 0];
+			edges[i] = isBelow(w, v) ? new Edge(v, w) : new Edge(w, v);
+		}
+
+		Vertex[] queue = vertices.clone();
+		Arrays.sort(queue, VERTEX_COMPARATOR);
+		TreeSet<Edge> status = new TreeSet<>(EDGE_COMPARATOR);
+		for (Vertex v : queue) {
+			Edge[] incident = new Edge[] { edges[v.id == 0 ? n - 1 : v.id - 1],
+					edges[v.id] };
+			// the neighbors of an ending edge become neighbors of each other
+			for (Edge e : incident) {
+				if (e.lower == v) {
+					Edge left = status.lower(e);
+					Edge right = status.higher(e);
+					remove(status, e);
+					if (touches(left, right)) {
+						return false;
+					}
+				}
+			}
+			// a starting edge becomes the neighbor of the adjacent edges
+			for (Edge e : incident) {
+				if (e.upper == v) {
+					status.add(e);
+					if (touches(status.lower(e), e)
+							|| touches(e, status.higher(e))) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tests whether the boundary turns back at the given {@link Point}
+	 * <i>v</i>, i.e. whether the edges to and from it (imprecisely) overlap.
+	 */
+	private static boolean isSpike(Point p, Point v, Point q) {
+		return new Line(p, v).contains(q) || new Line(v, q).contains(p);
+	}
+
+	private static double orientation(Vertex p, Vertex q, Vertex r) {
+		return (q.x - p.x) * (r.y - p.y) - (q.y - p.y) * (r.x - p.x);
+	}
+
+	/**
+	 * Partitions the (counter-clockwise oriented) polygon that is formed by
+	 * the given vertices into y-monotone pieces, by adding diagonals to the
+	 * outgoing edges of the vertices.
+	 */
+	private static void partition(List<Vertex> vertices) {
+		Vertex[] queue = vertices.toArray(new Vertex[vertices.size()]);
+		Arrays.sort(queue, VERTEX_COMPARATOR);
+		TreeSet<Edge> status = new TreeSet<>(EDGE_COMPARATOR);
+		for (Vertex v : queue) {
+			boolean previousBelow = isBelow(v.previous, v);
+			boolean nextBelow = isBelow(v.next, v);
+			boolean convex = orientation(v.previous, v, v.next) >= 0;
+			if (previousBelow && nextBelow) {
+				if (!convex) {
+					// split vertex
+					Edge left = status.lower(new Edge(v, v));
+					if (left != null) {
+						addDiagonal(v, left.helper);
+						left.helper = v;
+					}
+				}
+				// start (or split) vertex
+				v.edge = new Edge(v, v.next);
+				v.edge.helper = v;
+				status.add(v.edge);
+			} else if (!previousBelow && !nextBelow) {
+				// end (or merge) vertex
+				removeEdge(status, v.previous.edge, v);
+				if (!convex) {
+					v.merge = true;
+					updateLeftHelper(status, v);
+				}
+			} else if (nextBelow) {
+				// regular vertex with the interior to its right
+				removeEdge(status, v.previous.edge, v);
+				v.edge = new Edge(v, v.next);
+				v.edge.helper = v;
+				status.add(v.edge);
+			} else {
+				// regular vertex with the interior to its left
+				updateLeftHelper(status, v);
+			}
+		}
+	}
+
+	/**
+	 * Removes the given {@link Edge} from the sweep status.
+	 */
+	private static void remove(TreeSet<Edge> status, Edge edge) {
+		if (!status.remove(edge)) {
+			// XXX: In case of numerical problems, the order may be
+			// inconsistent, so that the edge cannot be found via the
+			// comparator.
+			for (Iterator<Edge> it = status.iterator(); it.hasNext();) {
+				if (it.next() == edge) {
+					it.remove();
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the given {@link Edge} (which ends at the given {@link Vertex})
+	 * from the sweep status, after connecting its helper to the given
+	 * {@link Vertex} in case it is a merge vertex.
+	 */
+	private static void removeEdge(TreeSet<Edge> status, Edge edge,
+			Vertex v) {
+		if (edge == null) {
+			return;
+		}
+		if (edge.helper.merge) {
+			addDiagonal(v, edge.helper);
+		}
+		remove(status, edge);
+	}
+
+	/**
+	 * Tests whether the given {@link Edge}s touch each other, ignoring edges
+	 * that (imprecisely) share an end point.
+	 */
+	private static boolean touches(Edge e1, Edge e2) {
+		if (e1 == null || e2 == null) {
+			return false;
+		}
+		Point p1 = e1.upper.point;
+		Point p2 = e1.lower.point;
+		Point q1 = e2.upper.point;
+		Point q2 = e2.lower.point;
+		if (p1.equals(q1) || p1.equals(q2) || p2.equals(q1)
+				|| p2.equals(q2)) {
+			return false;
+		}
+		return new Line(p1, p2).touches(new Line(q1, q2));
+	}
+
+	/**
+	 * Triangulates the given simple {@link Polygon}, which may be oriented
+	 * clockwise or counter-clockwise.
+	 *
+	 * @param p
+	 *            The {@link Polygon} to triangulate.
+	 * @return The (non-degenerated) triangles of the triangulation, which are
+	 *         oriented like the given {@link Polygon}.
+	 */
+	public static Polygon[] triangulate(Polygon p) {
+		List<Vertex> vertices = createVertices(p.getPoints());
+		int n = vertices.size();
+		double area = 0;
+		for (int i = 0; i < n; i++) {
+			Vertex v = vertices.get(i);
+			Vertex w = vertices.get(i + 1 < n ? i + 1 : 0);
+			area += v.x * w.y - w.x * v.y;
+		}
+		if (n < 3 || area == 0) {
+			return new Polygon[] {};
+		}
+		// orient the vertices counter-clockwise
+		boolean reverse = area < 0;
+		for (int i = 0; i < n; i++) {
+			Vertex v = vertices.get(i);
+			Vertex previous = vertices.get(i > 0 ? i - 1 : n - 1);
+			Vertex next = vertices.get(i + 1 < n ? i + 1 : 0);
+			v.previous = reverse ? next : previous;
+			v.next = reverse ? previous : next;
+			v.targets.add(v.next);
+		}
+		partition(vertices);
+
+		List<Polygon> triangles = new ArrayList<>(n - 2);
+		List<Vertex> piece = new ArrayList<>();
+		for (Vertex start : vertices) {
+			while (!start.targets.isEmpty()) {
+				// collect the (counter-clockwise) piece to the left of the
+				// outgoing edge
+				piece.clear();
+				piece.add(start);
+				Vertex previous = start;
+				Vertex current = start.targets.remove(0);
+				while (current != null && current != start
+						&& piece.size() <= n) {
+					piece.add(current);
+					Vertex next = getNext(previous, current);
+					previous = current;
+					current = next;
+				}
+				triangulateMonotone(piece, triangles, reverse);
+			}
+		}
+		return triangles.toArray(new Polygon[triangles.size()]);
+	}
+
+	/**
+	 * Triangulates the given y-monotone, counter-clockwise oriented piece.
+	 */
+	private static void triangulateMonotone(List<Vertex> piece,
+			List<Polygon> triangles, boolean reverse) {
+		int n = piece.size();
+		if (n < 3) {
+			return;
+		}
+		int top = 0;
+		int bottom = 0;
+		for (int i = 1; i < n; i++) {
+			if (VERTEX_COMPARATOR.compare(piece.get(i), piece.get(top)) < 0) {
+				top = i;
+			}
+			if (VERTEX_COMPARATOR.compare(piece.get(i),
+					piece.get(bottom)) > 0) {
+				bottom = i;
+			}
+		}
+		// merge both chains; counter-clockwise, the left chain descends from
+		// the top to the bottom vertex
+		Vertex[] sorted = new Vertex[n];
+		boolean[] left = new boolean[n];
+		sorted[0] = piece.get(top);
+		sorted[n - 1] = piece.get(bottom);
+		int l = (top + 1) % n;
+		int r = (top + n - 1) % n;
+		for (int k = 1; k < n - 1; k++) {
+			if (r == bottom || l != bottom && VERTEX_COMPARATOR
+					.compare(piece.get(l), piece.get(r)) < 0) {
+				sorted[k] = piece.get(l);
+				left[k] = true;
+				l = (l + 1) % n;
+			} else {
+				sorted[k] = piece.get(r);
+				r = (r + n - 1) % n;
+			}
+		}
+
+		// the top of the stack is always the previously visited vertex
+		Vertex[] stack = new Vertex[n];
+		int size = 0;
+		stack[size++] = sorted[0];
+		stack[size++] = sorted[1];
+		for (int k = 2; k < n - 1; k++) {
+			Vertex v = sorted[k];
+			if (left[k] != left[k - 1]) {
+				// opposite chain: connect to all vertices on the stack
+				while (size > 1) {
+					Vertex a = stack[--size];
+					addTriangle(triangles, v, a, stack[size - 1], reverse);
+				}
+				size = 0;
+				stack[size++] = sorted[k - 1];
+				stack[size++] = v;
+			} else {
+				// same chain: connect as long as the diagonals are inside
+				Vertex last = stack[--size];
+				while (size > 0) {
+					double o = orientation(stack[size - 1], last, v);
+					if (left[k] ? o <= 0 : o >= 0) {
+						break;
+					}
+					addTriangle(triangles, stack[size - 1], last, v,
+							reverse);
+					last = stack[--size];
+				}
+				stack[size++] = last;
+				stack[size++] = v;
+			}
+		}
+		Vertex v = sorted[n - 1];
+		while (size > 1) {
+			Vertex a = stack[--size];
+			addTriangle(triangles, v, a, stack[size - 1], reverse);
+		}
+	}
+
+	private static void updateLeftHelper(TreeSet<Edge> status, Vertex v) {
+		Edge left = status.lower(new Edge(v, v));
+		if (left != null) {
+			if (left.helper.merge) {
+				addDiagonal(v, left.helper);
+			}
+			left.helper = v;
+		}
+	}
+
+	private TriangulationUtils() {
+		// this class should not be instantiated by clients
+	}
+
+}
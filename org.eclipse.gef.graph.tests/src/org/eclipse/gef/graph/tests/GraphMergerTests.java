@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.GraphMerger;
+import org.eclipse.gef.graph.Node;
+import org.junit.Test;
+
+import javafx.collections.ListChangeListener;
+
+public class GraphMergerTests {
+
+	private static final String ID = "id";
+	private static final String LABEL = "label";
+
+	private static final GraphMerger.IKeyProvider ID_KEY_PROVIDER = new GraphMerger.IKeyProvider() {
+
+		@Override
+		public Object getKey(Edge edge) {
+			return edge.getAttributes().get(ID);
+		}
+
+		@Override
+		public Object getKey(Node node) {
+			return node.getAttributes().get(ID);
+		}
+	};
+
+	private static Edge edge(String id, Node source, Node target) {
+		Edge edge = new Edge(source, target);
+		edge.getAttributes().put(ID, id);
+		return edge;
+	}
+
+	private static Node node(String id, String label) {
+		Node node = new Node();
+		node.getAttributes().put(ID, id);
+		if (label != null) {
+			node.getAttributes().put(LABEL, label);
+		}
+		return node;
+	}
+
+	@Test
+	public void addAndRemove() {
+		Node a = node("a", null);
+		Node b = node("b", null);
+		Edge ab = edge("a->b", a, b);
+		Graph target = new Graph(Arrays.asList(a, b), Arrays.asList(ab));
+
+		Node a2 = node("a", null);
+		Node c2 = node("c", null);
+		Edge ac2 = edge("a->c", a2, c2);
+		Graph source = new Graph(Arrays.asList(a2, c2), Arrays.asList(ac2));
+
+		assertTrue(new GraphMerger(ID_KEY_PROVIDER).merge(target, source));
+		assertEquals(2, target.getNodes().size());
+		assertSame(a, target.getNodes().get(0));
+		assertSame(c2, target.getNodes().get(1));
+		assertSame(target, c2.getGraph());
+		assertNull(b.getGraph());
+		assertEquals(1, target.getEdges().size());
+		assertSame(ac2, target.getEdges().get(0));
+		// the new edge is connected to the retained node
+		assertSame(a, ac2.getSource());
+		assertSame(c2, ac2.getTarget());
+	}
+
+	@Test
+	public void insertAtSourceIndex() {
+		Node a = node("a", null);
+		Node d = node("d", null);
+		Graph target = new Graph(Arrays.asList(a, d), Collections.<Edge> emptyList());
+
+		Node a2 = node("a", null);
+		Node b2 = node("b", null);
+		Node c2 = node("c", null);
+		Node d2 = node("d", null);
+		Node e2 = node("e", null);
+		Node f2 = node("f", null);
+		Graph source = new Graph(Arrays.asList(b2, a2, c2, d2, e2, f2), Collections.<Edge> emptyList());
+
+		GraphMerger merger = new GraphMerger(ID_KEY_PROVIDER);
+		assertTrue(merger.merge(target, source));
+		assertEquals(4, merger.getChangeCount());
+		assertEquals(Arrays.asList(b2, a, c2, d, e2, f2), target.getNodes());
+	}
+
+	@Test
+	public void isEqual() {
+		// values without value equality
+		Node a = node("a", null);
+		Object value = new Object();
+		a.getAttributes().put("value", value);
+		Graph target = new Graph(Arrays.asList(a), Collections.<Edge> emptyList());
+
+		Node a2 = node("a", null);
+		a2.getAttributes().put("value", new Object());
+		Graph source = new Graph(Arrays.asList(a2), Collections.<Edge> emptyList());
+
+		GraphMerger merger = new GraphMerger(ID_KEY_PROVIDER) {
+			@Override
+			protected boolean isEqual(String key, Object targetValue, Object sourceValue) {
+				return "value".equals(key) || super.isEqual(key, targetValue, sourceValue);
+			}
+		};
+		assertFalse(merger.merge(target, source));
+		assertSame(value, a.getAttributes().get("value"));
+
+		a2 = node("a", null);
+		a2.getAttributes().put("value", new Object());
+		source = new Graph(Arrays.asList(a2), Collections.<Edge> emptyList());
+		assertTrue(new GraphMerger(ID_KEY_PROVIDER).merge(target, source));
+		assertSame(a2.getAttributes().get("value"), a.getAttributes().get("value"));
+	}
+
+	@Test
+	public void nested() {
+		Node a = node("a", null);
+		Node b = node("b", "B");
+		Node n = node("n", null);
+		n.setNestedGraph(new Graph(Arrays.asList(a, b), Arrays.asList(edge("a->b", a, b))));
+		Node c = node("c", null);
+		Edge nc = edge("n->c", b, c);
+		Graph target = new Graph(Arrays.asList(n, c), Arrays.asList(nc));
+
+		Node a2 = node("a", null);
+		Node b2 = node("b", "B2");
+		Node n2 = node("n", null);
+		n2.setNestedGraph(new Graph(Arrays.asList(a2, b2), Arrays.asList(edge("a->b", a2, b2))));
+		Node c2 = node("c", null);
+		Graph source = new Graph(Arrays.asList(n2, c2), Arrays.asList(edge("n->c", b2, c2)));
+
+		GraphMerger merger = new GraphMerger(ID_KEY_PROVIDER);
+		assertTrue(merger.merge(target, source));
+		assertEquals(1, merger.getChangeCount());
+		Graph nestedGraph = n.getNestedGraph();
+		assertSame(a, nestedGraph.getNodes().get(0));
+		assertSame(b, nestedGraph.getNodes().get(1));
+		assertEquals("B2", b.getAttributes().get(LABEL));
+		assertSame(nc, target.getEdges().get(0));
+	}
+
+	@Test
+	public void removeNestedNode() {
+		Node a = node("a", null);
+		Node b = node("b", null);
+		Node n = node("n", null);
+		n.setNestedGraph(new Graph(Arrays.asList(a, b), Collections.<Edge> emptyList()));
+		Node c = node("c", null);
+		Graph target = new Graph(Arrays.asList(n, c), Arrays.asList(edge("b->c", b, c)));
+
+		Node a2 = node("a", null);
+		Node n2 = node("n", null);
+		n2.setNestedGraph(new Graph(Arrays.asList(a2), Collections.<Edge> emptyList()));
+		Node c2 = node("c", null);
+		Graph source = new Graph(Arrays.asList(n2, c2), Collections.<Edge> emptyList());
+
+		assertTrue(new GraphMerger(ID_KEY_PROVIDER).merge(target, source));
+		assertEquals(Arrays.asList(a), n.getNestedGraph().getNodes());
+		assertTrue(target.getEdges().isEmpty());
+	}
+
+	@Test
+	public void unchanged() {
+		Node a = node("a", "A");
+		Node b = node("b", "B");
+		Graph target = new Graph(Arrays.asList(a, b), Arrays.asList(edge("a->b", a, b)));
+		target.getAttributes().put(LABEL, "G");
+
+		Node a2 = node("a", "A");
+		Node b2 = node("b", "B");
+		Graph source = new Graph(Arrays.asList(a2, b2), Arrays.asList(edge("a->b", a2, b2)));
+		source.getAttributes().put(LABEL, "G");
+
+		final int[] notifications = new int[1];
+		ListChangeListener<Object> listener = new ListChangeListener<Object>() {
+			@Override
+			public void onChanged(ListChangeListener.Change<? extends Object> c) {
+				notifications[0]++;
+			}
+		};
+		target.getNodes().addListener(listener);
+		target.getEdges().addListener(listener);
+
+		GraphMerger merger = new GraphMerger(ID_KEY_PROVIDER);
+		assertFalse(merger.merge(target, source));
+		assertEquals(0, merger.getChangeCount());
+		assertEquals(0, notifications[0]);
+	}
+
+	@Test
+	public void updateAttributes() {
+		Node a = node("a", "A");
+		Graph target = new Graph(Arrays.asList(a), Collections.<Edge> emptyList());
+
+		Node a2 = node("a", null);
+		a2.getAttributes().put("color", "red");
+		Graph source = new Graph(Arrays.asList(a2), Collections.<Edge> emptyList());
+		source.getAttributes().put(LABEL, "G");
+
+		GraphMerger merger = new GraphMerger(ID_KEY_PROVIDER);
+		assertTrue(merger.merge(target, source));
+		assertEquals(3, merger.getChangeCount());
+		assertSame(a, target.getNodes().get(0));
+		assertFalse(a.getAttributes().containsKey(LABEL));
+		assertEquals("red", a.getAttributes().get("color"));
+		assertEquals("G", target.getAttributes().get(LABEL));
+	}
+
+}
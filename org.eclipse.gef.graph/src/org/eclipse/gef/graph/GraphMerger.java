@@ -0,0 +1,358 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.gef.common.attributes.IAttributeStore;
+
+/**
+ * A merger that updates an existing {@link Graph} to reflect another
+ * {@link Graph}, applying only the differences between both. {@link Node}s and
+ * {@link Edge}s are matched by the keys that are provided by an
+ * {@link IKeyProvider}. Matched {@link Node}s and {@link Edge}s of the existing
+ * {@link Graph} are retained (and only their attributes are updated), while
+ * unmatched ones are removed or taken over from the other {@link Graph},
+ * respectively. As such, observers of the existing {@link Graph} are only
+ * notified about actual changes. Attribute values are compared using
+ * {@link #isEqual(String, Object, Object)}, which may be overwritten for values
+ * that do not implement value equality.
+ *
+ * @author agent
+ *
+ */
+public class GraphMerger {
+
+	/**
+	 * Provides the keys by which {@link Node}s and {@link Edge}s are matched.
+	 * The keys of the {@link Node}s (or {@link Edge}s) of a single
+	 * {@link Graph} have to be unique.
+	 */
+	public interface IKeyProvider {
+
+		/**
+		 * Returns the key of the given {@link Edge}.
+		 *
+		 * @param edge
+		 *            The {@link Edge} for which to return the key.
+		 * @return The key of the given {@link Edge}, or <code>null</code> if
+		 *         the {@link Edge} cannot be matched.
+		 */
+		public Object getKey(Edge edge);
+
+		/**
+		 * Returns the key of the given {@link Node}.
+		 *
+		 * @param node
+		 *            The {@link Node} for which to return the key.
+		 * @return The key of the given {@link Node}, or <code>null</code> if
+		 *         the {@link Node} cannot be matched.
+		 */
+		public Object getKey(Node node);
+	}
+
+	/**
+	 * The matching of the {@link Node}s of an existing (target) and an updated
+	 * (source) {@link Graph}.
+	 */
+	private static class Matching {
+		private final Graph target;
+		private final Graph source;
+		private final List<Node> matchedTargetNodes = new ArrayList<>();
+		private final List<Node> matchedSourceNodes = new ArrayList<>();
+		private final Set<Node> removedNodes = Collections
+				.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		private final List<Node> addedNodes = new ArrayList<>();
+		// the indices of the added nodes within the source graph
+		private final List<Integer> addedNodeIndices = new ArrayList<>();
+		private final List<Matching> nestedMatchings = new ArrayList<>();
+
+		public Matching(Graph target, Graph source) {
+			this.target = target;
+			this.source = source;
+		}
+	}
+
+	private final IKeyProvider keyProvider;
+	// maps source nodes to the target nodes that represent them after the
+	// merge
+	private final Map<Node, Node> sourceToTargetNodes = new IdentityHashMap<>();
+	// the removed nodes of all (nested) graphs
+	private final Set<Node> removedNodes = Collections
+			.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+	private int changeCount;
+
+	/**
+	 * Creates a new {@link GraphMerger} that matches {@link Node}s and
+	 * {@link Edge}s using the given {@link IKeyProvider}.
+	 *
+	 * @param keyProvider
+	 *            The {@link IKeyProvider} to use.
+	 */
+	public GraphMerger(IKeyProvider keyProvider) {
+		this.keyProvider = keyProvider;
+	}
+
+	/**
+	 * Returns the number of changes (i.e. changed attributes, as well as
+	 * added or removed {@link Node}s and {@link Edge}s) that were applied by
+	 * the last {@link #merge(Graph, Graph)} operation.
+	 *
+	 * @return The number of changes applied by the last merge.
+	 */
+	public int getChangeCount() {
+		return changeCount;
+	}
+
+	/**
+	 * Determines whether the given values of the attribute with the given key
+	 * are equal, so that the target value does not need to be updated. By
+	 * default, the values are compared using {@link Object#equals(Object)}.
+	 * Clients may overwrite this method to compare values structurally, which
+	 * are newly created when the source {@link Graph} is created (e.g. JavaFX
+	 * nodes).
+	 *
+	 * @param key
+	 *            The key of the attribute.
+	 * @param targetValue
+	 *            The value of the attribute within the target {@link Graph},
+	 *            which is to be updated.
+	 * @param sourceValue
+	 *            The value of the attribute within the source {@link Graph}.
+	 * @return <code>true</code> if both values are equal, <code>false</code>
+	 *         otherwise.
+	 */
+	protected boolean isEqual(String key, Object targetValue,
+			Object sourceValue) {
+		return Objects.equals(targetValue, sourceValue);
+	}
+
+	private Matching match(Graph target, Graph source) {
+		Matching matching = new Matching(target, source);
+		Map<Object, Node> targetNodesByKey = new HashMap<>();
+		for (Node targetNode : target.getNodes()) {
+			Object key = keyProvider.getKey(targetNode);
+			if (key == null || targetNodesByKey.containsKey(key)) {
+				// unmatchable
+				matching.removedNodes.add(targetNode);
+			} else {
+				targetNodesByKey.put(key, targetNode);
+			}
+		}
+		List<Node> sourceNodes = source.getNodes();
+		for (int i = 0; i < sourceNodes.size(); i++) {
+			Node sourceNode = sourceNodes.get(i);
+			Object key = keyProvider.getKey(sourceNode);
+			Node targetNode = key == null ? null
+					: targetNodesByKey.remove(key);
+			if (targetNode == null) {
+				matching.addedNodes.add(sourceNode);
+				matching.addedNodeIndices.add(i);
+				sourceToTargetNodes.put(sourceNode, sourceNode);
+			} else {
+				matching.matchedTargetNodes.add(targetNode);
+				matching.matchedSourceNodes.add(sourceNode);
+				sourceToTargetNodes.put(sourceNode, targetNode);
+				if (targetNode.getNestedGraph() != null
+						&& sourceNode.getNestedGraph() != null) {
+					matching.nestedMatchings.add(match(
+							targetNode.getNestedGraph(),
+							sourceNode.getNestedGraph()));
+				}
+			}
+		}
+		matching.removedNodes.addAll(targetNodesByKey.values());
+		removedNodes.addAll(matching.removedNodes);
+		return matching;
+	}
+
+	/**
+	 * Updates the given target {@link Graph} (including its nested
+	 * {@link Graph}s) so that it reflects the given source {@link Graph}. The
+	 * attributes of matched {@link Node}s and {@link Edge}s are updated,
+	 * unmatched {@link Node}s and {@link Edge}s of the target {@link Graph}
+	 * are removed, and unmatched {@link Node}s and {@link Edge}s of the source
+	 * {@link Graph} are moved into the target {@link Graph}. The source
+	 * {@link Graph} may thus not be used after the merge.
+	 *
+	 * @param target
+	 *            The {@link Graph} to update.
+	 * @param source
+	 *            The {@link Graph} that is to be reflected.
+	 * @return <code>true</code> if the target {@link Graph} was changed,
+	 *         <code>false</code> otherwise.
+	 */
+	public boolean merge(Graph target, Graph source) {
+		changeCount = 0;
+		sourceToTargetNodes.clear();
+		removedNodes.clear();
+		// match all nodes first, as edges may refer to nested nodes
+		Matching matching = match(target, source);
+		// remove edges that refer to removed nodes before the nodes
+		if (!removedNodes.isEmpty()) {
+			removeEdges(target.getRootGraph());
+		}
+		mergeNodes(matching);
+		mergeEdges(matching);
+		sourceToTargetNodes.clear();
+		removedNodes.clear();
+		return changeCount > 0;
+	}
+
+	private void mergeAttributes(IAttributeStore target,
+			IAttributeStore source) {
+		Map<String, Object> targetAttributes = target.getAttributes();
+		Map<String, Object> sourceAttributes = source.getAttributes();
+		List<String> removedKeys = new ArrayList<>();
+		for (String key : targetAttributes.keySet()) {
+			if (!sourceAttributes.containsKey(key)) {
+				removedKeys.add(key);
+			}
+		}
+		for (String key : removedKeys) {
+			targetAttributes.remove(key);
+			changeCount++;
+		}
+		for (Map.Entry<String, Object> entry : sourceAttributes.entrySet()) {
+			if (!targetAttributes.containsKey(entry.getKey())
+					|| !isEqual(entry.getKey(),
+							targetAttributes.get(entry.getKey()),
+							entry.getValue())) {
+				targetAttributes.put(entry.getKey(), entry.getValue());
+				changeCount++;
+			}
+		}
+	}
+
+	private void mergeEdges(Matching matching) {
+		for (Matching nestedMatching : matching.nestedMatchings) {
+			mergeEdges(nestedMatching);
+		}
+		Graph target = matching.target;
+		Map<Object, Edge> targetEdgesByKey = new HashMap<>();
+		Set<Edge> removedEdges = Collections
+				.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (Edge targetEdge : target.getEdges()) {
+			Object key = keyProvider.getKey(targetEdge);
+			if (key == null || targetEdgesByKey.containsKey(key)) {
+				removedEdges.add(targetEdge);
+			} else {
+				targetEdgesByKey.put(key, targetEdge);
+			}
+		}
+		List<Edge> addedEdges = new ArrayList<>();
+		for (Edge sourceEdge : matching.source.getEdges()) {
+			Object key = keyProvider.getKey(sourceEdge);
+			Edge targetEdge = key == null ? null : targetEdgesByKey.get(key);
+			Node sourceNode = getTargetNode(sourceEdge.getSource());
+			Node targetNode = getTargetNode(sourceEdge.getTarget());
+			if (targetEdge != null && targetEdge.getSource() == sourceNode
+					&& targetEdge.getTarget() == targetNode) {
+				targetEdgesByKey.remove(key);
+				mergeAttributes(targetEdge, sourceEdge);
+			} else {
+				sourceEdge.setSource(sourceNode);
+				sourceEdge.setTarget(targetNode);
+				addedEdges.add(sourceEdge);
+			}
+		}
+		removedEdges.addAll(targetEdgesByKey.values());
+		// XXX: Edges that refer to removed nodes have already been removed
+		// (see merge()), so that only unmatched edges are removed here.
+		if (!removedEdges.isEmpty()) {
+			target.getEdges().removeAll(removedEdges);
+			changeCount += removedEdges.size();
+		}
+		if (!addedEdges.isEmpty()) {
+			target.getEdges().addAll(addedEdges);
+			changeCount += addedEdges.size();
+		}
+	}
+
+	private void mergeNodes(Matching matching) {
+		Graph target = matching.target;
+		mergeAttributes(target, matching.source);
+		// XXX: Edges that refer to removed nodes have already been removed
+		// (see merge()).
+		if (!matching.removedNodes.isEmpty()) {
+			target.getNodes().removeAll(matching.removedNodes);
+			changeCount += matching.removedNodes.size();
+		}
+		for (int i = 0; i < matching.matchedTargetNodes.size(); i++) {
+			Node targetNode = matching.matchedTargetNodes.get(i);
+			Node sourceNode = matching.matchedSourceNodes.get(i);
+			mergeAttributes(targetNode, sourceNode);
+			if (targetNode.getNestedGraph() == null) {
+				if (sourceNode.getNestedGraph() != null) {
+					targetNode.setNestedGraph(sourceNode.getNestedGraph());
+					changeCount++;
+				}
+			} else if (sourceNode.getNestedGraph() == null) {
+				targetNode.setNestedGraph(null);
+				changeCount++;
+			}
+		}
+		for (Matching nestedMatching : matching.nestedMatchings) {
+			mergeNodes(nestedMatching);
+		}
+		// insert the added nodes at their source indices (as the matched
+		// nodes retain their order, this restores the source order), adding
+		// consecutive nodes at once
+		List<Node> targetNodes = target.getNodes();
+		int i = 0;
+		while (i < matching.addedNodes.size()) {
+			int index = matching.addedNodeIndices.get(i);
+			int j = i + 1;
+			while (j < matching.addedNodes.size()
+					&& matching.addedNodeIndices.get(j) == index + j - i) {
+				j++;
+			}
+			targetNodes.addAll(Math.min(index, targetNodes.size()),
+					matching.addedNodes.subList(i, j));
+			i = j;
+		}
+		changeCount += matching.addedNodes.size();
+	}
+
+	private Node getTargetNode(Node sourceNode) {
+		Node targetNode = sourceToTargetNodes.get(sourceNode);
+		return targetNode == null ? sourceNode : targetNode;
+	}
+
+	private void removeEdges(Graph graph) {
+		Set<Edge> removedEdges = Collections
+				.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (Edge edge : graph.getEdges()) {
+			if (removedNodes.contains(edge.getSource())
+					|| removedNodes.contains(edge.getTarget())) {
+				removedEdges.add(edge);
+			}
+		}
+		if (!removedEdges.isEmpty()) {
+			graph.getEdges().removeAll(removedEdges);
+			changeCount += removedEdges.size();
+		}
+		for (Node node : graph.getNodes()) {
+			if (node.getNestedGraph() != null) {
+				removeEdges(node.getNestedGraph());
+			}
+		}
+	}
+
+}
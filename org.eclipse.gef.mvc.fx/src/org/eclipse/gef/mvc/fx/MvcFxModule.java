@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
+ *     agent - enable the level of detail behavior
  *
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx;
@@ -20,12 +21,15 @@ import org.eclipse.gef.common.adapt.inject.AdaptableScopes;
 import org.eclipse.gef.common.adapt.inject.AdaptableTypeListener;
 import org.eclipse.gef.common.adapt.inject.AdapterInjectionSupport;
 import org.eclipse.gef.common.adapt.inject.AdapterMaps;
+import org.eclipse.gef.mvc.fx.behaviors.ConnectionBatchingBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.ContentBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.ContentPartPool;
 import org.eclipse.gef.mvc.fx.behaviors.FocusBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.GridBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.HoverBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.HoverIntentBehavior;
+import org.eclipse.gef.mvc.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.mvc.fx.behaviors.ObstacleRoutingBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.RevealPrimarySelectionBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.SelectionBehavior;
 import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
@@ -60,6 +64,7 @@ import org.eclipse.gef.mvc.fx.parts.DefaultSelectionHandlePartFactory;
 import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
 import org.eclipse.gef.mvc.fx.parts.IFeedbackPartFactory;
 import org.eclipse.gef.mvc.fx.parts.IHandlePartFactory;
+import org.eclipse.gef.mvc.fx.parts.ILevelOfDetailContentPart;
 import org.eclipse.gef.mvc.fx.parts.IRootPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.parts.LayeredRootPart;
@@ -227,6 +232,27 @@ public class MvcFxModule extends AbstractModule {
 				.to(ClickDragGesture.class);
 	}
 
+	/**
+	 * Adds a binding for {@link ConnectionBatchingBehavior} to the adapter map
+	 * binder for {@link IRootPart}. This binding is not registered by default
+	 * (i.e. it is not called from
+	 * {@link #bindIRootPartAdaptersForContentViewer(MapBinder)}), so that
+	 * clients that render large graphs can opt-in by overriding the latter.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IRootPart} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindConnectionBatchingBehaviorAsIRootPartAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(ConnectionBatchingBehavior.class);
+	}
+
 	/**
 	 * Adds a binding for {@link ContentBehavior}, parameterized by {@link Node}
 	 * , to the adapter map binder for {@link IRootPart}.
@@ -728,6 +754,27 @@ public class MvcFxModule extends AbstractModule {
 		bindSelectionHandlePartFactoryAsContentViewerAdapter(adapterMapBinder);
 	}
 
+	/**
+	 * Adds a binding for {@link LevelOfDetailBehavior} to the adapter map
+	 * binder for {@link IRootPart}. The {@link LevelOfDetailBehavior} is not
+	 * bound by default, so this method has to be called from
+	 * {@link #bindIRootPartAdaptersForContentViewer(MapBinder)} by modules
+	 * whose content parts implement {@link ILevelOfDetailContentPart}.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IRootPart} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindLevelOfDetailBehaviorAsIRootPartAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(LevelOfDetailBehavior.class);
+	}
+
 	/**
 	 * Adds a binding for {@link MarqueeOnDragHandler} to the adapter map binder
 	 * for {@link IRootPart}.
@@ -746,6 +793,28 @@ public class MvcFxModule extends AbstractModule {
 				.to(MarqueeOnDragHandler.class);
 	}
 
+	/**
+	 * Adds a binding for {@link ObstacleRoutingBehavior} to the adapter map
+	 * binder for {@link IRootPart}. This binding is not registered by default
+	 * (i.e. it is not called from
+	 * {@link #bindIRootPartAdaptersForContentViewer(MapBinder)}), so that
+	 * clients that want to route connections around obstacles can opt-in by
+	 * overriding the latter.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IRootPart} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindObstacleRoutingBehaviorAsIRootPartAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(ObstacleRoutingBehavior.class);
+	}
+
 	/**
 	 * Adds a binding for {@link PanOnStrokeHandler} to the adapter map binder
 	 * for {@link IRootPart}.
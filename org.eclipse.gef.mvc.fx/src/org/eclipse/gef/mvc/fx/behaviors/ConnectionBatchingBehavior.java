@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.gef.fx.nodes.BatchedConnectionCanvas;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.mvc.fx.models.FocusModel;
+import org.eclipse.gef.mvc.fx.models.HoverModel;
+import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IHandlePart;
+import org.eclipse.gef.mvc.fx.parts.IRootPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.scene.Node;
+import javafx.scene.transform.Affine;
+
+/**
+ * The {@link ConnectionBatchingBehavior} can be registered on an
+ * {@link IRootPart} to render the {@link Connection} visuals of all
+ * {@link IContentPart}s within its {@link InfiniteCanvasViewer} by means of a
+ * single {@link BatchedConnectionCanvas}, which is placed into the
+ * {@link InfiniteCanvas#getScrolledUnderlayGroup() scrolled underlay group}
+ * and covers the viewport. This reduces the number of scene graph nodes that
+ * need to be rendered for large graphs considerably.
+ * <p>
+ * {@link Connection}s of parts that are hovered, selected, or focused, or that
+ * are being edited (i.e. that have {@link IHandlePart}s attached), are
+ * promoted back to being rendered by their own visuals (so that feedback and
+ * interaction behave as usual), and are batched again as soon as this is no
+ * longer the case.
+ * <p>
+ * This behavior is not registered by default (see
+ * <code>MvcFxModule#bindConnectionBatchingBehaviorAsIRootPartAdapter</code>).
+ *
+ * @author agent
+ *
+ */
+public class ConnectionBatchingBehavior extends AbstractBehavior {
+
+	private BatchedConnectionCanvas batchedConnectionCanvas;
+	private SelectionModel selectionModel;
+	private HoverModel hoverModel;
+	private FocusModel focusModel;
+	private Map<IContentPart<? extends Node>, InvalidationListener> anchoredsObservers = new HashMap<>();
+
+	private MapChangeListener<Object, IContentPart<? extends Node>> contentPartMapObserver = new MapChangeListener<Object, IContentPart<? extends Node>>() {
+		@Override
+		public void onChanged(
+				MapChangeListener.Change<? extends Object, ? extends IContentPart<? extends Node>> change) {
+			if (change.wasRemoved()) {
+				Connection connection = getConnection(
+						change.getValueRemoved());
+				if (connection != null) {
+					unobserveAnchoreds(change.getValueRemoved());
+					batchedConnectionCanvas.remove(connection);
+				}
+			}
+			if (change.wasAdded()) {
+				if (getConnection(change.getValueAdded()) != null) {
+					observeAnchoreds(change.getValueAdded());
+				}
+				updateBatching(change.getValueAdded());
+			}
+		}
+	};
+
+	private ListChangeListener<IContentPart<? extends Node>> selectionObserver = new ListChangeListener<IContentPart<? extends Node>>() {
+		@Override
+		public void onChanged(
+				ListChangeListener.Change<? extends IContentPart<? extends Node>> change) {
+			while (change.next()) {
+				for (IContentPart<? extends Node> part : change.getRemoved()) {
+					updateBatching(part);
+				}
+				for (IContentPart<? extends Node> part : change
+						.getAddedSubList()) {
+					updateBatching(part);
+				}
+			}
+		}
+	};
+
+	private ChangeListener<IContentPart<? extends Node>> focusObserver = new ChangeListener<IContentPart<? extends Node>>() {
+		@Override
+		public void changed(
+				ObservableValue<? extends IContentPart<? extends Node>> observable,
+				IContentPart<? extends Node> oldValue,
+				IContentPart<? extends Node> newValue) {
+			updateBatching(oldValue);
+			updateBatching(newValue);
+		}
+	};
+
+	private ChangeListener<IVisualPart<? extends Node>> hoverObserver = new ChangeListener<IVisualPart<? extends Node>>() {
+		@Override
+		public void changed(
+				ObservableValue<? extends IVisualPart<? extends Node>> observable,
+				IVisualPart<? extends Node> oldValue,
+				IVisualPart<? extends Node> newValue) {
+			updateBatching(oldValue);
+			updateBatching(newValue);
+		}
+	};
+
+	private InvalidationListener viewportObserver = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			updateViewport();
+		}
+	};
+
+	@Override
+	protected void doActivate() {
+		IViewer viewer = getHost().getRoot().getViewer();
+		selectionModel = viewer.getAdapter(SelectionModel.class);
+		hoverModel = viewer.getAdapter(HoverModel.class);
+		focusModel = viewer.getAdapter(FocusModel.class);
+
+		// place batched connection canvas into the scrolled underlay group
+		InfiniteCanvas canvas = getCanvas();
+		batchedConnectionCanvas = new BatchedConnectionCanvas();
+		canvas.getScrolledUnderlayGroup().getChildren()
+				.add(batchedConnectionCanvas);
+		updateViewport();
+
+		// keep the batched connection canvas in sync with the viewport
+		canvas.widthProperty().addListener(viewportObserver);
+		canvas.heightProperty().addListener(viewportObserver);
+		canvas.horizontalScrollOffsetProperty().addListener(viewportObserver);
+		canvas.verticalScrollOffsetProperty().addListener(viewportObserver);
+		Affine contentTransform = canvas.getContentTransform();
+		contentTransform.mxxProperty().addListener(viewportObserver);
+		contentTransform.mxyProperty().addListener(viewportObserver);
+		contentTransform.myxProperty().addListener(viewportObserver);
+		contentTransform.myyProperty().addListener(viewportObserver);
+		contentTransform.txProperty().addListener(viewportObserver);
+		contentTransform.tyProperty().addListener(viewportObserver);
+
+		// observe models
+		viewer.contentPartMapProperty().addListener(contentPartMapObserver);
+		if (selectionModel != null) {
+			selectionModel.selectionUnmodifiableProperty()
+					.addListener(selectionObserver);
+		}
+		if (hoverModel != null) {
+			hoverModel.hoverProperty().addListener(hoverObserver);
+		}
+		if (focusModel != null) {
+			focusModel.focusProperty().addListener(focusObserver);
+		}
+
+		// batch connections of already registered parts
+		for (IContentPart<? extends Node> part : viewer.getContentPartMap()
+				.values()) {
+			if (getConnection(part) != null) {
+				observeAnchoreds(part);
+			}
+			updateBatching(part);
+		}
+	}
+
+	@Override
+	protected void doDeactivate() {
+		IViewer viewer = getHost().getRoot().getViewer();
+		if (focusModel != null) {
+			focusModel.focusProperty().removeListener(focusObserver);
+		}
+		if (hoverModel != null) {
+			hoverModel.hoverProperty().removeListener(hoverObserver);
+		}
+		if (selectionModel != null) {
+			selectionModel.selectionUnmodifiableProperty()
+					.removeListener(selectionObserver);
+		}
+		viewer.contentPartMapProperty().removeListener(contentPartMapObserver);
+		for (IContentPart<? extends Node> part : new ArrayList<>(
+				anchoredsObservers.keySet())) {
+			unobserveAnchoreds(part);
+		}
+
+		InfiniteCanvas canvas = getCanvas();
+		Affine contentTransform = canvas.getContentTransform();
+		contentTransform.tyProperty().removeListener(viewportObserver);
+		contentTransform.txProperty().removeListener(viewportObserver);
+		contentTransform.myyProperty().removeListener(viewportObserver);
+		contentTransform.myxProperty().removeListener(viewportObserver);
+		contentTransform.mxyProperty().removeListener(viewportObserver);
+		contentTransform.mxxProperty().removeListener(viewportObserver);
+		canvas.verticalScrollOffsetProperty()
+				.removeListener(viewportObserver);
+		canvas.horizontalScrollOffsetProperty()
+				.removeListener(viewportObserver);
+		canvas.heightProperty().removeListener(viewportObserver);
+		canvas.widthProperty().removeListener(viewportObserver);
+
+		// promote all batched connections
+		for (Connection connection : new ArrayList<>(
+				batchedConnectionCanvas.getConnectionsUnmodifiable())) {
+			batchedConnectionCanvas.remove(connection);
+		}
+		canvas.getScrolledUnderlayGroup().getChildren()
+				.remove(batchedConnectionCanvas);
+		batchedConnectionCanvas = null;
+		focusModel = null;
+		hoverModel = null;
+		selectionModel = null;
+	}
+
+	/**
+	 * Returns the {@link BatchedConnectionCanvas} that is used to render the
+	 * batched {@link Connection}s, or <code>null</code> if this
+	 * {@link ConnectionBatchingBehavior} is not active.
+	 *
+	 * @return The {@link BatchedConnectionCanvas} that is used to render the
+	 *         batched {@link Connection}s.
+	 */
+	public BatchedConnectionCanvas getBatchedConnectionCanvas() {
+		return batchedConnectionCanvas;
+	}
+
+	/**
+	 * Returns the {@link InfiniteCanvas} of the {@link #getHost() host's}
+	 * {@link InfiniteCanvasViewer}.
+	 *
+	 * @return The {@link InfiniteCanvas} of the {@link #getHost() host's}
+	 *         {@link InfiniteCanvasViewer}.
+	 */
+	protected InfiniteCanvas getCanvas() {
+		return ((InfiniteCanvasViewer) getHost().getRoot().getViewer())
+				.getCanvas();
+	}
+
+	private Connection getConnection(IVisualPart<? extends Node> part) {
+		if (part instanceof IContentPart
+				&& part.getVisual() instanceof Connection) {
+			return (Connection) part.getVisual();
+		}
+		return null;
+	}
+
+	/**
+	 * Registers a listener at the anchoreds of the given {@link IContentPart},
+	 * so that its batching is updated when {@link IHandlePart}s are attached
+	 * or detached.
+	 */
+	private void observeAnchoreds(final IContentPart<? extends Node> part) {
+		if (anchoredsObservers.containsKey(part)) {
+			return;
+		}
+		InvalidationListener anchoredsObserver = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				updateBatching(part);
+			}
+		};
+		anchoredsObservers.put(part, anchoredsObserver);
+		part.getAnchoredsUnmodifiable().addListener(anchoredsObserver);
+	}
+
+	/**
+	 * Determines whether the {@link Connection} visual of the given
+	 * {@link IContentPart} should be rendered by the
+	 * {@link BatchedConnectionCanvas}. Per default, this is the case if the
+	 * part is neither hovered, selected, nor focused, and if it is not being
+	 * edited, i.e. no {@link IHandlePart}s are attached to it.
+	 *
+	 * @param part
+	 *            The {@link IContentPart} to test.
+	 * @return <code>true</code> if the visual of the given part should be
+	 *         batched, otherwise <code>false</code>.
+	 */
+	protected boolean shouldBatch(IContentPart<? extends Node> part) {
+		if (hoverModel != null && hoverModel.getHover() == part) {
+			return false;
+		}
+		if (selectionModel != null && selectionModel.isSelected(part)) {
+			return false;
+		}
+		if (focusModel != null && focusModel.getFocus() == part) {
+			return false;
+		}
+		for (IVisualPart<? extends Node> anchored : part
+				.getAnchoredsUnmodifiable()) {
+			if (anchored instanceof IHandlePart) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void unobserveAnchoreds(IContentPart<? extends Node> part) {
+		InvalidationListener anchoredsObserver = anchoredsObservers
+				.remove(part);
+		if (anchoredsObserver != null) {
+			part.getAnchoredsUnmodifiable().removeListener(anchoredsObserver);
+		}
+	}
+
+	/**
+	 * Adds the {@link Connection} visual of the given part to, or removes it
+	 * from the {@link BatchedConnectionCanvas}, depending on whether it
+	 * {@link #shouldBatch(IContentPart) should be batched}.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} to update.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void updateBatching(IVisualPart<? extends Node> part) {
+		Connection connection = getConnection(part);
+		if (connection == null) {
+			return;
+		}
+		// XXX: Only batch parts that are (still) registered at the viewer.
+		IContentPart<? extends Node> contentPart = (IContentPart<? extends Node>) part;
+		if (getHost().getRoot().getViewer().getContentPartMap()
+				.get(contentPart.getContent()) == contentPart
+				&& shouldBatch(contentPart)) {
+			batchedConnectionCanvas.add(connection);
+		} else {
+			batchedConnectionCanvas.remove(connection);
+		}
+	}
+
+	/**
+	 * Relocates and resizes the {@link BatchedConnectionCanvas} so that it
+	 * covers the viewport of the {@link InfiniteCanvas} and requests a repaint.
+	 */
+	protected void updateViewport() {
+		InfiniteCanvas canvas = getCanvas();
+		// XXX: The scrolled underlay group is translated by the scroll offset,
+		// so we need to compensate it to cover the viewport.
+		batchedConnectionCanvas
+				.setLayoutX(-canvas.getHorizontalScrollOffset());
+		batchedConnectionCanvas
+				.setLayoutY(-canvas.getVerticalScrollOffset());
+		batchedConnectionCanvas.setWidth(canvas.getWidth());
+		batchedConnectionCanvas.setHeight(canvas.getHeight());
+		batchedConnectionCanvas.requestRepaint();
+	}
+
+}
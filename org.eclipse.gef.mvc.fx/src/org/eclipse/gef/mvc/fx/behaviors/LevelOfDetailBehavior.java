@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.ILevelOfDetailContentPart;
+import org.eclipse.gef.mvc.fx.parts.IRootPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.MapChangeListener;
+import javafx.scene.Node;
+
+/**
+ * The {@link LevelOfDetailBehavior} can be registered on an {@link IRootPart}
+ * to determine a level of detail from the {@link IViewer#zoomLevelProperty()
+ * zoom level} of its {@link IViewer}, and to apply it to all
+ * {@link ILevelOfDetailContentPart}s within that {@link IViewer}.
+ * <p>
+ * The zoom range is divided into bands by a descending sequence of
+ * {@link #getZoomThresholds() zoom thresholds}. The level of detail
+ * corresponds to the index of the band that contains the current zoom level,
+ * i.e. {@link ILevelOfDetailContentPart#LEVEL_OF_DETAIL_FULL} is used for
+ * zoom levels above the first threshold, <code>1</code> is used for zoom
+ * levels between the first and the second threshold, etc. To prevent that the
+ * representation of the parts flickers when zooming around a threshold, the
+ * level of detail is only changed when the zoom level leaves the current band
+ * by more than the {@link #getHysteresis() hysteresis} factor.
+ *
+ * @author agent
+ *
+ */
+public class LevelOfDetailBehavior extends AbstractBehavior {
+
+	/**
+	 * The default zoom thresholds that separate the level of detail bands.
+	 */
+	public static final double[] DEFAULT_ZOOM_THRESHOLDS = new double[] { 0.5,
+			0.25 };
+
+	/**
+	 * The default hysteresis factor, by which the zoom level needs to exceed
+	 * a zoom threshold before the level of detail is changed.
+	 */
+	public static final double DEFAULT_HYSTERESIS = 0.1;
+
+	/**
+	 * Name of the {@link #levelOfDetailProperty()}.
+	 */
+	public static final String LEVEL_OF_DETAIL_PROPERTY = "levelOfDetail";
+
+	private double[] zoomThresholds = DEFAULT_ZOOM_THRESHOLDS.clone();
+	private double hysteresis = DEFAULT_HYSTERESIS;
+
+	private ReadOnlyIntegerWrapper levelOfDetailProperty = new ReadOnlyIntegerWrapper(
+			this, LEVEL_OF_DETAIL_PROPERTY,
+			ILevelOfDetailContentPart.LEVEL_OF_DETAIL_FULL);
+
+	private ChangeListener<Number> zoomLevelObserver = new ChangeListener<Number>() {
+		@Override
+		public void changed(ObservableValue<? extends Number> observable,
+				Number oldValue, Number newValue) {
+			updateLevelOfDetail(newValue.doubleValue());
+		}
+	};
+
+	private MapChangeListener<Object, IContentPart<? extends Node>> contentPartMapObserver = new MapChangeListener<Object, IContentPart<? extends Node>>() {
+		@Override
+		public void onChanged(
+				MapChangeListener.Change<? extends Object, ? extends IContentPart<? extends Node>> change) {
+			if (change.wasAdded()) {
+				// newly registered parts need to adopt the current level of
+				// detail
+				applyLevelOfDetail(change.getValueAdded(),
+						levelOfDetailProperty.get());
+			}
+		}
+	};
+
+	/**
+	 * Applies the given level of detail to the given {@link IContentPart} in
+	 * case it is an {@link ILevelOfDetailContentPart}.
+	 *
+	 * @param part
+	 *            The {@link IContentPart} to which the level of detail is
+	 *            applied.
+	 * @param levelOfDetail
+	 *            The level of detail to apply.
+	 */
+	protected void applyLevelOfDetail(IContentPart<? extends Node> part,
+			int levelOfDetail) {
+		if (part instanceof ILevelOfDetailContentPart) {
+			ILevelOfDetailContentPart<? extends Node> lodPart = (ILevelOfDetailContentPart<? extends Node>) part;
+			if (lodPart.getLevelOfDetail() != levelOfDetail) {
+				lodPart.setLevelOfDetail(levelOfDetail);
+			}
+		}
+	}
+
+	/**
+	 * Computes the level of detail for the given zoom level, taking into
+	 * account the given current level of detail to apply the
+	 * {@link #getHysteresis() hysteresis}.
+	 *
+	 * @param currentLevelOfDetail
+	 *            The current level of detail.
+	 * @param zoomLevel
+	 *            The zoom level for which to compute the level of detail.
+	 * @return The level of detail for the given zoom level.
+	 */
+	protected int computeLevelOfDetail(int currentLevelOfDetail,
+			double zoomLevel) {
+		int levelOfDetail = Math.min(currentLevelOfDetail,
+				zoomThresholds.length);
+		// decrease detail while the zoom level is clearly below the
+		// threshold of the current band
+		while (levelOfDetail < zoomThresholds.length
+				&& zoomLevel < zoomThresholds[levelOfDetail]
+						* (1 - hysteresis)) {
+			levelOfDetail++;
+		}
+		// increase detail while the zoom level is clearly above the threshold
+		// of the preceding band
+		while (levelOfDetail > 0
+				&& zoomLevel > zoomThresholds[levelOfDetail - 1]
+						* (1 + hysteresis)) {
+			levelOfDetail--;
+		}
+		return levelOfDetail;
+	}
+
+	@Override
+	protected void doActivate() {
+		IViewer viewer = getHost().getRoot().getViewer();
+		viewer.zoomLevelProperty().addListener(zoomLevelObserver);
+		viewer.contentPartMapProperty().addListener(contentPartMapObserver);
+		updateLevelOfDetail(viewer.getZoomLevel());
+	}
+
+	@Override
+	protected void doDeactivate() {
+		IViewer viewer = getHost().getRoot().getViewer();
+		viewer.contentPartMapProperty().removeListener(contentPartMapObserver);
+		viewer.zoomLevelProperty().removeListener(zoomLevelObserver);
+	}
+
+	/**
+	 * Returns the hysteresis factor by which the zoom level needs to exceed a
+	 * zoom threshold before the level of detail is changed.
+	 *
+	 * @return The hysteresis factor.
+	 */
+	public double getHysteresis() {
+		return hysteresis;
+	}
+
+	/**
+	 * Returns the value of the {@link #levelOfDetailProperty()}.
+	 *
+	 * @return The current level of detail.
+	 */
+	public int getLevelOfDetail() {
+		return levelOfDetailProperty.get();
+	}
+
+	/**
+	 * Returns a copy of the (descending) zoom thresholds that separate the
+	 * level of detail bands.
+	 *
+	 * @return The zoom thresholds.
+	 */
+	public double[] getZoomThresholds() {
+		return zoomThresholds.clone();
+	}
+
+	/**
+	 * Returns a read-only property providing the level of detail that is
+	 * currently applied to the {@link ILevelOfDetailContentPart}s.
+	 *
+	 * @return A read-only property named {@link #LEVEL_OF_DETAIL_PROPERTY}.
+	 */
+	public ReadOnlyIntegerProperty levelOfDetailProperty() {
+		return levelOfDetailProperty.getReadOnlyProperty();
+	}
+
+	/**
+	 * Sets the hysteresis factor by which the zoom level needs to exceed a
+	 * zoom threshold before the level of detail is changed.
+	 *
+	 * @param hysteresis
+	 *            The new hysteresis factor, which has to be within [0, 1).
+	 */
+	public void setHysteresis(double hysteresis) {
+		if (hysteresis < 0 || hysteresis >= 1) {
+			throw new IllegalArgumentException(
+					"The hysteresis has to be within [0, 1), but is "
+							+ hysteresis + ".");
+		}
+		this.hysteresis = hysteresis;
+	}
+
+	/**
+	 * Sets the zoom thresholds that separate the level of detail bands. The
+	 * level of detail is increased by one for each threshold that is greater
+	 * than the zoom level.
+	 *
+	 * @param zoomThresholds
+	 *            The new zoom thresholds in descending order.
+	 */
+	public void setZoomThresholds(double... zoomThresholds) {
+		for (int i = 1; i < zoomThresholds.length; i++) {
+			if (zoomThresholds[i] >= zoomThresholds[i - 1]) {
+				throw new IllegalArgumentException(
+						"The zoom thresholds have to be given in descending order, but are "
+								+ Arrays.toString(zoomThresholds) + ".");
+			}
+		}
+		this.zoomThresholds = zoomThresholds.clone();
+		if (isActive()) {
+			updateLevelOfDetail(getHost().getRoot().getViewer().getZoomLevel());
+		}
+	}
+
+	/**
+	 * Computes the level of detail for the given zoom level and applies it to
+	 * all {@link ILevelOfDetailContentPart}s of the {@link IViewer} in case it
+	 * changed.
+	 *
+	 * @param zoomLevel
+	 *            The current zoom level.
+	 */
+	protected void updateLevelOfDetail(double zoomLevel) {
+		int oldLevelOfDetail = levelOfDetailProperty.get();
+		int newLevelOfDetail = computeLevelOfDetail(oldLevelOfDetail,
+				zoomLevel);
+		if (oldLevelOfDetail != newLevelOfDetail) {
+			levelOfDetailProperty.set(newLevelOfDetail);
+			// XXX: Copy the parts, as changing the level of detail may lead to
+			// changes of the content part map (e.g. by removing labels).
+			for (IContentPart<? extends Node> part : new ArrayList<>(
+					getHost().getRoot().getViewer().getContentPartMap()
+							.values())) {
+				applyLevelOfDetail(part, newLevelOfDetail);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,383 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.eclipse.gef.fx.anchors.IAnchor;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.IConnectionRouter;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.fx.nodes.OrthogonalGridRouter;
+import org.eclipse.gef.fx.nodes.OrthogonalRoutingGrid;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IRootPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.MapChangeListener;
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+
+/**
+ * The {@link ObstacleRoutingBehavior} can be registered on an
+ * {@link IRootPart} to maintain an {@link OrthogonalRoutingGrid} that is
+ * shared by all {@link Connection}s within its {@link InfiniteCanvasViewer}.
+ * The visuals of all {@link IContentPart}s, except for {@link Connection}s and
+ * the parts that are anchored on {@link Connection}s (e.g. edge labels), are
+ * registered as obstacles (within the coordinate system of the
+ * {@link InfiniteCanvas#getContentGroup() content group}), and the grid is
+ * updated incrementally whenever their bounds change (see
+ * {@link #isObstacle(IContentPart)}).
+ * <p>
+ * The grid can be used for routing individual {@link Connection}s by means of
+ * an {@link OrthogonalGridRouter} (see {@link #createRouter()}), or to route a
+ * batch of {@link Connection}s in parallel (see
+ * {@link #routeConnections(Collection)}).
+ * <p>
+ * This behavior is not registered by default (see
+ * <code>MvcFxModule#bindObstacleRoutingBehaviorAsIRootPartAdapter</code>).
+ *
+ * @author agent
+ *
+ */
+public class ObstacleRoutingBehavior extends AbstractBehavior {
+
+	private OrthogonalRoutingGrid grid;
+	private ExecutorService executor;
+
+	private MapChangeListener<Object, IContentPart<? extends Node>> contentPartMapObserver = new MapChangeListener<Object, IContentPart<? extends Node>>() {
+		@Override
+		public void onChanged(
+				MapChangeListener.Change<? extends Object, ? extends IContentPart<? extends Node>> change) {
+			if (change.wasRemoved()) {
+				unregister(change.getValueRemoved());
+			}
+			if (change.wasAdded()) {
+				register(change.getValueAdded());
+			}
+		}
+	};
+
+	private Map<IContentPart<? extends Node>, InvalidationListener> anchoragesObservers = new HashMap<>();
+
+	private Set<IContentPart<? extends Node>> obstacleParts = new HashSet<>();
+
+	private ChangeListener<Bounds> obstacleBoundsObserver = new ChangeListener<Bounds>() {
+		@Override
+		public void changed(ObservableValue<? extends Bounds> observable,
+				Bounds oldValue, Bounds newValue) {
+			updateObstacle(
+					(Node) ((ReadOnlyProperty<?>) observable).getBean());
+		}
+	};
+
+	/**
+	 * Creates a new {@link OrthogonalGridRouter} that routes around the
+	 * obstacles of the {@link #getRoutingGrid() routing grid}.
+	 *
+	 * @return A new {@link OrthogonalGridRouter} for the
+	 *         {@link #getRoutingGrid() routing grid}.
+	 */
+	public OrthogonalGridRouter createRouter() {
+		return new OrthogonalGridRouter(grid, getCanvas().getContentGroup());
+	}
+
+	@Override
+	protected void doActivate() {
+		grid = new OrthogonalRoutingGrid();
+		executor = Executors.newFixedThreadPool(
+				Runtime.getRuntime().availableProcessors(),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r,
+								"Obstacle Routing Thread");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		getHost().getRoot().getViewer().contentPartMapProperty()
+				.addListener(contentPartMapObserver);
+		for (IContentPart<? extends Node> part : getHost().getRoot()
+				.getViewer().getContentPartMap().values()) {
+			register(part);
+		}
+	}
+
+	@Override
+	protected void doDeactivate() {
+		getHost().getRoot().getViewer().contentPartMapProperty()
+				.removeListener(contentPartMapObserver);
+		for (IContentPart<? extends Node> part : getHost().getRoot()
+				.getViewer().getContentPartMap().values()) {
+			unregister(part);
+		}
+		executor.shutdownNow();
+		executor = null;
+		grid = null;
+	}
+
+	/**
+	 * Returns the {@link InfiniteCanvas} of the {@link #getHost() host's}
+	 * {@link InfiniteCanvasViewer}.
+	 *
+	 * @return The {@link InfiniteCanvas} of the {@link #getHost() host's}
+	 *         {@link InfiniteCanvasViewer}.
+	 */
+	protected InfiniteCanvas getCanvas() {
+		return ((InfiniteCanvasViewer) getHost().getRoot().getViewer())
+				.getCanvas();
+	}
+
+	/**
+	 * Returns the {@link OrthogonalRoutingGrid} that is maintained by this
+	 * {@link ObstacleRoutingBehavior}, or <code>null</code> if this
+	 * {@link ObstacleRoutingBehavior} is not active.
+	 *
+	 * @return The {@link OrthogonalRoutingGrid}.
+	 */
+	public OrthogonalRoutingGrid getRoutingGrid() {
+		return grid;
+	}
+
+	private List<Point> getWayPoints(Connection connection) {
+		List<Point> wayPoints = new ArrayList<>();
+		wayPoints.add(connection.getStartPoint());
+		IConnectionRouter router = connection.getRouter();
+		List<IAnchor> controlAnchors = connection.getControlAnchors();
+		List<Point> controlPoints = connection.getControlPoints();
+		for (int i = 0; i < controlAnchors.size(); i++) {
+			// skip anchors that were inserted by the router
+			if (router == null || !router.wasInserted(controlAnchors.get(i))) {
+				wayPoints.add(controlPoints.get(i));
+			}
+		}
+		wayPoints.add(connection.getEndPoint());
+		return wayPoints;
+	}
+
+	/**
+	 * Determines whether the visual of the given {@link IContentPart} should
+	 * be registered as an obstacle. Per default, this is the case for all
+	 * visuals except for {@link Connection}s and the visuals of parts that are
+	 * anchored on a {@link Connection} (e.g. edge labels), as these are placed
+	 * relative to the routes and would otherwise obstruct them.
+	 * <p>
+	 * The result is re-evaluated whenever the anchorages of the given part
+	 * change.
+	 *
+	 * @param part
+	 *            The {@link IContentPart} to test.
+	 * @return <code>true</code> if the visual of the given part is an
+	 *         obstacle, otherwise <code>false</code>.
+	 */
+	protected boolean isObstacle(IContentPart<? extends Node> part) {
+		if (part.getVisual() instanceof Connection) {
+			return false;
+		}
+		for (IVisualPart<? extends Node> anchorage : part
+				.getAnchoragesUnmodifiable().keySet()) {
+			if (anchorage.getVisual() instanceof Connection) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void register(final IContentPart<? extends Node> part) {
+		if (!anchoragesObservers.containsKey(part)) {
+			// XXX: Anchorages are attached after a part is registered at the
+			// viewer, so that it may cease to be an obstacle afterwards.
+			InvalidationListener anchoragesObserver = new InvalidationListener() {
+				@Override
+				public void invalidated(Observable observable) {
+					updateRegistration(part);
+				}
+			};
+			anchoragesObservers.put(part, anchoragesObserver);
+			part.getAnchoragesUnmodifiable().addListener(anchoragesObserver);
+		}
+		updateRegistration(part);
+	}
+
+	private void registerObstacle(IContentPart<? extends Node> part) {
+		if (obstacleParts.add(part)) {
+			Node visual = part.getVisual();
+			visual.boundsInParentProperty()
+					.addListener(obstacleBoundsObserver);
+			updateObstacle(visual);
+		}
+	}
+
+	/**
+	 * Routes the given {@link Connection}s around the obstacles of the
+	 * {@link #getRoutingGrid() routing grid}. The routes are computed in
+	 * parallel off the JavaFX application thread and are afterwards applied
+	 * as control points (on the JavaFX application thread). The control points
+	 * of a {@link Connection} whose points changed in the meantime are not
+	 * altered.
+	 *
+	 * @param connections
+	 *            The {@link Connection}s to route.
+	 * @return The {@link Task} that computes the routes.
+	 */
+	public Task<List<List<Point>>> routeConnections(
+			Collection<? extends Connection> connections) {
+		// collect way points (in grid coordinates) on the application thread
+		final Node gridContainer = getCanvas().getContentGroup();
+		final List<Connection> routedConnections = new ArrayList<>();
+		final List<List<Point>> routedPoints = new ArrayList<>();
+		final List<List<Point>> routedWayPoints = new ArrayList<>();
+		final List<Line> segments = new ArrayList<>();
+		for (Connection connection : connections) {
+			routedConnections.add(connection);
+			routedPoints
+					.add(new ArrayList<>(connection.getPointsUnmodifiable()));
+			List<Point> wayPoints = getWayPoints(connection);
+			routedWayPoints.add(wayPoints);
+			for (int i = 0; i < wayPoints.size() - 1; i++) {
+				segments.add(new Line(
+						toGrid(gridContainer, connection, wayPoints.get(i)),
+						toGrid(gridContainer, connection,
+								wayPoints.get(i + 1))));
+			}
+		}
+
+		// compute routes in parallel
+		final OrthogonalRoutingGrid routingGrid = grid;
+		final ExecutorService routingExecutor = executor;
+		final Task<List<List<Point>>> task = new Task<List<List<Point>>>() {
+			@Override
+			protected List<List<Point>> call() throws Exception {
+				return routingGrid.findRoutes(segments, routingExecutor);
+			}
+		};
+
+		// apply routes as control points on the application thread
+		task.setOnSucceeded(new EventHandler<WorkerStateEvent>() {
+			@Override
+			public void handle(WorkerStateEvent event) {
+				List<List<Point>> routes = task.getValue();
+				int segmentIndex = 0;
+				for (int c = 0; c < routedConnections.size(); c++) {
+					Connection connection = routedConnections.get(c);
+					List<Point> wayPoints = routedWayPoints.get(c);
+					List<Point> controlPoints = new ArrayList<>();
+					for (int i = 0; i < wayPoints.size() - 1; i++) {
+						if (i > 0) {
+							controlPoints.add(wayPoints.get(i));
+						}
+						List<Point> route = routes.get(segmentIndex++);
+						if (route != null) {
+							for (Point bendPoint : route) {
+								controlPoints.add(toConnection(gridContainer,
+										connection, bendPoint));
+							}
+						}
+					}
+					// XXX: Do not alter connections that changed while the
+					// routes were computed.
+					if (connection.getPointsUnmodifiable()
+							.equals(routedPoints.get(c))) {
+						connection.setControlPoints(controlPoints);
+					}
+				}
+			}
+		});
+		// XXX: The task is not executed by the executor itself, as it blocks
+		// until the routes (that are computed by the executor) are available.
+		Thread thread = new Thread(task, "Obstacle Routing Thread");
+		thread.setDaemon(true);
+		thread.start();
+		return task;
+	}
+
+	private Point toConnection(Node gridContainer, Connection connection,
+			Point pointInGrid) {
+		return NodeUtils.sceneToLocal(connection,
+				NodeUtils.localToScene(gridContainer, pointInGrid));
+	}
+
+	private Point toGrid(Node gridContainer, Connection connection,
+			Point pointInConnection) {
+		return NodeUtils.sceneToLocal(gridContainer,
+				NodeUtils.localToScene(connection, pointInConnection));
+	}
+
+	private void unregister(IContentPart<? extends Node> part) {
+		InvalidationListener anchoragesObserver = anchoragesObservers
+				.remove(part);
+		if (anchoragesObserver != null) {
+			part.getAnchoragesUnmodifiable()
+					.removeListener(anchoragesObserver);
+		}
+		unregisterObstacle(part);
+	}
+
+	private void unregisterObstacle(IContentPart<? extends Node> part) {
+		if (obstacleParts.remove(part)) {
+			Node visual = part.getVisual();
+			visual.boundsInParentProperty()
+					.removeListener(obstacleBoundsObserver);
+			grid.removeObstacle(visual);
+		}
+	}
+
+	/**
+	 * Updates the obstacle that corresponds to the given visual within the
+	 * {@link #getRoutingGrid() routing grid}, i.e. transforms its layout
+	 * bounds into the coordinate system of the
+	 * {@link InfiniteCanvas#getContentGroup() content group}.
+	 *
+	 * @param visual
+	 *            The visual whose obstacle is to be updated.
+	 */
+	protected void updateObstacle(Node visual) {
+		// XXX: Bounds changes of ancestors are not observed, so that nested
+		// visuals are only updated when their own bounds change.
+		Bounds boundsInContent = getCanvas().getContentGroup()
+				.sceneToLocal(visual.localToScene(visual.getLayoutBounds()));
+		grid.putObstacle(visual, FX2Geometry.toRectangle(boundsInContent));
+	}
+
+	private void updateRegistration(IContentPart<? extends Node> part) {
+		if (isObstacle(part)) {
+			registerObstacle(part);
+		} else {
+			unregisterObstacle(part);
+		}
+	}
+
+}
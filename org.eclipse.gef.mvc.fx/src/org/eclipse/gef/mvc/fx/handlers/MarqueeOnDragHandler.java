@@ -8,20 +8,28 @@
  * Contributors:
  *     Matthias Wienand (itemis AG) - initial API and implementation
  *     Alexander Nyßen (itemis AG) - contribution for Bugzilla #451852
+ *     agent - transform and test geometries in batches
  *
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.handlers;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.GeometryBatchUtils;
 import org.eclipse.gef.mvc.fx.operations.SelectOperation;
 import org.eclipse.gef.mvc.fx.parts.AbstractFeedbackPart;
 import org.eclipse.gef.mvc.fx.parts.DefaultSelectionFeedbackPartFactory;
@@ -95,36 +103,70 @@ public class MarqueeOnDragHandler extends AbstractHandler
 	// TODO: move to utility
 	public static List<Node> findContainedNodes(Node root, double x0, double y0,
 			double x1, double y1) {
-		Bounds bounds;
-		double bx1, bx0, by1, by0;
-
+		org.eclipse.gef.geometry.planar.Rectangle marquee = new org.eclipse.gef.geometry.planar.Rectangle(
+				x0, y0, x1 - x0, y1 - y0);
 		List<Node> containedNodes = new ArrayList<>();
-		Queue<Node> nodes = new LinkedList<>();
-		nodes.add(root);
-
-		while (!nodes.isEmpty()) {
-			Node current = nodes.remove();
-
-			bounds = current.getBoundsInLocal();
-			bounds = current.localToScene(bounds);
-			bx1 = bounds.getMaxX();
-			bx0 = bounds.getMinX();
-			by1 = bounds.getMaxY();
-			by0 = bounds.getMinY();
-
-			if (bx1 < x0 || bx0 > x1 || by1 < y0 || by0 > y1) {
-				// current node is outside of marquee bounds => dont collect
-			} else {
-				if (bx0 >= x0 && bx1 <= x1 && by0 >= y0 && by1 <= y1) {
-					// current node is fully contained within marquee bounds
-					containedNodes.add(current);
-				}
-				if (current instanceof Parent) {
-					// add all children to nodes
-					Parent p = (Parent) current;
-					nodes.addAll(p.getChildrenUnmodifiable());
+
+		// nodes are processed in groups of siblings, the bounds of which are
+		// transformed into the scene at once, using the local-to-scene
+		// transform of their common parent
+		List<? extends Node> siblings = Collections.singletonList(root);
+		AffineTransform parentToSceneTx = root.getParent() == null
+				? new AffineTransform()
+				: NodeUtils.getLocalToSceneTx(root.getParent());
+		Queue<Parent> parents = new LinkedList<>();
+		Queue<AffineTransform> parentToSceneTxs = new LinkedList<>();
+		while (true) {
+			int n = siblings.size();
+
+			// compute the corners of the siblings' bounds within the scene
+			double[] corners = new double[8 * n];
+			for (int i = 0; i < n; i++) {
+				Node current = siblings.get(i);
+				Bounds bounds = current.getBoundsInLocal();
+				corners[8 * i] = bounds.getMinX();
+				corners[8 * i + 1] = bounds.getMinY();
+				corners[8 * i + 2] = bounds.getMaxX();
+				corners[8 * i + 3] = bounds.getMinY();
+				corners[8 * i + 4] = bounds.getMaxX();
+				corners[8 * i + 5] = bounds.getMaxY();
+				corners[8 * i + 6] = bounds.getMinX();
+				corners[8 * i + 7] = bounds.getMaxY();
+				current.getLocalToParentTransform().transform2DPoints(corners,
+						8 * i, corners, 8 * i, 4);
+			}
+			GeometryBatchUtils.transform(parentToSceneTx, corners, corners);
+			double[] sceneBounds = new double[4 * n];
+			GeometryBatchUtils.getBounds(corners, 4, sceneBounds);
+
+			boolean[] touching = new boolean[n];
+			boolean[] contained = new boolean[n];
+			GeometryBatchUtils.touches(marquee, sceneBounds, touching);
+			GeometryBatchUtils.contains(marquee, sceneBounds, contained);
+			for (int i = 0; i < n; i++) {
+				// nodes outside of the marquee bounds are not collected
+				if (touching[i]) {
+					Node current = siblings.get(i);
+					if (contained[i]) {
+						// current node is fully contained within marquee
+						// bounds
+						containedNodes.add(current);
+					}
+					if (current instanceof Parent) {
+						// process all children
+						parents.add((Parent) current);
+						parentToSceneTxs.add(parentToSceneTx.getCopy()
+								.concatenate(FX2Geometry.toAffineTransform(
+										current.getLocalToParentTransform())));
+					}
 				}
 			}
+
+			if (parents.isEmpty()) {
+				break;
+			}
+			siblings = parents.remove().getChildrenUnmodifiable();
+			parentToSceneTx = parentToSceneTxs.remove();
 		}
 
 		return containedNodes;
@@ -266,17 +308,17 @@ public class MarqueeOnDragHandler extends AbstractHandler
 	 *         corresponding to the given {@link Node}s.
 	 */
 	protected List<IContentPart<? extends Node>> getParts(List<Node> nodes) {
-		List<IContentPart<? extends Node>> parts = new ArrayList<>();
+		// use a set to detect duplicates, as there may be thousands of parts
+		Set<IContentPart<? extends Node>> parts = new LinkedHashSet<>();
 		IViewer viewer = getHost().getRoot().getViewer();
 		for (Node node : nodes) {
 			IVisualPart<? extends Node> part = PartUtils
 					.retrieveVisualPart(viewer, node);
-			if (part != null && part instanceof IContentPart
-					&& !parts.contains(part)) {
+			if (part != null && part instanceof IContentPart) {
 				parts.add((IContentPart<? extends Node>) part);
 			}
 		}
-		return parts;
+		return new ArrayList<>(parts);
 	}
 
 	/**
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.parts;
+
+import org.eclipse.gef.mvc.fx.behaviors.LevelOfDetailBehavior;
+
+import javafx.scene.Node;
+
+/**
+ * An {@link IContentPart} that supports to render its visual in different
+ * levels of detail. The level of detail is an index into the zoom bands that
+ * are managed by the {@link LevelOfDetailBehavior}, where
+ * {@link #LEVEL_OF_DETAIL_FULL} denotes the full (unreduced) representation,
+ * and higher values denote increasingly reduced (and thus cheaper)
+ * representations.
+ *
+ * @author agent
+ *
+ * @param <V>
+ *            The visual node used by this {@link ILevelOfDetailContentPart}.
+ *
+ */
+public interface ILevelOfDetailContentPart<V extends Node>
+		extends IContentPart<V> {
+
+	/**
+	 * The level of detail that denotes the full (unreduced) representation.
+	 */
+	public static final int LEVEL_OF_DETAIL_FULL = 0;
+
+	/**
+	 * Returns the level of detail in which the visual of this
+	 * {@link ILevelOfDetailContentPart} is currently rendered.
+	 *
+	 * @return The current level of detail.
+	 */
+	public int getLevelOfDetail();
+
+	/**
+	 * Changes the level of detail in which the visual of this
+	 * {@link ILevelOfDetailContentPart} is rendered. Implementations are
+	 * expected to swap in the representation that corresponds to the given
+	 * level of detail (e.g. by refreshing the visual).
+	 *
+	 * @param levelOfDetail
+	 *            The new level of detail, where
+	 *            {@link #LEVEL_OF_DETAIL_FULL} denotes the full
+	 *            representation.
+	 */
+	public void setLevelOfDetail(int levelOfDetail);
+
+}
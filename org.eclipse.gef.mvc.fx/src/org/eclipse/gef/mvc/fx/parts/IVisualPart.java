@@ -452,6 +452,27 @@ public interface IVisualPart<V extends Node> extends IAdaptable,
 	 */
 	public void reorderChild(IVisualPart<? extends Node> child, int index);
 
+	/**
+	 * Schedules a {@link #refreshVisual() refresh} of this part's
+	 * visualization at its {@link #getViewer() viewer} (see
+	 * {@link IViewer#scheduleRefreshVisual(IVisualPart)}), so that multiple
+	 * refresh requests within the same pulse are coalesced. In case this
+	 * {@link IVisualPart} is not bound to an {@link IViewer}, the visual is
+	 * refreshed immediately.
+	 * <p>
+	 * Note that the refresh is therefore performed asynchronously, i.e. the
+	 * visual may be stale until the next pulse, unless the refreshes are
+	 * flushed (see {@link IViewer#flushRefreshVisual()}).
+	 */
+	public default void scheduleRefreshVisual() {
+		IViewer viewer = getViewer();
+		if (viewer != null) {
+			viewer.scheduleRefreshVisual(this);
+		} else {
+			refreshVisual();
+		}
+	}
+
 	/**
 	 * Used by a parent {@link IVisualPart} to establish/unestablish a
 	 * parent-child relationship with this child {@link IVisualPart}.
@@ -114,6 +114,13 @@ public abstract class AbstractPolicy extends
 	@Override
 	public void init() {
 		checkUninitialized();
+		// XXX: Operations are initialized from the visuals, so scheduled
+		// refreshes need to be performed before.
+		IVisualPart<? extends Node> host = getHost();
+		if (host != null && host.getRoot() != null
+				&& host.getRoot().getViewer() != null) {
+			host.getRoot().getViewer().flushRefreshVisual();
+		}
 		initialized = true;
 		operation = createOperation();
 	}
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
+ *     agent - enable the level of detail behavior
  *
  * Note: Parts of this interface have been transferred from org.eclipse.gef.EditPartViewer.
  *
@@ -24,8 +25,10 @@ import org.eclipse.gef.mvc.fx.parts.IFeedbackPart;
 import org.eclipse.gef.mvc.fx.parts.IHandlePart;
 import org.eclipse.gef.mvc.fx.parts.IRootPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.policies.AbstractPolicy;
 
 import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.beans.property.ReadOnlyListProperty;
 import javafx.beans.property.ReadOnlyMapProperty;
 import javafx.collections.ObservableList;
@@ -63,6 +66,11 @@ public interface IViewer extends IAdaptable, IActivatable, IDisposable,
 	 */
 	public static final String VISUAL_PART_MAP_PROPERTY = "visualPartMap";
 
+	/**
+	 * Name of the {@link #zoomLevelProperty()}.
+	 */
+	public static final String ZOOM_LEVEL_PROPERTY = "zoomLevel";
+
 	/**
 	 * Returns an unmodifiable read-only map property that contains the
 	 * registered {@link IContentPart}s mapped to their respective content.
@@ -78,6 +86,22 @@ public interface IViewer extends IAdaptable, IActivatable, IDisposable,
 	 */
 	public ReadOnlyListProperty<Object> contentsProperty();
 
+	/**
+	 * Synchronously performs all refreshes that were scheduled via
+	 * {@link #scheduleRefreshVisual(IVisualPart)} but did not yet take place.
+	 * This can be used by clients that need to rely on the visuals being up
+	 * to date, e.g. before measuring them. Scheduled refreshes are flushed
+	 * before a policy is {@link AbstractPolicy#init() initialized} and before
+	 * a part is {@link #reveal(IVisualPart) revealed}.
+	 * <p>
+	 * The default implementation does nothing, which is appropriate for
+	 * viewers that perform all refreshes immediately (see
+	 * {@link #scheduleRefreshVisual(IVisualPart)}).
+	 */
+	public default void flushRefreshVisual() {
+		// nothing to flush
+	}
+
 	/**
 	 * Returns the {@link Parent} that displays the visuals of this
 	 * {@link IViewer viewer's} {@link IVisualPart parts}
@@ -137,6 +161,15 @@ public interface IViewer extends IAdaptable, IActivatable, IDisposable,
 	 */
 	public Map<Node, IVisualPart<? extends Node>> getVisualPartMap();
 
+	/**
+	 * Returns the value of the {@link #zoomLevelProperty()}.
+	 *
+	 * @return The value of the {@link #zoomLevelProperty()}.
+	 */
+	public default double getZoomLevel() {
+		return zoomLevelProperty().get();
+	}
+
 	/**
 	 * Returns the value of the property {@link #viewerFocusedProperty()}.
 	 *
@@ -153,6 +186,28 @@ public interface IViewer extends IAdaptable, IActivatable, IDisposable,
 	 */
 	public void reveal(IVisualPart<? extends Node> visualPart);
 
+	/**
+	 * Schedules a {@link IVisualPart#refreshVisual() refresh} of the visual of
+	 * the given {@link IVisualPart}. All refreshes that are scheduled until the
+	 * next pulse are coalesced, so that each scheduled {@link IVisualPart} is
+	 * refreshed only once, where parents are refreshed before their children.
+	 * <p>
+	 * Note that the visual is therefore not up-to-date until the next pulse.
+	 * Clients that need to rely on the visuals being up-to-date (e.g. to
+	 * measure them) have to call {@link #flushRefreshVisual()} before.
+	 * <p>
+	 * The default implementation refreshes the visual of the given
+	 * {@link IVisualPart} immediately.
+	 *
+	 * @param visualPart
+	 *            The {@link IVisualPart} whose visual is to be refreshed.
+	 * @see #flushRefreshVisual()
+	 */
+	public default void scheduleRefreshVisual(
+			IVisualPart<? extends Node> visualPart) {
+		visualPart.refreshVisual();
+	}
+
 	/**
 	 * Returns a {@link ReadOnlyBooleanProperty} that represents the "focused"
 	 * state of this {@link IViewer}. An {@link IViewer} is focused when its
@@ -172,4 +227,16 @@ public interface IViewer extends IAdaptable, IActivatable, IDisposable,
 	 */
 	public ReadOnlyMapProperty<Node, IVisualPart<? extends Node>> visualPartMapProperty();
 
+	/**
+	 * Returns a {@link ReadOnlyDoubleProperty} that represents the current zoom
+	 * level of this {@link IViewer}, i.e. the scale factor that is applied to
+	 * the visuals of the {@link IVisualPart parts} when displaying them. A zoom
+	 * level of <code>1</code> corresponds to no zoom.
+	 *
+	 * @return A {@link ReadOnlyDoubleProperty} named
+	 *         {@link #ZOOM_LEVEL_PROPERTY} that represents the zoom level of
+	 *         this {@link IViewer}.
+	 */
+	public ReadOnlyDoubleProperty zoomLevelProperty();
+
 }
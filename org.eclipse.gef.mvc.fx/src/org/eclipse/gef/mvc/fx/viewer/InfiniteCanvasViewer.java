@@ -7,13 +7,20 @@
  *
  * Contributors:
  *     Alexander Nyßen (itemis AG) - initial API and implementation
+ *     agent - enable the level of detail behavior
  *
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.viewer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.eclipse.gef.common.activate.ActivatableSupport;
@@ -33,9 +40,13 @@ import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 
 import com.google.common.reflect.TypeToken;
 
+import javafx.animation.AnimationTimer;
 import javafx.beans.binding.BooleanBinding;
+import javafx.beans.binding.DoubleBinding;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
 import javafx.beans.property.ReadOnlyListProperty;
 import javafx.beans.property.ReadOnlyListWrapper;
 import javafx.beans.property.ReadOnlyMapProperty;
@@ -49,6 +60,7 @@ import javafx.collections.ObservableMap;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.transform.Affine;
 import javafx.stage.Window;
 
 /**
@@ -68,6 +80,11 @@ public class InfiniteCanvasViewer implements IViewer {
 	private ReadOnlyBooleanWrapper viewerFocusedProperty = new ReadOnlyBooleanWrapper(
 			false);
 
+	private ReadOnlyDoubleWrapper zoomLevelProperty = new ReadOnlyDoubleWrapper(
+			this, ZOOM_LEVEL_PROPERTY, 1);
+
+	private DoubleBinding zoomLevelBinding;
+
 	private ObservableList<Object> contents = CollectionUtils
 			.observableArrayList();
 
@@ -152,6 +169,10 @@ public class InfiniteCanvasViewer implements IViewer {
 
 	private ReadOnlyObjectWrapper<IDomain> domainProperty = new ReadOnlyObjectWrapper<>();
 
+	// parts whose visuals are to be refreshed within the next pulse
+	private Set<IVisualPart<? extends Node>> scheduledRefreshVisualParts = new LinkedHashSet<>();
+	private AnimationTimer refreshVisualTimer;
+
 	/**
 	 * Creates a new {@link InfiniteCanvasViewer}.
 	 */
@@ -245,6 +266,21 @@ public class InfiniteCanvasViewer implements IViewer {
 		viewerFocusedProperty.unbind();
 		viewerFocusedProperty = null;
 
+		// unbind zoom level property
+		zoomLevelProperty.unbind();
+		if (zoomLevelBinding != null) {
+			zoomLevelBinding.dispose();
+			zoomLevelBinding = null;
+		}
+
+		// discard scheduled refreshes (refreshes that are scheduled after
+		// this viewer is disposed are performed immediately)
+		if (refreshVisualTimer != null) {
+			refreshVisualTimer.stop();
+			refreshVisualTimer = null;
+		}
+		scheduledRefreshVisualParts.clear();
+
 		// dispose adapters (including root part and models)
 		ads.dispose();
 		ads = null;
@@ -295,6 +331,48 @@ public class InfiniteCanvasViewer implements IViewer {
 		deactivateAdapters();
 	}
 
+	@Override
+	public void flushRefreshVisual() {
+		if (refreshVisualTimer != null) {
+			refreshVisualTimer.stop();
+		}
+		// XXX: Refreshing a visual may lead to further refreshes being
+		// scheduled, which are performed as part of this flush as well.
+		while (!scheduledRefreshVisualParts.isEmpty()) {
+			List<IVisualPart<? extends Node>> parts = new ArrayList<>(
+					scheduledRefreshVisualParts);
+			scheduledRefreshVisualParts.clear();
+			// refresh parents before their children (the sort is stable, so
+			// that parts of the same depth are refreshed in the order they
+			// were scheduled)
+			final Map<IVisualPart<? extends Node>, Integer> depths = new IdentityHashMap<>();
+			for (IVisualPart<? extends Node> part : parts) {
+				int depth = 0;
+				IVisualPart<? extends Node> parent = part.getParent();
+				while (parent != null) {
+					depth++;
+					parent = parent.getParent();
+				}
+				depths.put(part, depth);
+			}
+			Collections.sort(parts,
+					new Comparator<IVisualPart<? extends Node>>() {
+						@Override
+						public int compare(IVisualPart<? extends Node> p1,
+								IVisualPart<? extends Node> p2) {
+							return Integer.compare(depths.get(p1),
+									depths.get(p2));
+						}
+					});
+			for (IVisualPart<? extends Node> part : parts) {
+				// skip parts that were removed in the meantime
+				if (part.getViewer() == this) {
+					part.refreshVisual();
+				}
+			}
+		}
+	}
+
 	@Override
 	public IDomain getAdaptable() {
 		return domainProperty.get();
@@ -350,6 +428,33 @@ public class InfiniteCanvasViewer implements IViewer {
 			infiniteCanvas = new InfiniteCanvas();
 			infiniteCanvas.sceneProperty().addListener(sceneListener);
 
+			// XXX: The content transform is not replaced but changed in-place,
+			// therefore, the zoom level is computed from its scale components.
+			final Affine contentTransform = infiniteCanvas
+					.getContentTransform();
+			zoomLevelBinding = new DoubleBinding() {
+				{
+					bind(contentTransform.mxxProperty(),
+							contentTransform.myxProperty());
+				}
+
+				@Override
+				public void dispose() {
+					unbind(contentTransform.mxxProperty(),
+							contentTransform.myxProperty());
+				}
+
+				@Override
+				protected double computeValue() {
+					// length of the transformed x-axis unit vector
+					return Math.sqrt(contentTransform.getMxx()
+							* contentTransform.getMxx()
+							+ contentTransform.getMyx()
+									* contentTransform.getMyx());
+				}
+			};
+			zoomLevelProperty.bind(zoomLevelBinding);
+
 			// hook root visual
 			IRootPart<? extends Node> rootPart = getRootPart();
 			infiniteCanvas.getContentGroup().getChildren()
@@ -496,6 +601,8 @@ public class InfiniteCanvasViewer implements IViewer {
 
 	@Override
 	public void reveal(IVisualPart<? extends Node> visualPart) {
+		// ensure the bounds of the visual to reveal are up-to-date
+		flushRefreshVisual();
 		if (visualPart == null) {
 			getCanvas().setHorizontalScrollOffset(0);
 			getCanvas().setVerticalScrollOffset(0);
@@ -504,6 +611,30 @@ public class InfiniteCanvasViewer implements IViewer {
 		}
 	}
 
+	@Override
+	public void scheduleRefreshVisual(IVisualPart<? extends Node> visualPart) {
+		if (ads == null) {
+			// XXX: This viewer is already disposed, so that no refresh can
+			// be scheduled anymore.
+			visualPart.refreshVisual();
+			return;
+		}
+		if (scheduledRefreshVisualParts.add(visualPart)) {
+			if (refreshVisualTimer == null) {
+				refreshVisualTimer = new AnimationTimer() {
+					@Override
+					public void handle(long now) {
+						flushRefreshVisual();
+					}
+				};
+			}
+			// XXX: An animation timer is notified at the beginning of each
+			// pulse, i.e. before CSS and layout are processed, so that the
+			// refreshed visuals are rendered within the same pulse.
+			refreshVisualTimer.start();
+		}
+	}
+
 	@Override
 	public void setAdaptable(IDomain domain) {
 		domainProperty.set(domain);
@@ -550,4 +681,9 @@ public class InfiniteCanvasViewer implements IViewer {
 		return visualPartMapProperty;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public ReadOnlyDoubleProperty zoomLevelProperty() {
+		return zoomLevelProperty.getReadOnlyProperty();
+	}
+
+}
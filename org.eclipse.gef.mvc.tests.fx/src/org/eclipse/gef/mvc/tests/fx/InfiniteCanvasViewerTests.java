@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.AbstractVisualPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Tests the scheduling of visual refreshes by the
+ * {@link InfiniteCanvasViewer}.
+ *
+ * @author agent
+ *
+ */
+public class InfiniteCanvasViewerTests {
+
+	/**
+	 * Records its refreshes in the list of refreshed parts.
+	 */
+	private class RefreshVisualPartStub extends AbstractVisualPart<Node> {
+
+		@Override
+		protected void doAddChildVisual(IVisualPart<? extends Node> child,
+				int index) {
+		}
+
+		@Override
+		protected Node doCreateVisual() {
+			return new Rectangle();
+		}
+
+		@Override
+		protected void doRefreshVisual(Node visual) {
+			refreshed.add(this);
+		}
+
+		@Override
+		protected void doRemoveChildVisual(IVisualPart<? extends Node> child,
+				int index) {
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IDomain domain;
+	private IViewer viewer;
+	private List<IVisualPart<? extends Node>> refreshed;
+
+	@Before
+	public void setUp() throws Throwable {
+		domain = Guice.createInjector(new MvcFxModule() {
+
+			protected void bindIContentPartFactory() {
+				binder().bind(IContentPartFactory.class)
+						.toInstance(new IContentPartFactory() {
+							@Override
+							public IContentPart<? extends Node> createContentPart(
+									Object content,
+									Map<Object, Object> contextMap) {
+								return null;
+							}
+						});
+			}
+
+			@Override
+			protected void configure() {
+				super.configure();
+				bindIContentPartFactory();
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(
+				AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		refreshed = new ArrayList<>();
+	}
+
+	@Test
+	public void test_scheduleRefreshVisual_afterDispose() throws Throwable {
+		RefreshVisualPartStub part = new RefreshVisualPartStub();
+		part.getVisual();
+		ctx.runAndWait(() -> {
+			domain.dispose();
+			// refreshes are performed immediately
+			viewer.scheduleRefreshVisual(part);
+			assertEquals(Arrays.asList(part), refreshed);
+			viewer.flushRefreshVisual();
+			assertEquals(Arrays.asList(part), refreshed);
+		});
+	}
+
+	@Test
+	public void test_scheduleRefreshVisual_coalesced() throws Throwable {
+		RefreshVisualPartStub parent = new RefreshVisualPartStub();
+		RefreshVisualPartStub child = new RefreshVisualPartStub();
+		ctx.runAndWait(() -> {
+			// only parts that belong to the viewer are refreshed
+			viewer.getRootPart().addChild(parent);
+			parent.addChild(child);
+			refreshed.clear();
+			viewer.scheduleRefreshVisual(child);
+			viewer.scheduleRefreshVisual(parent);
+			viewer.scheduleRefreshVisual(child);
+			viewer.scheduleRefreshVisual(parent);
+			assertEquals(0, refreshed.size());
+
+			// each part is refreshed once, parents before their children
+			viewer.flushRefreshVisual();
+			assertEquals(Arrays.asList(parent, child), refreshed);
+
+			// nothing is left to refresh
+			viewer.flushRefreshVisual();
+			assertEquals(2, refreshed.size());
+		});
+	}
+
+}
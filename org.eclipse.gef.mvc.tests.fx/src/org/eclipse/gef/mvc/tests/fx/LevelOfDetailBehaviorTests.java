@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.gef.mvc.fx.behaviors.LevelOfDetailBehavior;
+import org.junit.Test;
+
+/**
+ * Tests the computation of the level of detail by the
+ * {@link LevelOfDetailBehavior}.
+ *
+ * @author agent
+ *
+ */
+public class LevelOfDetailBehaviorTests {
+
+	private static class LevelOfDetailBehaviorStub
+			extends LevelOfDetailBehavior {
+
+		public int compute(int currentLevelOfDetail, double zoomLevel) {
+			return computeLevelOfDetail(currentLevelOfDetail, zoomLevel);
+		}
+	}
+
+	@Test
+	public void test_computeLevelOfDetail_decreaseDetail() {
+		LevelOfDetailBehaviorStub behavior = new LevelOfDetailBehaviorStub();
+		assertEquals(0, behavior.compute(0, 1));
+		assertEquals(0, behavior.compute(0, 0.5));
+		// within the hysteresis below the first threshold (0.45)
+		assertEquals(0, behavior.compute(0, 0.46));
+		assertEquals(1, behavior.compute(0, 0.44));
+		// within the hysteresis below the second threshold (0.225)
+		assertEquals(1, behavior.compute(1, 0.23));
+		assertEquals(2, behavior.compute(1, 0.22));
+		// multiple bands at once
+		assertEquals(2, behavior.compute(0, 0.1));
+		assertEquals(2, behavior.compute(2, 0.01));
+	}
+
+	@Test
+	public void test_computeLevelOfDetail_increaseDetail() {
+		LevelOfDetailBehaviorStub behavior = new LevelOfDetailBehaviorStub();
+		// within the hysteresis above the second threshold (0.275)
+		assertEquals(2, behavior.compute(2, 0.25));
+		assertEquals(2, behavior.compute(2, 0.27));
+		assertEquals(1, behavior.compute(2, 0.28));
+		// within the hysteresis above the first threshold (0.55)
+		assertEquals(1, behavior.compute(1, 0.54));
+		assertEquals(0, behavior.compute(1, 0.56));
+		// multiple bands at once
+		assertEquals(0, behavior.compute(2, 1));
+	}
+
+	@Test
+	public void test_computeLevelOfDetail_hysteresis() {
+		LevelOfDetailBehaviorStub behavior = new LevelOfDetailBehaviorStub();
+		// zooming back and forth around a threshold does not change the level
+		// of detail
+		int levelOfDetail = 0;
+		for (double zoomLevel : new double[] { 0.52, 0.48, 0.52, 0.46 }) {
+			levelOfDetail = behavior.compute(levelOfDetail, zoomLevel);
+			assertEquals(0, levelOfDetail);
+		}
+		levelOfDetail = behavior.compute(levelOfDetail, 0.4);
+		assertEquals(1, levelOfDetail);
+		for (double zoomLevel : new double[] { 0.48, 0.52, 0.48, 0.54 }) {
+			levelOfDetail = behavior.compute(levelOfDetail, zoomLevel);
+			assertEquals(1, levelOfDetail);
+		}
+
+		// without hysteresis, the thresholds are applied exactly
+		behavior.setHysteresis(0);
+		assertEquals(0, behavior.compute(1, 0.52));
+		assertEquals(1, behavior.compute(0, 0.48));
+	}
+
+	@Test
+	public void test_computeLevelOfDetail_zoomThresholds() {
+		LevelOfDetailBehaviorStub behavior = new LevelOfDetailBehaviorStub();
+		behavior.setHysteresis(0);
+		behavior.setZoomThresholds(2, 1, 0.5);
+		assertEquals(0, behavior.compute(0, 3));
+		assertEquals(1, behavior.compute(0, 1.5));
+		assertEquals(2, behavior.compute(0, 0.75));
+		assertEquals(3, behavior.compute(0, 0.25));
+
+		// a level of detail that exceeds the number of bands is reduced
+		behavior.setZoomThresholds(0.5);
+		assertEquals(1, behavior.compute(3, 0.25));
+		assertEquals(0, behavior.compute(3, 1));
+
+		// without thresholds, the full level of detail is used
+		behavior.setZoomThresholds();
+		assertEquals(0, behavior.compute(2, 0.01));
+	}
+
+	@Test
+	public void test_getZoomThresholds() {
+		LevelOfDetailBehavior behavior = new LevelOfDetailBehavior();
+		assertArrayEquals(LevelOfDetailBehavior.DEFAULT_ZOOM_THRESHOLDS,
+				behavior.getZoomThresholds(), 0);
+		// a copy is returned
+		behavior.getZoomThresholds()[0] = 2;
+		assertArrayEquals(LevelOfDetailBehavior.DEFAULT_ZOOM_THRESHOLDS,
+				behavior.getZoomThresholds(), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_setHysteresis_invalid() {
+		new LevelOfDetailBehavior().setHysteresis(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_setZoomThresholds_notDescending() {
+		new LevelOfDetailBehavior().setZoomThresholds(0.25, 0.5);
+	}
+
+}
@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.common.adapt.inject.AdapterMaps;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.mvc.fx.behaviors.ObstacleRoutingBehavior;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.BendConnectionPolicyTests.AnchoragePart;
+import org.eclipse.gef.mvc.tests.fx.BendConnectionPolicyTests.ConnectionContent;
+import org.eclipse.gef.mvc.tests.fx.BendConnectionPolicyTests.ConnectionPart;
+import org.eclipse.gef.mvc.tests.fx.BendConnectionPolicyTests.TestModule;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule.RunnableWithResult;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.scene.Node;
+
+/**
+ * Tests the registration of obstacles and the routing of connections by the
+ * {@link ObstacleRoutingBehavior}.
+ *
+ * @author agent
+ *
+ */
+public class ObstacleRoutingBehaviorTests {
+
+	public static class LabelContent {
+		public ConnectionContent connection;
+
+		public LabelContent(ConnectionContent connection) {
+			this.connection = connection;
+		}
+	}
+
+	public static class LabelPart
+			extends AbstractContentPart<javafx.scene.shape.Rectangle> {
+
+		@Override
+		protected void doAttachToAnchorageVisual(
+				IVisualPart<? extends Node> anchorage, String role) {
+		}
+
+		@Override
+		protected javafx.scene.shape.Rectangle doCreateVisual() {
+			return new javafx.scene.shape.Rectangle(250, 0, 20, 10);
+		}
+
+		@Override
+		protected void doDetachFromAnchorageVisual(
+				IVisualPart<? extends Node> anchorage, String role) {
+		}
+
+		@Override
+		protected SetMultimap<? extends Object, String> doGetContentAnchorages() {
+			SetMultimap<Object, String> contentAnchorages = HashMultimap
+					.create();
+			contentAnchorages.put(((LabelContent) getContent()).connection,
+					"label");
+			return contentAnchorages;
+		}
+
+		@Override
+		protected List<? extends Object> doGetContentChildren() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		protected void doRefreshVisual(javafx.scene.shape.Rectangle visual) {
+		}
+	}
+
+	public static class ObstacleRoutingModule extends TestModule {
+		@Override
+		protected void bindIContentPartFactory() {
+			binder().bind(IContentPartFactory.class)
+					.toInstance(new TestContentPartFactory());
+		}
+
+		@Override
+		protected void bindIRootPartAdaptersForContentViewer(
+				MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+			super.bindIRootPartAdaptersForContentViewer(adapterMapBinder);
+			bindObstacleRoutingBehaviorAsIRootPartAdapter(adapterMapBinder);
+		}
+
+		@Override
+		protected void configure() {
+			super.configure();
+			AdapterMaps.getAdapterMapBinder(binder(), LabelPart.class);
+		}
+	}
+
+	public static class TestContentPartFactory implements IContentPartFactory {
+		@Inject
+		private Injector injector;
+
+		@Override
+		public IContentPart<? extends Node> createContentPart(
+				final Object content, final Map<Object, Object> contextMap) {
+			if (content instanceof Rectangle) {
+				return injector.getInstance(AnchoragePart.class);
+			} else if (content instanceof ConnectionContent) {
+				return injector.getInstance(ConnectionPart.class);
+			} else if (content instanceof LabelContent) {
+				return injector.getInstance(LabelPart.class);
+			} else {
+				throw new IllegalArgumentException(
+						content.getClass().toString());
+			}
+		}
+	}
+
+	/**
+	 * Ensure the JavaFX toolkit is properly initialized.
+	 */
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Inject
+	private IDomain domain;
+
+	private IViewer viewer;
+	private ObstacleRoutingBehavior behavior;
+
+	private Rectangle a = new Rectangle(0, 0, 50, 50);
+	private Rectangle b = new Rectangle(500, 0, 50, 50);
+	private Rectangle obstacle = new Rectangle(200, -50, 100, 150);
+	private ConnectionContent connectionContent = new ConnectionContent(a, b);
+	private LabelContent labelContent = new LabelContent(connectionContent);
+
+	private void createViewer() throws Throwable {
+		Guice.createInjector(new ObstacleRoutingModule()).injectMembers(this);
+		viewer = domain.getAdapter(
+				AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(viewer.getCanvas(), 800, 400);
+		connectionContent.isSimple = true;
+		final List<Object> contents = new ArrayList<>();
+		contents.add(a);
+		contents.add(b);
+		contents.add(obstacle);
+		contents.add(connectionContent);
+		contents.add(labelContent);
+		ctx.runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				domain.activate();
+				viewer.getContents().setAll(contents);
+			}
+		});
+		behavior = viewer.getRootPart()
+				.getAdapter(ObstacleRoutingBehavior.class);
+		assertNotNull(behavior);
+	}
+
+	private Node getVisual(Object content) {
+		return viewer.getContentPartMap().get(content).getVisual();
+	}
+
+	private Rectangle getObstacle(final Object content) throws Throwable {
+		return ctx.runAndWait(new RunnableWithResult<Rectangle>() {
+			@Override
+			public Rectangle run() {
+				return behavior.getRoutingGrid()
+						.getObstacle(getVisual(content));
+			}
+		});
+	}
+
+	private void waitForRoutes(final Task<?> task) throws Throwable {
+		// the routes are applied on the application thread, when the task
+		// has succeeded
+		while (!ctx.runAndWait(new RunnableWithResult<Boolean>() {
+			@Override
+			public Boolean run() {
+				return task.getState() == Worker.State.SUCCEEDED;
+			}
+		})) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void test_obstacleBoundsUpdate() throws Throwable {
+		createViewer();
+		assertEquals(obstacle, getObstacle(obstacle));
+		ctx.runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				((javafx.scene.shape.Rectangle) getVisual(obstacle))
+						.setX(220);
+			}
+		});
+		assertEquals(new Rectangle(220, -50, 100, 150),
+				getObstacle(obstacle));
+	}
+
+	@Test
+	public void test_obstacleRegistration() throws Throwable {
+		createViewer();
+		assertEquals(a, getObstacle(a));
+		assertEquals(b, getObstacle(b));
+		assertEquals(obstacle, getObstacle(obstacle));
+		// connections and parts anchored on connections are no obstacles
+		assertNull(getObstacle(connectionContent));
+		assertNull(getObstacle(labelContent));
+
+		// obstacles are unregistered when their parts are removed
+		final Node obstacleVisual = getVisual(obstacle);
+		ctx.runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				viewer.getContents().remove(obstacle);
+				assertNull(
+						behavior.getRoutingGrid().getObstacle(obstacleVisual));
+			}
+		});
+
+		// and when the behavior is deactivated
+		final Node aVisual = getVisual(a);
+		ctx.runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				behavior.deactivate();
+				assertNull(behavior.getRoutingGrid());
+				behavior.activate();
+				assertEquals(a,
+						behavior.getRoutingGrid().getObstacle(aVisual));
+				assertNull(behavior.getRoutingGrid()
+						.getObstacle(getVisual(labelContent)));
+			}
+		});
+	}
+
+	@Test
+	public void test_routeConnections() throws Throwable {
+		createViewer();
+		final Connection connection = (Connection) getVisual(
+				connectionContent);
+		final Task<?> task = ctx.runAndWait(new RunnableWithResult<Task<?>>() {
+			@Override
+			public Task<?> run() {
+				return behavior.routeConnections(
+						Collections.singletonList(connection));
+			}
+		});
+		waitForRoutes(task);
+		// the connection is routed around the obstacle
+		List<Point> controlPoints = ctx
+				.runAndWait(new RunnableWithResult<List<Point>>() {
+					@Override
+					public List<Point> run() {
+						return connection.getControlPoints();
+					}
+				});
+		assertFalse(controlPoints.isEmpty());
+		for (Point p : controlPoints) {
+			assertFalse(obstacle.contains(p) && !obstacle.getOutline()
+					.contains(p));
+		}
+	}
+
+	@Test
+	public void test_routeConnections_stale() throws Throwable {
+		createViewer();
+		final Connection connection = (Connection) getVisual(
+				connectionContent);
+		final Point controlPoint = new Point(275, 200);
+		final Task<?> task = ctx.runAndWait(new RunnableWithResult<Task<?>>() {
+			@Override
+			public Task<?> run() {
+				Task<?> task = behavior.routeConnections(
+						Collections.singletonList(connection));
+				// change the connection while the routes are computed
+				connection.addControlPoint(0, controlPoint);
+				return task;
+			}
+		});
+		waitForRoutes(task);
+		// the route is not applied to the changed connection
+		assertEquals(Collections.singletonList(controlPoint),
+				ctx.runAndWait(new RunnableWithResult<List<Point>>() {
+					@Override
+					public List<Point> run() {
+						return connection.getControlPoints();
+					}
+				}));
+	}
+
+}
@@ -8,6 +8,7 @@
  *
  * Contributors:
  *     Matthias Wienand (itemis AG) - initial API & implementation
+ *     agent - enable the level of detail behavior
  *
  *******************************************************************************/
 package org.eclipse.gef.zest.fx;
@@ -298,6 +299,9 @@ public class ZestFxModule extends MvcFxModule {
 		// hover behavior
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(HoverBehavior.class);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(HoverIntentBehavior.class);
+
+		// level of detail behavior
+		bindLevelOfDetailBehaviorAsIRootPartAdapter(adapterMapBinder);
 	}
 
 	@Override
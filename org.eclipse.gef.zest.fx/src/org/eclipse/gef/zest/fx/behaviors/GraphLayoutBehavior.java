@@ -332,6 +332,9 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
 	@Override
 	protected void preLayout() {
+		// ensure pending visual refreshes are performed, so that the layout is
+		// computed based on up-to-date visuals
+		getHost().getRoot().getViewer().flushRefreshVisual();
 		// execute pre-layout of all nodes and edges
 		for (IVisualPart<? extends Node> child : getHost().getChildrenUnmodifiable()) {
 			// FIXME: Layout should only be triggered when content-part-map
@@ -21,11 +21,13 @@ import org.eclipse.gef.fx.listeners.VisualChangeListener;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.mvc.fx.operations.TransformVisualOperation;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
+import org.eclipse.gef.mvc.fx.parts.ILevelOfDetailContentPart;
 import org.eclipse.gef.mvc.fx.parts.ITransformableContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.zest.fx.ZestProperties;
 
 import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 import javafx.geometry.Bounds;
 import javafx.geometry.VPos;
@@ -46,7 +48,8 @@ import javafx.util.Pair;
  * @author anyssen
  *
  */
-public abstract class AbstractLabelPart extends AbstractContentPart<Group> implements ITransformableContentPart<Group> {
+public abstract class AbstractLabelPart extends AbstractContentPart<Group>
+		implements ITransformableContentPart<Group>, ILevelOfDetailContentPart<Group> {
 
 	/**
 	 * The CSS class that is assigned to the visualization of the
@@ -54,6 +57,11 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 	 */
 	public static final String CSS_CLASS_LABEL = "label";
 
+	/**
+	 * The level of detail from which on the label is no longer rendered.
+	 */
+	public static final int LEVEL_OF_DETAIL_HIDE_LABEL = 1;
+
 	private VisualChangeListener vcl = new VisualChangeListener() {
 		@Override
 		protected void boundsInLocalChanged(Bounds oldBounds, Bounds newBounds) {
@@ -74,6 +82,7 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 	};
 
 	private Text text;
+	private int levelOfDetail = LEVEL_OF_DETAIL_FULL;
 
 	/**
 	 * Computes a position for this label.
@@ -178,6 +187,11 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 		return attributeKey;
 	}
 
+	@Override
+	public int getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
 	/**
 	 * Returns the text visual.
 	 *
@@ -230,4 +244,21 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 		getContent().getKey().getAttributes().put(getLabelPositionAttributeKey(), computedPosition);
 	}
 
-}
\ No newline at end of file
+	@Override
+	public void setLevelOfDetail(int levelOfDetail) {
+		this.levelOfDetail = levelOfDetail;
+		// XXX: Only the text is removed from the scene graph, so that the
+		// visibility of the visual can still be controlled by the hiding
+		// behaviors.
+		ObservableList<Node> children = getVisual().getChildren();
+		boolean showText = levelOfDetail < LEVEL_OF_DETAIL_HIDE_LABEL;
+		if (text != null && children.contains(text) != showText) {
+			if (showText) {
+				children.add(text);
+			} else {
+				children.remove(text);
+			}
+		}
+	}
+
+}
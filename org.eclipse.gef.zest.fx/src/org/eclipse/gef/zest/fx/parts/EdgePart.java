@@ -14,18 +14,22 @@ package org.eclipse.gef.zest.fx.parts;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.gef.fx.anchors.IAnchor;
 import org.eclipse.gef.fx.nodes.Connection;
 import org.eclipse.gef.fx.nodes.IConnectionInterpolator;
 import org.eclipse.gef.fx.nodes.IConnectionRouter;
+import org.eclipse.gef.fx.nodes.PolylineInterpolator;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.IBendableContentPart;
+import org.eclipse.gef.mvc.fx.parts.ILevelOfDetailContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.providers.IAnchorProvider;
 import org.eclipse.gef.zest.fx.ZestProperties;
@@ -43,7 +47,8 @@ import javafx.scene.Node;
  * @author mwienand
  *
  */
-public class EdgePart extends AbstractContentPart<Connection> implements IBendableContentPart<Connection> {
+public class EdgePart extends AbstractContentPart<Connection>
+		implements IBendableContentPart<Connection>, ILevelOfDetailContentPart<Connection> {
 
 	/**
 	 * The role used for attaching to the source node.
@@ -71,6 +76,15 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 	 */
 	public static final String CSS_CLASS_DECORATION = "decoration";
 
+	/**
+	 * The level of detail from which on the edge is rendered as straight line
+	 * segments without decorations.
+	 */
+	public static final int LEVEL_OF_DETAIL_STRAIGHT = 1;
+
+	private int levelOfDetail = LEVEL_OF_DETAIL_FULL;
+	private IConnectionInterpolator straightInterpolator;
+
 	private MapChangeListener<String, Object> edgeAttributesObserver = new MapChangeListener<String, Object>() {
 
 		@Override
@@ -84,11 +98,21 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 					doAttachToAnchorageVisual(anchoragesByRole.getKey(), anchoragesByRole.getValue());
 				}
 			}
-			refreshVisual();
+			// record the changed attribute, so that only the affected parts of
+			// the visual need to be refreshed
+			if (changedAttributes != null) {
+				changedAttributes.add(change.getKey());
+			}
+			// coalesce refreshes of subsequent attribute changes
+			scheduleRefreshVisual();
 		}
 
 	};
 
+	// attributes that changed since the last refresh (null indicates that a
+	// full refresh is required)
+	private Set<String> changedAttributes = null;
+
 	@Override
 	protected void doActivate() {
 		super.doActivate();
@@ -105,6 +129,8 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 	@Override
 	protected void doAttachToAnchorageVisual(IVisualPart<? extends Node> anchorage, String role) {
 		IAnchor anchor = anchorage.getAdapter(IAnchorProvider.class).get(this, role);
+		// start and end points have to be refreshed as hints (or vice versa)
+		changedAttributes = null;
 		if (role.equals(SOURCE_ROLE)) {
 			getVisual().setStartAnchor(anchor);
 		} else if (role.equals(TARGET_ROLE)) {
@@ -155,6 +181,8 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 
 	@Override
 	protected void doDetachFromAnchorageVisual(IVisualPart<? extends Node> anchorage, String role) {
+		// start and end points have to be refreshed as points (or vice versa)
+		changedAttributes = null;
 		Connection connection = getVisual();
 		if (role.equals(SOURCE_ROLE)) {
 			Point startPoint = connection.getStartPoint();
@@ -199,10 +227,28 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 
 	@Override
 	protected void doRefreshVisual(Connection visual) {
-		Edge edge = getContent();
-		Map<String, Object> attrs = edge.attributesProperty();
+		// only refresh the parts of the visual that are affected by the changed
+		// attributes (if possible)
+		Set<String> changed = changedAttributes;
+		changedAttributes = new HashSet<>();
+		if (changed != null && !changed.isEmpty() && refreshChangedAttributes(visual, changed)) {
+			return;
+		}
 
 		refreshCurve();
+		refreshCss(visual);
+		refreshDecorations(visual);
+		refreshRouterAndInterpolator(visual);
+		refreshPoints(visual);
+	}
+
+	/**
+	 * Applies the CSS class, CSS id, and curve CSS style attributes to the
+	 * given visual.
+	 */
+	private void refreshCss(Connection visual) {
+		Edge edge = getContent();
+		Map<String, Object> attrs = edge.attributesProperty();
 
 		// css class
 		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
@@ -223,9 +269,25 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		if (attrs.containsKey(ZestProperties.CURVE_CSS_STYLE__E)) {
 			visual.getCurve().setStyle(curveCssStyle);
 		}
+	}
+
+	/**
+	 * Applies the source and target decoration attributes to the given
+	 * visual (or removes the decorations in case the level of detail is
+	 * reduced).
+	 */
+	private void refreshDecorations(Connection visual) {
+		Edge edge = getContent();
+
+		// decorations are omitted when the level of detail is reduced
+		boolean isStraight = levelOfDetail >= LEVEL_OF_DETAIL_STRAIGHT;
+		if (isStraight) {
+			visual.setStartDecoration(null);
+			visual.setEndDecoration(null);
+		}
 
 		// custom decoration
-		Node sourceDecoration = ZestProperties.getSourceDecoration(edge);
+		Node sourceDecoration = isStraight ? null : ZestProperties.getSourceDecoration(edge);
 		if (sourceDecoration != null) {
 			visual.setStartDecoration(sourceDecoration);
 			// apply CSS class
@@ -240,7 +302,7 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 			visual.getStartDecoration().setStyle(sourceDecorationCssStyle);
 		}
 
-		Node targetDecoration = ZestProperties.getTargetDecoration(edge);
+		Node targetDecoration = isStraight ? null : ZestProperties.getTargetDecoration(edge);
 		if (targetDecoration != null) {
 			visual.setEndDecoration(targetDecoration);
 			// apply CSS class
@@ -254,6 +316,13 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		if (targetDecorationCssStyle != null && visual.getEndDecoration() != null) {
 			visual.getEndDecoration().setStyle(targetDecorationCssStyle);
 		}
+	}
+
+	/**
+	 * Applies the router and interpolator attributes to the given visual.
+	 */
+	private void refreshRouterAndInterpolator(Connection visual) {
+		Edge edge = getContent();
 
 		// connection router
 		IConnectionRouter router = ZestProperties.getRouter(edge);
@@ -261,11 +330,29 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 			visual.setRouter(router);
 		}
 
-		// interpolator
+		// interpolator (straight line segments when the level of detail is
+		// reduced)
 		IConnectionInterpolator interpolator = ZestProperties.getInterpolator(edge);
-		if (interpolator != null) {
+		if (levelOfDetail >= LEVEL_OF_DETAIL_STRAIGHT) {
+			if (straightInterpolator == null) {
+				straightInterpolator = new PolylineInterpolator();
+			}
+			interpolator = straightInterpolator;
+		} else if (interpolator == null && visual.getInterpolator() == straightInterpolator) {
+			// restore default interpolator
+			interpolator = new PolylineInterpolator();
+		}
+		if (interpolator != null && visual.getInterpolator() != interpolator) {
 			visual.setInterpolator(interpolator);
 		}
+	}
+
+	/**
+	 * Applies the start point, end point, and control point attributes to the
+	 * given visual.
+	 */
+	private void refreshPoints(Connection visual) {
+		Edge edge = getContent();
 
 		// TODO: replace the following code with
 		// setVisualBendPoints(getContentBendPoints());
@@ -352,6 +439,75 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		return getVisual().getCurve();
 	}
 
+	@Override
+	public int getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
+	/**
+	 * Refreshes those parts of the visual that are affected by the given
+	 * changed attributes.
+	 *
+	 * @param visual
+	 *            The visual to refresh.
+	 * @param changedAttributes
+	 *            The keys of the attributes that changed since the last
+	 *            refresh.
+	 * @return <code>true</code> if the changed attributes could be handled,
+	 *         <code>false</code> if a full refresh is required.
+	 */
+	private boolean refreshChangedAttributes(Connection visual, Set<String> changedAttributes) {
+		boolean css = false;
+		boolean decorations = false;
+		boolean points = false;
+		for (String key : changedAttributes) {
+			switch (key) {
+			case ZestProperties.CSS_CLASS__NE:
+			case ZestProperties.CSS_ID__NE:
+			case ZestProperties.CURVE_CSS_STYLE__E:
+				css = true;
+				break;
+			case ZestProperties.SOURCE_DECORATION__E:
+			case ZestProperties.TARGET_DECORATION__E:
+			case ZestProperties.SOURCE_DECORATION_CSS_STYLE__E:
+			case ZestProperties.TARGET_DECORATION_CSS_STYLE__E:
+				decorations = true;
+				break;
+			case ZestProperties.START_POINT__E:
+			case ZestProperties.END_POINT__E:
+			case ZestProperties.CONTROL_POINTS__E:
+				points = true;
+				break;
+			case ZestProperties.LABEL__NE:
+			case ZestProperties.LABEL_CSS_STYLE__NE:
+			case ZestProperties.LABEL_POSITION__E:
+			case ZestProperties.EXTERNAL_LABEL__NE:
+			case ZestProperties.EXTERNAL_LABEL_CSS_STYLE__NE:
+			case ZestProperties.EXTERNAL_LABEL_POSITION__NE:
+			case ZestProperties.SOURCE_LABEL__E:
+			case ZestProperties.SOURCE_LABEL_CSS_STYLE__E:
+			case ZestProperties.SOURCE_LABEL_POSITION__E:
+			case ZestProperties.TARGET_LABEL__E:
+			case ZestProperties.TARGET_LABEL_CSS_STYLE__E:
+			case ZestProperties.TARGET_LABEL_POSITION__E:
+				// handled by the label parts
+				break;
+			default:
+				return false;
+			}
+		}
+		if (css) {
+			refreshCss(visual);
+		}
+		if (decorations) {
+			refreshDecorations(visual);
+		}
+		if (points) {
+			refreshPoints(visual);
+		}
+		return true;
+	}
+
 	private void refreshCurve() {
 		Node curve = ZestProperties.getCurve(getContent());
 		if (getVisual().getCurve() != curve && curve != null) {
@@ -442,4 +598,16 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		refreshVisual();
 	}
 
+	@Override
+	public void setLevelOfDetail(int levelOfDetail) {
+		if (this.levelOfDetail != levelOfDetail) {
+			this.levelOfDetail = levelOfDetail;
+			// decorations, router, and interpolator are affected, so that a
+			// full refresh is performed (together with the refreshes of other
+			// parts)
+			changedAttributes = null;
+			scheduleRefreshVisual();
+		}
+	}
+
 }
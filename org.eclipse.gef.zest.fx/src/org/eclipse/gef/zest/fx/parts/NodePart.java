@@ -15,8 +15,10 @@ package org.eclipse.gef.zest.fx.parts;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.gef.fx.nodes.GeometryNode;
 import org.eclipse.gef.fx.utils.NodeUtils;
@@ -25,6 +27,7 @@ import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
+import org.eclipse.gef.mvc.fx.parts.ILevelOfDetailContentPart;
 import org.eclipse.gef.mvc.fx.parts.IResizableContentPart;
 import org.eclipse.gef.mvc.fx.parts.ITransformableContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
@@ -34,6 +37,7 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
 
 import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableList;
 import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -72,7 +76,7 @@ import javafx.scene.transform.Translate;
  *
  */
 public class NodePart extends AbstractContentPart<Group>
-		implements ITransformableContentPart<Group>, IResizableContentPart<Group> {
+		implements ITransformableContentPart<Group>, IResizableContentPart<Group>, ILevelOfDetailContentPart<Group> {
 
 	/**
 	 * JavaFX Node displaying a small icon representing a nested graph.
@@ -166,20 +170,46 @@ public class NodePart extends AbstractContentPart<Group>
 	 */
 	public static final String CSS_CLASS_ICON = "icon";
 
+	// levels of detail
+	/**
+	 * The level of detail from which on label, icon, and nested content are no
+	 * longer rendered and no tooltip is installed.
+	 */
+	public static final int LEVEL_OF_DETAIL_HIDE_LABEL = 1;
+
+	/**
+	 * The level of detail from which on a plain rectangle is rendered instead
+	 * of the (styled) shape.
+	 */
+	public static final int LEVEL_OF_DETAIL_PLACEHOLDER = 2;
+
 	private static final String NODE_LABEL_EMPTY = "";
 
 	private MapChangeListener<String, Object> nodeAttributesObserver = new MapChangeListener<String, Object>() {
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
-			refreshVisual();
+			// record the changed attribute, so that only the affected parts of
+			// the visual need to be refreshed
+			if (changedAttributes != null) {
+				changedAttributes.add(change.getKey());
+			}
+			// coalesce refreshes of subsequent attribute changes
+			scheduleRefreshVisual();
 		}
 	};
 
+	// attributes that changed since the last refresh (null indicates that a
+	// full refresh is required)
+	private Set<String> changedAttributes = null;
+
 	private Text labelText;
 	private ImageView iconImageView;
 	private Tooltip tooltipNode;
 	private VBox vbox;
 	private Node shape;
+	private Rectangle placeholder;
+	private int levelOfDetail = LEVEL_OF_DETAIL_FULL;
+	private boolean levelOfDetailChanged = false;
 
 	private Node nestedGraphIcon;
 	private StackPane nestedContentStackPane;
@@ -225,6 +255,8 @@ public class NodePart extends AbstractContentPart<Group>
 	@Override
 	protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
 		getNestedContentPane().getChildren().add(index, child.getVisual());
+		// nesting state may have changed
+		changedAttributes = null;
 	}
 
 	@Override
@@ -276,6 +308,10 @@ public class NodePart extends AbstractContentPart<Group>
 			public void resize(double w, double h) {
 				// for shape we use the exact size
 				shape.resize(w, h);
+				if (placeholder != null) {
+					placeholder.setWidth(w);
+					placeholder.setHeight(h);
+				}
 				// for vbox we use the preferred size
 				vbox.setPrefSize(w, h);
 				vbox.autosize();
@@ -361,103 +397,38 @@ public class NodePart extends AbstractContentPart<Group>
 			throw new IllegalStateException();
 		}
 
-		// set CSS class
-		Map<String, Object> attrs = node.attributesProperty();
-		List<String> cssClasses = new ArrayList<>();
-		cssClasses.add(CSS_CLASS);
-		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
-			cssClasses.add(ZestProperties.getCssClass(node));
-		}
-		if (!visual.getStyleClass().equals(cssClasses)) {
-			visual.getStyleClass().setAll(cssClasses);
-		}
-
-		// set CSS id
-		String id = null;
-		if (attrs.containsKey(ZestProperties.CSS_ID__NE)) {
-			id = ZestProperties.getCssId(node);
-		}
-		if (visual.getId() != id || id != null && !id.equals(visual.getId())) {
-			visual.setId(id);
-		}
-
-		refreshShape();
-
-		// set CSS style
-		if (attrs.containsKey(ZestProperties.SHAPE_CSS_STYLE__N)) {
-			if (getShape() != null) {
-				if (!getShape().getStyle().equals(ZestProperties.getShapeCssStyle(node))) {
-					getShape().setStyle(ZestProperties.getShapeCssStyle(node));
-				}
-			}
-		}
-		if (attrs.containsKey(ZestProperties.LABEL_CSS_STYLE__NE)) {
-			if (getLabelText() != null) {
-				if (!getLabelText().getStyle().equals(ZestProperties.getLabelCssStyle(node))) {
-					getLabelText().setStyle(ZestProperties.getLabelCssStyle(node));
-				}
-			}
-		}
-
-		if (vbox != null) {
-			if (getShape() != null && DEFAULT_SHAPE_ROLE.equals(getShape().getUserData()) || isNesting()) {
-				vbox.setPadding(new Insets(DEFAULT_SHAPE_PADDING));
-			} else {
-				vbox.setPadding(Insets.EMPTY);
-			}
-			if (isNesting()) {
-				if (!vbox.getChildren().contains(nestedContentAnchorPane)) {
-					vbox.getChildren().add(nestedContentAnchorPane);
-					if (vbox.getPrefWidth() == Region.USE_COMPUTED_SIZE
-							&& vbox.getPrefHeight() == Region.USE_COMPUTED_SIZE) {
-						vbox.setPrefSize(DEFAULT_OUTER_LAYOUT_CONTAINER_WIDTH_NESTING,
-								DEFAULT_OUTER_LAYOUT_CONTAINER_HEIGHT_NESTING);
-						vbox.autosize();
-					}
-				}
-				// show a nested graph icon dependent on the zoom level
-				if (!getChildrenUnmodifiable().isEmpty()) {
-					hideNestedGraphIcon();
-				} else {
-					// show an icon as a replacement when the zoom threshold is
-					// not reached
-					showNestedGraphIcon();
-				}
-			} else {
-				if (vbox.getChildren().contains(nestedContentAnchorPane)) {
-					vbox.getChildren().remove(nestedContentAnchorPane);
-					vbox.setPrefSize(Region.USE_COMPUTED_SIZE, Region.USE_COMPUTED_SIZE);
-					vbox.autosize();
-				}
+		// only refresh the parts of the visual that are affected by the changed
+		// attributes (if possible)
+		Set<String> changed = changedAttributes;
+		changedAttributes = new HashSet<>();
+		boolean levelOfDetailChanged = this.levelOfDetailChanged;
+		this.levelOfDetailChanged = false;
+		if (changed != null && (levelOfDetailChanged || !changed.isEmpty())
+				&& refreshChangedAttributes(visual, changed)) {
+			if (levelOfDetailChanged) {
+				refreshLevelOfDetail();
+				refreshTooltip();
 			}
+			return;
 		}
 
+		refreshCssClassAndId(visual);
+		refreshShape();
+		refreshCssStyles();
+		refreshNesting();
 		refreshLabel();
 		refreshIcon();
 		refreshTooltip();
-
-		Point position = ZestProperties.getPosition(node);
-		if (position != null) {
-			Affine newTransform = new Affine(new Translate(position.x, position.y));
-			if (!NodeUtils.equals(getVisualTransform(), newTransform)) {
-				setVisualTransform(newTransform);
-			}
-		}
-
-		Dimension size = ZestProperties.getSize(node);
-		if (size != null) {
-			// XXX: Resize is needed even though the visual size is already
-			// up-to-date, because otherwise a nesting node might be resized to
-			// 0, 0 (unknown reason, need debug).
-			getVisual().resize(size.width, size.height);
-		} else {
-			getVisual().autosize();
-		}
+		refreshLevelOfDetail();
+		refreshPosition();
+		refreshSize();
 	}
 
 	@Override
 	protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
 		getNestedContentPane().getChildren().remove(index);
+		// nesting state may have changed
+		changedAttributes = null;
 	}
 
 	@Override
@@ -501,6 +472,11 @@ public class NodePart extends AbstractContentPart<Group>
 		return labelText;
 	}
 
+	@Override
+	public int getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
 	/**
 	 * Returns the {@link Pane} to which nested children are added.
 	 *
@@ -552,6 +528,135 @@ public class NodePart extends AbstractContentPart<Group>
 		return getContent().getNestedGraph() != null;
 	}
 
+	/**
+	 * Refreshes those parts of the visual that are affected by the given
+	 * changed attributes.
+	 *
+	 * @param visual
+	 *            The visual to refresh.
+	 * @param changedAttributes
+	 *            The keys of the attributes that changed since the last
+	 *            refresh.
+	 * @return <code>true</code> if the changed attributes could be handled,
+	 *         <code>false</code> if a full refresh is required.
+	 */
+	private boolean refreshChangedAttributes(Group visual, Set<String> changedAttributes) {
+		boolean css = false;
+		boolean cssStyles = false;
+		boolean label = false;
+		boolean icon = false;
+		boolean tooltip = false;
+		boolean position = false;
+		boolean size = false;
+		for (String key : changedAttributes) {
+			switch (key) {
+			case ZestProperties.CSS_CLASS__NE:
+			case ZestProperties.CSS_ID__NE:
+				css = true;
+				break;
+			case ZestProperties.SHAPE_CSS_STYLE__N:
+			case ZestProperties.LABEL_CSS_STYLE__NE:
+				cssStyles = true;
+				break;
+			case ZestProperties.LABEL__NE:
+				label = true;
+				size = true;
+				break;
+			case ZestProperties.ICON__N:
+				icon = true;
+				size = true;
+				break;
+			case ZestProperties.TOOLTIP__N:
+				tooltip = true;
+				break;
+			case ZestProperties.POSITION__N:
+				position = true;
+				break;
+			case ZestProperties.SIZE__N:
+				size = true;
+				break;
+			case ZestProperties.EXTERNAL_LABEL__NE:
+			case ZestProperties.EXTERNAL_LABEL_CSS_STYLE__NE:
+			case ZestProperties.EXTERNAL_LABEL_POSITION__NE:
+				// handled by the external label part
+				break;
+			default:
+				return false;
+			}
+		}
+		if (css) {
+			refreshCssClassAndId(visual);
+		}
+		if (cssStyles) {
+			refreshCssStyles();
+		}
+		if (label) {
+			refreshLabel();
+		}
+		if (icon) {
+			refreshIcon();
+		}
+		if (tooltip) {
+			refreshTooltip();
+		}
+		if (position) {
+			refreshPosition();
+		}
+		if (size) {
+			refreshSize();
+		}
+		return true;
+	}
+
+	/**
+	 * Applies the CSS class and CSS id attributes to the given visual.
+	 */
+	private void refreshCssClassAndId(Group visual) {
+		org.eclipse.gef.graph.Node node = getContent();
+		Map<String, Object> attrs = node.attributesProperty();
+
+		// set CSS class
+		List<String> cssClasses = new ArrayList<>();
+		cssClasses.add(CSS_CLASS);
+		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
+			cssClasses.add(ZestProperties.getCssClass(node));
+		}
+		if (!visual.getStyleClass().equals(cssClasses)) {
+			visual.getStyleClass().setAll(cssClasses);
+		}
+
+		// set CSS id
+		String id = null;
+		if (attrs.containsKey(ZestProperties.CSS_ID__NE)) {
+			id = ZestProperties.getCssId(node);
+		}
+		if (visual.getId() != id || id != null && !id.equals(visual.getId())) {
+			visual.setId(id);
+		}
+	}
+
+	/**
+	 * Applies the shape and label CSS style attributes.
+	 */
+	private void refreshCssStyles() {
+		org.eclipse.gef.graph.Node node = getContent();
+		Map<String, Object> attrs = node.attributesProperty();
+		if (attrs.containsKey(ZestProperties.SHAPE_CSS_STYLE__N)) {
+			if (getShape() != null) {
+				if (!getShape().getStyle().equals(ZestProperties.getShapeCssStyle(node))) {
+					getShape().setStyle(ZestProperties.getShapeCssStyle(node));
+				}
+			}
+		}
+		if (attrs.containsKey(ZestProperties.LABEL_CSS_STYLE__NE)) {
+			if (getLabelText() != null) {
+				if (!getLabelText().getStyle().equals(ZestProperties.getLabelCssStyle(node))) {
+					getLabelText().setStyle(ZestProperties.getLabelCssStyle(node));
+				}
+			}
+		}
+	}
+
 	/**
 	 * If the given <i>icon</i> is an {@link Image}, that {@link Image} will be
 	 * used as the icon of this {@link NodePart}.
@@ -576,6 +681,91 @@ public class NodePart extends AbstractContentPart<Group>
 		}
 	}
 
+	/**
+	 * Adds or removes the label, icon, and nested content, and swaps the shape
+	 * and the placeholder rectangle, dependent on the current
+	 * {@link #getLevelOfDetail() level of detail}.
+	 */
+	private void refreshLevelOfDetail() {
+		// XXX: The label container is removed from the scene graph, but the
+		// size of the node is still computed from it, so that it does not
+		// depend on the level of detail.
+		ObservableList<Node> children = getVisual().getChildren();
+		boolean showLabel = levelOfDetail < LEVEL_OF_DETAIL_HIDE_LABEL;
+		if (vbox != null && children.contains(vbox) != showLabel) {
+			if (showLabel) {
+				children.add(vbox);
+			} else {
+				children.remove(vbox);
+			}
+		}
+		// the placeholder takes the place of the shape (and vice versa), so
+		// that the order of the children is preserved
+		boolean showPlaceholder = levelOfDetail >= LEVEL_OF_DETAIL_PLACEHOLDER;
+		if (showPlaceholder && placeholder == null) {
+			Bounds shapeBounds = shape.getLayoutBounds();
+			placeholder = new Rectangle(shapeBounds.getWidth(), shapeBounds.getHeight());
+			placeholder.setFill(Color.WHITE);
+			placeholder.setStroke(Color.BLACK);
+			placeholder.setStrokeType(StrokeType.INSIDE);
+		}
+		if (placeholder != null) {
+			swapChild(children, showPlaceholder ? shape : placeholder, showPlaceholder ? placeholder : shape);
+		}
+	}
+
+	/**
+	 * Adjusts the padding of the label container and shows or hides the
+	 * nested content, dependent on whether this {@link NodePart} is nesting.
+	 */
+	private void refreshNesting() {
+		if (vbox != null) {
+			if (getShape() != null && DEFAULT_SHAPE_ROLE.equals(getShape().getUserData()) || isNesting()) {
+				vbox.setPadding(new Insets(DEFAULT_SHAPE_PADDING));
+			} else {
+				vbox.setPadding(Insets.EMPTY);
+			}
+			if (isNesting()) {
+				if (!vbox.getChildren().contains(nestedContentAnchorPane)) {
+					vbox.getChildren().add(nestedContentAnchorPane);
+					if (vbox.getPrefWidth() == Region.USE_COMPUTED_SIZE
+							&& vbox.getPrefHeight() == Region.USE_COMPUTED_SIZE) {
+						vbox.setPrefSize(DEFAULT_OUTER_LAYOUT_CONTAINER_WIDTH_NESTING,
+								DEFAULT_OUTER_LAYOUT_CONTAINER_HEIGHT_NESTING);
+						vbox.autosize();
+					}
+				}
+				// show a nested graph icon dependent on the zoom level
+				if (!getChildrenUnmodifiable().isEmpty()) {
+					hideNestedGraphIcon();
+				} else {
+					// show an icon as a replacement when the zoom threshold is
+					// not reached
+					showNestedGraphIcon();
+				}
+			} else {
+				if (vbox.getChildren().contains(nestedContentAnchorPane)) {
+					vbox.getChildren().remove(nestedContentAnchorPane);
+					vbox.setPrefSize(Region.USE_COMPUTED_SIZE, Region.USE_COMPUTED_SIZE);
+					vbox.autosize();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies the position attribute to the visual transform.
+	 */
+	private void refreshPosition() {
+		Point position = ZestProperties.getPosition(getContent());
+		if (position != null) {
+			Affine newTransform = new Affine(new Translate(position.x, position.y));
+			if (!NodeUtils.equals(getVisualTransform(), newTransform)) {
+				setVisualTransform(newTransform);
+			}
+		}
+	}
+
 	private void refreshShape() {
 		Node shape = ZestProperties.getShape(getContent());
 		if (this.shape != shape && shape != null) {
@@ -593,12 +783,28 @@ public class NodePart extends AbstractContentPart<Group>
 		}
 	}
 
+	/**
+	 * Applies the size attribute to the visual (or sizes the visual to its
+	 * preferred size if no size is specified).
+	 */
+	private void refreshSize() {
+		Dimension size = ZestProperties.getSize(getContent());
+		if (size != null) {
+			// XXX: Resize is needed even though the visual size is already
+			// up-to-date, because otherwise a nesting node might be resized to
+			// 0, 0 (unknown reason, need debug).
+			getVisual().resize(size.width, size.height);
+		} else {
+			getVisual().autosize();
+		}
+	}
+
 	/**
 	 * Changes the tooltip of this {@link NodePart} to the given value.
 	 *
 	 */
 	protected void refreshTooltip() {
-		String tooltip = ZestProperties.getTooltip(getContent());
+		String tooltip = levelOfDetail < LEVEL_OF_DETAIL_HIDE_LABEL ? ZestProperties.getTooltip(getContent()) : null;
 		if (tooltip != null && !tooltip.isEmpty()) {
 			if (tooltipNode == null) {
 				tooltipNode = new Tooltip(tooltip);
@@ -609,6 +815,7 @@ public class NodePart extends AbstractContentPart<Group>
 		} else {
 			if (tooltipNode != null) {
 				Tooltip.uninstall(getVisual(), tooltipNode);
+				tooltipNode = null;
 			}
 		}
 	}
@@ -623,6 +830,17 @@ public class NodePart extends AbstractContentPart<Group>
 		ZestProperties.setPosition(getContent(), new Point(totalTransform.getTx(), totalTransform.getTy()));
 	}
 
+	@Override
+	public void setLevelOfDetail(int levelOfDetail) {
+		if (this.levelOfDetail != levelOfDetail) {
+			this.levelOfDetail = levelOfDetail;
+			// only the level of detail has to be refreshed, together with
+			// the refreshes of other parts
+			levelOfDetailChanged = true;
+			scheduleRefreshVisual();
+		}
+	}
+
 	/**
 	 * Creates the nested graph icon and adds it to the
 	 * {@link #getNestedContentStackPane()}.
@@ -634,4 +852,19 @@ public class NodePart extends AbstractContentPart<Group>
 		}
 	}
 
+	/**
+	 * Replaces the given child of the visual by the given replacement (at the
+	 * same index), or removes it if the replacement is already contained.
+	 */
+	private void swapChild(ObservableList<Node> children, Node child, Node replacement) {
+		int index = children.indexOf(child);
+		if (index >= 0) {
+			if (children.contains(replacement)) {
+				children.remove(index);
+			} else {
+				children.set(index, replacement);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.providers.TransformProvider;
+import org.eclipse.gef.mvc.tests.fx.rules.FXApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Affine;
+
+/**
+ * Tests the refresh of the visuals of a {@link NodePart} upon attribute
+ * changes.
+ *
+ * @author agent
+ *
+ */
+public class NodePartTests {
+
+	/**
+	 * Ensure all tests are executed on the JavaFX application thread (and the
+	 * JavaFX toolkit is properly initialized).
+	 */
+	@Rule
+	public FXApplicationThreadRule fxApplicationThreadRule = new FXApplicationThreadRule();
+
+	/**
+	 * Counts the refreshes of the label, icon, and tooltip.
+	 */
+	private static class NodePartStub extends NodePart {
+
+		private final Node node;
+		private int labelRefreshes = 0;
+		private int iconRefreshes = 0;
+		private int tooltipRefreshes = 0;
+
+		public NodePartStub(Node node) {
+			this.node = node;
+			setAdapter(new TransformProvider(), IVisualPart.TRANSFORM_PROVIDER_KEY.getRole());
+		}
+
+		@Override
+		public Node getContent() {
+			return node;
+		}
+
+		@Override
+		protected void refreshIcon() {
+			iconRefreshes++;
+			super.refreshIcon();
+		}
+
+		@Override
+		protected void refreshLabel() {
+			labelRefreshes++;
+			super.refreshLabel();
+		}
+
+		@Override
+		protected void refreshTooltip() {
+			tooltipRefreshes++;
+			super.refreshTooltip();
+		}
+	}
+
+	/**
+	 * Counts the invalidations of the observables it is registered at.
+	 */
+	private static class InvalidationCounter implements InvalidationListener {
+
+		private int invalidations = 0;
+
+		@Override
+		public void invalidated(Observable observable) {
+			invalidations++;
+		}
+	}
+
+	private NodePartStub createNodePart(final Node node) {
+		NodePartStub nodePart = new NodePartStub(node);
+		// create visual, register attribute observer, and perform initial
+		// (full) refresh
+		nodePart.getVisual();
+		nodePart.activate();
+		nodePart.refreshVisual();
+		return nodePart;
+	}
+
+	@Test
+	public void test_move_refreshesOnlyPosition() {
+		// create 10k nodes
+		int count = 10000;
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Node node = new Node.Builder().attr(ZestProperties.LABEL__NE, "Node " + i)
+					.attr(ZestProperties.SHAPE_CSS_STYLE__N, "-fx-fill: red;")
+					.attr(ZestProperties.TOOLTIP__N, "Tooltip " + i).buildNode();
+			nodes.add(node);
+		}
+		new Graph.Builder().nodes(nodes.toArray(new Node[] {})).build();
+		List<NodePartStub> nodeParts = new ArrayList<>();
+		for (Node node : nodes) {
+			nodeParts.add(createNodePart(node));
+		}
+
+		// observe the visual state that is not affected by the position
+		InvalidationCounter counter = new InvalidationCounter();
+		List<javafx.scene.Node> shapes = new ArrayList<>();
+		List<Text> labels = new ArrayList<>();
+		for (NodePartStub nodePart : nodeParts) {
+			nodePart.labelRefreshes = 0;
+			nodePart.iconRefreshes = 0;
+			nodePart.tooltipRefreshes = 0;
+			Text label = (Text) nodePart.getVisual().lookup(".label");
+			shapes.add(nodePart.getShape());
+			labels.add(label);
+			nodePart.getVisual().getChildren().addListener(counter);
+			nodePart.getVisual().getStyleClass().addListener(counter);
+			nodePart.getShape().styleProperty().addListener(counter);
+			label.textProperty().addListener(counter);
+			label.styleProperty().addListener(counter);
+		}
+
+		// move all nodes (which should only update the visual transforms)
+		for (int i = 0; i < count; i++) {
+			ZestProperties.setPosition(nodes.get(i), new Point(i, 2 * i));
+		}
+
+		// XXX: Without a viewer, the visuals are refreshed immediately.
+		for (int i = 0; i < count; i++) {
+			NodePartStub nodePart = nodeParts.get(i);
+			Affine visualTransform = nodePart.getVisualTransform();
+			assertEquals(i, visualTransform.getTx(), 0);
+			assertEquals(2 * i, visualTransform.getTy(), 0);
+			assertEquals(0, nodePart.labelRefreshes);
+			assertEquals(0, nodePart.iconRefreshes);
+			assertEquals(0, nodePart.tooltipRefreshes);
+			assertSame(shapes.get(i), nodePart.getShape());
+			assertSame(labels.get(i), nodePart.getVisual().lookup(".label"));
+			assertEquals("-fx-fill: red;", nodePart.getShape().getStyle());
+			assertEquals("Node " + i, labels.get(i).getText());
+		}
+		assertEquals(0, counter.invalidations);
+	}
+
+	@Test
+	public void test_refresh_changed_attributes() {
+		Node node = new Node.Builder().attr(ZestProperties.LABEL__NE, "label").buildNode();
+		new Graph.Builder().nodes(node).build();
+		NodePartStub nodePart = createNodePart(node);
+		assertEquals("label", ((Text) nodePart.getVisual().lookup(".label")).getText());
+
+		// change label
+		nodePart.labelRefreshes = 0;
+		ZestProperties.setLabel(node, "changed");
+		assertEquals("changed", ((Text) nodePart.getVisual().lookup(".label")).getText());
+
+		// change position
+		ZestProperties.setPosition(node, new Point(10, 20));
+		assertEquals(10, nodePart.getVisualTransform().getTx(), 0);
+		assertEquals(20, nodePart.getVisualTransform().getTy(), 0);
+		assertEquals("changed", ((Text) nodePart.getVisual().lookup(".label")).getText());
+		assertEquals(1, nodePart.labelRefreshes);
+	}
+
+}